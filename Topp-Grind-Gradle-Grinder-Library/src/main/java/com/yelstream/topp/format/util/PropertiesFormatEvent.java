@@ -0,0 +1,40 @@
+package com.yelstream.topp.format.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of the formatting of properties by a {@link PropertiesFormatter}.
+ * <p>
+ *     The event is disabled by default.
+ * </p>
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Name("com.yelstream.topp.format.PropertiesFormat")
+@Label("Properties Format")
+@Category({"Topp Grind","Formatting"})
+@Description("Formatting of properties")
+@Enabled(false)
+@StackTrace(false)
+final class PropertiesFormatEvent extends Event {
+    /**
+     * Number of properties formatted.
+     */
+    @Label("Entry Count")
+    int entryCount;
+
+    /**
+     * Length of formatted properties.
+     */
+    @Label("Output Length")
+    @Description("Length of the formatted properties in characters")
+    int outputLength;
+}
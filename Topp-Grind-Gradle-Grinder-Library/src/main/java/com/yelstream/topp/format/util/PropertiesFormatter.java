@@ -107,6 +107,8 @@ public class PropertiesFormatter {
      * @return Formatted properties.
      */
     public <V> String format(Map<String,V> properties) {
+        PropertiesFormatEvent event=new PropertiesFormatEvent();
+        event.begin();
         StringBuilder sb=new StringBuilder();
 
         if (properties!=null) {
@@ -129,6 +131,13 @@ public class PropertiesFormatter {
             });
         }
 
+        event.end();
+        if (event.shouldCommit()) {
+            event.entryCount=properties==null?0:properties.size();
+            event.outputLength=sb.length();
+            event.commit();
+        }
+
         return sb.toString();
     }
 
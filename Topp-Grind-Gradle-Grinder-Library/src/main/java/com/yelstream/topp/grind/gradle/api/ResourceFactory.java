@@ -496,33 +496,45 @@ public class ResourceFactory {
      */
     @SuppressWarnings("java:S3776")
     public File resolve(File file) {
-        File resolved=null;
-        if (file.isAbsolute()) {
-            resolved=file;
-        } else {
-            if (resolvers==null) {
-                throw new IllegalStateException(String.format("Failure to resolve file; no resolvers are present, file is %s!",file));
+        ResourceResolutionEvent event=new ResourceResolutionEvent();
+        event.begin();
+        File res=null;
+        Resolver resolvedBy=null;
+        int probeCount=0;
+        try {
+            File resolved=null;
+            if (file.isAbsolute()) {
+                resolved=file;
             } else {
-                for (Resolver resolver: resolvers) {
-                    resolved=resolver.resolve(this,file);
-                    if (resolved!=null) {
-                        break;
+                if (resolvers==null) {
+                    throw new IllegalStateException(String.format("Failure to resolve file; no resolvers are present, file is %s!",file));
+                } else {
+                    for (Resolver resolver: resolvers) {
+                        probeCount++;
+                        resolved=resolver.resolve(this,file);
+                        if (resolved!=null) {
+                            resolvedBy=resolver;
+                            break;
+                        }
                     }
                 }
-            }
-            if (failOnUnresolved) {
-                if (resolved==null) {
-                    throw new IllegalStateException(String.format("Failure to resolve file; resolvers not able to resolve file, file is %s!",file));
-                }
-                if (!resolved.isAbsolute()) {
-                    throw new IllegalStateException(String.format("Failure to resolve file; resolved file is not absolute, file is %s, resolved file is %s!",file,resolved));
-                }
-                if (!resolved.exists()) {
-                    throw new IllegalStateException(String.format("Failure to resolve file; resolved file does not exist, file is %s, resolved file is %s!",file,resolved));
+                if (failOnUnresolved) {
+                    if (resolved==null) {
+                        throw new IllegalStateException(String.format("Failure to resolve file; resolvers not able to resolve file, file is %s!",file));
+                    }
+                    if (!resolved.isAbsolute()) {
+                        throw new IllegalStateException(String.format("Failure to resolve file; resolved file is not absolute, file is %s, resolved file is %s!",file,resolved));
+                    }
+                    if (!resolved.exists()) {
+                        throw new IllegalStateException(String.format("Failure to resolve file; resolved file does not exist, file is %s, resolved file is %s!",file,resolved));
+                    }
                 }
             }
+            res=resolved;
+        } finally {
+            event.commit(file,resolvedBy,probeCount,res!=null);  //Committed also when failing!
         }
-        return resolved;
+        return res;
     }
 
     /**
@@ -532,33 +544,45 @@ public class ResourceFactory {
      */
     @SuppressWarnings("java:S3776")
     public Path resolve(Path path) {
-        Path resolved=null;
-        if (path.isAbsolute()) {
-            resolved=path;
-        } else {
-            if (resolvers==null) {
-                throw new IllegalStateException(String.format("Failure to resolve path; no resolvers are present, path is %s!",path));
+        ResourceResolutionEvent event=new ResourceResolutionEvent();
+        event.begin();
+        Path res=null;
+        Resolver resolvedBy=null;
+        int probeCount=0;
+        try {
+            Path resolved=null;
+            if (path.isAbsolute()) {
+                resolved=path;
             } else {
-                for (Resolver resolver: resolvers) {
-                    resolved=resolver.resolve(this,path);
-                    if (resolved!=null) {
-                        break;
+                if (resolvers==null) {
+                    throw new IllegalStateException(String.format("Failure to resolve path; no resolvers are present, path is %s!",path));
+                } else {
+                    for (Resolver resolver: resolvers) {
+                        probeCount++;
+                        resolved=resolver.resolve(this,path);
+                        if (resolved!=null) {
+                            resolvedBy=resolver;
+                            break;
+                        }
                     }
                 }
-            }
-            if (failOnUnresolved) {
-                if (resolved==null) {
-                    throw new IllegalStateException(String.format("Failure to resolve path; resolvers not able to resolve path, path is %s!",path));
-                }
-                if (!resolved.isAbsolute()) {
-                    throw new IllegalStateException(String.format("Failure to resolve path; resolved file is not absolute, path is %s, resolved path is %s!",path,resolved));
-                }
-                if (Files.notExists(path)) {
-                    throw new IllegalStateException(String.format("Failure to resolve path; resolved file does not exist, path is %s, resolved path is %s!",path,resolved));
+                if (failOnUnresolved) {
+                    if (resolved==null) {
+                        throw new IllegalStateException(String.format("Failure to resolve path; resolvers not able to resolve path, path is %s!",path));
+                    }
+                    if (!resolved.isAbsolute()) {
+                        throw new IllegalStateException(String.format("Failure to resolve path; resolved file is not absolute, path is %s, resolved path is %s!",path,resolved));
+                    }
+                    if (Files.notExists(path)) {
+                        throw new IllegalStateException(String.format("Failure to resolve path; resolved file does not exist, path is %s, resolved path is %s!",path,resolved));
+                    }
                 }
             }
+            res=resolved;
+        } finally {
+            event.commit(path,resolvedBy,probeCount,res!=null);  //Committed also when failing!
         }
-        return resolved;
+        return res;
     }
 
     /**
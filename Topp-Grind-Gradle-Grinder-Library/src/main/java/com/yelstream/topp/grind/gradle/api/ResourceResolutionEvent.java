@@ -0,0 +1,74 @@
+package com.yelstream.topp.grind.gradle.api;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of the resolution of a file or path by a {@link ResourceFactory}.
+ * <p>
+ *     The event is disabled by default.
+ * </p>
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Name("com.yelstream.topp.grind.ResourceResolution")
+@Label("Resource Resolution")
+@Category({"Topp Grind","Resources"})
+@Description("Resolution of a file or path by a resource factory")
+@Enabled(false)
+@StackTrace(false)
+final class ResourceResolutionEvent extends Event {
+    /**
+     * Reference resolved.
+     */
+    @Label("Reference")
+    String reference;
+
+    /**
+     * Resolver resolving the reference.
+     */
+    @Label("Resolver")
+    @Description("Class of the resolver resolving the reference, if any")
+    String resolver;
+
+    /**
+     * Number of resolvers tried.
+     */
+    @Label("Probe Count")
+    int probeCount;
+
+    /**
+     * Indicates, if the reference was resolved.
+     */
+    @Label("Resolved")
+    boolean resolved;
+
+    /**
+     * Ends the event and commits it, if enabled.
+     * @param reference Reference resolved.
+     * @param resolver Resolver resolving the reference.
+     *                 This may be {@code null}.
+     * @param probeCount Number of resolvers tried.
+     * @param resolved Indicates, if the reference was resolved.
+     */
+    void commit(Object reference,
+                ResourceFactory.Resolver resolver,
+                int probeCount,
+                boolean resolved) {
+        end();
+        if (shouldCommit()) {
+            this.reference=String.valueOf(reference);
+            this.resolver=resolver==null?null:resolver.getClass().getName();
+            this.probeCount=probeCount;
+            this.resolved=resolved;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.yelstream.topp.grind.gradle.api;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of the extraction of the ad hoc-properties of a task from the project properties.
+ * <p>
+ *     The event is disabled by default.
+ * </p>
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Name("com.yelstream.topp.grind.TaskProperties")
+@Label("Task Properties")
+@Category({"Topp Grind","Tasks"})
+@Description("Extraction of the ad hoc-properties of a task from the project properties")
+@Enabled(false)
+@StackTrace(false)
+final class TaskPropertiesEvent extends Event {
+    /**
+     * Path of task.
+     */
+    @Label("Task Path")
+    String taskPath;
+
+    /**
+     * Number of project properties scanned.
+     */
+    @Label("Project Property Count")
+    int projectPropertyCount;
+
+    /**
+     * Number of task properties extracted.
+     */
+    @Label("Task Property Count")
+    int taskPropertyCount;
+}
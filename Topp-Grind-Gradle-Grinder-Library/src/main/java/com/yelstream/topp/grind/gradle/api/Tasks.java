@@ -48,6 +48,8 @@ public class Tasks {
      */
     public static Map<String,Object> getTaskProperties(Task task,
                                                        Map<String,Object> projectProperties) {
+        TaskPropertiesEvent event=new TaskPropertiesEvent();
+        event.begin();
         Map<String,Object> taskProperties=new HashMap<>();
 
         if (projectProperties!=null) {
@@ -61,6 +63,14 @@ public class Tasks {
         }
         logTaskProperties(task,taskProperties);
 
+        event.end();
+        if (event.shouldCommit()) {
+            event.taskPath=task.getPath();
+            event.projectPropertyCount=projectProperties==null?0:projectProperties.size();
+            event.taskPropertyCount=taskProperties.size();
+            event.commit();
+        }
+
         return taskProperties;
     }
 
@@ -0,0 +1,328 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Matcher of any number of literal byte patterns in a single pass, following Aho and Corasick.
+ * <p>
+ *     The patterns are compiled into a deterministic automaton with a full transition table.
+ *     The table is indexed by classes of bytes, where all bytes not occurring in any pattern share a single class;
+ *     this keeps the table small while each byte of input costs a single table lookup.
+ *     Optionally, ASCII letters are matched ignoring case.
+ * </p>
+ * <p>
+ *     Instances are immutable and safe for concurrent use.
+ * </p>
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public class AhoCorasickMatcher {
+    /**
+     * Handler of matches.
+     */
+    @FunctionalInterface
+    public interface MatchHandler {
+        /**
+         * Handles a match.
+         * @param pattern Index of pattern matched.
+         * @param offset Offset of the start of the match, relative to the start of the input.
+         */
+        void onMatch(int pattern,
+                     int offset);
+    }
+
+    /**
+     * Lengths of patterns.
+     */
+    private final int[] patternLengths;
+
+    /**
+     * Class of each byte value.
+     */
+    private final int[] byteClasses;
+
+    /**
+     * Number of classes of bytes.
+     */
+    private final int classCount;
+
+    /**
+     * Transition table, indexed by state times the number of classes plus class.
+     */
+    private final int[] transitions;
+
+    /**
+     * Start of the patterns matched in each state in the patterns matched, plus the end of the last state.
+     */
+    private final int[] outputStarts;
+
+    /**
+     * Patterns matched, per state.
+     */
+    private final int[] outputs;
+
+    /**
+     * Constructor.
+     * @param patternLengths Lengths of patterns.
+     * @param byteClasses Class of each byte value.
+     * @param classCount Number of classes of bytes.
+     * @param transitions Transition table.
+     * @param outputStarts Start of the patterns matched in each state, plus the end of the last state.
+     * @param outputs Patterns matched, per state.
+     */
+    private AhoCorasickMatcher(int[] patternLengths,
+                               int[] byteClasses,
+                               int classCount,
+                               int[] transitions,
+                               int[] outputStarts,
+                               int[] outputs) {
+        this.patternLengths=patternLengths;
+        this.byteClasses=byteClasses;
+        this.classCount=classCount;
+        this.transitions=transitions;
+        this.outputStarts=outputStarts;
+        this.outputs=outputs;
+    }
+
+    /**
+     * Gets the number of patterns.
+     * @return Number of patterns.
+     */
+    public int getPatternCount() {
+        return patternLengths.length;
+    }
+
+    /**
+     * Gets the length of a pattern.
+     * @param pattern Index of pattern.
+     * @return Length of pattern.
+     */
+    public int getPatternLength(int pattern) {
+        return patternLengths[pattern];
+    }
+
+    /**
+     * Searches the remaining bytes of a buffer for all occurrences of the patterns, overlapping or not.
+     * @param buffer Buffer.
+     *               The buffer is not modified.
+     * @param handler Handler of matches, invoked in order of the end of matches.
+     */
+    public void search(ByteBuffer buffer,
+                       MatchHandler handler) {
+        int start=buffer.position();
+        int limit=buffer.limit();
+        int state=0;
+        for (int i=start; i<limit; i++) {
+            state=transitions[state*classCount+byteClasses[buffer.get(i)&0xFF]];
+            int outputEnd=outputStarts[state+1];
+            for (int j=outputStarts[state]; j<outputEnd; j++) {
+                int pattern=outputs[j];
+                handler.onMatch(pattern,i-start-patternLengths[pattern]+1);
+            }
+        }
+    }
+
+    /**
+     * Indicates, if the remaining bytes of a buffer contain any of the patterns.
+     * @param buffer Buffer.
+     *               The buffer is not modified.
+     * @return Indicates, if any pattern occurs.
+     */
+    public boolean containsAny(ByteBuffer buffer) {
+        int limit=buffer.limit();
+        int state=0;
+        for (int i=buffer.position(); i<limit; i++) {
+            state=transitions[state*classCount+byteClasses[buffer.get(i)&0xFF]];
+            if (outputStarts[state]!=outputStarts[state+1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Folds the case of a byte, if it is an ASCII letter.
+     * @param value Byte value.
+     * @return Folded byte value.
+     */
+    private static int foldCase(int value) {
+        return value>='A' && value<='Z'?value+('a'-'A'):value;
+    }
+
+    /**
+     * Compiles patterns.
+     * @param patterns Patterns.
+     * @param ignoreCase Indicates, if ASCII letters should be matched ignoring case.
+     * @return Compiled matcher.
+     * @throws IllegalArgumentException Thrown in case of no patterns or an empty pattern.
+     */
+    public static AhoCorasickMatcher of(List<byte[]> patterns,
+                                        boolean ignoreCase) {
+        if (patterns.isEmpty()) {
+            throw new IllegalArgumentException("Failure to compile patterns; no patterns are present!");
+        }
+
+        int[] byteClasses=new int[256];
+        int classCount=1;  //Class 0 holds all bytes not occurring in any pattern!
+        for (byte[] pattern: patterns) {
+            if (pattern.length==0) {
+                throw new IllegalArgumentException("Failure to compile patterns; pattern is empty!");
+            }
+            for (byte b: pattern) {
+                int value=ignoreCase?foldCase(b&0xFF):b&0xFF;
+                if (byteClasses[value]==0) {
+                    byteClasses[value]=classCount++;
+                }
+            }
+        }
+        if (ignoreCase) {
+            for (int value='A'; value<='Z'; value++) {
+                byteClasses[value]=byteClasses[foldCase(value)];
+            }
+        }
+
+        IntList transitions=new IntList();
+        List<List<Integer>> stateOutputs=new ArrayList<>();
+        addState(transitions,stateOutputs,classCount);
+        int[] patternLengths=new int[patterns.size()];
+        for (int p=0; p<patterns.size(); p++) {
+            byte[] pattern=patterns.get(p);
+            patternLengths[p]=pattern.length;
+            int state=0;
+            for (byte b: pattern) {
+                int index=state*classCount+byteClasses[b&0xFF];
+                int next=transitions.get(index);
+                if (next<0) {
+                    next=addState(transitions,stateOutputs,classCount);
+                    transitions.set(index,next);
+                }
+                state=next;
+            }
+            stateOutputs.get(state).add(p);
+        }
+
+        int stateCount=stateOutputs.size();
+        int[] table=transitions.toArray();
+        int[] failures=new int[stateCount];
+        Deque<Integer> queue=new ArrayDeque<>();
+        for (int c=0; c<classCount; c++) {
+            int next=table[c];
+            if (next<0) {
+                table[c]=0;
+            } else {
+                failures[next]=0;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state=queue.poll();
+            int failure=failures[state];
+            stateOutputs.get(state).addAll(stateOutputs.get(failure));
+            for (int c=0; c<classCount; c++) {
+                int index=state*classCount+c;
+                int next=table[index];
+                if (next<0) {
+                    table[index]=table[failure*classCount+c];
+                } else {
+                    failures[next]=table[failure*classCount+c];
+                    queue.add(next);
+                }
+            }
+        }
+
+        int[] outputStarts=new int[stateCount+1];
+        IntList outputs=new IntList();
+        for (int s=0; s<stateCount; s++) {
+            outputStarts[s]=outputs.size();
+            stateOutputs.get(s).forEach(outputs::add);
+        }
+        outputStarts[stateCount]=outputs.size();
+        return new AhoCorasickMatcher(patternLengths,byteClasses,classCount,table,outputStarts,outputs.toArray());
+    }
+
+    /**
+     * Adds a state without transitions.
+     * @param transitions Transition table.
+     * @param stateOutputs Patterns matched, per state.
+     * @param classCount Number of classes of bytes.
+     * @return Added state.
+     */
+    private static int addState(IntList transitions,
+                                List<List<Integer>> stateOutputs,
+                                int classCount) {
+        int res=stateOutputs.size();
+        for (int c=0; c<classCount; c++) {
+            transitions.add(-1);
+        }
+        stateOutputs.add(new ArrayList<>(1));
+        return res;
+    }
+
+    /**
+     * Growable list of primitive integers.
+     */
+    private static final class IntList {
+        /**
+         * Elements.
+         */
+        private int[] elements=new int[256];
+
+        /**
+         * Number of elements.
+         */
+        private int size;
+
+        /**
+         * Adds an element.
+         * @param element Element.
+         */
+        private void add(int element) {
+            if (size==elements.length) {
+                elements=Arrays.copyOf(elements,size*2);
+            }
+            elements[size++]=element;
+        }
+
+        /**
+         * Gets an element.
+         * @param index Index of element.
+         * @return Element.
+         */
+        private int get(int index) {
+            return elements[index];
+        }
+
+        /**
+         * Sets an element.
+         * @param index Index of element.
+         * @param element Element.
+         */
+        private void set(int index,
+                         int element) {
+            elements[index]=element;
+        }
+
+        /**
+         * Gets the number of elements.
+         * @return Number of elements.
+         */
+        private int size() {
+            return size;
+        }
+
+        /**
+         * Gets the elements.
+         * @return Elements, trimmed to size.
+         */
+        private int[] toArray() {
+            return Arrays.copyOf(elements,size);
+        }
+    }
+}
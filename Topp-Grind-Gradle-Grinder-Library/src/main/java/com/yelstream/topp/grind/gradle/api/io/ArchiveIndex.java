@@ -0,0 +1,191 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Index of the entries of an archive.
+ * <p>
+ *     The index holds the name, size and CRC-32 of each entry in the archive,
+ *     together with the service providers registered by the service descriptor files of the archive
+ *     and, once scanned, the metadata of the classes of the archive.
+ *     It is identified by the absolute path, the size and the time of last modification of the archive file.
+ *     An index is valid for as long as the archive file keeps its size and time of last modification.
+ * </p>
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Getter
+@AllArgsConstructor(access=AccessLevel.PACKAGE)
+public class ArchiveIndex {
+    /**
+     * Absolute path of archive file.
+     */
+    private final String path;
+
+    /**
+     * Size of archive file.
+     */
+    private final long size;
+
+    /**
+     * Time of last modification of archive file.
+     */
+    private final long lastModified;
+
+    /**
+     * Names of entries.
+     */
+    @Getter(AccessLevel.NONE)
+    private final String[] names;
+
+    /**
+     * Uncompressed sizes of entries.
+     * These are aligned with the names.
+     */
+    @Getter(AccessLevel.NONE)
+    private final long[] sizes;
+
+    /**
+     * CRC-32 values of entries.
+     * These are aligned with the names.
+     */
+    @Getter(AccessLevel.NONE)
+    private final long[] crcs;
+
+    /**
+     * Service providers registered by the archive.
+     */
+    private final ServiceIndex serviceIndex;
+
+    /**
+     * Metadata of the classes of the archive.
+     * This is {@code null} in case the classes have not been scanned.
+     */
+    private final ClassIndex classIndex;
+
+    /**
+     * Gets the number of entries.
+     * @return Number of entries.
+     */
+    public int getEntryCount() {
+        return names.length;
+    }
+
+    /**
+     * Gets the names of all entries.
+     * @return Entry names.
+     */
+    public List<String> getNames() {
+        return Collections.unmodifiableList(Arrays.asList(names));
+    }
+
+    /**
+     * Gets the name of an entry.
+     * @param index Index of entry.
+     * @return Entry name.
+     */
+    public String getName(int index) {
+        return names[index];
+    }
+
+    /**
+     * Gets the uncompressed size of an entry.
+     * @param index Index of entry.
+     * @return Entry size.
+     */
+    public long getSize(int index) {
+        return sizes[index];
+    }
+
+    /**
+     * Gets the CRC-32 value of an entry.
+     * @param index Index of entry.
+     * @return Entry CRC-32 value.
+     */
+    public long getCrc(int index) {
+        return crcs[index];
+    }
+
+    /**
+     * Indicates, if this index is valid for an archive file.
+     * @param archive Archive file.
+     * @return Indicates, if valid.
+     */
+    public boolean isValidFor(File archive) {
+        return path.equals(archive.getAbsolutePath()) && size==archive.length() && lastModified==archive.lastModified();
+    }
+
+    /**
+     * Creates a copy of this index holding the metadata of the classes of the archive.
+     * @param classIndex Metadata of the classes of the archive.
+     * @return Created index.
+     */
+    ArchiveIndex withClassIndex(ClassIndex classIndex) {
+        return new ArchiveIndex(path,size,lastModified,names,sizes,crcs,serviceIndex,classIndex);
+    }
+
+    /**
+     * Creates the index of an archive by scanning its central directory and its service descriptor files.
+     * @param archive Archive file.
+     * @return Index of archive.
+     */
+    public static ArchiveIndex scan(File archive) {
+        long size=archive.length();
+        long lastModified=archive.lastModified();
+        try (ZipFile zipFile=new ZipFile(archive)) {
+            List<ZipEntry> entries=new ArrayList<>(zipFile.size());
+            Enumeration<? extends ZipEntry> enumeration=zipFile.entries();
+            while (enumeration.hasMoreElements()) {
+                ZipEntry entry=enumeration.nextElement();
+                if (!entry.isDirectory()) {
+                    entries.add(entry);
+                }
+            }
+            int count=entries.size();
+            String[] names=new String[count];
+            long[] sizes=new long[count];
+            long[] crcs=new long[count];
+            for (int i=0; i<count; i++) {
+                ZipEntry entry=entries.get(i);
+                names[i]=entry.getName();
+                sizes[i]=entry.getSize();
+                crcs[i]=entry.getCrc();
+            }
+            ServiceIndex serviceIndex=ServiceIndex.read(Arrays.asList(names),name->openEntry(zipFile,name));
+            return new ArchiveIndex(archive.getAbsolutePath(),size,lastModified,names,sizes,crcs,serviceIndex,null);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(String.format("Failure to scan archive; archive is %s!",archive),ex);
+        }
+    }
+
+    /**
+     * Opens the stream of an entry of an archive.
+     * @param zipFile Archive.
+     * @param name Entry name.
+     * @return Stream of entry.
+     */
+    private static InputStream openEntry(ZipFile zipFile,
+                                         String name) {
+        try {
+            return zipFile.getInputStream(zipFile.getEntry(name));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(String.format("Failure to read archive entry; archive is %s, name is %s!",zipFile.getName(),name),ex);
+        }
+    }
+}
@@ -0,0 +1,501 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import lombok.Getter;
+
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+/**
+ * Loader of resources contained in an archive.
+ * <p>
+ *     The archive is read directly as a ZIP file.
+ *     Compared to {@link URLClassLoaderResourceLoader} this avoids the class-loader machinery,
+ *     the handling of {@code jar:} URLs and the caching of URL connections.
+ * </p>
+ * <p>
+ *     Uncompressed (stored) entries are read in place from the archive file through a channel,
+ *     i.e. read, mapped into memory when large, or transferred to other channels without copying through user space.
+ *     Compressed entries are inflated.
+ * </p>
+ * <p>
+ *     Instances are safe for concurrent use.
+ *     Closing waits for lookups in progress, which hence never see a half-closed archive,
+ *     and refuses new lookups.
+ *     Streams and channels returned count as lookups in progress until closed,
+ *     and must hence be closed for the archive to be closed.
+ * </p>
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public class ArchiveResourceLoader implements ResourceLoader {
+    /**
+     * Resource offset for the resources loaded.
+     */
+    @Getter
+    private final ResourceOffset resourceOffset;
+
+    /**
+     * Archive file.
+     */
+    @Getter
+    private final File archive;
+
+    /**
+     * Open archive.
+     */
+    private final ZipFile zipFile;
+
+    /**
+     * Prefix of the URIs of the entries of the archive.
+     */
+    private final String archiveURIPrefix;
+
+    /**
+     * Sorted index of the names of the resources of the archive.
+     * This is created on first use.
+     */
+    private volatile ResourceNameIndex nameIndex;
+
+    /**
+     * Channel of the archive, reading uncompressed entries in place.
+     * This is opened on first use and guarded by this loader.
+     */
+    private FileChannel channel;
+
+    /**
+     * Central directory of the archive, locating uncompressed entries.
+     * This is read on first use and guarded by this loader.
+     */
+    private ZipCentralDirectory centralDirectory;
+
+    /**
+     * Indicates, if the central directory could not be read as expected, in which case all entries are inflated.
+     * This is guarded by this loader.
+     */
+    private boolean centralDirectoryInvalid;
+
+    /**
+     * Factory of the URLs of entries, shared by all locations of the archive.
+     */
+    private final Function<String,URL> entryURLFactory;
+
+    /**
+     * Collector of metrics, counting the opening and closing of the archive.
+     * This may be {@code null}.
+     */
+    private final ResourceMetrics metrics;
+
+    /**
+     * Guard closing the archive when no lookups are in progress.
+     */
+    private final CloseGuard closeGuard=new CloseGuard(this::release);
+
+    /**
+     * Constructor.
+     * @param resourceOffset Resource offset for the resources loaded.
+     * @param archive Archive file.
+     * @throws UncheckedIOException Thrown in case the archive cannot be opened.
+     */
+    public ArchiveResourceLoader(ResourceOffset resourceOffset,
+                                 File archive) {
+        this(resourceOffset,archive,null);
+    }
+
+    /**
+     * Constructor.
+     * @param resourceOffset Resource offset for the resources loaded.
+     * @param archive Archive file.
+     * @param metrics Collector of metrics, counting the opening and closing of the archive.
+     *                This may be {@code null}.
+     * @throws UncheckedIOException Thrown in case the archive cannot be opened.
+     */
+    public ArchiveResourceLoader(ResourceOffset resourceOffset,
+                                 File archive,
+                                 ResourceMetrics metrics) {
+        this.resourceOffset=resourceOffset;
+        this.archive=archive;
+        this.zipFile=openArchive(archive);
+        this.archiveURIPrefix=ResourceURLs.createArchiveURIPrefix(archive);
+        this.entryURLFactory=name->ResourceURLs.createArchiveEntryURL(archiveURIPrefix,name);
+        this.metrics=metrics;
+        if (metrics!=null) {
+            metrics.recordArchiveOpened();
+        }
+    }
+
+    /**
+     * Opens an archive.
+     * @param archive Archive file.
+     * @return Opened archive.
+     */
+    private static ZipFile openArchive(File archive) {
+        try {
+            return new ZipFile(archive);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(String.format("Failure to open archive; archive is %s!",archive),ex);
+        }
+    }
+
+    /**
+     * Gets the entry of a named resource.
+     * Directory entries are not resources.
+     * @param name Resource name.
+     * @return Entry of resource.
+     *         This is {@code null} in case the resource does not exist.
+     */
+    private ZipEntry getEntry(String name) {
+        ZipEntry entry=zipFile.getEntry(name);
+        return entry==null||entry.isDirectory()?null:entry;
+    }
+
+    /**
+     * Creates the location of a named resource.
+     * @param name Resource name.
+     * @return Location of resource.
+     *         This is {@code null} in case the resource does not exist.
+     */
+    private ResourceLocation createLocation(String name) {
+        ResourceLocation res=null;
+        ZipEntry entry=getEntry(name);
+        if (entry!=null) {
+            res=new ResourceLocation(resourceOffset,this,name,entryURLFactory);
+        }
+        return res;
+    }
+
+    /**
+     * Opens a stream to the contents of an entry.
+     * @param entry Entry.
+     * @return Stream to the contents of the entry.
+     */
+    private InputStream openStream(ZipEntry entry) {
+        try {
+            return zipFile.getInputStream(entry);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(String.format("Failure to read resource; archive is %s, name is %s!",archive,entry.getName()),ex);
+        }
+    }
+
+    @Override
+    public URL getResource(String name) {
+        return closeGuard.apply(()->{
+            URL res=null;
+            ZipEntry entry=getEntry(name);
+            if (entry!=null) {
+                res=ResourceURLs.createArchiveEntryURL(archiveURIPrefix,entry.getName());
+            }
+            return res;
+        });
+    }
+
+    @Override
+    public InputStream getResourceAsStream(String name) {
+        InputStream res=null;
+        closeGuard.enter();
+        try {
+            ZipEntry entry=getEntry(name);
+            if (entry!=null) {
+                res=new GuardedInputStream(openStream(entry));
+            }
+        } finally {
+            if (res==null) {
+                closeGuard.exit();
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Gets the channel of the archive, opening it if required.
+     * A channel closed due to the interrupt of a reading thread is opened anew.
+     * @return Channel of the archive.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private synchronized FileChannel getChannel() throws IOException {
+        if (channel==null || !channel.isOpen()) {
+            channel=FileChannel.open(archive.toPath());
+        }
+        return channel;
+    }
+
+    /**
+     * Gets the central directory of the archive, reading it if required.
+     * @return Central directory of the archive.
+     *         This is {@code null} in case the central directory could not be read as expected.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private synchronized ZipCentralDirectory getCentralDirectory() throws IOException {
+        if (centralDirectory==null && !centralDirectoryInvalid) {
+            try {
+                centralDirectory=ZipCentralDirectory.read(getChannel());
+            } catch (ZipException ex) {
+                centralDirectoryInvalid=true;  //Archive is readable as a ZIP file, but is read by inflating only!
+            }
+        }
+        return centralDirectory;
+    }
+
+    /**
+     * Gets the position of the data of an uncompressed entry within the archive file.
+     * @param entry Entry.
+     * @return Position of data.
+     *         This is {@code -1} in case the entry is compressed or cannot be located, in which case it is read as a stream.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private long getStoredDataPosition(ZipEntry entry) throws IOException {
+        long res=-1;
+        if (entry.getMethod()==ZipEntry.STORED) {
+            ZipCentralDirectory directory=getCentralDirectory();
+            int index=directory==null?-1:directory.indexOf(entry.getName());
+            if (index>=0 && directory.getMethod(index)==ZipCentralDirectory.METHOD_STORED && directory.getSize(index)==entry.getSize()) {
+                try {
+                    res=directory.getDataOffset(getChannel(),index);
+                } catch (ZipException ex) {
+                    res=-1;
+                }
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public ReadableByteChannel getResourceAsChannel(String name) {
+        ReadableByteChannel res=null;
+        closeGuard.enter();
+        try {
+            ZipEntry entry=getEntry(name);
+            if (entry!=null) {
+                long position=getStoredDataPosition(entry);
+                if (position>=0) {
+                    res=ResourceChannels.newRegionChannel(getChannel(),position,entry.getSize(),closeGuard::exit);
+                } else {
+                    res=Channels.newChannel(new GuardedInputStream(zipFile.getInputStream(entry)));
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(String.format("Failure to read resource; archive is %s, name is %s!",archive,name),ex);
+        } finally {
+            if (res==null) {
+                closeGuard.exit();
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public ByteBuffer getResourceAsByteBuffer(String name) {
+        return closeGuard.apply(()->{
+            ByteBuffer res=null;
+            ZipEntry entry=getEntry(name);
+            if (entry!=null) {
+                try {
+                    long position=getStoredDataPosition(entry);
+                    if (position>=0) {
+                        res=ResourceChannels.readRegion(getChannel(),position,entry.getSize());
+                    } else {
+                        try (ReadableByteChannel entryChannel=Channels.newChannel(zipFile.getInputStream(entry))) {
+                            res=ResourceChannels.read(entryChannel,entry.getSize());
+                        }
+                    }
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(String.format("Failure to read resource; archive is %s, name is %s!",archive,name),ex);
+                }
+            }
+            return res;
+        });
+    }
+
+    @Override
+    public long transferResource(String name,
+                                 WritableByteChannel target) throws IOException {
+        closeGuard.enter();
+        try {
+            ZipEntry entry=getEntry(name);
+            return entry==null?-1:transfer(entry,target);
+        } finally {
+            closeGuard.exit();
+        }
+    }
+
+    @Override
+    public long copyResource(String name,
+                             Path target) throws IOException {
+        closeGuard.enter();
+        try {
+            long res=-1;
+            ZipEntry entry=getEntry(name);
+            if (entry!=null) {
+                try (FileChannel targetChannel=ResourceChannels.openTarget(target)) {
+                    res=transfer(entry,targetChannel);
+                }
+            }
+            return res;
+        } finally {
+            closeGuard.exit();
+        }
+    }
+
+    /**
+     * Transfers the contents of an entry to a channel.
+     * @param entry Entry.
+     * @param target Target channel.
+     * @return Number of bytes transferred.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private long transfer(ZipEntry entry,
+                          WritableByteChannel target) throws IOException {
+        long res;
+        long position=getStoredDataPosition(entry);
+        if (position>=0) {
+            res=ResourceChannels.transfer(getChannel(),position,entry.getSize(),target);
+        } else {
+            try (ReadableByteChannel entryChannel=Channels.newChannel(zipFile.getInputStream(entry))) {
+                res=ResourceChannels.transfer(entryChannel,target);
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public ResourceFingerprint getResourceFingerprint(String name) {
+        return closeGuard.apply(()->{
+            ResourceFingerprint res=null;
+            ZipEntry entry=getEntry(name);
+            if (entry!=null) {
+                if (entry.getSize()>=0 && entry.getCrc()>=0) {
+                    res=ResourceFingerprint.of(entry.getSize(),entry.getCrc());
+                } else {
+                    res=ResourceFingerprint.of(openStream(entry));
+                }
+            }
+            return res;
+        });
+    }
+
+    @Override
+    public List<ResourceLocation> getResourceLocations(String name) {
+        List<ResourceLocation> res=null;
+        ResourceLocation location=getResourceLocation(name);
+        if (location!=null) {
+            res=new ArrayList<>();
+            res.add(location);
+        }
+        return res;
+    }
+
+    @Override
+    public ResourceLocation getResourceLocation(String name) {
+        return closeGuard.apply(()->createLocation(name));
+    }
+
+    @Override
+    public Stream<ResourceLocation> streamResourceLocations(String name) {
+        return Stream.ofNullable(getResourceLocation(name));
+    }
+
+    @Override
+    public Stream<ResourceLocation> listResourceLocations(String prefix,
+                                                          String glob) {
+        return closeGuard.apply(this::getNameIndex).select(prefix,glob).stream().map(name->new ResourceLocation(resourceOffset,this,name,entryURLFactory));
+    }
+
+    /**
+     * Gets the sorted index of the names of the resources of the archive.
+     * @return Index of names.
+     */
+    private ResourceNameIndex getNameIndex() {
+        ResourceNameIndex res=nameIndex;
+        if (res==null) {
+            res=ResourceNameIndex.of(ResourceNames.listResourceNames(zipFile));
+            nameIndex=res;
+        }
+        return res;
+    }
+
+    @Override
+    public Collection<String> getResourceNames() {
+        return closeGuard.apply(()->ResourceNames.listResourceNames(zipFile));
+    }
+
+    /**
+     * Closes the archive.
+     * Lookups in progress complete before the archive is actually closed, and new lookups are refused.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Override
+    public void close() throws IOException {
+        closeGuard.close();
+    }
+
+    /**
+     * Releases the archive after the last lookup.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private void release() throws IOException {
+        try {
+            zipFile.close();
+        } finally {
+            synchronized (this) {
+                if (channel!=null) {
+                    channel.close();
+                    channel=null;
+                    centralDirectory=null;
+                    centralDirectoryInvalid=false;
+                }
+            }
+            if (metrics!=null) {
+                metrics.recordArchiveClosed();
+            }
+        }
+    }
+
+    /**
+     * Stream to the contents of an entry, counting as a lookup in progress until closed.
+     */
+    private final class GuardedInputStream extends FilterInputStream {
+        /**
+         * Indicates, if the lookup has exited.
+         */
+        private final AtomicBoolean exited=new AtomicBoolean();
+
+        /**
+         * Constructor.
+         * @param in Stream of the archive.
+         */
+        private GuardedInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (exited.compareAndSet(false,true)) {
+                    closeGuard.exit();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import lombok.Getter;
+
+import java.util.Collection;
+
+/**
+ * Compact, probabilistic membership filter of resource names.
+ * <p>
+ *     A filter may report false positives, but never false negatives.
+ *     A name reported as not contained is hence known not to be present.
+ * </p>
+ * <p>
+ *     Names are hashed once by {@link #hash(String)}, and the hash may then be probed against any number of filters.
+ * </p>
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public class BloomFilter {
+    /**
+     * Default probability of false positives.
+     */
+    public static final double DEFAULT_FALSE_POSITIVE_PROBABILITY=0.01;
+
+    /**
+     * Maximum number of hash functions.
+     */
+    private static final int MAX_HASH_FUNCTIONS=16;
+
+    /**
+     * Bits of the filter.
+     */
+    private final long[] bits;
+
+    /**
+     * Number of bits.
+     */
+    @Getter
+    private final int bitCount;
+
+    /**
+     * Number of hash functions.
+     */
+    @Getter
+    private final int hashFunctionCount;
+
+    /**
+     * Constructor.
+     * @param expectedCount Expected number of names.
+     * @param falsePositiveProbability Probability of false positives.
+     */
+    public BloomFilter(int expectedCount,
+                       double falsePositiveProbability) {
+        if (falsePositiveProbability<=0 || falsePositiveProbability>=1) {
+            throw new IllegalArgumentException(String.format("Failure to create filter; probability of false positives is %s!",falsePositiveProbability));
+        }
+        int n=Math.max(1,expectedCount);
+        long m=(long)Math.ceil(-n*Math.log(falsePositiveProbability)/(Math.log(2)*Math.log(2)));
+        this.bitCount=(int)Math.min(Integer.MAX_VALUE-Long.SIZE,Math.max(Long.SIZE,m));
+        this.hashFunctionCount=(int)Math.max(1,Math.min(MAX_HASH_FUNCTIONS,Math.round((double)bitCount/n*Math.log(2))));
+        this.bits=new long[(bitCount+Long.SIZE-1)/Long.SIZE];
+    }
+
+    /**
+     * Adds a name.
+     * @param name Resource name.
+     */
+    public void add(String name) {
+        add(hash(name));
+    }
+
+    /**
+     * Adds a hashed name.
+     * @param hash Hash of name as created by {@link #hash(String)}.
+     */
+    public void add(long hash) {
+        int h1=(int)hash;
+        int h2=(int)(hash>>>32);
+        for (int i=0; i<hashFunctionCount; i++) {
+            int bit=index(h1+i*h2);
+            bits[bit>>>6]|=1L<<bit;
+        }
+    }
+
+    /**
+     * Indicates, if a name may be contained.
+     * @param name Resource name.
+     * @return Indicates, if the name may be contained.
+     *         If {@code false}, the name is known not to be contained.
+     */
+    public boolean mightContain(String name) {
+        return mightContain(hash(name));
+    }
+
+    /**
+     * Indicates, if a hashed name may be contained.
+     * @param hash Hash of name as created by {@link #hash(String)}.
+     * @return Indicates, if the name may be contained.
+     *         If {@code false}, the name is known not to be contained.
+     */
+    public boolean mightContain(long hash) {
+        int h1=(int)hash;
+        int h2=(int)(hash>>>32);
+        for (int i=0; i<hashFunctionCount; i++) {
+            int bit=index(h1+i*h2);
+            if ((bits[bit>>>6]&(1L<<bit))==0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Maps a combined hash to a bit index.
+     * @param combinedHash Combined hash.
+     * @return Bit index.
+     */
+    private int index(int combinedHash) {
+        return (combinedHash&Integer.MAX_VALUE)%bitCount;
+    }
+
+    /**
+     * Hashes a name.
+     * This is a 64-bit FNV-1a hash of the characters of the name, finalized by the mix of MurmurHash3.
+     * @param name Resource name.
+     * @return Hash of name.
+     */
+    public static long hash(String name) {
+        long h=0xcbf29ce484222325L;
+        for (int i=0; i<name.length(); i++) {
+            h^=name.charAt(i);
+            h*=0x100000001b3L;
+        }
+        h^=h>>>33;
+        h*=0xff51afd7ed558ccdL;
+        h^=h>>>33;
+        h*=0xc4ceb9fe1a85ec53L;
+        h^=h>>>33;
+        return h;
+    }
+
+    /**
+     * Creates a filter of a collection of names.
+     * @param names Resource names.
+     * @param falsePositiveProbability Probability of false positives.
+     * @return Created filter.
+     */
+    public static BloomFilter of(Collection<String> names,
+                                 double falsePositiveProbability) {
+        BloomFilter res=new BloomFilter(names.size(),falsePositiveProbability);
+        for (String name: names) {
+            res.add(name);
+        }
+        return res;
+    }
+}
@@ -0,0 +1,573 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Proxy for an instance of {@link ResourceLoader} caching the contents of resources.
+ * <p>
+ *     Contents are held in a cache bounded by the total number of bytes,
+ *     and resources not recently used are evicted when the bound is exceeded.
+ *     Hits are lock-free and record the time of access, hence the order of recent use is approximate.
+ *     Each eviction takes the least recently used of a small sample of resources,
+ *     drawn by a hand sweeping the cache, hence the cost of storing does not grow with the number of resources held.
+ *     Contents may be held off-heap, in direct buffers.
+ *     Resources larger than a maximum size of an entry are passed through without being cached or copied.
+ *     The size of a resource is known up front for channels of a known size, like channels of files and of stored archive entries;
+ *     other resources are read only until the maximum size of an entry is exceeded.
+ *     The names of resources found to be too large are remembered, outside the bound of bytes,
+ *     and later requests for these are passed through at once.
+ * </p>
+ * <p>
+ *     Concurrent requests for the contents of the same resource are coalesced;
+ *     only one thread loads the contents while the others wait for the result.
+ *     Only contents are cached; lookups of URLs and locations are passed through.
+ * </p>
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public class CachingResourceLoader extends ProxyResourceLoader {
+    /**
+     * Default value for off-heap storage.
+     */
+    public static final boolean DEFAULT_OFF_HEAP=false;
+
+    /**
+     * Default ratio of the maximum size of an entry to the capacity of the cache.
+     */
+    public static final int DEFAULT_MAX_ENTRY_RATIO=8;
+
+    /**
+     * Number of resources sampled for each eviction.
+     */
+    private static final int EVICTION_SAMPLE_SIZE=8;
+
+    /**
+     * Marker of contents not cached due to their size.
+     */
+    private static final ByteBuffer OVERSIZED=ByteBuffer.allocate(0);
+
+    /**
+     * Maximum number of bytes held.
+     */
+    @Getter
+    private final long maxBytes;
+
+    /**
+     * Maximum number of bytes of a single resource held.
+     */
+    @Getter
+    private final long maxEntryBytes;
+
+    /**
+     * Indicates, if contents are held off-heap.
+     */
+    @Getter
+    private final boolean offHeap;
+
+    /**
+     * Contents held, keyed by resource name.
+     * Entries are added and removed while holding the lock of stores.
+     */
+    private final Map<String,Entry> entries=new ConcurrentHashMap<>();
+
+    /**
+     * Lock of stores, evictions and invalidations.
+     */
+    private final Object storeLock=new Object();
+
+    /**
+     * Number of bytes held.
+     * Guarded by the lock of stores.
+     */
+    private long byteCount;
+
+    /**
+     * Hand sweeping the contents held, drawing the samples of evictions.
+     * Guarded by the lock of stores.
+     */
+    private Iterator<Map.Entry<String,Entry>> hand;
+
+    /**
+     * Names of resources not cached due to their size.
+     */
+    private final Set<String> oversizedNames=ConcurrentHashMap.newKeySet();
+
+    /**
+     * Loads in progress, keyed by resource name.
+     */
+    private final Map<String,CompletableFuture<ByteBuffer>> loads=new ConcurrentHashMap<>();
+
+    /**
+     * Number of requests served from the cache.
+     */
+    private final LongAdder hitCount=new LongAdder();
+
+    /**
+     * Number of requests not served from the cache.
+     */
+    private final LongAdder missCount=new LongAdder();
+
+    /**
+     * Number of loads of contents from the underlying loader.
+     */
+    private final LongAdder loadCount=new LongAdder();
+
+    /**
+     * Number of requests which waited for a load in progress.
+     */
+    private final LongAdder coalescedCount=new LongAdder();
+
+    /**
+     * Number of resources evicted.
+     */
+    private final LongAdder evictionCount=new LongAdder();
+
+    /**
+     * Number of resources not cached due to their size.
+     */
+    private final LongAdder oversizedCount=new LongAdder();
+
+    /**
+     * Number of requests of resources known not to be cached due to their size.
+     */
+    private final LongAdder passThroughCount=new LongAdder();
+
+    /**
+     * Cached contents of a resource.
+     */
+    private static final class Entry {
+        /**
+         * Contents.
+         */
+        private final ByteBuffer contents;
+
+        /**
+         * Time of last access, as given by {@link System#nanoTime()}.
+         * Written without synchronization, hence approximate.
+         */
+        private volatile long accessTime;
+
+        /**
+         * Constructor.
+         * @param contents Contents.
+         */
+        private Entry(ByteBuffer contents) {
+            this.contents=contents;
+            this.accessTime=System.nanoTime();
+        }
+    }
+
+    /**
+     * Constructor.
+     * @param resourceLoader Underlying resource loader.
+     * @param maxBytes Maximum number of bytes held.
+     */
+    public CachingResourceLoader(ResourceLoader resourceLoader,
+                                 long maxBytes) {
+        this(resourceLoader,maxBytes,maxBytes/DEFAULT_MAX_ENTRY_RATIO,DEFAULT_OFF_HEAP);
+    }
+
+    /**
+     * Constructor.
+     * @param resourceLoader Underlying resource loader.
+     * @param maxBytes Maximum number of bytes held.
+     * @param maxEntryBytes Maximum number of bytes of a single resource held.
+     * @param offHeap Indicates, if contents are held off-heap.
+     */
+    public CachingResourceLoader(ResourceLoader resourceLoader,
+                                 long maxBytes,
+                                 long maxEntryBytes,
+                                 boolean offHeap) {
+        super(resourceLoader);
+        if (maxBytes<=0 || maxEntryBytes<0 || maxEntryBytes>maxBytes) {
+            throw new IllegalArgumentException(String.format("Failure to create caching resource loader; maximum bytes is %d, maximum entry bytes is %d!",maxBytes,maxEntryBytes));
+        }
+        this.maxBytes=maxBytes;
+        this.maxEntryBytes=Math.min(maxEntryBytes,Integer.MAX_VALUE);
+        this.offHeap=offHeap;
+    }
+
+    /**
+     * Gets the contents of a named resource, from the cache or by loading these.
+     * @param name Resource name.
+     * @return Read-only buffer holding the contents, positioned independently of other callers.
+     *         This is {@code null} in case the resource does not exist,
+     *         and {@link #OVERSIZED} in case the resource is to be passed through.
+     */
+    private ByteBuffer getContents(String name) {
+        ByteBuffer res=lookup(name);
+        if (res!=null) {
+            hitCount.increment();
+        } else {
+            if (oversizedNames.contains(name)) {
+                passThroughCount.increment();
+                res=OVERSIZED;
+            } else {
+                missCount.increment();
+                CompletableFuture<ByteBuffer> load=new CompletableFuture<>();
+                CompletableFuture<ByteBuffer> existingLoad=loads.putIfAbsent(name,load);
+                if (existingLoad!=null) {
+                    coalescedCount.increment();
+                    res=join(existingLoad);
+                } else {
+                    try {
+                        res=lookup(name);
+                        if (res==null) {
+                            res=load(name);
+                        }
+                        load.complete(res);
+                    } catch (RuntimeException|Error ex) {
+                        load.completeExceptionally(ex);
+                        throw ex;
+                    } finally {
+                        loads.remove(name,load);
+                    }
+                }
+            }
+        }
+        return res==null||res==OVERSIZED?res:res.asReadOnlyBuffer();
+    }
+
+    /**
+     * Looks up the contents of a named resource in the cache.
+     * The time of access is recorded without locking.
+     * @param name Resource name.
+     * @return Cached contents.
+     *         This is {@code null} in case not cached.
+     */
+    private ByteBuffer lookup(String name) {
+        ByteBuffer res=null;
+        Entry entry=entries.get(name);
+        if (entry!=null) {
+            entry.accessTime=System.nanoTime();
+            res=entry.contents;
+        }
+        return res;
+    }
+
+    /**
+     * Loads the contents of a named resource from the underlying loader and caches these.
+     * @param name Resource name.
+     * @return Loaded contents.
+     *         This is {@code null} in case the resource does not exist,
+     *         and {@link #OVERSIZED} in case the resource exceeds the maximum size of an entry.
+     */
+    private ByteBuffer load(String name) {
+        ByteBuffer res=null;
+        ReadableByteChannel channel=loader().getResourceAsChannel(name);
+        if (channel!=null) {
+            loadCount.increment();
+            try (channel) {
+                long size=channel instanceof SeekableByteChannel seekableChannel?seekableChannel.size()-seekableChannel.position():-1;
+                if (size<=maxEntryBytes) {
+                    res=read(channel,size);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(String.format("Failure to read resource; name is %s!",name),ex);
+            }
+            if (res==null) {
+                oversizedCount.increment();
+                oversizedNames.add(name);
+                res=OVERSIZED;
+            } else {
+                store(name,res);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Reads the contents of a channel, unless these exceed the maximum size of an entry.
+     * @param channel Source channel.
+     * @param size Expected number of bytes.
+     *             This may be negative in case the size is unknown.
+     * @return Buffer holding the contents, with a capacity equal to the size of the contents.
+     *         This is {@code null} in case the contents exceed the maximum size of an entry.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private ByteBuffer read(ReadableByteChannel channel,
+                            long size) throws IOException {
+        ByteBuffer buffer=ByteBuffer.allocate((int)Math.min(size<0?ResourceChannels.BUFFER_SIZE:size,maxEntryBytes));
+        ByteBuffer probe=ByteBuffer.allocate(1);
+        while (true) {
+            if (!buffer.hasRemaining()) {
+                probe.clear();
+                int read;
+                do {
+                    read=channel.read(probe);
+                } while (read==0);
+                if (read<0) {
+                    break;
+                }
+                if (buffer.capacity()>=maxEntryBytes) {
+                    return null;
+                }
+                buffer=ByteBuffer.allocate((int)Math.min((long)buffer.capacity()*2+1,maxEntryBytes)).put(buffer.flip()).put(probe.flip());
+            }
+            if (channel.read(buffer)<0) {
+                break;
+            }
+        }
+        buffer.flip();
+        ByteBuffer res=buffer;
+        if (offHeap) {
+            res=ByteBuffer.allocateDirect(buffer.remaining()).put(buffer).flip();
+        } else {
+            if (buffer.remaining()!=buffer.capacity()) {
+                res=ByteBuffer.allocate(buffer.remaining()).put(buffer).flip();
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Stores the contents of a named resource, evicting resources not recently used as required.
+     * @param name Resource name.
+     * @param contents Contents.
+     */
+    private void store(String name,
+                       ByteBuffer contents) {
+        synchronized (storeLock) {
+            Entry previous=entries.put(name,new Entry(contents));
+            if (previous!=null) {
+                byteCount-=previous.contents.capacity();
+            }
+            byteCount+=contents.capacity();
+            while (byteCount>maxBytes) {
+                Map.Entry<String,Entry> eldest=sampleEldest(name);
+                if (eldest==null) {
+                    break;
+                }
+                if (entries.remove(eldest.getKey(),eldest.getValue())) {  //Hand may yield entries since removed!
+                    byteCount-=eldest.getValue().contents.capacity();
+                    evictionCount.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * Draws a sample of the contents held, and selects the least recently used.
+     * Must be called while holding the lock of stores.
+     * @param excludedName Name of resource not to select, being the resource just stored.
+     * @return Least recently used of the sample.
+     *         This is {@code null} in case no other resource is held.
+     */
+    private Map.Entry<String,Entry> sampleEldest(String excludedName) {
+        Map.Entry<String,Entry> res=null;
+        for (int i=0; i<EVICTION_SAMPLE_SIZE; i++) {
+            if (hand==null || !hand.hasNext()) {
+                hand=entries.entrySet().iterator();
+            }
+            Map.Entry<String,Entry> candidate=hand.next();
+            if (!candidate.getKey().equals(excludedName) && (res==null || candidate.getValue().accessTime<res.getValue().accessTime)) {
+                res=candidate;
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Waits for a load in progress.
+     * @param load Load in progress.
+     * @return Loaded contents.
+     */
+    private static ByteBuffer join(CompletableFuture<ByteBuffer> load) {
+        try {
+            return load.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Removes the contents of a named resource from the cache.
+     * @param name Resource name.
+     */
+    public void invalidate(String name) {
+        synchronized (storeLock) {
+            Entry previous=entries.remove(name);
+            if (previous!=null) {
+                byteCount-=previous.contents.capacity();
+            }
+            oversizedNames.remove(name);
+        }
+    }
+
+    /**
+     * Removes all contents from the cache.
+     */
+    public void invalidateAll() {
+        synchronized (storeLock) {
+            entries.clear();
+            byteCount=0;
+            hand=null;
+            oversizedNames.clear();
+        }
+    }
+
+    /**
+     * Gets the statistics of the cache.
+     * @return Statistics.
+     */
+    public ResourceCacheStatistics getStatistics() {
+        int entryCount;
+        long bytes;
+        synchronized (storeLock) {
+            entryCount=entries.size();
+            bytes=byteCount;
+        }
+        return new ResourceCacheStatistics(hitCount.sum(),missCount.sum(),loadCount.sum(),coalescedCount.sum(),
+                                           evictionCount.sum(),oversizedCount.sum(),passThroughCount.sum(),entryCount,bytes,maxBytes);
+    }
+
+    @Override
+    public InputStream getResourceAsStream(String name) {
+        InputStream res;
+        ByteBuffer contents=getContents(name);
+        if (contents==OVERSIZED) {
+            res=super.getResourceAsStream(name);
+        } else {
+            res=contents==null?null:new ByteBufferInputStream(contents);
+        }
+        return res;
+    }
+
+    @Override
+    public ReadableByteChannel getResourceAsChannel(String name) {
+        ReadableByteChannel res;
+        ByteBuffer contents=getContents(name);
+        if (contents==OVERSIZED) {
+            res=super.getResourceAsChannel(name);
+        } else {
+            res=contents==null?null:ResourceChannels.newBufferChannel(contents);
+        }
+        return res;
+    }
+
+    @Override
+    public ByteBuffer getResourceAsByteBuffer(String name) {
+        ByteBuffer contents=getContents(name);
+        return contents==OVERSIZED?super.getResourceAsByteBuffer(name):contents;
+    }
+
+    @Override
+    public long transferResource(String name,
+                                 WritableByteChannel target) throws IOException {
+        long res=-1;
+        ByteBuffer contents=getContents(name);
+        if (contents==OVERSIZED) {
+            res=super.transferResource(name,target);
+        } else {
+            if (contents!=null) {
+                res=contents.remaining();
+                while (contents.hasRemaining()) {
+                    target.write(contents);
+                }
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public long copyResource(String name,
+                             Path target) throws IOException {
+        long res=-1;
+        ByteBuffer contents=getContents(name);
+        if (contents==OVERSIZED) {
+            res=super.copyResource(name,target);
+        } else {
+            if (contents!=null) {
+                res=contents.remaining();
+                try (FileChannel targetChannel=ResourceChannels.openTarget(target)) {
+                    while (contents.hasRemaining()) {
+                        targetChannel.write(contents);
+                    }
+                }
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public void close() throws IOException {
+        invalidateAll();
+        super.close();
+    }
+
+    /**
+     * Stream reading a buffer.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+        /**
+         * Buffer.
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * Constructor.
+         * @param buffer Buffer.
+         */
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer=buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining()?buffer.get()&0xFF:-1;
+        }
+
+        @Override
+        public int read(byte[] b,
+                        int off,
+                        int len) {
+            int res=-1;
+            if (len==0) {
+                res=0;
+            } else {
+                if (buffer.hasRemaining()) {
+                    res=Math.min(len,buffer.remaining());
+                    buffer.get(b,off,res);
+                }
+            }
+            return res;
+        }
+
+        @Override
+        public long skip(long n) {
+            int res=(int)Math.max(0,Math.min(n,buffer.remaining()));
+            buffer.position(buffer.position()+res);
+            return res;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -1,75 +1,417 @@
 package com.yelstream.topp.grind.gradle.api.io;
 
-import lombok.AllArgsConstructor;
+import lombok.Getter;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Loader of resources defined by a chain-of-responsibility of individual loaders.
+ * <p>
+ *     Optionally, each loader in the chain carries a membership filter of its resource names,
+ *     and loaders known not to contain a resource are skipped without being asked.
+ *     Loaders without a filter, e.g. of directories whose contents may change, are always asked.
+ *     Also optionally, the names of resources recently missed by the whole chain are cached,
+ *     and repeated lookups of these are answered without asking any loader.
+ * </p>
+ * <p>
+ *     Queries for all occurrences of a resource, as well as closing, may be fanned out in parallel over the loaders
+ *     by an executor, e.g. running virtual threads.
+ *     Results are still merged in chain order.
+ * </p>
+ * <p>
+ *     Given a collector of metrics, the probes of each loader are counted,
+ *     i.e. the number of times a loader is actually asked for a resource.
+ *     Lookups of single resources are recorded as flight recorder events, when enabled.
+ * </p>
+ * <p>
+ *     Instances are safe for concurrent use.
+ *     Closing waits for lookups in progress and refuses new lookups.
+ *     Streams of locations are lazy and count as lookups in progress until closed,
+ *     and must hence be closed for the loader to be closed.
+ * </p>
  *
  * @author Morten Sabroe Mortenen
  * @version 1.0
  * @since 2022-04-23
  */
-@AllArgsConstructor
 public class ChainedResourceLoader implements ResourceLoader {
     /**
      * Resource loaders.
      */
+    @Getter
     private final List<ResourceLoader> resourceLoaders;
 
+    /**
+     * Membership filters of the resource loaders.
+     * This is aligned with the list of loaders, and is {@code null} in case loaders are not filtered.
+     * The filter of a loader is {@code null} in case the loader is not filtered.
+     */
+    private final List<BloomFilter> filters;
+
+    /**
+     * Cache of resources recently missed by the chain.
+     * This is {@code null} in case misses are not cached.
+     */
+    @Getter
+    private final ResourceMissCache missCache;
+
+    /**
+     * Executor fanning out queries over the loaders in parallel.
+     * This is {@code null} in case loaders are queried sequentially.
+     */
+    @Getter
+    private final Executor executor;
+
+    /**
+     * Collector of metrics, counting the probes of each loader.
+     * This is {@code null} in case probes are not counted.
+     */
+    @Getter
+    private final ResourceMetrics metrics;
+
+    /**
+     * Guard closing the loaders when no lookups are in progress.
+     */
+    private final CloseGuard closeGuard=new CloseGuard(this::release);
+
+    /**
+     * Constructor.
+     * @param resourceLoaders Resource loaders.
+     */
+    public ChainedResourceLoader(List<ResourceLoader> resourceLoaders) {
+        this(resourceLoaders,null,null,null);
+    }
+
+    /**
+     * Constructor.
+     * @param resourceLoaders Resource loaders.
+     * @param filters Membership filters of the resource loaders.
+     *                This is aligned with the list of loaders, and may be {@code null}.
+     *                The filter of a loader may be {@code null}, in which case the loader is always asked.
+     * @param missCache Cache of resources recently missed by the chain.
+     *                  This may be {@code null}.
+     * @param executor Executor fanning out queries over the loaders in parallel.
+     *                 This may be {@code null}.
+     */
+    public ChainedResourceLoader(List<ResourceLoader> resourceLoaders,
+                                 List<BloomFilter> filters,
+                                 ResourceMissCache missCache,
+                                 Executor executor) {
+        this(resourceLoaders,filters,missCache,executor,null);
+    }
+
+    /**
+     * Constructor.
+     * @param resourceLoaders Resource loaders.
+     * @param filters Membership filters of the resource loaders.
+     *                This is aligned with the list of loaders, and may be {@code null}.
+     *                The filter of a loader may be {@code null}, in which case the loader is always asked.
+     * @param missCache Cache of resources recently missed by the chain.
+     *                  This may be {@code null}.
+     * @param executor Executor fanning out queries over the loaders in parallel.
+     *                 This may be {@code null}.
+     * @param metrics Collector of metrics, counting the probes of each loader.
+     *                This may be {@code null}.
+     */
+    public ChainedResourceLoader(List<ResourceLoader> resourceLoaders,
+                                 List<BloomFilter> filters,
+                                 ResourceMissCache missCache,
+                                 Executor executor,
+                                 ResourceMetrics metrics) {
+        if (filters!=null && filters.size()!=resourceLoaders.size()) {
+            throw new IllegalArgumentException(String.format("Failure to create chained resource loader; number of loaders is %d, number of filters is %d!",resourceLoaders.size(),filters.size()));
+        }
+        this.resourceLoaders=resourceLoaders;
+        this.filters=filters;
+        this.missCache=missCache;
+        this.executor=executor;
+        this.metrics=metrics;
+    }
+
+    /**
+     * Gets the loaders which may contain a named resource.
+     * Loaders are counted as probed when consumed from the stream.
+     * @param name Resource name.
+     * @return Loaders which may contain the resource, in chain order.
+     */
+    private Stream<ResourceLoader> getCandidates(String name) {
+        Stream<ResourceLoader> res;
+        if (missCache!=null && missCache.contains(name)) {
+            res=Stream.empty();
+        } else {
+            if (filters==null) {
+                res=resourceLoaders.stream();
+            } else {
+                long hash=BloomFilter.hash(name);
+                res=IntStream.range(0,resourceLoaders.size()).filter(i->filters.get(i)==null || filters.get(i).mightContain(hash)).mapToObj(resourceLoaders::get);
+            }
+            if (metrics!=null) {
+                res=res.peek(metrics::recordProbe);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Invalidates the cached misses of the chain.
+     * This is required for resources added after having been missed, e.g. to a directory within the chain, to be found.
+     * Membership filters are not affected, hence filtered loaders find only the resources present when created.
+     */
+    public void invalidateMisses() {
+        if (missCache!=null) {
+            missCache.clear();
+        }
+    }
+
+    /**
+     * Registers the result of a lookup of a named resource.
+     * @param name Resource name.
+     * @param found Indicates, if the resource was found.
+     */
+    private void registerLookup(String name,
+                                boolean found) {
+        if (!found && missCache!=null) {
+            missCache.add(name);
+        }
+    }
+
+    /**
+     * Looks up a named resource, asking the loaders which may contain it in chain order until found.
+     * @param operation Operation, as recorded by events.
+     * @param name Resource name.
+     * @param lookup Lookup by a single loader.
+     * @param <T> Type of result.
+     * @param <E> Type of exception thrown.
+     * @return Result of the first loader finding the resource.
+     *         This is {@code null} in case the resource is not found.
+     * @throws E Thrown in case of failure of a lookup.
+     */
+    private <T,E extends Exception> T findFirst(ResourceMetrics.Operation operation,
+                                                String name,
+                                                ResourceLookup<T,E> lookup) throws E {
+        T res=ResourceLookup.findFirst(operation,name,getCandidates(name).iterator(),lookup);
+        registerLookup(name,res!=null);
+        return res;
+    }
+
     @Override
     public URL getResource(String name) {
-        return resourceLoaders.stream().map(r->r.getResource(name)).filter(Objects::nonNull).findFirst().orElse(null);
+        closeGuard.enter();
+        try {
+            return findFirst(ResourceMetrics.Operation.GET_RESOURCE,name,r->r.getResource(name));
+        } finally {
+            closeGuard.exit();
+        }
     }
 
     @Override
     public InputStream getResourceAsStream(String name) {
-        return resourceLoaders.stream().map(r->r.getResourceAsStream(name)).filter(Objects::nonNull).findFirst().orElse(null);
+        closeGuard.enter();
+        try {
+            return findFirst(ResourceMetrics.Operation.GET_RESOURCE_AS_STREAM,name,r->r.getResourceAsStream(name));
+        } finally {
+            closeGuard.exit();
+        }
+    }
+
+    @Override
+    public ReadableByteChannel getResourceAsChannel(String name) {
+        closeGuard.enter();
+        try {
+            return findFirst(ResourceMetrics.Operation.GET_RESOURCE_AS_CHANNEL,name,r->r.getResourceAsChannel(name));
+        } finally {
+            closeGuard.exit();
+        }
+    }
+
+    @Override
+    public ByteBuffer getResourceAsByteBuffer(String name) {
+        closeGuard.enter();
+        try {
+            return findFirst(ResourceMetrics.Operation.GET_RESOURCE_AS_BYTE_BUFFER,name,r->r.getResourceAsByteBuffer(name));
+        } finally {
+            closeGuard.exit();
+        }
+    }
+
+    @Override
+    public long transferResource(String name,
+                                 WritableByteChannel target) throws IOException {
+        closeGuard.enter();
+        try {
+            return ResourceLookup.toCount(findFirst(ResourceMetrics.Operation.TRANSFER_RESOURCE,name,r->ResourceLookup.ofCount(r.transferResource(name,target))));
+        } finally {
+            closeGuard.exit();
+        }
+    }
+
+    @Override
+    public long copyResource(String name,
+                             Path target) throws IOException {
+        closeGuard.enter();
+        try {
+            return ResourceLookup.toCount(findFirst(ResourceMetrics.Operation.COPY_RESOURCE,name,r->ResourceLookup.ofCount(r.copyResource(name,target))));
+        } finally {
+            closeGuard.exit();
+        }
+    }
+
+    @Override
+    public ResourceFingerprint getResourceFingerprint(String name) {
+        closeGuard.enter();
+        try {
+            return findFirst(ResourceMetrics.Operation.GET_RESOURCE_FINGERPRINT,name,r->r.getResourceFingerprint(name));
+        } finally {
+            closeGuard.exit();
+        }
     }
 
     @Override
     public List<ResourceLocation> getResourceLocations(String name) {
-        List<ResourceLocation> res=new ArrayList<>();
-        for (ResourceLoader resourceLoader: resourceLoaders) {
-            List<ResourceLocation> resourceLocations=resourceLoader.getResourceLocations(name);
-            if (resourceLocations!=null) {
-                res.addAll(resourceLocations);
+        closeGuard.enter();
+        try {
+            ResourceLookupEvent event=new ResourceLookupEvent();
+            event.begin();
+            List<ResourceLoader> candidates=getCandidates(name).toList();
+            List<ResourceLocation> res=new ArrayList<>();
+            for (List<ResourceLocation> resourceLocations: FanOut.map(candidates,r->r.getResourceLocations(name),executor)) {
+                if (resourceLocations!=null) {
+                    res.addAll(resourceLocations);
+                }
             }
+            registerLookup(name,!res.isEmpty());
+            event.commit(ResourceMetrics.Operation.GET_RESOURCE_LOCATIONS,name,null,!res.isEmpty(),candidates.size());
+            return res;
+        } finally {
+            closeGuard.exit();
         }
-        return res;
     }
 
     @Override
-    public ResourceLocation getResourceLocation(String name) {
-        ResourceLocation res;
-        List<ResourceLocation> resourceLocations=getResourceLocations(name);
-        switch (resourceLocations.size()) {
-            case 0: {
-                res=null;
-                break;
+    public Map<String,List<ResourceLocation>> getResourceLocations(Collection<String> names) {
+        closeGuard.enter();
+        try {
+            List<List<String>> namesByLoader=new ArrayList<>(resourceLoaders.size());
+            for (int i=0; i<resourceLoaders.size(); i++) {
+                namesByLoader.add(new ArrayList<>());
             }
-            case 1: {
-                res=resourceLocations.get(0);
-                break;
+            for (String name: names) {
+                if (missCache==null || !missCache.contains(name)) {
+                    long hash=BloomFilter.hash(name);
+                    for (int i=0; i<resourceLoaders.size(); i++) {
+                        if (filters==null || filters.get(i)==null || filters.get(i).mightContain(hash)) {
+                            namesByLoader.get(i).add(name);
+                        }
+                    }
+                }
             }
-            default: {
-                throw new IllegalStateException(String.format("Failure to get location of named resource; name is %s, locations are %s!",name,resourceLocations));
+            List<Integer> indexes=new ArrayList<>();
+            for (int i=0; i<resourceLoaders.size(); i++) {
+                if (!namesByLoader.get(i).isEmpty()) {
+                    indexes.add(i);
+                    if (metrics!=null) {
+                        metrics.recordProbe(resourceLoaders.get(i));
+                    }
+                }
             }
+            List<Map<String,List<ResourceLocation>>> partialResults=
+                FanOut.map(indexes,i->resourceLoaders.get(i).getResourceLocations(namesByLoader.get(i)),executor);
+            Map<String,List<ResourceLocation>> res=ResourceLocations.merge(names,partialResults);
+            for (String name: names) {
+                registerLookup(name,res.containsKey(name));
+            }
+            return res;
+        } finally {
+            closeGuard.exit();
         }
-        return res;
     }
 
+    @Override
+    public ResourceLocation getResourceLocation(String name) {
+        closeGuard.enter();
+        try {
+            return ResourceLocations.getUniqueResourceLocation(name,getCandidates(name).flatMap(r->r.streamResourceLocations(name)));
+        } finally {
+            closeGuard.exit();
+        }
+    }
+
+    @Override
+    public Stream<ResourceLocation> streamResourceLocations(String name) {
+        return closeGuard.stream(()->getCandidates(name).flatMap(r->r.streamResourceLocations(name)));
+    }
+
+    @Override
+    public Stream<ResourceLocation> listResourceLocations(String prefix,
+                                                          String glob) {
+        return closeGuard.stream(()->resourceLoaders.stream().flatMap(r->r.listResourceLocations(prefix,glob)));
+    }
+
+    @Override
+    public Collection<String> getResourceNames() {
+        closeGuard.enter();
+        try {
+            Set<String> res=new LinkedHashSet<>();
+            for (ResourceLoader resourceLoader: resourceLoaders) {
+                res.addAll(resourceLoader.getResourceNames());
+            }
+            return res;
+        } finally {
+            closeGuard.exit();
+        }
+    }
+
+    /**
+     * Closes the loaders.
+     * Lookups in progress complete before the loaders are actually closed, and new lookups are refused.
+     * @throws IOException Thrown in case of I/O error.
+     */
     @Override
     public void close() throws IOException {
-        for (var resourceLoader: resourceLoaders) {
+        closeGuard.close();
+    }
+
+    /**
+     * Releases the loaders after the last lookup.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private void release() throws IOException {
+        try {
+            FanOut.map(resourceLoaders,ChainedResourceLoader::closeUnchecked,executor);
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    /**
+     * Closes a resource loader.
+     * @param resourceLoader Resource loader.
+     * @return Closed resource loader.
+     * @throws UncheckedIOException Thrown in case of I/O error.
+     */
+    private static ResourceLoader closeUnchecked(ResourceLoader resourceLoader) {
+        try {
             resourceLoader.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
         }
+        return resourceLoader;
     }
 
     /**
@@ -0,0 +1,69 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+/**
+ * Metadata of a class read from its class file.
+ * <p>
+ *     Names are binary names, e.g. {@code com.acme.Outer$Inner}.
+ * </p>
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Getter
+@AllArgsConstructor(access=AccessLevel.PACKAGE)
+public class ClassFileInfo {
+    /**
+     * Name of class.
+     */
+    private final String className;
+
+    /**
+     * Access flags of class, as held by the class file.
+     */
+    private final int accessFlags;
+
+    /**
+     * Name of superclass.
+     * This is {@code null} for {@code java.lang.Object} and for modules.
+     */
+    private final String superclassName;
+
+    /**
+     * Names of directly implemented interfaces.
+     */
+    private final List<String> interfaceNames;
+
+    /**
+     * Names of the types of the annotations of the class, visible at runtime or not.
+     */
+    private final List<String> annotationNames;
+
+    /**
+     * Indicates, if the class is an interface.
+     * @return Indicates, if an interface.
+     */
+    public boolean isInterface() {
+        return (accessFlags&Modifier.INTERFACE)!=0;
+    }
+
+    /**
+     * Indicates, if the class is abstract.
+     * @return Indicates, if abstract.
+     */
+    public boolean isAbstract() {
+        return (accessFlags&Modifier.ABSTRACT)!=0;
+    }
+
+    @Override
+    public String toString() {
+        return className;
+    }
+}
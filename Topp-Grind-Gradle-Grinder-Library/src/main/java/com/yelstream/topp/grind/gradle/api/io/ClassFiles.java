@@ -0,0 +1,507 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import lombok.experimental.UtilityClass;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Utilities addressing class files.
+ * <p>
+ *     Class files are read directly from their bytes, without loading classes.
+ *     Only the constant pool, the header and the annotation attributes of the class are read;
+ *     fields and methods are skipped by their lengths.
+ * </p>
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@UtilityClass
+public class ClassFiles {
+    /**
+     * Suffix of the names of class files.
+     */
+    public static final String CLASS_FILE_SUFFIX=".class";
+
+    /**
+     * Magic number of class files.
+     */
+    private static final int MAGIC=0xCAFEBABE;
+
+    /**
+     * Name of the attribute holding annotations visible at runtime.
+     */
+    private static final String RUNTIME_VISIBLE_ANNOTATIONS="RuntimeVisibleAnnotations";
+
+    /**
+     * Name of the attribute holding annotations not visible at runtime.
+     */
+    private static final String RUNTIME_INVISIBLE_ANNOTATIONS="RuntimeInvisibleAnnotations";
+
+    /**
+     * Tag of constant pool entries of strings.
+     */
+    private static final int CONSTANT_UTF8=1;
+
+    /**
+     * Tag of constant pool entries of integers.
+     */
+    private static final int CONSTANT_INTEGER=3;
+
+    /**
+     * Tag of constant pool entries of floats.
+     */
+    private static final int CONSTANT_FLOAT=4;
+
+    /**
+     * Tag of constant pool entries of longs.
+     */
+    private static final int CONSTANT_LONG=5;
+
+    /**
+     * Tag of constant pool entries of doubles.
+     */
+    private static final int CONSTANT_DOUBLE=6;
+
+    /**
+     * Tag of constant pool entries of classes.
+     */
+    private static final int CONSTANT_CLASS=7;
+
+    /**
+     * Tag of constant pool entries of string literals.
+     */
+    private static final int CONSTANT_STRING=8;
+
+    /**
+     * Tag of constant pool entries of field references.
+     */
+    private static final int CONSTANT_FIELDREF=9;
+
+    /**
+     * Tag of constant pool entries of method references.
+     */
+    private static final int CONSTANT_METHODREF=10;
+
+    /**
+     * Tag of constant pool entries of interface method references.
+     */
+    private static final int CONSTANT_INTERFACE_METHODREF=11;
+
+    /**
+     * Tag of constant pool entries of names and types.
+     */
+    private static final int CONSTANT_NAME_AND_TYPE=12;
+
+    /**
+     * Tag of constant pool entries of method handles.
+     */
+    private static final int CONSTANT_METHOD_HANDLE=15;
+
+    /**
+     * Tag of constant pool entries of method types.
+     */
+    private static final int CONSTANT_METHOD_TYPE=16;
+
+    /**
+     * Tag of constant pool entries of dynamically computed constants.
+     */
+    private static final int CONSTANT_DYNAMIC=17;
+
+    /**
+     * Tag of constant pool entries of dynamically computed call sites.
+     */
+    private static final int CONSTANT_INVOKE_DYNAMIC=18;
+
+    /**
+     * Tag of constant pool entries of modules.
+     */
+    private static final int CONSTANT_MODULE=19;
+
+    /**
+     * Tag of constant pool entries of packages.
+     */
+    private static final int CONSTANT_PACKAGE=20;
+
+    /**
+     * Indicates, if a resource name is the name of a class file of a class.
+     * Descriptors of modules and packages, as well as versioned entries of multi-release archives, are not.
+     * @param name Resource name.
+     * @return Indicates, if the name of a class file.
+     */
+    public static boolean isClassFileName(String name) {
+        return name.endsWith(CLASS_FILE_SUFFIX) && !name.startsWith("META-INF/") && !name.endsWith("module-info.class") && !name.endsWith("package-info.class");
+    }
+
+    /**
+     * Converts a binary name of a class to the name of its class file.
+     * @param className Binary name of class, e.g. {@code com.acme.Outer$Inner}.
+     * @return Name of class file, e.g. {@code com/acme/Outer$Inner.class}.
+     */
+    public static String toClassFileName(String className) {
+        return className.replace('.','/')+CLASS_FILE_SUFFIX;
+    }
+
+    /**
+     * Reads the metadata of a class from its class file.
+     * @param classFile Contents of class file.
+     *                  The buffer is not modified.
+     * @return Metadata of class.
+     * @throws IllegalArgumentException Thrown in case the class file is not valid.
+     */
+    public static ClassFileInfo read(ByteBuffer classFile) {
+        return readClassFile(classFile,null,false);
+    }
+
+    /**
+     * Reads the metadata of a class from its class file, recording selected annotations only.
+     * @param classFile Contents of class file.
+     *                  The buffer is not modified.
+     * @param annotationNames Names of the annotations to record.
+     *                        If {@code null}, all annotations are recorded.
+     * @param annotatedOnly Indicates, if only classes carrying one of the annotations should be read.
+     *                      If so, classes not referring to any of the annotations in their constant pool are skipped
+     *                      without reading more than the constant pool.
+     * @return Metadata of class.
+     *         This is {@code null} in case the class is skipped.
+     * @throws IllegalArgumentException Thrown in case the class file is not valid.
+     */
+    public static ClassFileInfo read(ByteBuffer classFile,
+                                     Collection<String> annotationNames,
+                                     boolean annotatedOnly) {
+        return readClassFile(classFile,annotationNames==null?null:toDescriptors(annotationNames),annotatedOnly);
+    }
+
+    /**
+     * Converts names of annotations to the encoded descriptors held by constant pools.
+     * @param annotationNames Binary names of annotations.
+     * @return Encoded descriptors.
+     */
+    static byte[][] toDescriptors(Collection<String> annotationNames) {
+        return annotationNames.stream().map(name->("L"+name.replace('.','/')+";").getBytes(StandardCharsets.UTF_8)).toArray(byte[][]::new);
+    }
+
+    /**
+     * Reads the metadata of a class from its class file, recording selected annotations only.
+     * @param classFile Contents of class file.
+     * @param descriptors Encoded descriptors of the annotations to record.
+     *                    If {@code null}, all annotations are recorded.
+     * @param annotatedOnly Indicates, if only classes carrying one of the annotations should be read.
+     * @return Metadata of class.
+     *         This is {@code null} in case the class is skipped.
+     */
+    static ClassFileInfo readClassFile(ByteBuffer classFile,
+                                       byte[][] descriptors,
+                                       boolean annotatedOnly) {
+        try {
+            ByteBuffer buffer=classFile.slice();
+            if (buffer.getInt()!=MAGIC) {
+                throw new IllegalArgumentException("Failure to read class file; invalid magic number!");
+            }
+            buffer.position(buffer.position()+4);  //Minor and major version!
+            ConstantPool pool=ConstantPool.read(buffer);
+            boolean referenced=descriptors==null || pool.containsAnyUtf8(descriptors);
+            if (annotatedOnly && !referenced) {
+                return null;
+            }
+            int accessFlags=Short.toUnsignedInt(buffer.getShort());
+            String className=pool.getClassName(Short.toUnsignedInt(buffer.getShort()));
+            int superIndex=Short.toUnsignedInt(buffer.getShort());
+            String superclassName=superIndex==0?null:pool.getClassName(superIndex);
+            int interfaceCount=Short.toUnsignedInt(buffer.getShort());
+            List<String> interfaceNames=new ArrayList<>(interfaceCount);
+            for (int i=0; i<interfaceCount; i++) {
+                interfaceNames.add(pool.getClassName(Short.toUnsignedInt(buffer.getShort())));
+            }
+            List<String> annotationNames=new ArrayList<>();
+            if (referenced && pool.hasAnnotations()) {
+                skipMembers(buffer);  //Fields!
+                skipMembers(buffer);  //Methods!
+                int attributeCount=Short.toUnsignedInt(buffer.getShort());
+                for (int i=0; i<attributeCount; i++) {
+                    String attributeName=pool.getUtf8(Short.toUnsignedInt(buffer.getShort()));
+                    int length=buffer.getInt();
+                    int end=buffer.position()+length;
+                    if (RUNTIME_VISIBLE_ANNOTATIONS.equals(attributeName) || RUNTIME_INVISIBLE_ANNOTATIONS.equals(attributeName)) {
+                        readAnnotations(buffer,pool,descriptors,annotationNames);
+                    }
+                    buffer.position(end);
+                }
+            }
+            if (annotatedOnly && annotationNames.isEmpty()) {
+                return null;
+            }
+            return new ClassFileInfo(className,accessFlags,superclassName,List.copyOf(interfaceNames),List.copyOf(annotationNames));
+        } catch (BufferUnderflowException|IndexOutOfBoundsException ex) {
+            throw new IllegalArgumentException("Failure to read class file; class file is truncated or corrupt!",ex);
+        }
+    }
+
+    /**
+     * Skips the fields or methods of a class file.
+     * @param buffer Class file, positioned at the count of members.
+     */
+    private static void skipMembers(ByteBuffer buffer) {
+        int memberCount=Short.toUnsignedInt(buffer.getShort());
+        for (int i=0; i<memberCount; i++) {
+            buffer.position(buffer.position()+6);  //Access flags, name and descriptor!
+            int attributeCount=Short.toUnsignedInt(buffer.getShort());
+            for (int j=0; j<attributeCount; j++) {
+                buffer.position(buffer.position()+2);
+                int length=buffer.getInt();
+                buffer.position(buffer.position()+length);
+            }
+        }
+    }
+
+    /**
+     * Reads the types of the annotations of an annotation attribute.
+     * @param buffer Class file, positioned at the count of annotations.
+     * @param pool Constant pool.
+     * @param descriptors Encoded descriptors of the annotations to record.
+     *                    If {@code null}, all annotations are recorded.
+     * @param annotationNames Names of annotations added to.
+     */
+    private static void readAnnotations(ByteBuffer buffer,
+                                        ConstantPool pool,
+                                        byte[][] descriptors,
+                                        List<String> annotationNames) {
+        int annotationCount=Short.toUnsignedInt(buffer.getShort());
+        for (int i=0; i<annotationCount; i++) {
+            int typeIndex=Short.toUnsignedInt(buffer.getShort());
+            if (descriptors==null || pool.equalsAnyUtf8(typeIndex,descriptors)) {
+                String descriptor=pool.getUtf8(typeIndex);
+                annotationNames.add(descriptor.substring(1,descriptor.length()-1).replace('/','.'));
+            }
+            skipElementValuePairs(buffer);
+        }
+    }
+
+    /**
+     * Skips the element-value pairs of an annotation.
+     * @param buffer Class file, positioned at the count of pairs.
+     */
+    private static void skipElementValuePairs(ByteBuffer buffer) {
+        int pairCount=Short.toUnsignedInt(buffer.getShort());
+        for (int i=0; i<pairCount; i++) {
+            buffer.position(buffer.position()+2);  //Element name!
+            skipElementValue(buffer);
+        }
+    }
+
+    /**
+     * Skips an element value of an annotation.
+     * @param buffer Class file, positioned at the tag of the value.
+     */
+    private static void skipElementValue(ByteBuffer buffer) {
+        int tag=buffer.get();
+        switch (tag) {
+            case 'B', 'C', 'D', 'F', 'I', 'J', 'S', 'Z', 's', 'c' -> buffer.position(buffer.position()+2);
+            case 'e' -> buffer.position(buffer.position()+4);
+            case '@' -> {
+                buffer.position(buffer.position()+2);  //Type!
+                skipElementValuePairs(buffer);
+            }
+            case '[' -> {
+                int valueCount=Short.toUnsignedInt(buffer.getShort());
+                for (int i=0; i<valueCount; i++) {
+                    skipElementValue(buffer);
+                }
+            }
+            default -> throw new IllegalArgumentException(String.format("Failure to read class file; invalid element value tag %d!",tag));
+        }
+    }
+
+    /**
+     * Constant pool of a class file.
+     * Entries are located up front, and decoded on request.
+     */
+    private static final class ConstantPool {
+        /**
+         * Class file.
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * Offsets of the entries within the class file, by index.
+         */
+        private final int[] offsets;
+
+        /**
+         * Indicates, if the pool holds the name of an annotation attribute.
+         */
+        private boolean annotations;
+
+        /**
+         * Constructor.
+         * @param buffer Class file.
+         * @param count Number of entries, plus one.
+         */
+        private ConstantPool(ByteBuffer buffer,
+                             int count) {
+            this.buffer=buffer;
+            this.offsets=new int[count];
+        }
+
+        /**
+         * Reads a constant pool.
+         * @param buffer Class file, positioned at the count of entries.
+         *               This is positioned after the pool when read.
+         * @return Constant pool.
+         */
+        private static ConstantPool read(ByteBuffer buffer) {
+            int count=Short.toUnsignedInt(buffer.getShort());
+            ConstantPool res=new ConstantPool(buffer.duplicate(),count);
+            byte[] visible=RUNTIME_VISIBLE_ANNOTATIONS.getBytes(StandardCharsets.US_ASCII);
+            byte[] invisible=RUNTIME_INVISIBLE_ANNOTATIONS.getBytes(StandardCharsets.US_ASCII);
+            for (int i=1; i<count; i++) {
+                int offset=buffer.position();
+                res.offsets[i]=offset;
+                int tag=buffer.get();
+                switch (tag) {
+                    case CONSTANT_UTF8 -> {
+                        int length=Short.toUnsignedInt(buffer.getShort());
+                        if (!res.annotations && (res.equalsUtf8(offset,visible) || res.equalsUtf8(offset,invisible))) {
+                            res.annotations=true;
+                        }
+                        buffer.position(buffer.position()+length);
+                    }
+                    case CONSTANT_CLASS, CONSTANT_STRING, CONSTANT_METHOD_TYPE, CONSTANT_MODULE, CONSTANT_PACKAGE -> buffer.position(buffer.position()+2);
+                    case CONSTANT_METHOD_HANDLE -> buffer.position(buffer.position()+3);
+                    case CONSTANT_INTEGER, CONSTANT_FLOAT, CONSTANT_FIELDREF, CONSTANT_METHODREF, CONSTANT_INTERFACE_METHODREF,
+                         CONSTANT_NAME_AND_TYPE, CONSTANT_DYNAMIC, CONSTANT_INVOKE_DYNAMIC -> buffer.position(buffer.position()+4);
+                    case CONSTANT_LONG, CONSTANT_DOUBLE -> {
+                        buffer.position(buffer.position()+8);
+                        i++;  //Takes two entries!
+                    }
+                    default -> throw new IllegalArgumentException(String.format("Failure to read class file; invalid constant pool tag %d at index %d!",tag,i));
+                }
+            }
+            return res;
+        }
+
+        /**
+         * Indicates, if the pool holds the name of an annotation attribute.
+         * @return Indicates, if annotations may be present.
+         */
+        private boolean hasAnnotations() {
+            return annotations;
+        }
+
+        /**
+         * Indicates, if the pool holds any of a number of encoded strings.
+         * @param values Encoded strings.
+         * @return Indicates, if any is held.
+         */
+        private boolean containsAnyUtf8(byte[][] values) {
+            for (int i=1; i<offsets.length; i++) {
+                int offset=offsets[i];
+                if (offset!=0 && buffer.get(offset)==CONSTANT_UTF8) {
+                    for (byte[] value: values) {
+                        if (equalsUtf8(offset,value)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Indicates, if a string entry equals any of a number of encoded strings.
+         * @param index Index of entry.
+         * @param values Encoded strings.
+         * @return Indicates, if equal to any.
+         */
+        private boolean equalsAnyUtf8(int index,
+                                      byte[][] values) {
+            for (byte[] value: values) {
+                if (equalsUtf8(offsets[index],value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Indicates, if the string entry at an offset equals an encoded string.
+         * @param offset Offset of entry.
+         * @param value Encoded string.
+         * @return Indicates, if equal.
+         */
+        private boolean equalsUtf8(int offset,
+                                   byte[] value) {
+            int length=Short.toUnsignedInt(buffer.getShort(offset+1));
+            if (length!=value.length) {
+                return false;
+            }
+            for (int i=0; i<length; i++) {
+                if (buffer.get(offset+3+i)!=value[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Gets a string entry.
+         * @param index Index of entry.
+         * @return String.
+         */
+        private String getUtf8(int index) {
+            int offset=offsets[index];
+            if (buffer.get(offset)!=CONSTANT_UTF8) {
+                throw new IllegalArgumentException(String.format("Failure to read class file; constant pool entry at index %d is not a string!",index));
+            }
+            int length=Short.toUnsignedInt(buffer.getShort(offset+1));
+            return decodeUtf8(buffer,offset+3,length);
+        }
+
+        /**
+         * Gets the binary name of a class entry.
+         * @param index Index of entry.
+         * @return Binary name of class.
+         */
+        private String getClassName(int index) {
+            int offset=offsets[index];
+            if (buffer.get(offset)!=CONSTANT_CLASS) {
+                throw new IllegalArgumentException(String.format("Failure to read class file; constant pool entry at index %d is not a class!",index));
+            }
+            return getUtf8(Short.toUnsignedInt(buffer.getShort(offset+1))).replace('/','.');
+        }
+    }
+
+    /**
+     * Decodes a string in the modified UTF-8 encoding of class files.
+     * @param buffer Buffer.
+     * @param offset Offset of encoded string.
+     * @param length Length of encoded string.
+     * @return Decoded string.
+     */
+    private static String decodeUtf8(ByteBuffer buffer,
+                                     int offset,
+                                     int length) {
+        char[] chars=new char[length];
+        int count=0;
+        int position=offset;
+        int end=offset+length;
+        while (position<end) {
+            int b=buffer.get(position++)&0xFF;
+            if (b<0x80) {
+                chars[count++]=(char)b;
+            } else {
+                if ((b&0xE0)==0xC0) {
+                    chars[count++]=(char)(((b&0x1F)<<6)|(buffer.get(position++)&0x3F));
+                } else {
+                    chars[count++]=(char)(((b&0x0F)<<12)|((buffer.get(position++)&0x3F)<<6)|(buffer.get(position++)&0x3F));
+                }
+            }
+        }
+        return new String(chars,0,count);
+    }
+}
@@ -0,0 +1,597 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Modifier;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact index of the metadata of classes.
+ * <p>
+ *     All names are held once, in a table of names, and classes refer to their superclass, interfaces and annotations
+ *     by position in the table.
+ *     Names are binary names, e.g. {@code com.acme.Outer$Inner}.
+ *     Where a class occurs more than once, the first occurrence is held.
+ * </p>
+ * <p>
+ *     Indexes may be merged, e.g. indexes of the individual sources of a classpath,
+ *     and may be encoded to bytes to be kept across builds.
+ *     Instances are immutable and thread-safe.
+ * </p>
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public class ClassIndex {
+    /**
+     * Empty index.
+     */
+    public static final ClassIndex EMPTY=of(List.of());
+
+    /**
+     * Version of the encoding.
+     */
+    private static final int ENCODING_VERSION=1;
+
+    /**
+     * Table of names.
+     */
+    private final String[] names;
+
+    /**
+     * Positions of the names of classes in the table of names.
+     */
+    private final int[] classNames;
+
+    /**
+     * Access flags of classes.
+     */
+    private final int[] accessFlags;
+
+    /**
+     * Positions of the names of superclasses in the table of names.
+     * This is {@code -1} for classes without a superclass.
+     */
+    private final int[] superclassNames;
+
+    /**
+     * Start of the interfaces of each class in the positions of interface names, plus the end of the last class.
+     */
+    private final int[] interfaceStarts;
+
+    /**
+     * Positions of the names of interfaces in the table of names.
+     */
+    private final int[] interfaceNames;
+
+    /**
+     * Start of the annotations of each class in the positions of annotation names, plus the end of the last class.
+     */
+    private final int[] annotationStarts;
+
+    /**
+     * Positions of the names of annotations in the table of names.
+     */
+    private final int[] annotationNames;
+
+    /**
+     * Classes, keyed by name.
+     */
+    private final Map<String,Integer> classesByName;
+
+    /**
+     * Direct subtypes, by position of the name of the supertype in the table of names.
+     * This is created on first use.
+     */
+    private volatile int[][] directSubtypes;
+
+    /**
+     * Constructor.
+     * @param names Table of names.
+     * @param classNames Positions of the names of classes in the table of names.
+     * @param accessFlags Access flags of classes.
+     * @param superclassNames Positions of the names of superclasses in the table of names.
+     * @param interfaceStarts Start of the interfaces of each class, plus the end of the last class.
+     * @param interfaceNames Positions of the names of interfaces in the table of names.
+     * @param annotationStarts Start of the annotations of each class, plus the end of the last class.
+     * @param annotationNames Positions of the names of annotations in the table of names.
+     */
+    private ClassIndex(String[] names,
+                       int[] classNames,
+                       int[] accessFlags,
+                       int[] superclassNames,
+                       int[] interfaceStarts,
+                       int[] interfaceNames,
+                       int[] annotationStarts,
+                       int[] annotationNames) {
+        this.names=names;
+        this.classNames=classNames;
+        this.accessFlags=accessFlags;
+        this.superclassNames=superclassNames;
+        this.interfaceStarts=interfaceStarts;
+        this.interfaceNames=interfaceNames;
+        this.annotationStarts=annotationStarts;
+        this.annotationNames=annotationNames;
+        this.classesByName=new HashMap<>(classNames.length*4/3+1);
+        for (int i=0; i<classNames.length; i++) {
+            classesByName.putIfAbsent(names[classNames[i]],i);
+        }
+    }
+
+    /**
+     * Gets the number of classes.
+     * @return Number of classes.
+     */
+    public int size() {
+        return classNames.length;
+    }
+
+    /**
+     * Gets the names of all classes.
+     * @return Names of classes, in the order indexed.
+     */
+    public List<String> getClassNames() {
+        return toNames(classNames);
+    }
+
+    /**
+     * Indicates, if a class is indexed.
+     * @param className Name of class.
+     * @return Indicates, if indexed.
+     */
+    public boolean contains(String className) {
+        return classesByName.containsKey(className);
+    }
+
+    /**
+     * Gets the metadata of a class.
+     * @param className Name of class.
+     * @return Metadata of class.
+     *         This is {@code null} in case the class is not indexed.
+     */
+    public ClassFileInfo getClassFileInfo(String className) {
+        ClassFileInfo res=null;
+        Integer index=classesByName.get(className);
+        if (index!=null) {
+            res=toClassFileInfo(index);
+        }
+        return res;
+    }
+
+    /**
+     * Creates the metadata of an indexed class.
+     * @param index Index of class.
+     * @return Metadata of class.
+     */
+    private ClassFileInfo toClassFileInfo(int index) {
+        return new ClassFileInfo(names[classNames[index]],
+                                 accessFlags[index],
+                                 superclassNames[index]<0?null:names[superclassNames[index]],
+                                 toNames(Arrays.copyOfRange(interfaceNames,interfaceStarts[index],interfaceStarts[index+1])),
+                                 toNames(Arrays.copyOfRange(annotationNames,annotationStarts[index],annotationStarts[index+1])));
+    }
+
+    /**
+     * Gets the names of the classes carrying an annotation.
+     * @param annotationName Name of annotation.
+     * @return Names of annotated classes, in the order indexed.
+     */
+    public List<String> getAnnotatedClasses(String annotationName) {
+        List<String> res=new ArrayList<>();
+        for (int i=0; i<classNames.length; i++) {
+            for (int j=annotationStarts[i]; j<annotationStarts[i+1]; j++) {
+                if (names[annotationNames[j]].equals(annotationName)) {
+                    res.add(names[classNames[i]]);
+                    break;
+                }
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Gets the names of the classes extending or implementing a type, directly or indirectly.
+     * Only subtypes reachable through indexed classes are found.
+     * @param typeName Name of class or interface.
+     * @return Names of subtypes, in breadth-first order.
+     */
+    public List<String> getSubtypes(String typeName) {
+        List<String> res=new ArrayList<>();
+        for (int index: findSubtypes(typeName)) {
+            res.add(names[classNames[index]]);
+        }
+        return res;
+    }
+
+    /**
+     * Gets the names of the concrete classes extending or implementing a type, directly or indirectly.
+     * Interfaces and abstract classes are left out.
+     * @param typeName Name of class or interface.
+     * @return Names of implementations, in breadth-first order.
+     */
+    public List<String> getImplementations(String typeName) {
+        List<String> res=new ArrayList<>();
+        for (int index: findSubtypes(typeName)) {
+            if ((accessFlags[index]&(Modifier.INTERFACE|Modifier.ABSTRACT))==0) {
+                res.add(names[classNames[index]]);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Finds the classes extending or implementing a type, directly or indirectly.
+     * @param typeName Name of class or interface.
+     * @return Indexes of subtypes, in breadth-first order.
+     */
+    private List<Integer> findSubtypes(String typeName) {
+        List<Integer> res=new ArrayList<>();
+        int name=Arrays.asList(names).indexOf(typeName);
+        if (name>=0) {
+            int[][] subtypes=getDirectSubtypes();
+            BitSet visited=new BitSet(classNames.length);
+            Deque<Integer> queue=new ArrayDeque<>();
+            queue.add(name);
+            while (!queue.isEmpty()) {
+                for (int index: subtypes[queue.poll()]) {
+                    if (!visited.get(index)) {
+                        visited.set(index);
+                        res.add(index);
+                        queue.add(classNames[index]);
+                    }
+                }
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Gets the direct subtypes of all names, creating these if required.
+     * @return Indexes of direct subtypes, by position of the name of the supertype in the table of names.
+     */
+    private int[][] getDirectSubtypes() {
+        int[][] res=directSubtypes;
+        if (res==null) {
+            int[] counts=new int[names.length];
+            for (int i=0; i<classNames.length; i++) {
+                if (superclassNames[i]>=0) {
+                    counts[superclassNames[i]]++;
+                }
+                for (int j=interfaceStarts[i]; j<interfaceStarts[i+1]; j++) {
+                    counts[interfaceNames[j]]++;
+                }
+            }
+            res=new int[names.length][];
+            for (int i=0; i<names.length; i++) {
+                res[i]=new int[counts[i]];
+                counts[i]=0;
+            }
+            for (int i=0; i<classNames.length; i++) {
+                if (superclassNames[i]>=0) {
+                    res[superclassNames[i]][counts[superclassNames[i]]++]=i;
+                }
+                for (int j=interfaceStarts[i]; j<interfaceStarts[i+1]; j++) {
+                    res[interfaceNames[j]][counts[interfaceNames[j]]++]=i;
+                }
+            }
+            directSubtypes=res;
+        }
+        return res;
+    }
+
+    /**
+     * Converts positions in the table of names to names.
+     * @param positions Positions in the table of names.
+     * @return Names.
+     */
+    private List<String> toNames(int[] positions) {
+        String[] res=new String[positions.length];
+        for (int i=0; i<positions.length; i++) {
+            res[i]=names[positions[i]];
+        }
+        return Collections.unmodifiableList(Arrays.asList(res));
+    }
+
+    /**
+     * Encodes this index.
+     * @return Encoded index.
+     */
+    public byte[] encode() {
+        ByteArrayOutputStream bytes=new ByteArrayOutputStream();
+        try (DataOutputStream out=new DataOutputStream(bytes)) {
+            out.writeInt(ENCODING_VERSION);
+            out.writeInt(names.length);
+            for (String name: names) {
+                byte[] encodedName=name.getBytes(StandardCharsets.UTF_8);
+                out.writeShort(encodedName.length);
+                out.write(encodedName);
+            }
+            out.writeInt(classNames.length);
+            for (int i=0; i<classNames.length; i++) {
+                out.writeInt(classNames[i]);
+                out.writeShort(accessFlags[i]);
+                out.writeInt(superclassNames[i]);
+                writePositions(out,interfaceNames,interfaceStarts[i],interfaceStarts[i+1]);
+                writePositions(out,annotationNames,annotationStarts[i],annotationStarts[i+1]);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failure to encode class index!",ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Writes a range of positions in the table of names.
+     * @param out Output.
+     * @param positions Positions.
+     * @param start Start of range.
+     * @param end End of range.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private static void writePositions(DataOutputStream out,
+                                       int[] positions,
+                                       int start,
+                                       int end) throws IOException {
+        out.writeShort(end-start);
+        for (int i=start; i<end; i++) {
+            out.writeInt(positions[i]);
+        }
+    }
+
+    /**
+     * Decodes an index.
+     * @param encoded Encoded index, as created by {@link #encode()}.
+     * @return Decoded index.
+     * @throws IllegalArgumentException Thrown in case the encoded index is not valid.
+     */
+    public static ClassIndex decode(ByteBuffer encoded) {
+        try {
+            ByteBuffer buffer=encoded.duplicate();
+            int version=buffer.getInt();
+            if (version!=ENCODING_VERSION) {
+                throw new IllegalArgumentException(String.format("Failure to decode class index; version is %d!",version));
+            }
+            String[] names=new String[buffer.getInt()];
+            for (int i=0; i<names.length; i++) {
+                byte[] name=new byte[Short.toUnsignedInt(buffer.getShort())];
+                buffer.get(name);
+                names[i]=new String(name,StandardCharsets.UTF_8);
+            }
+            int count=buffer.getInt();
+            int[] classNames=new int[count];
+            int[] accessFlags=new int[count];
+            int[] superclassNames=new int[count];
+            int[] interfaceStarts=new int[count+1];
+            int[] annotationStarts=new int[count+1];
+            IntList interfaceNames=new IntList();
+            IntList annotationNames=new IntList();
+            for (int i=0; i<count; i++) {
+                classNames[i]=checkPosition(buffer.getInt(),names);
+                accessFlags[i]=Short.toUnsignedInt(buffer.getShort());
+                int superclassName=buffer.getInt();
+                superclassNames[i]=superclassName<0?-1:checkPosition(superclassName,names);
+                interfaceStarts[i]=interfaceNames.size();
+                readPositions(buffer,names,interfaceNames);
+                annotationStarts[i]=annotationNames.size();
+                readPositions(buffer,names,annotationNames);
+            }
+            interfaceStarts[count]=interfaceNames.size();
+            annotationStarts[count]=annotationNames.size();
+            return new ClassIndex(names,classNames,accessFlags,superclassNames,interfaceStarts,interfaceNames.toArray(),annotationStarts,annotationNames.toArray());
+        } catch (BufferUnderflowException|NegativeArraySizeException ex) {
+            throw new IllegalArgumentException("Failure to decode class index; encoding is truncated or corrupt!",ex);
+        }
+    }
+
+    /**
+     * Reads a range of positions in the table of names.
+     * @param buffer Buffer.
+     * @param names Table of names.
+     * @param positions Positions added to.
+     */
+    private static void readPositions(ByteBuffer buffer,
+                                      String[] names,
+                                      IntList positions) {
+        int count=Short.toUnsignedInt(buffer.getShort());
+        for (int i=0; i<count; i++) {
+            positions.add(checkPosition(buffer.getInt(),names));
+        }
+    }
+
+    /**
+     * Checks a position in the table of names.
+     * @param position Position.
+     * @param names Table of names.
+     * @return Position.
+     * @throws IllegalArgumentException Thrown in case the position is outside the table.
+     */
+    private static int checkPosition(int position,
+                                     String[] names) {
+        if (position<0 || position>=names.length) {
+            throw new IllegalArgumentException(String.format("Failure to decode class index; invalid name position %d!",position));
+        }
+        return position;
+    }
+
+    /**
+     * Creates an index of classes.
+     * @param classes Metadata of classes.
+     *                Where a class occurs more than once, the first occurrence is held.
+     * @return Index of classes.
+     */
+    public static ClassIndex of(Collection<ClassFileInfo> classes) {
+        Collector collector=new Collector();
+        classes.forEach(collector::add);
+        return collector.toIndex();
+    }
+
+    /**
+     * Merges indexes of classes.
+     * @param indexes Indexes of classes, in order of precedence.
+     *                Where a class occurs in more than one index, the occurrence in the first index is held.
+     * @return Merged index.
+     */
+    public static ClassIndex merge(List<ClassIndex> indexes) {
+        Collector collector=new Collector();
+        for (ClassIndex index: indexes) {
+            for (int i=0; i<index.classNames.length; i++) {
+                collector.add(index.toClassFileInfo(i));
+            }
+        }
+        return collector.toIndex();
+    }
+
+    /**
+     * Collector of the metadata of classes into an index.
+     */
+    private static final class Collector {
+        /**
+         * Table of names.
+         */
+        private final List<String> names=new ArrayList<>();
+
+        /**
+         * Positions in the table of names, keyed by name.
+         */
+        private final Map<String,Integer> positions=new HashMap<>();
+
+        /**
+         * Positions of the names of classes.
+         */
+        private final IntList classNames=new IntList();
+
+        /**
+         * Access flags of classes.
+         */
+        private final IntList accessFlags=new IntList();
+
+        /**
+         * Positions of the names of superclasses.
+         */
+        private final IntList superclassNames=new IntList();
+
+        /**
+         * Start of the interfaces of each class.
+         */
+        private final IntList interfaceStarts=new IntList();
+
+        /**
+         * Positions of the names of interfaces.
+         */
+        private final IntList interfaceNames=new IntList();
+
+        /**
+         * Start of the annotations of each class.
+         */
+        private final IntList annotationStarts=new IntList();
+
+        /**
+         * Positions of the names of annotations.
+         */
+        private final IntList annotationNames=new IntList();
+
+        /**
+         * Names of the classes collected.
+         */
+        private final Map<String,Boolean> classes=new HashMap<>();
+
+        /**
+         * Adds the metadata of a class, unless already added.
+         * @param info Metadata of class.
+         */
+        private void add(ClassFileInfo info) {
+            if (classes.putIfAbsent(info.getClassName(),Boolean.TRUE)==null) {
+                classNames.add(toPosition(info.getClassName()));
+                accessFlags.add(info.getAccessFlags());
+                superclassNames.add(info.getSuperclassName()==null?-1:toPosition(info.getSuperclassName()));
+                interfaceStarts.add(interfaceNames.size());
+                info.getInterfaceNames().forEach(name->interfaceNames.add(toPosition(name)));
+                annotationStarts.add(annotationNames.size());
+                info.getAnnotationNames().forEach(name->annotationNames.add(toPosition(name)));
+            }
+        }
+
+        /**
+         * Gets the position of a name in the table of names, adding the name if required.
+         * @param name Name.
+         * @return Position in the table of names.
+         */
+        private int toPosition(String name) {
+            Integer res=positions.get(name);
+            if (res==null) {
+                res=names.size();
+                names.add(name);
+                positions.put(name,res);
+            }
+            return res;
+        }
+
+        /**
+         * Creates the index of the classes collected.
+         * @return Index of classes.
+         */
+        private ClassIndex toIndex() {
+            interfaceStarts.add(interfaceNames.size());
+            annotationStarts.add(annotationNames.size());
+            return new ClassIndex(names.toArray(String[]::new),classNames.toArray(),accessFlags.toArray(),superclassNames.toArray(),
+                                  interfaceStarts.toArray(),interfaceNames.toArray(),annotationStarts.toArray(),annotationNames.toArray());
+        }
+    }
+
+    /**
+     * Growable list of primitive integers.
+     */
+    private static final class IntList {
+        /**
+         * Elements.
+         */
+        private int[] elements=new int[16];
+
+        /**
+         * Number of elements.
+         */
+        private int size;
+
+        /**
+         * Adds an element.
+         * @param element Element.
+         */
+        private void add(int element) {
+            if (size==elements.length) {
+                elements=Arrays.copyOf(elements,size*2);
+            }
+            elements[size++]=element;
+        }
+
+        /**
+         * Gets the number of elements.
+         * @return Number of elements.
+         */
+        private int size() {
+            return size;
+        }
+
+        /**
+         * Gets the elements.
+         * @return Elements, trimmed to size.
+         */
+        private int[] toArray() {
+            return Arrays.copyOf(elements,size);
+        }
+    }
+}
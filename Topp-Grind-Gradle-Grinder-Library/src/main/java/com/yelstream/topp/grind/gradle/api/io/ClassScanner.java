@@ -0,0 +1,180 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * Scanner of the class files of a loader, e.g. of the classpath of a configuration.
+ * <p>
+ *     Class files are parsed directly, without loading any classes.
+ *     Every source of resources of the loader is scanned, in parallel per source, into an index of its own;
+ *     the indexes of the sources are merged in chain order, hence classes shadowed on a classpath are left out.
+ * </p>
+ * <p>
+ *     When scanning for selected annotations only,
+ *     class files not referring to any of the annotations in their constant pool are skipped
+ *     without reading beyond the constant pool.
+ * </p>
+ * <p>
+ *     Given a store of archive indexes, all classes of each archive are scanned once and kept with the index of the archive,
+ *     and unchanged archives are not scanned again, e.g. in later builds.
+ *     The prefix and the annotations selected are then applied to the metadata kept.
+ * </p>
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Getter
+@AllArgsConstructor(access=AccessLevel.PRIVATE)
+@lombok.Builder(builderClassName="Builder",toBuilder=true)
+public class ClassScanner {
+    /**
+     * Default number of sources scanned in parallel.
+     */
+    public static final int DEFAULT_PARALLELISM=FanOut.DEFAULT_PARALLELISM;
+
+    /**
+     * Loader to scan, e.g. a {@link ConfigurationResourceLoader}.
+     */
+    @NonNull  //Lombok!
+    private final ResourceLoader resourceLoader;
+
+    /**
+     * Prefix of the names of the class files to scan, e.g. {@code com/acme/}.
+     * If not set, all class files are scanned.
+     */
+    private final String prefix;
+
+    /**
+     * Binary names of the annotations to record.
+     * If not set, all annotations are recorded.
+     */
+    private final Set<String> annotationNames;
+
+    /**
+     * Indicates, if only classes carrying one of the annotations should be indexed.
+     */
+    @lombok.Builder.Default
+    private final boolean annotatedOnly=false;
+
+    /**
+     * Number of sources scanned in parallel.
+     */
+    @lombok.Builder.Default
+    private final int parallelism=DEFAULT_PARALLELISM;
+
+    /**
+     * Executor scanning sources in parallel.
+     * If not set, each source is scanned in a virtual thread.
+     */
+    private final Executor executor;
+
+    /**
+     * Persistent store of archive indexes keeping the metadata of the classes of archives.
+     * This may be {@code null}.
+     */
+    private final ResourceIndexStore indexStore;
+
+    /**
+     * Scans for classes.
+     * @return Index of classes.
+     * @throws IllegalArgumentException Thrown in case a class file is not valid.
+     */
+    public ClassIndex scan() {
+        List<ResourceLoader> sources=ResourceLoaders.getLeafResourceLoaders(resourceLoader);
+        Executor effectiveExecutor=executor!=null?executor:FanOut.VIRTUAL_THREADS;
+        byte[][] descriptors=annotationNames==null?null:ClassFiles.toDescriptors(annotationNames);
+
+        List<ClassIndex> indexes=FanOut.map(sources,source->scan(source,descriptors),effectiveExecutor,parallelism);
+        return indexes.size()==1?indexes.get(0):ClassIndex.merge(indexes);
+    }
+
+    /**
+     * Scans a source for classes.
+     * Given a store, the classes of an archive are taken from the store.
+     * @param source Source of resources.
+     * @param descriptors Encoded descriptors of the annotations to record.
+     * @return Index of classes of source.
+     */
+    private ClassIndex scan(ResourceLoader source,
+                            byte[][] descriptors) {
+        ClassIndex res;
+        File archive=indexStore==null?null:ResourceLoaders.getArchive(source);
+        if (archive!=null) {
+            res=select(indexStore.getClassIndex(archive,()->scan(source,null,null,false)));
+        } else {
+            res=scan(source,prefix,descriptors,annotatedOnly);
+        }
+        return res;
+    }
+
+    /**
+     * Scans a source for classes.
+     * @param source Source of resources.
+     * @param prefix Prefix of the names of the class files to scan.
+     *               This may be {@code null}.
+     * @param descriptors Encoded descriptors of the annotations to record.
+     *                    This may be {@code null}.
+     * @param annotatedOnly Indicates, if only classes carrying one of the annotations should be indexed.
+     * @return Index of classes of source.
+     */
+    private static ClassIndex scan(ResourceLoader source,
+                                   String prefix,
+                                   byte[][] descriptors,
+                                   boolean annotatedOnly) {
+        List<ClassFileInfo> classes=new ArrayList<>();
+        for (String name: ResourceNames.listResourceNames(source)) {
+            if (ClassFiles.isClassFileName(name) && (prefix==null || name.startsWith(prefix))) {
+                ByteBuffer classFile=source.getResourceAsByteBuffer(name);
+                if (classFile!=null) {
+                    ClassFileInfo info;
+                    try {
+                        info=ClassFiles.readClassFile(classFile,descriptors,annotatedOnly);
+                    } catch (IllegalArgumentException ex) {
+                        throw new IllegalArgumentException(String.format("Failure to scan class file; name is %s!",name),ex);
+                    }
+                    if (info!=null) {
+                        classes.add(info);
+                    }
+                }
+            }
+        }
+        return ClassIndex.of(classes);
+    }
+
+    /**
+     * Selects the classes of an index of all classes by the prefix and the annotations of this scanner.
+     * @param index Index of all classes, with all annotations recorded.
+     * @return Index of the classes selected.
+     */
+    private ClassIndex select(ClassIndex index) {
+        ClassIndex res=index;
+        if (prefix!=null || annotationNames!=null || annotatedOnly) {
+            List<ClassFileInfo> classes=new ArrayList<>();
+            for (String className: index.getClassNames()) {
+                ClassFileInfo info=index.getClassFileInfo(className);
+                if (prefix==null || ClassFiles.toClassFileName(className).startsWith(prefix)) {
+                    List<String> annotations=info.getAnnotationNames();
+                    if (annotationNames!=null) {
+                        annotations=annotations.stream().filter(annotationNames::contains).toList();
+                    }
+                    if (!annotatedOnly || !annotations.isEmpty()) {
+                        classes.add(new ClassFileInfo(className,info.getAccessFlags(),info.getSuperclassName(),info.getInterfaceNames(),annotations));
+                    }
+                }
+            }
+            res=ClassIndex.of(classes);
+        }
+        return res;
+    }
+}
@@ -0,0 +1,161 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import org.gradle.api.logging.Logging;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Guard of a resource closed only when no operation is using it.
+ * <p>
+ *     Operations using the resource enter and exit the guard, and are counted.
+ *     Closing the guard refuses new operations at once,
+ *     while the resource itself is closed by the last operation to exit, or at once if none are in progress.
+ *     Operations hence never see a resource half-closed; they either complete or are refused.
+ * </p>
+ * <p>
+ *     Entering and exiting is lock-free.
+ *     Instances are thread-safe.
+ * </p>
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public class CloseGuard {
+    /**
+     * Bit of the state indicating, that the guard is closed.
+     */
+    private static final int CLOSED=Integer.MIN_VALUE;
+
+    /**
+     * Resource guarded.
+     */
+    private final Closeable resource;
+
+    /**
+     * State, being the number of operations in progress and the closed bit.
+     */
+    private final AtomicInteger state=new AtomicInteger();
+
+    /**
+     * Constructor.
+     * @param resource Resource guarded.
+     */
+    public CloseGuard(Closeable resource) {
+        this.resource=resource;
+    }
+
+    /**
+     * Enters an operation.
+     * Each successful entry must be matched by an exit.
+     * @throws IllegalStateException Thrown in case the guard is closed.
+     */
+    public void enter() {
+        while (true) {
+            int current=state.get();
+            if ((current&CLOSED)!=0) {
+                throw new IllegalStateException("Failure to use resource; resource is closed!");
+            }
+            if (state.compareAndSet(current,current+1)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Exits an operation.
+     * If the guard is closed and this is the last operation, the resource is closed.
+     * <p>
+     *     A failure to close the resource is logged and not thrown,
+     *     since the operation exiting has completed and its result must not be lost.
+     * </p>
+     */
+    public void exit() {
+        if (state.decrementAndGet()==CLOSED) {
+            try {
+                resource.close();
+            } catch (IOException | RuntimeException ex) {
+                Logging.getLogger(CloseGuard.class).warn("Failure to close resource after last use; resource is {}!",resource,ex);
+            }
+        }
+    }
+
+    /**
+     * Applies an operation within the guard.
+     * @param operation Operation.
+     * @param <T> Type of result.
+     * @return Result of operation.
+     * @throws IllegalStateException Thrown in case the guard is closed.
+     */
+    public <T> T apply(Supplier<T> operation) {
+        enter();
+        try {
+            return operation.get();
+        } finally {
+            exit();
+        }
+    }
+
+    /**
+     * Creates a stream within the guard.
+     * The stream counts as an operation in progress until it is closed,
+     * hence it must be closed, e.g. by try-with-resources, for the resource to be closed.
+     * @param operation Operation creating the stream.
+     * @param <T> Type of elements.
+     * @return Created stream.
+     * @throws IllegalStateException Thrown in case the guard is closed.
+     */
+    public <T> Stream<T> stream(Supplier<Stream<T>> operation) {
+        enter();
+        Stream<T> res=null;
+        try {
+            AtomicBoolean exited=new AtomicBoolean();
+            res=operation.get().onClose(()->{
+                if (exited.compareAndSet(false,true)) {
+                    exit();
+                }
+            });
+        } finally {
+            if (res==null) {
+                exit();
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Indicates, if the guard is closed.
+     * The resource may still be in use by operations in progress.
+     * @return Indicates, if closed.
+     */
+    public boolean isClosed() {
+        return (state.get()&CLOSED)!=0;
+    }
+
+    /**
+     * Closes the guard.
+     * The resource is closed at once if no operations are in progress,
+     * and otherwise by the last operation to exit, which logs a failure to close the resource.
+     * Closing more than once has no effect.
+     * @throws IOException Thrown in case of I/O error when closing the resource.
+     */
+    public void close() throws IOException {
+        while (true) {
+            int current=state.get();
+            if ((current&CLOSED)!=0) {
+                break;
+            }
+            if (state.compareAndSet(current,current|CLOSED)) {
+                if (current==0) {
+                    resource.close();
+                }
+                break;
+            }
+        }
+    }
+}
@@ -1,10 +1,18 @@
 package com.yelstream.topp.grind.gradle.api.io;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.gradle.api.artifacts.Configuration;
 
+import java.util.List;
+
 /**
  * Loader of resources defined by a Gradle configuration.
+ * <p>
+ *     Service providers registered by the configuration are discovered through an index,
+ *     created on first use by reading the service descriptor files of all sources in one sweep.
+ *     Given a store of archive indexes in the options, the indexes of unchanged archives are reused across builds.
+ * </p>
  *
  * @author Morten Sabroe Mortenen
  * @version 1.0
@@ -22,13 +30,63 @@ public class ConfigurationResourceLoader extends ProxyResourceLoader {
      */
     private final Configuration configuration;
 
+    /**
+     * Options for the creation of the loader.
+     */
+    private final ResourceLoaderOptions options;
+
+    /**
+     * Index of the service providers registered by the configuration.
+     * This is created on first use.
+     */
+    @Getter(AccessLevel.NONE)
+    private volatile ServiceIndex serviceIndex;
+
     /**
      * Constructor.
      * @param configuration Gradle configuration.
      */
     public ConfigurationResourceLoader(Configuration configuration) {
+        this(configuration,ResourceLoaderOptions.DEFAULT);
+    }
+
+    /**
+     * Constructor.
+     * @param configuration Gradle configuration.
+     * @param options Options for the creation of the loader.
+     */
+    public ConfigurationResourceLoader(Configuration configuration,
+                                       ResourceLoaderOptions options) {
         this.resourceOffset=ResourceOffset.builder().configuration(configuration).build();
         this.configuration=configuration;
-        setResourceLoader(ResourceLoaders.createResourceLoader(resourceOffset,configuration));
+        this.options=options;
+        setResourceLoader(ResourceLoaders.createResourceLoader(resourceOffset,configuration,options));
+    }
+
+    /**
+     * Gets the index of the service providers registered by the configuration, creating it if required.
+     * @return Index of service providers.
+     */
+    public ServiceIndex getServiceIndex() {
+        ServiceIndex res=serviceIndex;
+        if (res==null) {
+            synchronized (this) {
+                res=serviceIndex;
+                if (res==null) {
+                    res=ResourceLoaders.createServiceIndex(loader(),options.getIndexStore());
+                    serviceIndex=res;
+                }
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Gets the providers registered by the configuration for a service type.
+     * @param type Name of service type, e.g. the binary name of a service interface.
+     * @return Names of providers, in chain order.
+     */
+    public List<String> getServiceProviders(String type) {
+        return getServiceIndex().getProviders(type);
     }
 }
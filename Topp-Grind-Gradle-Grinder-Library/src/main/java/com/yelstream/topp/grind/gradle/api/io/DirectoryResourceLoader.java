@@ -0,0 +1,349 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Loader of resources contained in a directory.
+ * <p>
+ *     The directory is read directly through {@link java.nio.file}.
+ *     This is e.g. the exploded output of a compilation like {@code build/classes/java/main}.
+ *     A directory which does not exist contains no resources.
+ * </p>
+ * <p>
+ *     Fingerprints of files are computed by reading the files, and are memoized keyed by the size and
+ *     the time of last modification of each file.
+ *     A file rewritten with the same size within the resolution of the file-system timestamps is not detected.
+ * </p>
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public class DirectoryResourceLoader implements ResourceLoader {
+    /**
+     * Resource offset for the resources loaded.
+     */
+    @Getter
+    private final ResourceOffset resourceOffset;
+
+    /**
+     * Directory.
+     */
+    @Getter
+    private final Path directory;
+
+    /**
+     * Factory of the URLs of files, shared by all locations of the directory.
+     */
+    private final Function<String,URL> fileURLFactory;
+
+    /**
+     * Memoized fingerprints of files, keyed by resource name.
+     */
+    private final Map<String,StampedFingerprint> fingerprints=new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     * @param resourceOffset Resource offset for the resources loaded.
+     * @param directory Directory.
+     */
+    public DirectoryResourceLoader(ResourceOffset resourceOffset,
+                                   Path directory) {
+        this.resourceOffset=resourceOffset;
+        this.directory=directory.toAbsolutePath().normalize();
+        this.fileURLFactory=name->ResourceURLs.createFileURL(this.directory.resolve(name));
+    }
+
+    /**
+     * Gets the path of a named resource.
+     * Names escaping the directory are not resolved.
+     * @param name Resource name.
+     * @return Path of resource.
+     *         This is {@code null} in case the resource does not exist.
+     */
+    private Path getPath(String name) {
+        return getPath(name,false);
+    }
+
+    /**
+     * Gets the path of a named resource or subdirectory.
+     * Names escaping the directory are not resolved.
+     * @param name Resource name.
+     * @param directoryExpected Indicates, if the name is of a subdirectory and not a resource.
+     * @return Path of resource or subdirectory.
+     *         This is {@code null} in case the resource or subdirectory does not exist.
+     */
+    private Path getPath(String name,
+                         boolean directoryExpected) {
+        Path res=null;
+        try {
+            Path path=directory.resolve(name).normalize();
+            if (path.startsWith(directory) && (directoryExpected?Files.isDirectory(path):Files.isRegularFile(path))) {
+                res=path;
+            }
+        } catch (InvalidPathException ex) {
+            //Ignore; not a resource of this directory!
+        }
+        return res;
+    }
+
+    @Override
+    public URL getResource(String name) {
+        URL res=null;
+        Path path=getPath(name);
+        if (path!=null) {
+            res=ResourceURLs.createFileURL(path);
+        }
+        return res;
+    }
+
+    @Override
+    public InputStream getResourceAsStream(String name) {
+        InputStream res=null;
+        Path path=getPath(name);
+        if (path!=null) {
+            try {
+                res=Files.newInputStream(path);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(String.format("Failure to read resource; directory is %s, name is %s!",directory,name),ex);
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public ReadableByteChannel getResourceAsChannel(String name) {
+        ReadableByteChannel res=null;
+        Path path=getPath(name);
+        if (path!=null) {
+            try {
+                res=FileChannel.open(path);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(String.format("Failure to read resource; directory is %s, name is %s!",directory,name),ex);
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public ByteBuffer getResourceAsByteBuffer(String name) {
+        ByteBuffer res=null;
+        Path path=getPath(name);
+        if (path!=null) {
+            try (FileChannel channel=FileChannel.open(path)) {
+                res=ResourceChannels.readRegion(channel,0,channel.size());
+            } catch (IOException ex) {
+                throw new UncheckedIOException(String.format("Failure to read resource; directory is %s, name is %s!",directory,name),ex);
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public long transferResource(String name,
+                                 WritableByteChannel target) throws IOException {
+        long res=-1;
+        Path path=getPath(name);
+        if (path!=null) {
+            try (FileChannel channel=FileChannel.open(path)) {
+                res=ResourceChannels.transfer(channel,0,channel.size(),target);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Copies the contents of a named resource to a file.
+     * The copy is done by {@link Files#copy(Path,Path,java.nio.file.CopyOption...)},
+     * leaving it to the file system to avoid copying through user space.
+     * @param name Resource name.
+     * @param target Target file.
+     * @return Number of bytes copied.
+     *         This is {@code -1} in case the resource does not exist.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Override
+    public long copyResource(String name,
+                             Path target) throws IOException {
+        long res=-1;
+        Path path=getPath(name);
+        if (path!=null) {
+            Files.copy(path,target,StandardCopyOption.REPLACE_EXISTING);
+            res=Files.size(target);
+        }
+        return res;
+    }
+
+    @Override
+    public ResourceFingerprint getResourceFingerprint(String name) {
+        ResourceFingerprint res=null;
+        Path path=getPath(name);
+        if (path!=null) {
+            try {
+                BasicFileAttributes attributes=Files.readAttributes(path,BasicFileAttributes.class);
+                long size=attributes.size();
+                long lastModified=attributes.lastModifiedTime().toMillis();
+                StampedFingerprint stamped=fingerprints.get(name);
+                if (stamped!=null && stamped.size==size && stamped.lastModified==lastModified) {
+                    res=stamped.fingerprint;
+                } else {
+                    res=createFingerprint(path);
+                    if (res.getSize()==size) {
+                        fingerprints.put(name,new StampedFingerprint(size,lastModified,res));
+                    }
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(String.format("Failure to create fingerprint of resource; directory is %s, name is %s!",directory,name),ex);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Creates the fingerprint of a file by reading it.
+     * @param path Path of file.
+     * @return Created fingerprint.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private static ResourceFingerprint createFingerprint(Path path) throws IOException {
+        CRC32 crc=new CRC32();
+        long size=0;
+        try (FileChannel channel=FileChannel.open(path)) {
+            ByteBuffer buffer=ByteBuffer.allocate(Math.clamp(channel.size(),1,ResourceChannels.BUFFER_SIZE));  //Sized to the file, since most resources are small!
+            while (channel.read(buffer)>=0) {
+                buffer.flip();
+                size+=buffer.remaining();
+                crc.update(buffer);
+                buffer.clear();
+            }
+        }
+        return ResourceFingerprint.of(size,crc.getValue());
+    }
+
+    @Override
+    public List<ResourceLocation> getResourceLocations(String name) {
+        List<ResourceLocation> res=null;
+        ResourceLocation location=getResourceLocation(name);
+        if (location!=null) {
+            res=new ArrayList<>();
+            res.add(location);
+        }
+        return res;
+    }
+
+    @Override
+    public ResourceLocation getResourceLocation(String name) {
+        ResourceLocation res=null;
+        if (getPath(name)!=null) {
+            res=new ResourceLocation(resourceOffset,this,name,fileURLFactory);
+        }
+        return res;
+    }
+
+    @Override
+    public Stream<ResourceLocation> streamResourceLocations(String name) {
+        return Stream.ofNullable(getResourceLocation(name));
+    }
+
+    /**
+     * Lists the locations of all resources with names starting with a prefix and matching a glob pattern.
+     * Only the subdirectory spanned by the prefix is walked.
+     * @param prefix Prefix of names.
+     *               This may be {@code null}.
+     * @param glob Glob pattern of names.
+     *             This may be {@code null}.
+     * @return Stream of resource location descriptors.
+     */
+    @Override
+    public Stream<ResourceLocation> listResourceLocations(String prefix,
+                                                          String glob) {
+        String effectivePrefix=prefix==null?"":prefix;
+        if (glob!=null) {
+            String globPrefix=ResourceNames.getGlobPrefix(glob);
+            if (globPrefix.startsWith(effectivePrefix)) {
+                effectivePrefix=globPrefix;
+            }
+        }
+        int index=effectivePrefix.lastIndexOf(ResourceNames.SEPARATOR);
+        String subdirectory=index<0?"":effectivePrefix.substring(0,index);
+        String rangePrefix=effectivePrefix;
+        Predicate<String> matcher=glob==null?name->true:ResourceNames.toGlobPattern(glob).asMatchPredicate();
+        return Stream.of(subdirectory)
+                     .flatMap(d->listResourceNames(d).stream())  //Walk deferred until consumed!
+                     .filter(name->name.startsWith(rangePrefix) && (prefix==null || name.startsWith(prefix)) && matcher.test(name))
+                     .map(name->new ResourceLocation(resourceOffset,this,name,fileURLFactory));
+    }
+
+    /**
+     * Lists the names of all resources contained in a subdirectory.
+     * @param subdirectory Name of subdirectory.
+     * @return Resource names relative to the directory, sorted.
+     */
+    private List<String> listResourceNames(String subdirectory) {
+        List<String> res=List.of();
+        Path start=getPath(subdirectory,true);
+        if (start!=null) {
+            try (Stream<Path> paths=Files.walk(start)) {
+                res=paths.filter(Files::isRegularFile).map(p->ResourceNames.toResourceName(directory,p)).sorted().toList();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(String.format("Failure to list resource names of directory; directory is %s!",start),ex);
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public Collection<String> getResourceNames() {
+        return ResourceNames.listResourceNames(directory);
+    }
+
+    @Override
+    public void close() {
+        //Nothing to close!
+    }
+
+    /**
+     * Fingerprint of a file together with the size and time of last modification of the file when computed.
+     */
+    @AllArgsConstructor
+    private static final class StampedFingerprint {
+        /**
+         * Size of file.
+         */
+        private final long size;
+
+        /**
+         * Time of last modification of file.
+         */
+        private final long lastModified;
+
+        /**
+         * Fingerprint of file.
+         */
+        private final ResourceFingerprint fingerprint;
+    }
+}
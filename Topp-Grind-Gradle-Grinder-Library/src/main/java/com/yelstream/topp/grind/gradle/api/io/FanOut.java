@@ -0,0 +1,141 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Utilities addressing the parallel fan-out of operations over a sequence of elements.
+ * <p>
+ *     Results are merged back in the order of the elements, independent of the order of completion.
+ * </p>
+ * <p>
+ *     Fan-outs bounded by a parallelism run a fixed number of workers, each taking the next element when done with its previous;
+ *     a single slow element hence occupies a single worker and does not hold back the others.
+ * </p>
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@UtilityClass
+public class FanOut {
+    /**
+     * Executor running each task in a new virtual thread.
+     */
+    public static final Executor VIRTUAL_THREADS=Thread::startVirtualThread;
+
+    /**
+     * Default number of elements processed in parallel by bounded fan-outs.
+     */
+    public static final int DEFAULT_PARALLELISM=Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Applies a function to each element of a list, possibly in parallel.
+     * @param elements Elements.
+     * @param function Function.
+     * @param executor Executor running the applications of the function.
+     *                 If {@code null}, the function is applied sequentially by the calling thread.
+     * @param <T> Type of elements.
+     * @param <R> Type of results.
+     * @return Results, in the order of the elements.
+     */
+    public static <T,R> List<R> map(List<T> elements,
+                                    Function<? super T,? extends R> function,
+                                    Executor executor) {
+        List<R> res=new ArrayList<>(elements.size());
+        if (executor==null || elements.size()<=1) {
+            for (T element: elements) {
+                res.add(function.apply(element));
+            }
+        } else {
+            List<CompletableFuture<? extends R>> futures=new ArrayList<>(elements.size());
+            for (T element: elements) {
+                futures.add(CompletableFuture.supplyAsync(()->function.apply(element),executor));
+            }
+            RuntimeException failure=null;
+            for (CompletableFuture<? extends R> future: futures) {
+                try {
+                    res.add(future.join());
+                } catch (CompletionException ex) {
+                    RuntimeException cause=unwrap(ex);
+                    if (failure==null) {
+                        failure=cause;
+                    } else {
+                        failure.addSuppressed(cause);
+                    }
+                }
+            }
+            if (failure!=null) {
+                throw failure;
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Applies a function to each element of a list, with a bounded number of applications in parallel.
+     * Once an application fails, no further elements are taken.
+     * @param elements Elements.
+     * @param function Function.
+     * @param executor Executor running the applications of the function.
+     *                 If {@code null}, the function is applied sequentially by the calling thread.
+     * @param parallelism Maximum number of applications in parallel.
+     * @param <T> Type of elements.
+     * @param <R> Type of results.
+     * @return Results, in the order of the elements.
+     */
+    public static <T,R> List<R> map(List<T> elements,
+                                    Function<? super T,? extends R> function,
+                                    Executor executor,
+                                    int parallelism) {
+        int workerCount=Math.min(Math.max(1,parallelism),elements.size());
+        List<R> res;
+        if (executor==null || workerCount<=1) {
+            res=map(elements,function,null);
+        } else {
+            Object[] results=new Object[elements.size()];
+            AtomicInteger next=new AtomicInteger();
+            AtomicBoolean failed=new AtomicBoolean();
+            List<Integer> workers=IntStream.range(0,workerCount).boxed().toList();
+            map(workers,worker->{
+                int index;
+                while (!failed.get() && (index=next.getAndIncrement())<results.length) {
+                    try {
+                        results[index]=function.apply(elements.get(index));
+                    } catch (RuntimeException|Error ex) {
+                        failed.set(true);
+                        throw ex;
+                    }
+                }
+                return null;
+            },executor);
+            @SuppressWarnings("unchecked")
+            List<R> resultList=(List<R>)Arrays.asList(results);
+            res=new ArrayList<>(resultList);
+        }
+        return res;
+    }
+
+    /**
+     * Unwraps the failure of a task.
+     * @param ex Exception thrown on completion.
+     * @return Failure of task.
+     */
+    private static RuntimeException unwrap(CompletionException ex) {
+        Throwable cause=ex.getCause();
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return cause instanceof RuntimeException runtimeException?runtimeException:ex;
+    }
+}
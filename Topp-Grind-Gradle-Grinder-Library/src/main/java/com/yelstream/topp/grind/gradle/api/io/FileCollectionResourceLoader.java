@@ -48,12 +48,26 @@ public class FileCollectionResourceLoader extends ProxyResourceLoader {
     public FileCollectionResourceLoader(SourceSetContainer sourceSets,
                                         SourceSet sourceSet,
                                         FileCollection fileCollection) {
+        this(sourceSets,sourceSet,fileCollection,ResourceLoaderOptions.DEFAULT);
+    }
+
+    /**
+     * Constructor.
+     * @param sourceSets Source-sets containing the source-set with resources.
+     * @param sourceSet Source-set containing the file-collection with resources.
+     * @param fileCollection File-collection with resources.
+     * @param options Options for the creation of the loader.
+     */
+    public FileCollectionResourceLoader(SourceSetContainer sourceSets,
+                                        SourceSet sourceSet,
+                                        FileCollection fileCollection,
+                                        ResourceLoaderOptions options) {
         super();
         Set<File> files=fileCollection.getFiles();
         this.resourceOffset=ResourceOffset.builder().sourceSetContainer(sourceSets).sourceSet(sourceSet).fileCollection(fileCollection).files(files).build();
         this.sourceSets=sourceSets;
         this.sourceSet=sourceSet;
         this.fileCollection=fileCollection;
-        setResourceLoader(ResourceLoaders.createResourceLoader(resourceOffset,files));
+        setResourceLoader(ResourceLoaders.createResourceLoader(resourceOffset,files,options));
     }
 }
@@ -0,0 +1,317 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Loader of resources defined by a chain-of-responsibility of individual loaders and indexed by resource name.
+ * <p>
+ *     The content of each loader in the chain is enumerated once, up front, and a map from resource name to the
+ *     loaders containing the resource is built.
+ *     Lookups are then hash probes which address only the loaders actually containing a resource,
+ *     while the order of the chain is kept.
+ * </p>
+ * <p>
+ *     Note that only resources enumerated by the loaders are found.
+ *     Resources provided by a parent of a class-loader are not part of the index.
+ * </p>
+ * <p>
+ *     Instances are safe for concurrent use.
+ *     Closing waits for lookups in progress and refuses new lookups.
+ *     Streams of locations are lazy and count as lookups in progress until closed,
+ *     and must hence be closed for the loader to be closed.
+ * </p>
+ * <p>
+ *     Lookups of single resources are recorded as flight recorder events, when enabled.
+ * </p>
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public class IndexedResourceLoader implements ResourceLoader {
+    /**
+     * Resource loaders.
+     */
+    @Getter
+    private final List<ResourceLoader> resourceLoaders;
+
+    /**
+     * Index from resource name to the loaders containing the resource.
+     * The loaders are kept in chain order.
+     */
+    private final Map<String,List<ResourceLoader>> index;
+
+    /**
+     * Guard closing the loaders when no lookups are in progress.
+     */
+    private final CloseGuard closeGuard=new CloseGuard(this::release);
+
+    /**
+     * Constructor.
+     * @param resourceLoaders Resource loaders.
+     *                        Each of these must be able to enumerate its resources.
+     */
+    public IndexedResourceLoader(List<ResourceLoader> resourceLoaders) {
+        this(resourceLoaders,resourceLoaders.stream().map(ResourceLoader::getResourceNames).toList());
+    }
+
+    /**
+     * Constructor.
+     * @param resourceLoaders Resource loaders.
+     * @param resourceNames Names of the resources of each loader.
+     *                      This is aligned with the list of loaders.
+     */
+    public IndexedResourceLoader(List<ResourceLoader> resourceLoaders,
+                                 List<? extends Collection<String>> resourceNames) {
+        if (resourceLoaders.size()!=resourceNames.size()) {
+            throw new IllegalArgumentException(String.format("Failure to create indexed resource loader; number of loaders is %d, number of name collections is %d!",resourceLoaders.size(),resourceNames.size()));
+        }
+        this.resourceLoaders=resourceLoaders;
+        this.index=createIndex(resourceLoaders,resourceNames);
+    }
+
+    /**
+     * Creates the index from resource name to the loaders containing the resource.
+     * @param resourceLoaders Resource loaders.
+     * @param resourceNames Names of the resources of each loader.
+     * @return Created index.
+     */
+    private static Map<String,List<ResourceLoader>> createIndex(List<ResourceLoader> resourceLoaders,
+                                                                List<? extends Collection<String>> resourceNames) {
+        Map<String,List<ResourceLoader>> index=new HashMap<>();
+        for (int i=0; i<resourceLoaders.size(); i++) {
+            ResourceLoader resourceLoader=resourceLoaders.get(i);
+            for (String name: resourceNames.get(i)) {
+                List<ResourceLoader> owners=index.get(name);
+                if (owners==null) {
+                    index.put(name,List.of(resourceLoader));
+                } else {
+                    if (owners.get(owners.size()-1)!=resourceLoader) {
+                        List<ResourceLoader> newOwners=new ArrayList<>(owners.size()+1);
+                        newOwners.addAll(owners);
+                        newOwners.add(resourceLoader);
+                        index.put(name,List.copyOf(newOwners));
+                    }
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Gets the loaders containing a named resource.
+     * @param name Resource name.
+     * @return Loaders containing the resource, in chain order.
+     */
+    private List<ResourceLoader> getOwners(String name) {
+        return index.getOrDefault(name,List.of());
+    }
+
+    /**
+     * Looks up a named resource, asking the loaders containing it in chain order until found.
+     * @param operation Operation, as recorded by events.
+     * @param name Resource name.
+     * @param lookup Lookup by a single loader.
+     * @param <T> Type of result.
+     * @param <E> Type of exception thrown.
+     * @return Result of the first loader finding the resource.
+     *         This is {@code null} in case the resource is not found.
+     * @throws E Thrown in case of failure of a lookup.
+     */
+    private <T,E extends Exception> T findFirst(ResourceMetrics.Operation operation,
+                                                String name,
+                                                ResourceLookup<T,E> lookup) throws E {
+        return ResourceLookup.findFirst(operation,name,getOwners(name).iterator(),lookup);
+    }
+
+    @Override
+    public URL getResource(String name) {
+        closeGuard.enter();
+        try {
+            return findFirst(ResourceMetrics.Operation.GET_RESOURCE,name,r->r.getResource(name));
+        } finally {
+            closeGuard.exit();
+        }
+    }
+
+    @Override
+    public InputStream getResourceAsStream(String name) {
+        closeGuard.enter();
+        try {
+            return findFirst(ResourceMetrics.Operation.GET_RESOURCE_AS_STREAM,name,r->r.getResourceAsStream(name));
+        } finally {
+            closeGuard.exit();
+        }
+    }
+
+    @Override
+    public ReadableByteChannel getResourceAsChannel(String name) {
+        closeGuard.enter();
+        try {
+            return findFirst(ResourceMetrics.Operation.GET_RESOURCE_AS_CHANNEL,name,r->r.getResourceAsChannel(name));
+        } finally {
+            closeGuard.exit();
+        }
+    }
+
+    @Override
+    public ByteBuffer getResourceAsByteBuffer(String name) {
+        closeGuard.enter();
+        try {
+            return findFirst(ResourceMetrics.Operation.GET_RESOURCE_AS_BYTE_BUFFER,name,r->r.getResourceAsByteBuffer(name));
+        } finally {
+            closeGuard.exit();
+        }
+    }
+
+    @Override
+    public long transferResource(String name,
+                                 WritableByteChannel target) throws IOException {
+        closeGuard.enter();
+        try {
+            return ResourceLookup.toCount(findFirst(ResourceMetrics.Operation.TRANSFER_RESOURCE,name,r->ResourceLookup.ofCount(r.transferResource(name,target))));
+        } finally {
+            closeGuard.exit();
+        }
+    }
+
+    @Override
+    public long copyResource(String name,
+                             Path target) throws IOException {
+        closeGuard.enter();
+        try {
+            return ResourceLookup.toCount(findFirst(ResourceMetrics.Operation.COPY_RESOURCE,name,r->ResourceLookup.ofCount(r.copyResource(name,target))));
+        } finally {
+            closeGuard.exit();
+        }
+    }
+
+    @Override
+    public ResourceFingerprint getResourceFingerprint(String name) {
+        closeGuard.enter();
+        try {
+            return findFirst(ResourceMetrics.Operation.GET_RESOURCE_FINGERPRINT,name,r->r.getResourceFingerprint(name));
+        } finally {
+            closeGuard.exit();
+        }
+    }
+
+    @Override
+    public List<ResourceLocation> getResourceLocations(String name) {
+        closeGuard.enter();
+        try {
+            ResourceLookupEvent event=new ResourceLookupEvent();
+            event.begin();
+            List<ResourceLoader> owners=getOwners(name);
+            List<ResourceLocation> res=new ArrayList<>();
+            for (ResourceLoader resourceLoader: owners) {
+                List<ResourceLocation> resourceLocations=resourceLoader.getResourceLocations(name);
+                if (resourceLocations!=null) {
+                    res.addAll(resourceLocations);
+                }
+            }
+            event.commit(ResourceMetrics.Operation.GET_RESOURCE_LOCATIONS,name,null,!res.isEmpty(),owners.size());
+            return res;
+        } finally {
+            closeGuard.exit();
+        }
+    }
+
+    @Override
+    public Map<String,List<ResourceLocation>> getResourceLocations(Collection<String> names) {
+        closeGuard.enter();
+        try {
+            Map<ResourceLoader,List<String>> namesByLoader=new IdentityHashMap<>();
+            for (String name: names) {
+                for (ResourceLoader resourceLoader: getOwners(name)) {
+                    namesByLoader.computeIfAbsent(resourceLoader,r->new ArrayList<>()).add(name);
+                }
+            }
+            List<Map<String,List<ResourceLocation>>> partialResults=new ArrayList<>(namesByLoader.size());
+            for (ResourceLoader resourceLoader: resourceLoaders) {
+                List<String> loaderNames=namesByLoader.get(resourceLoader);
+                if (loaderNames!=null) {
+                    partialResults.add(resourceLoader.getResourceLocations(loaderNames));
+                }
+            }
+            return ResourceLocations.merge(names,partialResults);
+        } finally {
+            closeGuard.exit();
+        }
+    }
+
+    @Override
+    public ResourceLocation getResourceLocation(String name) {
+        closeGuard.enter();
+        try {
+            return ResourceLocations.getUniqueResourceLocation(name,getOwners(name).stream().flatMap(r->r.streamResourceLocations(name)));
+        } finally {
+            closeGuard.exit();
+        }
+    }
+
+    @Override
+    public Stream<ResourceLocation> streamResourceLocations(String name) {
+        return closeGuard.stream(()->getOwners(name).stream().flatMap(r->r.streamResourceLocations(name)));
+    }
+
+    @Override
+    public Stream<ResourceLocation> listResourceLocations(String prefix,
+                                                          String glob) {
+        return closeGuard.stream(()->resourceLoaders.stream().flatMap(r->r.listResourceLocations(prefix,glob)));
+    }
+
+    @Override
+    public Collection<String> getResourceNames() {
+        closeGuard.enter();
+        try {
+            return index.keySet();
+        } finally {
+            closeGuard.exit();
+        }
+    }
+
+    /**
+     * Closes the loaders.
+     * Lookups in progress complete before the loaders are actually closed, and new lookups are refused.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Override
+    public void close() throws IOException {
+        closeGuard.close();
+    }
+
+    /**
+     * Releases the loaders after the last lookup.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private void release() throws IOException {
+        for (var resourceLoader: resourceLoaders) {
+            resourceLoader.close();
+        }
+    }
+
+    /**
+     * Creates an indexed resource loader.
+     * @param resourceLoaders Resource loaders.
+     * @return Indexed resource loader.
+     */
+    public static IndexedResourceLoader of(ResourceLoader... resourceLoaders) {
+        return new IndexedResourceLoader(List.of(resourceLoaders));
+    }
+}
@@ -0,0 +1,295 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import lombok.Getter;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Proxy for an instance of {@link ResourceLoader} recording metrics of lookups.
+ * <p>
+ *     Each lookup is counted as a hit or a miss and timed per operation.
+ *     Bytes read are counted for buffers, transfers and copies, as well as for streams and channels as these are read.
+ *     The time of a lookup returning a stream or a channel covers the opening only.
+ *     Channels keep the capabilities of the channels proxied, i.e. seeking and transfers without copying.
+ * </p>
+ * <p>
+ *     Streams of locations are recorded when closed, as a hit if any location was passed on;
+ *     their time covers the consumption of the stream.
+ * </p>
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public class InstrumentedResourceLoader extends ProxyResourceLoader {
+    /**
+     * Collector of metrics.
+     */
+    @Getter
+    private final ResourceMetrics metrics;
+
+    /**
+     * Constructor.
+     * @param resourceLoader Proxied loader.
+     * @param metrics Collector of metrics.
+     */
+    public InstrumentedResourceLoader(ResourceLoader resourceLoader,
+                                      ResourceMetrics metrics) {
+        super(resourceLoader);
+        this.metrics=metrics;
+    }
+
+    @Override
+    public URL getResource(String name) {
+        long start=System.nanoTime();
+        URL res=super.getResource(name);
+        metrics.recordLookup(ResourceMetrics.Operation.GET_RESOURCE,System.nanoTime()-start,res!=null);
+        return res;
+    }
+
+    @Override
+    public InputStream getResourceAsStream(String name) {
+        long start=System.nanoTime();
+        InputStream res=super.getResourceAsStream(name);
+        metrics.recordLookup(ResourceMetrics.Operation.GET_RESOURCE_AS_STREAM,System.nanoTime()-start,res!=null);
+        return res==null?null:new CountingInputStream(res);
+    }
+
+    @Override
+    public ReadableByteChannel getResourceAsChannel(String name) {
+        long start=System.nanoTime();
+        ReadableByteChannel res=super.getResourceAsChannel(name);
+        metrics.recordLookup(ResourceMetrics.Operation.GET_RESOURCE_AS_CHANNEL,System.nanoTime()-start,res!=null);
+        ReadableByteChannel countingChannel=null;
+        if (res!=null) {
+            countingChannel=res instanceof SeekableByteChannel seekableChannel?new CountingSeekableChannel(seekableChannel):new CountingChannel(res);
+        }
+        return countingChannel;
+    }
+
+    @Override
+    public ByteBuffer getResourceAsByteBuffer(String name) {
+        long start=System.nanoTime();
+        ByteBuffer res=super.getResourceAsByteBuffer(name);
+        metrics.recordLookup(ResourceMetrics.Operation.GET_RESOURCE_AS_BYTE_BUFFER,System.nanoTime()-start,res!=null);
+        if (res!=null) {
+            metrics.recordBytesRead(res.remaining());
+        }
+        return res;
+    }
+
+    @Override
+    public long transferResource(String name,
+                                 WritableByteChannel target) throws IOException {
+        long start=System.nanoTime();
+        long res=super.transferResource(name,target);
+        metrics.recordLookup(ResourceMetrics.Operation.TRANSFER_RESOURCE,System.nanoTime()-start,res>=0);
+        metrics.recordBytesRead(res);
+        return res;
+    }
+
+    @Override
+    public long copyResource(String name,
+                             Path target) throws IOException {
+        long start=System.nanoTime();
+        long res=super.copyResource(name,target);
+        metrics.recordLookup(ResourceMetrics.Operation.COPY_RESOURCE,System.nanoTime()-start,res>=0);
+        metrics.recordBytesRead(res);
+        return res;
+    }
+
+    @Override
+    public ResourceFingerprint getResourceFingerprint(String name) {
+        long start=System.nanoTime();
+        ResourceFingerprint res=super.getResourceFingerprint(name);
+        metrics.recordLookup(ResourceMetrics.Operation.GET_RESOURCE_FINGERPRINT,System.nanoTime()-start,res!=null);
+        return res;
+    }
+
+    @Override
+    public List<ResourceLocation> getResourceLocations(String name) {
+        long start=System.nanoTime();
+        List<ResourceLocation> res=super.getResourceLocations(name);
+        metrics.recordLookup(ResourceMetrics.Operation.GET_RESOURCE_LOCATIONS,System.nanoTime()-start,res!=null && !res.isEmpty());
+        return res;
+    }
+
+    @Override
+    public ResourceLocation getResourceLocation(String name) {
+        long start=System.nanoTime();
+        ResourceLocation res=super.getResourceLocation(name);
+        metrics.recordLookup(ResourceMetrics.Operation.GET_RESOURCE_LOCATION,System.nanoTime()-start,res!=null);
+        return res;
+    }
+
+    @Override
+    public Stream<ResourceLocation> streamResourceLocations(String name) {
+        return instrument(ResourceMetrics.Operation.STREAM_RESOURCE_LOCATIONS,()->super.streamResourceLocations(name));
+    }
+
+    @Override
+    public Stream<ResourceLocation> listResourceLocations(String prefix,
+                                                          String glob) {
+        return instrument(ResourceMetrics.Operation.LIST_RESOURCE_LOCATIONS,()->super.listResourceLocations(prefix,glob));
+    }
+
+    /**
+     * Instruments a stream of locations, recording the lookup when the stream is closed.
+     * @param operation Operation.
+     * @param factory Factory of stream.
+     * @return Instrumented stream.
+     */
+    private Stream<ResourceLocation> instrument(ResourceMetrics.Operation operation,
+                                                Supplier<Stream<ResourceLocation>> factory) {
+        long start=System.nanoTime();
+        AtomicBoolean found=new AtomicBoolean();
+        AtomicBoolean recorded=new AtomicBoolean();
+        return factory.get().filter(location->{  //Unlike peek, not skipped when counting a sized stream!
+            found.lazySet(true);
+            return true;
+        }).onClose(()->{
+            if (recorded.compareAndSet(false,true)) {
+                metrics.recordLookup(operation,System.nanoTime()-start,found.get());
+            }
+        });
+    }
+
+    /**
+     * Stream counting the bytes read.
+     */
+    private final class CountingInputStream extends FilterInputStream {
+        /**
+         * Constructor.
+         * @param in Stream read.
+         */
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int res=super.read();
+            if (res>=0) {
+                metrics.recordBytesRead(1);
+            }
+            return res;
+        }
+
+        @Override
+        public int read(byte[] b,
+                        int off,
+                        int len) throws IOException {
+            int res=super.read(b,off,len);
+            metrics.recordBytesRead(res);
+            return res;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long res=super.skip(n);
+            metrics.recordBytesRead(res);
+            return res;
+        }
+    }
+
+    /**
+     * Channel counting the bytes read.
+     * Transfers are delegated to the channel read, hence transfers without copying are kept.
+     */
+    private class CountingChannel implements ResourceChannels.TransferableChannel {
+        /**
+         * Channel read.
+         */
+        private final ReadableByteChannel channel;
+
+        /**
+         * Constructor.
+         * @param channel Channel read.
+         */
+        private CountingChannel(ReadableByteChannel channel) {
+            this.channel=channel;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            int res=channel.read(dst);
+            metrics.recordBytesRead(res);
+            return res;
+        }
+
+        @Override
+        public long transferTo(WritableByteChannel target) throws IOException {
+            long res=ResourceChannels.transfer(channel,target);
+            metrics.recordBytesRead(res);
+            return res;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return channel.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Seekable channel counting the bytes read.
+     */
+    private final class CountingSeekableChannel extends CountingChannel implements SeekableByteChannel {
+        /**
+         * Channel read.
+         */
+        private final SeekableByteChannel channel;
+
+        /**
+         * Constructor.
+         * @param channel Channel read.
+         */
+        private CountingSeekableChannel(SeekableByteChannel channel) {
+            super(channel);
+            this.channel=channel;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            return channel.write(src);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return channel.position();
+        }
+
+        @Override
+        public SeekableByteChannel position(long newPosition) throws IOException {
+            channel.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return channel.size();
+        }
+
+        @Override
+        public SeekableByteChannel truncate(long size) throws IOException {
+            channel.truncate(size);
+            return this;
+        }
+    }
+}
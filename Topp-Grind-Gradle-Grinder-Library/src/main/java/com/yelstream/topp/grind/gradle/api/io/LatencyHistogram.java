@@ -0,0 +1,189 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of latencies in nanoseconds.
+ * <p>
+ *     Values are counted in buckets of log-linear width:
+ *     each power of two is divided into 16 buckets, bounding the relative error of reported values by 1/16.
+ *     All buckets exist up front, hence recording a value neither allocates nor locks.
+ * </p>
+ * <p>
+ *     Instances are safe for concurrent use.
+ *     Values read while recording is in progress may be slightly inconsistent; a copy gives a stable view.
+ * </p>
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public class LatencyHistogram {
+    /**
+     * Number of bits of precision within each power of two.
+     */
+    private static final int SUB_BUCKET_BITS=4;
+
+    /**
+     * Number of buckets within each power of two.
+     */
+    private static final int SUB_BUCKET_COUNT=1<<SUB_BUCKET_BITS;
+
+    /**
+     * Total number of buckets, covering all non-negative values of {@code long}.
+     */
+    private static final int BUCKET_COUNT=(Long.SIZE-SUB_BUCKET_BITS)*SUB_BUCKET_COUNT;
+
+    /**
+     * Counts of values, per bucket.
+     */
+    private final AtomicLongArray counts;
+
+    /**
+     * Sum of values.
+     */
+    private final LongAdder sum;
+
+    /**
+     * Largest value.
+     */
+    private final LongAccumulator max;
+
+    /**
+     * Constructor.
+     */
+    public LatencyHistogram() {
+        this.counts=new AtomicLongArray(BUCKET_COUNT);
+        this.sum=new LongAdder();
+        this.max=new LongAccumulator(Math::max,0);
+    }
+
+    /**
+     * Records a value.
+     * @param nanos Value in nanoseconds.
+     *              Negative values are recorded as {@code 0}.
+     */
+    public void record(long nanos) {
+        long value=Math.max(0,nanos);
+        counts.incrementAndGet(indexOf(value));
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Gets the number of values recorded.
+     * @return Number of values.
+     */
+    public long getCount() {
+        long res=0;
+        for (int i=0; i<BUCKET_COUNT; i++) {
+            res+=counts.get(i);
+        }
+        return res;
+    }
+
+    /**
+     * Gets the sum of the values recorded.
+     * @return Sum of values in nanoseconds.
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * Gets the largest value recorded.
+     * @return Largest value in nanoseconds.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Gets the mean of the values recorded.
+     * @return Mean in nanoseconds.
+     *         This is {@code 0} in case of no values.
+     */
+    public double getMean() {
+        long count=getCount();
+        return count==0?0:(double)getSum()/count;
+    }
+
+    /**
+     * Gets a percentile of the values recorded.
+     * @param percentile Percentile, in the range from {@code 0} to {@code 100}.
+     * @return Value at percentile in nanoseconds, i.e. the largest value equivalent to the bucket of the percentile.
+     *         This is {@code 0} in case of no values.
+     */
+    public long getPercentile(double percentile) {
+        long res=0;
+        long count=getCount();
+        if (count>0) {
+            long rank=Math.max(1,(long)Math.ceil(Math.min(100,Math.max(0,percentile))/100*count));
+            long seen=0;
+            for (int i=0; i<BUCKET_COUNT; i++) {
+                seen+=counts.get(i);
+                if (seen>=rank) {
+                    res=Math.min(getMax(),getUpperBound(i));
+                    break;
+                }
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Creates a copy of this histogram.
+     * @return Copy.
+     */
+    public LatencyHistogram copy() {
+        LatencyHistogram res=new LatencyHistogram();
+        for (int i=0; i<BUCKET_COUNT; i++) {
+            res.counts.set(i,counts.get(i));
+        }
+        res.sum.add(sum.sum());
+        res.max.accumulate(max.get());
+        return res;
+    }
+
+    /**
+     * Gets the index of the bucket of a value.
+     * @param value Non-negative value.
+     * @return Index of bucket.
+     */
+    private static int indexOf(long value) {
+        int res;
+        if (value<SUB_BUCKET_COUNT) {
+            res=(int)value;
+        } else {
+            int exponent=Long.SIZE-1-Long.numberOfLeadingZeros(value);
+            int subBucket=(int)((value>>>(exponent-SUB_BUCKET_BITS))&(SUB_BUCKET_COUNT-1));
+            res=(exponent-SUB_BUCKET_BITS+1)*SUB_BUCKET_COUNT+subBucket;
+        }
+        return res;
+    }
+
+    /**
+     * Gets the largest value of a bucket.
+     * @param index Index of bucket.
+     * @return Largest value.
+     */
+    private static long getUpperBound(int index) {
+        long res;
+        if (index<SUB_BUCKET_COUNT) {
+            res=index;
+        } else {
+            int shift=index/SUB_BUCKET_COUNT-1;
+            long lowerBound=(long)(SUB_BUCKET_COUNT|(index%SUB_BUCKET_COUNT))<<shift;
+            res=lowerBound+(1L<<shift)-1;
+        }
+        return res;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count %d, mean %.0f ns, p50 %d ns, p90 %d ns, p99 %d ns, max %d ns",
+                             getCount(),getMean(),getPercentile(50),getPercentile(90),getPercentile(99),getMax());
+    }
+}
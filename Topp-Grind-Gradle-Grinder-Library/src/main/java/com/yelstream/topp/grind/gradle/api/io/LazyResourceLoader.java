@@ -0,0 +1,468 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import lombok.Getter;
+import org.gradle.api.logging.Logging;
+
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Loader of resources opening the actual loader on first use.
+ * <p>
+ *     The actual loader is opened on first touch and is kept open subject to the cap of a pool of open loaders.
+ *     When closed by the pool, the actual loader is reopened transparently on next use.
+ *     Loaders of e.g. large configurations are hence cheap in terms of file descriptors and heap
+ *     until lookups actually happen.
+ * </p>
+ * <p>
+ *     Streams and channels returned hold a lease of the actual loader until closed.
+ *     Closing this loader rejects new lookups at once,
+ *     while the actual loader is closed only when the last lease is released.
+ * </p>
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public class LazyResourceLoader implements ResourceLoader {
+    /**
+     * Resource offset for the resources loaded.
+     */
+    @Getter
+    private final ResourceOffset resourceOffset;
+
+    /**
+     * Pool of open loaders.
+     */
+    @Getter
+    private final ResourceLoaderPool pool;
+
+    /**
+     * Archive file read by the actual loader.
+     * This is {@code null} in case the actual loader does not read an archive file as a whole.
+     */
+    @Getter
+    private final File archive;
+
+    /**
+     * Factory of the actual loader.
+     */
+    private final Supplier<ResourceLoader> factory;
+
+    /**
+     * Lock serializing the opening of the actual loader.
+     */
+    private final Object openLock=new Object();
+
+    /**
+     * Actual loader, when open.
+     * Guarded by this loader.
+     */
+    ResourceLoader resourceLoader;
+
+    /**
+     * Number of leases of the actual loader.
+     * Guarded by this loader.
+     */
+    int leases;
+
+    /**
+     * Indicates, if this loader is closed.
+     * Guarded by this loader.
+     */
+    private boolean closed;
+
+    /**
+     * Time of last use, as given by {@link System#nanoTime()}.
+     * This orders the eviction of the actual loader from the pool.
+     */
+    volatile long useTime;
+
+    /**
+     * Constructor.
+     * @param resourceOffset Resource offset for the resources loaded.
+     * @param pool Pool of open loaders.
+     * @param factory Factory of the actual loader.
+     */
+    public LazyResourceLoader(ResourceOffset resourceOffset,
+                              ResourceLoaderPool pool,
+                              Supplier<ResourceLoader> factory) {
+        this(resourceOffset,pool,null,factory);
+    }
+
+    /**
+     * Constructor.
+     * @param resourceOffset Resource offset for the resources loaded.
+     * @param pool Pool of open loaders.
+     * @param archive Archive file read by the actual loader.
+     *                This may be {@code null}.
+     * @param factory Factory of the actual loader.
+     */
+    public LazyResourceLoader(ResourceOffset resourceOffset,
+                              ResourceLoaderPool pool,
+                              File archive,
+                              Supplier<ResourceLoader> factory) {
+        this.resourceOffset=resourceOffset;
+        this.pool=pool;
+        this.archive=archive;
+        this.factory=factory;
+    }
+
+    /**
+     * Indicates, if the actual loader is currently open.
+     * @return Indicates, if open.
+     */
+    public synchronized boolean isOpen() {
+        return resourceLoader!=null;
+    }
+
+    /**
+     * Takes a lease of the actual loader.
+     * @return Actual loader.
+     *         This is {@code null} in case the loader must be opened and then registered with the pool.
+     * @throws IllegalStateException Thrown in case this loader is closed.
+     */
+    private synchronized ResourceLoader lease() throws IllegalStateException {
+        if (closed) {
+            throw new IllegalStateException(String.format("Failure to use resource loader; loader is closed, loader is %s!",this));
+        }
+        leases++;
+        useTime=System.nanoTime();
+        return resourceLoader;
+    }
+
+    /**
+     * Gets the actual loader, when open.
+     * @return Actual loader.
+     *         This is {@code null} in case the loader is not open.
+     */
+    private synchronized ResourceLoader getResourceLoader() {
+        return resourceLoader;
+    }
+
+    /**
+     * Acquires the actual loader, opening it if required.
+     * The loader must be released after use.
+     * @return Actual loader.
+     */
+    private ResourceLoader acquire() {
+        ResourceLoader res=lease();
+        if (res==null) {
+            boolean acquired=false;
+            try {
+                List<ResourceLoader> evicted=List.of();
+                synchronized (openLock) {
+                    res=getResourceLoader();
+                    if (res==null) {
+                        res=factory.get();
+                        evicted=pool.register(this,res);
+                    }
+                }
+                closeAll(evicted);
+                acquired=true;
+            } finally {
+                if (!acquired) {
+                    release();
+                }
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Releases the actual loader after use.
+     * In case this loader is closed and this is the last lease, the actual loader is closed too.
+     */
+    private void release() {
+        ResourceLoader detached=null;
+        synchronized (this) {
+            leases--;
+            if (closed && leases==0) {
+                detached=detach();
+            }
+        }
+        closeAll(pool.released());
+        if (detached!=null) {
+            pool.unregister(this);
+            closeAll(List.of(detached));
+        }
+    }
+
+    /**
+     * Detaches the actual loader from this loader.
+     * Must be called while holding the lock of this loader,
+     * and must be followed by unregistering from the pool after releasing the lock.
+     * @return Actual loader.
+     *         This is {@code null} in case the loader is not open.
+     */
+    private ResourceLoader detach() {
+        ResourceLoader res=resourceLoader;
+        resourceLoader=null;
+        return res;
+    }
+
+    /**
+     * Closes loaders evicted from the pool or detached after the last lease.
+     * <p>
+     *     All loaders are closed, also when closing one of them fails.
+     *     Failures are logged and not thrown,
+     *     since the caller is a lookup, which should not fail because another loader could not be closed.
+     * </p>
+     * @param resourceLoaders Loaders to close.
+     */
+    private static void closeAll(List<ResourceLoader> resourceLoaders) {
+        IOException failure=null;
+        for (ResourceLoader loader: resourceLoaders) {
+            try {
+                loader.close();
+            } catch (IOException | RuntimeException ex) {
+                if (failure==null) {
+                    failure=new IOException(String.format("Failure to close resource loader; loader is %s!",loader),ex);
+                } else {
+                    failure.addSuppressed(ex);
+                }
+            }
+        }
+        if (failure!=null) {
+            Logging.getLogger(LazyResourceLoader.class).warn("Failure to close resource loaders; count is {}!",resourceLoaders.size(),failure);
+        }
+    }
+
+    /**
+     * Applies a function to the actual loader.
+     * @param function Function.
+     * @param <T> Type of result.
+     * @return Result of function.
+     */
+    private <T> T apply(Function<ResourceLoader,T> function) {
+        ResourceLoader loader=acquire();
+        try {
+            return function.apply(loader);
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Creates a location referring to this loader from a location of the actual loader.
+     * @param location Location of the actual loader.
+     * @return Location of this loader.
+     */
+    private ResourceLocation toLocation(ResourceLocation location) {
+        return location==null?null:new ResourceLocation(location,this);
+    }
+
+    @Override
+    public URL getResource(String name) {
+        return apply(loader->loader.getResource(name));
+    }
+
+    @Override
+    public InputStream getResourceAsStream(String name) {
+        InputStream res=null;
+        ResourceLoader loader=acquire();
+        try {
+            InputStream stream=loader.getResourceAsStream(name);
+            if (stream!=null) {
+                res=new LeasedInputStream(stream);
+            }
+        } finally {
+            if (res==null) {
+                release();
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public ReadableByteChannel getResourceAsChannel(String name) {
+        ReadableByteChannel res=null;
+        ResourceLoader loader=acquire();
+        try {
+            ReadableByteChannel channel=loader.getResourceAsChannel(name);
+            if (channel!=null) {
+                res=new LeasedChannel(channel);
+            }
+        } finally {
+            if (res==null) {
+                release();
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public ByteBuffer getResourceAsByteBuffer(String name) {
+        return apply(loader->loader.getResourceAsByteBuffer(name));
+    }
+
+    @Override
+    public long transferResource(String name,
+                                 WritableByteChannel target) throws IOException {
+        ResourceLoader loader=acquire();
+        try {
+            return loader.transferResource(name,target);
+        } finally {
+            release();
+        }
+    }
+
+    @Override
+    public long copyResource(String name,
+                             Path target) throws IOException {
+        ResourceLoader loader=acquire();
+        try {
+            return loader.copyResource(name,target);
+        } finally {
+            release();
+        }
+    }
+
+    @Override
+    public ResourceFingerprint getResourceFingerprint(String name) {
+        return apply(loader->loader.getResourceFingerprint(name));
+    }
+
+    @Override
+    public List<ResourceLocation> getResourceLocations(String name) {
+        List<ResourceLocation> locations=apply(loader->loader.getResourceLocations(name));
+        return locations==null?null:locations.stream().map(this::toLocation).toList();
+    }
+
+    @Override
+    public Map<String,List<ResourceLocation>> getResourceLocations(Collection<String> names) {
+        Map<String,List<ResourceLocation>> res=new LinkedHashMap<>();
+        apply(loader->loader.getResourceLocations(names)).forEach((name,locations)->res.put(name,locations.stream().map(this::toLocation).toList()));
+        return res;
+    }
+
+    @Override
+    public ResourceLocation getResourceLocation(String name) {
+        return toLocation(apply(loader->loader.getResourceLocation(name)));
+    }
+
+    @Override
+    public Stream<ResourceLocation> streamResourceLocations(String name) {
+        return apply(loader->loader.streamResourceLocations(name).map(this::toLocation).toList()).stream();
+    }
+
+    @Override
+    public Stream<ResourceLocation> listResourceLocations(String prefix,
+                                                          String glob) {
+        return Stream.of(this)
+                     .flatMap(lazyLoader->apply(loader->loader.listResourceLocations(prefix,glob).map(this::toLocation).toList()).stream());  //Opening deferred until consumed!
+    }
+
+    @Override
+    public Collection<String> getResourceNames() {
+        return apply(ResourceLoader::getResourceNames);
+    }
+
+    /**
+     * Closes this loader.
+     * The actual loader is closed at once if not in use, otherwise when its last lease is released.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Override
+    public void close() throws IOException {
+        ResourceLoader loader=null;
+        synchronized (this) {
+            closed=true;
+            if (leases==0) {
+                loader=detach();
+            }
+        }
+        if (loader!=null) {
+            pool.unregister(this);
+            loader.close();
+        }
+    }
+
+    /**
+     * Stream holding a lease of the actual loader until closed.
+     */
+    private class LeasedInputStream extends FilterInputStream {
+        /**
+         * Indicates, if the lease has been released.
+         */
+        private final AtomicBoolean released=new AtomicBoolean();
+
+        /**
+         * Constructor.
+         * @param in Stream of the actual loader.
+         */
+        private LeasedInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (released.compareAndSet(false,true)) {
+                    release();
+                }
+            }
+        }
+    }
+
+    /**
+     * Channel holding a lease of the actual loader until closed.
+     */
+    private class LeasedChannel implements ReadableByteChannel {
+        /**
+         * Channel of the actual loader.
+         */
+        private final ReadableByteChannel channel;
+
+        /**
+         * Indicates, if the lease has been released.
+         */
+        private final AtomicBoolean released=new AtomicBoolean();
+
+        /**
+         * Constructor.
+         * @param channel Channel of the actual loader.
+         */
+        private LeasedChannel(ReadableByteChannel channel) {
+            this.channel=channel;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return channel.read(dst);
+        }
+
+        @Override
+        public boolean isOpen() {
+            return channel.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                channel.close();
+            } finally {
+                if (released.compareAndSet(false,true)) {
+                    release();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,767 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import lombok.Getter;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Loader of resources contained in an archive nested within another archive, e.g. a library of a fat jar or a war.
+ * <p>
+ *     The nested archive is read in place, without being extracted.
+ *     If the nested archive is stored uncompressed within the outer archive, which is the common case,
+ *     its central directory and its entries are read through a bounded view of the outer archive file,
+ *     and its uncompressed entries are read, mapped into memory when large, or transferred to other channels directly from the file.
+ *     If the nested archive is compressed, it is inflated once into memory.
+ * </p>
+ * <p>
+ *     Loaders of the nested archives of the same outer archive may share the channel and the central directory of the outer archive,
+ *     which are then opened and read once for all of them.
+ * </p>
+ * <p>
+ *     URLs of resources are on the form {@code jar:file:/path/to/archive.jar!/path/to/nested.jar!/name},
+ *     and are opened through this loader.
+ * </p>
+ * <p>
+ *     Instances are safe for concurrent use.
+ *     Closing waits for lookups in progress and refuses new lookups.
+ *     Streams and channels reading the outer archive file count as lookups in progress until closed.
+ * </p>
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public class NestedArchiveResourceLoader implements ResourceLoader {
+    /**
+     * Resource offset for the resources loaded.
+     */
+    @Getter
+    private final ResourceOffset resourceOffset;
+
+    /**
+     * Outer archive file.
+     */
+    @Getter
+    private final File archive;
+
+    /**
+     * Name of the entry of the nested archive within the outer archive.
+     */
+    @Getter
+    private final String entryName;
+
+    /**
+     * Outer archive, possibly shared with loaders of other nested archives.
+     * This is {@code null} in case the nested archive has been inflated into memory.
+     */
+    private final OuterArchive outerArchive;
+
+    /**
+     * Position of the nested archive within the outer archive file.
+     */
+    private final long base;
+
+    /**
+     * Size of the nested archive.
+     */
+    private final long size;
+
+    /**
+     * Contents of the nested archive, when inflated into memory.
+     * This is {@code null} in case the nested archive is read in place.
+     */
+    private final ByteBuffer contents;
+
+    /**
+     * Central directory of the nested archive.
+     */
+    private final ZipCentralDirectory directory;
+
+    /**
+     * Prefix of the URIs of the entries of the nested archive.
+     */
+    private final String archiveURIPrefix;
+
+    /**
+     * Handler opening the URLs of the entries of the nested archive.
+     */
+    private final URLStreamHandler urlStreamHandler;
+
+    /**
+     * Factory of the URLs of entries, shared by all locations of the nested archive.
+     */
+    private final Function<String,URL> entryURLFactory;
+
+    /**
+     * Sorted index of the names of the resources of the nested archive.
+     * This is created on first use.
+     */
+    private volatile ResourceNameIndex nameIndex;
+
+    /**
+     * Collector of metrics, counting the opening and closing of the nested archive.
+     * This may be {@code null}.
+     */
+    private final ResourceMetrics metrics;
+
+    /**
+     * Guard closing the outer archive when no lookups are in progress.
+     */
+    private final CloseGuard closeGuard=new CloseGuard(this::release);
+
+    /**
+     * Constructor.
+     * @param resourceOffset Resource offset for the resources loaded.
+     * @param archive Outer archive file.
+     * @param entryName Name of the entry of the nested archive within the outer archive.
+     * @throws UncheckedIOException Thrown in case the nested archive cannot be opened.
+     */
+    public NestedArchiveResourceLoader(ResourceOffset resourceOffset,
+                                       File archive,
+                                       String entryName) {
+        this(resourceOffset,archive,entryName,null);
+    }
+
+    /**
+     * Constructor.
+     * @param resourceOffset Resource offset for the resources loaded.
+     * @param archive Outer archive file.
+     * @param entryName Name of the entry of the nested archive within the outer archive.
+     * @param metrics Collector of metrics, counting the opening and closing of the nested archive.
+     *                This may be {@code null}.
+     * @throws UncheckedIOException Thrown in case the nested archive cannot be opened.
+     */
+    public NestedArchiveResourceLoader(ResourceOffset resourceOffset,
+                                       File archive,
+                                       String entryName,
+                                       ResourceMetrics metrics) {
+        this(resourceOffset,new OuterArchive(archive),entryName,metrics);
+    }
+
+    /**
+     * Constructor.
+     * @param resourceOffset Resource offset for the resources loaded.
+     * @param outerArchive Outer archive, possibly shared with loaders of other nested archives.
+     * @param entryName Name of the entry of the nested archive within the outer archive.
+     * @param metrics Collector of metrics, counting the opening and closing of the nested archive.
+     *                This may be {@code null}.
+     * @throws UncheckedIOException Thrown in case the nested archive cannot be opened.
+     */
+    NestedArchiveResourceLoader(ResourceOffset resourceOffset,
+                                OuterArchive outerArchive,
+                                String entryName,
+                                ResourceMetrics metrics) {
+        this.resourceOffset=resourceOffset;
+        this.archive=outerArchive.getArchive();
+        this.entryName=entryName;
+        outerArchive.acquire();
+        boolean acquired=true;
+        try {
+            ZipCentralDirectory outerDirectory=outerArchive.getDirectory();
+            int index=outerDirectory.indexOf(entryName);
+            if (index<0 || outerDirectory.isDirectory(index)) {
+                throw new FileNotFoundException(String.format("Nested archive not found; entry is %s!",entryName));
+            }
+            long position=outerDirectory.getDataOffset(outerArchive.getChannel(),index);
+            this.size=outerDirectory.getSize(index);
+            switch (outerDirectory.getMethod(index)) {
+                case ZipCentralDirectory.METHOD_STORED -> {
+                    this.outerArchive=outerArchive;
+                    this.base=position;
+                    this.contents=null;
+                }
+                case ZipCentralDirectory.METHOD_DEFLATED -> {
+                    try (InputStream stream=inflate(ResourceChannels.newRegionChannel(outerArchive.getChannel(),position,outerDirectory.getCompressedSize(index)))) {
+                        this.contents=ResourceChannels.read(Channels.newChannel(stream),size);
+                    }
+                    acquired=false;
+                    outerArchive.release();
+                    this.outerArchive=null;
+                    this.base=0;
+                }
+                default -> throw new ZipException(String.format("Unsupported compression method %d; entry is %s!",outerDirectory.getMethod(index),entryName));
+            }
+            this.directory=ZipCentralDirectory.read(openView());
+        } catch (IOException ex) {
+            if (acquired) {
+                releaseQuietly(outerArchive,ex);
+            }
+            throw new UncheckedIOException(String.format("Failure to open nested archive; archive is %s, entry is %s!",archive,entryName),ex);
+        }
+        this.archiveURIPrefix=ResourceURLs.createNestedArchiveURIPrefix(archive,entryName);
+        this.urlStreamHandler=new EntryURLStreamHandler();
+        this.entryURLFactory=name->ResourceURLs.createArchiveEntryURL(archiveURIPrefix,name,urlStreamHandler);
+        this.metrics=metrics;
+        if (metrics!=null) {
+            metrics.recordArchiveOpened();
+        }
+    }
+
+    /**
+     * Releases an outer archive after a failure, recording failures to close as suppressed.
+     * @param outerArchive Outer archive.
+     * @param failure Failure.
+     */
+    private static void releaseQuietly(OuterArchive outerArchive,
+                                       IOException failure) {
+        try {
+            outerArchive.release();
+        } catch (IOException ex) {
+            failure.addSuppressed(ex);
+        }
+    }
+
+    /**
+     * Creates a stream inflating raw deflated data.
+     * @param source Channel reading the deflated data.
+     * @return Stream of inflated data.
+     */
+    private static InputStream inflate(ReadableByteChannel source) {
+        Inflater inflater=new Inflater(true);
+        return new InflaterInputStream(Channels.newInputStream(source),inflater,ResourceChannels.BUFFER_SIZE) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    inflater.end();
+                }
+            }
+        };
+    }
+
+    /**
+     * Gets the channel of the outer archive, opening it anew if closed due to the interrupt of a reading thread.
+     * Must be called only while the nested archive is read in place.
+     * @return Channel of the outer archive.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private FileChannel getFile() throws IOException {
+        return outerArchive.getChannel();
+    }
+
+    /**
+     * Opens a bounded view of the nested archive, used to read headers.
+     * @return View of the nested archive.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private SeekableByteChannel openView() throws IOException {
+        return contents==null?ResourceChannels.newRegionChannel(getFile(),base,size):ResourceChannels.newBufferChannel(contents);
+    }
+
+    /**
+     * Gets the index of the entry of a named resource.
+     * Directory entries are not resources.
+     * @param name Resource name.
+     * @return Index of entry.
+     *         This is {@code -1} in case the resource does not exist.
+     */
+    private int getEntry(String name) {
+        int index=directory.indexOf(name);
+        return index<0||directory.isDirectory(index)?-1:index;
+    }
+
+    /**
+     * Gets the position of the data of an entry within the nested archive.
+     * @param index Index of entry.
+     * @return Position of data.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private long getDataPosition(int index) throws IOException {
+        return directory.getDataOffset(openView(),index);
+    }
+
+    /**
+     * Indicates, if an entry is stored uncompressed.
+     * @param index Index of entry.
+     * @return Indicates, if stored.
+     */
+    private boolean isStored(int index) {
+        return directory.getMethod(index)==ZipCentralDirectory.METHOD_STORED;
+    }
+
+    /**
+     * Opens a channel reading a region of the nested archive.
+     * @param position Position of region.
+     * @param count Length of region.
+     * @param onClose Action run once, when a channel reading the outer archive file is closed.
+     *                This may be {@code null}.
+     * @return Channel reading the region.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private SeekableByteChannel openRegion(long position,
+                                           long count,
+                                           Runnable onClose) throws IOException {
+        SeekableByteChannel res;
+        if (contents==null) {
+            res=ResourceChannels.newRegionChannel(getFile(),base+position,count,onClose);
+        } else {
+            res=ResourceChannels.newBufferChannel(contents.slice((int)position,(int)count));
+        }
+        return res;
+    }
+
+    /**
+     * Opens a channel to the contents of an entry.
+     * @param index Index of entry.
+     * @param onClose Action run once, when a channel reading the outer archive file is closed.
+     *                This may be {@code null}.
+     * @return Channel to the contents of the entry.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private ReadableByteChannel openChannel(int index,
+                                            Runnable onClose) throws IOException {
+        ReadableByteChannel res;
+        long position=getDataPosition(index);
+        if (isStored(index)) {
+            res=openRegion(position,directory.getSize(index),onClose);
+        } else {
+            if (directory.getMethod(index)==ZipCentralDirectory.METHOD_DEFLATED) {
+                res=Channels.newChannel(inflate(openRegion(position,directory.getCompressedSize(index),onClose)));
+            } else {
+                throw new ZipException(String.format("Unsupported compression method %d; entry is %s!",directory.getMethod(index),directory.getName(index)));
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Creates the failure of reading a resource.
+     * @param name Resource name.
+     * @param ex Cause.
+     * @return Failure.
+     */
+    private UncheckedIOException createReadFailure(String name,
+                                                   IOException ex) {
+        return new UncheckedIOException(String.format("Failure to read resource; archive is %s, nested archive is %s, name is %s!",archive,entryName,name),ex);
+    }
+
+    @Override
+    public URL getResource(String name) {
+        return closeGuard.apply(()->getEntry(name)<0?null:entryURLFactory.apply(name));
+    }
+
+    @Override
+    public InputStream getResourceAsStream(String name) {
+        ReadableByteChannel channel=getResourceAsChannel(name);
+        return channel==null?null:Channels.newInputStream(channel);
+    }
+
+    @Override
+    public ReadableByteChannel getResourceAsChannel(String name) {
+        ReadableByteChannel res=null;
+        closeGuard.enter();
+        try {
+            int index=getEntry(name);
+            if (index>=0) {
+                res=openChannel(index,contents!=null?null:closeGuard::exit);
+            }
+        } catch (IOException ex) {
+            throw createReadFailure(name,ex);
+        } finally {
+            if (res==null || contents!=null) {  //Contents held in memory stay valid when closed!
+                closeGuard.exit();
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public ByteBuffer getResourceAsByteBuffer(String name) {
+        return closeGuard.apply(()->{
+            ByteBuffer res=null;
+            int index=getEntry(name);
+            if (index>=0) {
+                try {
+                    if (isStored(index)) {
+                        long position=getDataPosition(index);
+                        long length=directory.getSize(index);
+                        if (contents==null) {
+                            res=ResourceChannels.readRegion(getFile(),base+position,length);
+                        } else {
+                            res=contents.slice((int)position,(int)length).asReadOnlyBuffer();
+                        }
+                    } else {
+                        try (ReadableByteChannel entryChannel=openChannel(index,null)) {
+                            res=ResourceChannels.read(entryChannel,directory.getSize(index));
+                        }
+                    }
+                } catch (IOException ex) {
+                    throw createReadFailure(name,ex);
+                }
+            }
+            return res;
+        });
+    }
+
+    @Override
+    public long transferResource(String name,
+                                 WritableByteChannel target) throws IOException {
+        closeGuard.enter();
+        try {
+            int index=getEntry(name);
+            return index<0?-1:transfer(index,target);
+        } finally {
+            closeGuard.exit();
+        }
+    }
+
+    @Override
+    public long copyResource(String name,
+                             Path target) throws IOException {
+        closeGuard.enter();
+        try {
+            long res=-1;
+            int index=getEntry(name);
+            if (index>=0) {
+                try (FileChannel targetChannel=ResourceChannels.openTarget(target)) {
+                    res=transfer(index,targetChannel);
+                }
+            }
+            return res;
+        } finally {
+            closeGuard.exit();
+        }
+    }
+
+    /**
+     * Transfers the contents of an entry to a channel.
+     * @param index Index of entry.
+     * @param target Target channel.
+     * @return Number of bytes transferred.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private long transfer(int index,
+                          WritableByteChannel target) throws IOException {
+        long res;
+        if (contents==null && isStored(index)) {
+            res=ResourceChannels.transfer(getFile(),base+getDataPosition(index),directory.getSize(index),target);
+        } else {
+            try (ReadableByteChannel entryChannel=openChannel(index,null)) {
+                res=ResourceChannels.transfer(entryChannel,target);
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public ResourceFingerprint getResourceFingerprint(String name) {
+        return closeGuard.apply(()->{
+            int index=getEntry(name);
+            return index<0?null:ResourceFingerprint.of(directory.getSize(index),directory.getCrc(index));
+        });
+    }
+
+    @Override
+    public List<ResourceLocation> getResourceLocations(String name) {
+        List<ResourceLocation> res=null;
+        ResourceLocation location=getResourceLocation(name);
+        if (location!=null) {
+            res=new ArrayList<>();
+            res.add(location);
+        }
+        return res;
+    }
+
+    @Override
+    public ResourceLocation getResourceLocation(String name) {
+        return closeGuard.apply(()->getEntry(name)<0?null:new ResourceLocation(resourceOffset,this,name,entryURLFactory));
+    }
+
+    @Override
+    public Stream<ResourceLocation> streamResourceLocations(String name) {
+        return Stream.ofNullable(getResourceLocation(name));
+    }
+
+    @Override
+    public Stream<ResourceLocation> listResourceLocations(String prefix,
+                                                          String glob) {
+        return closeGuard.apply(this::getNameIndex).select(prefix,glob).stream().map(name->new ResourceLocation(resourceOffset,this,name,entryURLFactory));
+    }
+
+    /**
+     * Gets the sorted index of the names of the resources of the nested archive.
+     * @return Index of names.
+     */
+    private ResourceNameIndex getNameIndex() {
+        ResourceNameIndex res=nameIndex;
+        if (res==null) {
+            res=ResourceNameIndex.of(listResourceNames());
+            nameIndex=res;
+        }
+        return res;
+    }
+
+    /**
+     * Lists the names of the resources of the nested archive.
+     * @return Resource names, in the order of the central directory.
+     */
+    private List<String> listResourceNames() {
+        List<String> res=new ArrayList<>(directory.getEntryCount());
+        for (int i=0; i<directory.getEntryCount(); i++) {
+            if (!directory.isDirectory(i) && directory.indexOf(directory.getName(i))==i) {
+                res.add(directory.getName(i));
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public Collection<String> getResourceNames() {
+        return closeGuard.apply(this::listResourceNames);
+    }
+
+    /**
+     * Closes the outer archive.
+     * Lookups in progress complete before the archive is actually closed, and new lookups are refused.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Override
+    public void close() throws IOException {
+        closeGuard.close();
+    }
+
+    /**
+     * Releases the outer archive after the last lookup.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private void release() throws IOException {
+        try {
+            if (outerArchive!=null) {
+                outerArchive.release();
+            }
+        } finally {
+            if (metrics!=null) {
+                metrics.recordArchiveClosed();
+            }
+        }
+    }
+
+    /**
+     * Lists the names of the entries of an archive which are nested archives.
+     * @param archive Archive file.
+     * @param glob Glob pattern of the names of nested archives, as accepted by {@link ResourceNames#toGlobPattern(String)}.
+     * @return Names of entries of nested archives, in the order of the central directory.
+     * @throws UncheckedIOException Thrown in case of I/O error.
+     */
+    public static List<String> listNestedArchives(File archive,
+                                                  String glob) {
+        return listNestedArchives(new OuterArchive(archive),glob);
+    }
+
+    /**
+     * Lists the names of the entries of an outer archive which are nested archives.
+     * The central directory of the outer archive is read once, in case the outer archive is held by loaders of nested archives.
+     * @param outerArchive Outer archive.
+     * @param glob Glob pattern of the names of nested archives, as accepted by {@link ResourceNames#toGlobPattern(String)}.
+     * @return Names of entries of nested archives, in the order of the central directory.
+     * @throws UncheckedIOException Thrown in case of I/O error.
+     */
+    static List<String> listNestedArchives(OuterArchive outerArchive,
+                                           String glob) {
+        try {
+            List<String> res=new ArrayList<>();
+            outerArchive.acquire();
+            try {
+                ZipCentralDirectory directory=outerArchive.getDirectory();
+                var matcher=ResourceNames.toGlobPattern(glob).asMatchPredicate();
+                for (int i=0; i<directory.getEntryCount(); i++) {
+                    String name=directory.getName(i);
+                    if (!directory.isDirectory(i) && directory.indexOf(name)==i && matcher.test(name)) {
+                        res.add(name);
+                    }
+                }
+            } finally {
+                outerArchive.release();
+            }
+            return res;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(String.format("Failure to list nested archives; archive is %s!",outerArchive.getArchive()),ex);
+        }
+    }
+
+    /**
+     * Outer archive, shared by the loaders of its nested archives.
+     * <p>
+     *     The channel of the outer archive is opened on first use, and its central directory is read once.
+     *     Both are held as long as the outer archive is acquired, and are dropped when the last holder releases it,
+     *     so that archives opened lazily are read anew when opened again.
+     * </p>
+     * <p>
+     *     Instances are thread-safe.
+     * </p>
+     */
+    static final class OuterArchive {
+        /**
+         * Outer archive file.
+         */
+        @Getter
+        private final File archive;
+
+        /**
+         * Channel of the outer archive.
+         * This is {@code null} until first used after being acquired.
+         * This is guarded by this instance.
+         */
+        private FileChannel channel;
+
+        /**
+         * Central directory of the outer archive.
+         * This is {@code null} until first used after being acquired.
+         * This is guarded by this instance.
+         */
+        private ZipCentralDirectory directory;
+
+        /**
+         * Number of holders.
+         * This is guarded by this instance.
+         */
+        private int holderCount;
+
+        /**
+         * Constructor.
+         * @param archive Outer archive file.
+         */
+        OuterArchive(File archive) {
+            this.archive=archive;
+        }
+
+        /**
+         * Acquires the outer archive, holding its channel and central directory until released.
+         */
+        synchronized void acquire() {
+            holderCount++;
+        }
+
+        /**
+         * Releases the outer archive, closing its channel when released by the last holder.
+         * @throws IOException Thrown in case of I/O error.
+         */
+        synchronized void release() throws IOException {
+            if (holderCount<=0) {
+                throw new IllegalStateException(String.format("Failure to release outer archive; archive is not acquired, archive is %s!",archive));
+            }
+            holderCount--;
+            if (holderCount==0) {
+                FileChannel closed=channel;
+                channel=null;
+                directory=null;
+                if (closed!=null) {
+                    closed.close();
+                }
+            }
+        }
+
+        /**
+         * Gets the number of holders.
+         * @return Number of holders.
+         */
+        synchronized int getHolderCount() {
+            return holderCount;
+        }
+
+        /**
+         * Gets the channel of the outer archive, opening it anew if closed due to the interrupt of a reading thread.
+         * @return Channel of the outer archive.
+         * @throws IOException Thrown in case of I/O error.
+         */
+        synchronized FileChannel getChannel() throws IOException {
+            if (holderCount<=0) {
+                throw new IllegalStateException(String.format("Failure to read outer archive; archive is not acquired, archive is %s!",archive));
+            }
+            if (channel==null || !channel.isOpen()) {
+                channel=FileChannel.open(archive.toPath());
+            }
+            return channel;
+        }
+
+        /**
+         * Gets the central directory of the outer archive, reading it on first use.
+         * @return Central directory.
+         * @throws IOException Thrown in case of I/O error.
+         */
+        synchronized ZipCentralDirectory getDirectory() throws IOException {
+            if (directory==null) {
+                directory=ZipCentralDirectory.read(getChannel());
+            }
+            return directory;
+        }
+    }
+
+    /**
+     * Handler opening the URLs of the entries of the nested archive through this loader.
+     */
+    private final class EntryURLStreamHandler extends URLStreamHandler {
+        @Override
+        protected URLConnection openConnection(URL url) throws IOException {
+            String name=ResourceURLs.getArchiveEntryName(archiveURIPrefix,url);
+            if (name==null) {
+                throw new FileNotFoundException(String.format("Entry not found; URL is %s!",url));
+            }
+            return new EntryURLConnection(url,name);
+        }
+    }
+
+    /**
+     * Connection to an entry of the nested archive.
+     */
+    private final class EntryURLConnection extends URLConnection {
+        /**
+         * Name of entry.
+         */
+        private final String name;
+
+        /**
+         * Constructor.
+         * @param url URL of entry.
+         * @param name Name of entry.
+         */
+        private EntryURLConnection(URL url,
+                                   String name) {
+            super(url);
+            this.name=name;
+        }
+
+        @Override
+        public void connect() throws IOException {
+            if (getEntry(name)<0) {
+                throw new FileNotFoundException(String.format("Entry not found; URL is %s!",url));
+            }
+            connected=true;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            connect();
+            return getResourceAsStream(name);
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            int index=getEntry(name);
+            return index<0?-1:directory.getSize(index);
+        }
+    }
+}
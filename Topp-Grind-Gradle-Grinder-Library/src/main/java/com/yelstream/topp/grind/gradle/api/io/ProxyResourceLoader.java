@@ -8,10 +8,21 @@ import lombok.Setter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Proxy for an instance of {@link ResourceLoader}.
+ * <p>
+ *     The proxied loader may be replaced or cleared concurrently with lookups;
+ *     each lookup uses the loader set when it starts, and lookups after closing are refused.
+ * </p>
  *
  * @author Morten Sabroe Mortenen
  * @version 1.0
@@ -20,35 +31,103 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 public class ProxyResourceLoader implements ResourceLoader {
+    /**
+     * Proxied loader.
+     */
     @Getter
     @Setter
-    private ResourceLoader resourceLoader;
+    private volatile ResourceLoader resourceLoader;
+
+    /**
+     * Gets the proxied loader for a lookup.
+     * @return Proxied loader.
+     * @throws IllegalStateException Thrown in case the proxy is closed.
+     */
+    protected ResourceLoader loader() {
+        ResourceLoader res=resourceLoader;
+        if (res==null) {
+            throw new IllegalStateException("Failure to use resource loader; proxy is closed!");
+        }
+        return res;
+    }
 
     @Override
     public URL getResource(String name) {
-        return resourceLoader.getResource(name);
+        return loader().getResource(name);
     }
 
     @Override
     public InputStream getResourceAsStream(String name) {
-        return resourceLoader.getResourceAsStream(name);
+        return loader().getResourceAsStream(name);
+    }
+
+    @Override
+    public ReadableByteChannel getResourceAsChannel(String name) {
+        return loader().getResourceAsChannel(name);
+    }
+
+    @Override
+    public ByteBuffer getResourceAsByteBuffer(String name) {
+        return loader().getResourceAsByteBuffer(name);
+    }
+
+    @Override
+    public long transferResource(String name,
+                                 WritableByteChannel target) throws IOException {
+        return loader().transferResource(name,target);
+    }
+
+    @Override
+    public long copyResource(String name,
+                             Path target) throws IOException {
+        return loader().copyResource(name,target);
+    }
+
+    @Override
+    public ResourceFingerprint getResourceFingerprint(String name) {
+        return loader().getResourceFingerprint(name);
     }
 
     @Override
     public List<ResourceLocation> getResourceLocations(String name) {
-        return resourceLoader.getResourceLocations(name);
+        return loader().getResourceLocations(name);
+    }
+
+    @Override
+    public Map<String,List<ResourceLocation>> getResourceLocations(Collection<String> names) {
+        return loader().getResourceLocations(names);
     }
 
     @Override
     public ResourceLocation getResourceLocation(String name) throws IllegalStateException {
-        return resourceLoader.getResourceLocation(name);
+        return loader().getResourceLocation(name);
+    }
+
+    @Override
+    public Stream<ResourceLocation> streamResourceLocations(String name) {
+        return loader().streamResourceLocations(name);
+    }
+
+    @Override
+    public Stream<ResourceLocation> listResourceLocations(String prefix,
+                                                          String glob) {
+        return loader().listResourceLocations(prefix,glob);
+    }
+
+    @Override
+    public Collection<String> getResourceNames() {
+        return loader().getResourceNames();
     }
 
     @Override
     public void close() throws IOException {
-        if (resourceLoader!=null) {
-            resourceLoader.close();
+        ResourceLoader closedResourceLoader;
+        synchronized (this) {
+            closedResourceLoader=resourceLoader;
             resourceLoader=null;
         }
+        if (closedResourceLoader!=null) {
+            closedResourceLoader.close();
+        }
     }
 }
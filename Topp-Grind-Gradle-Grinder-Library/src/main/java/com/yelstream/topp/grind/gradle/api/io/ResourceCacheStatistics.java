@@ -0,0 +1,84 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Statistics of a cache of resource contents.
+ * This is a snapshot taken at one point in time.
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Getter
+@AllArgsConstructor(access=AccessLevel.PACKAGE)
+public class ResourceCacheStatistics {
+    /**
+     * Number of requests served from the cache.
+     */
+    private final long hitCount;
+
+    /**
+     * Number of requests not served from the cache.
+     */
+    private final long missCount;
+
+    /**
+     * Number of loads of contents from the underlying loader.
+     */
+    private final long loadCount;
+
+    /**
+     * Number of requests which waited for a load already in progress by another thread.
+     */
+    private final long coalescedCount;
+
+    /**
+     * Number of resources evicted to stay within the capacity.
+     */
+    private final long evictionCount;
+
+    /**
+     * Number of resources loaded but not cached since these exceed the maximum size of an entry.
+     */
+    private final long oversizedCount;
+
+    /**
+     * Number of requests of resources already known to exceed the maximum size of an entry, passed through without loading.
+     * These are counted neither as hits nor as misses.
+     */
+    private final long passThroughCount;
+
+    /**
+     * Number of resources held.
+     */
+    private final int entryCount;
+
+    /**
+     * Number of bytes held.
+     */
+    private final long byteCount;
+
+    /**
+     * Maximum number of bytes held.
+     */
+    private final long maxBytes;
+
+    /**
+     * Gets the ratio of requests served from the cache.
+     * @return Ratio of hits.
+     *         This is {@code 0} in case of no requests.
+     */
+    public double getHitRate() {
+        long requestCount=hitCount+missCount;
+        return requestCount==0?0:(double)hitCount/requestCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits %d, misses %d, loads %d, coalesced %d, evictions %d, oversized %d, passed through %d, entries %d, bytes %d of %d",
+                             hitCount,missCount,loadCount,coalescedCount,evictionCount,oversizedCount,passThroughCount,entryCount,byteCount,maxBytes);
+    }
+}
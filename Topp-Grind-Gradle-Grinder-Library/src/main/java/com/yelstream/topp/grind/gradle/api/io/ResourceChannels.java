@@ -0,0 +1,511 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import lombok.experimental.UtilityClass;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Utilities addressing channels to the contents of resources.
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@UtilityClass
+public class ResourceChannels {
+    /**
+     * Size of buffers used when copying between channels not backed by files.
+     */
+    public static final int BUFFER_SIZE=64*1024;
+
+    /**
+     * Minimum size of a region of a file mapped into memory rather than read into a heap buffer.
+     * Each mapping costs system calls and address space, and is released only when its buffer is garbage collected,
+     * which outweighs the copy for small contents like class files.
+     */
+    public static final long MAP_THRESHOLD=1024*1024;
+
+    /**
+     * Transfers all content of a channel to a target channel.
+     * Channels backed by files are transferred by {@link FileChannel#transferTo(long,long,WritableByteChannel)},
+     * and channels able to transfer their own content are asked to do so.
+     * @param source Source channel.
+     * @param target Target channel.
+     * @return Number of bytes transferred.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    public static long transfer(ReadableByteChannel source,
+                                WritableByteChannel target) throws IOException {
+        long res;
+        if (source instanceof FileChannel fileChannel) {
+            long position=fileChannel.position();
+            res=transfer(fileChannel,position,fileChannel.size()-position,target);
+        } else {
+            if (source instanceof TransferableChannel transferableChannel) {
+                res=transferableChannel.transferTo(target);
+            } else {
+                res=0;
+                ByteBuffer buffer=ByteBuffer.allocate(BUFFER_SIZE);
+                while (source.read(buffer)>=0) {
+                    buffer.flip();
+                    res+=write(buffer,target);
+                    buffer.clear();
+                }
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Transfers a region of a file to a target channel by {@link FileChannel#transferTo(long,long,WritableByteChannel)}.
+     * In case a transfer makes no progress before the end of the region, e.g. for a full or non-blocking target,
+     * the rest of the region is copied through a buffer.
+     * @param source Source file.
+     * @param position Position of region.
+     * @param count Length of region.
+     * @param target Target channel.
+     * @return Number of bytes transferred.
+     * @throws IOException Thrown in case of I/O error, in case the region exceeds the file,
+     *                     or in case the target accepts no bytes.
+     */
+    public static long transfer(FileChannel source,
+                                long position,
+                                long count,
+                                WritableByteChannel target) throws IOException {
+        long res=0;
+        while (res<count) {
+            long transferred=source.transferTo(position+res,count-res,target);
+            if (transferred>0) {
+                res+=transferred;
+            } else {
+                res+=copy(source,position+res,count-res,target);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Copies a region of a file to a target channel through a buffer.
+     * @param source Source file.
+     * @param position Position of region.
+     * @param count Length of region.
+     * @param target Target channel.
+     * @return Number of bytes copied.
+     * @throws IOException Thrown in case of I/O error, in case the region exceeds the file,
+     *                     or in case the target accepts no bytes.
+     */
+    private static long copy(FileChannel source,
+                             long position,
+                             long count,
+                             WritableByteChannel target) throws IOException {
+        long res=0;
+        ByteBuffer buffer=ByteBuffer.allocate((int)Math.min(BUFFER_SIZE,count));
+        while (res<count) {
+            buffer.clear().limit((int)Math.min(buffer.capacity(),count-res));
+            if (source.read(buffer,position+res)<0) {
+                throw new IOException(String.format("Failure to transfer region of file; region exceeds file, position is %d, count is %d!",position,count));
+            }
+            buffer.flip();
+            res+=write(buffer,target);
+        }
+        return res;
+    }
+
+    /**
+     * Writes all remaining content of a buffer to a target channel.
+     * @param buffer Buffer.
+     * @param target Target channel.
+     * @return Number of bytes written.
+     * @throws IOException Thrown in case of I/O error or in case the target accepts no bytes,
+     *                     e.g. when non-blocking and full.
+     */
+    private static int write(ByteBuffer buffer,
+                             WritableByteChannel target) throws IOException {
+        int res=0;
+        while (buffer.hasRemaining()) {
+            int written=target.write(buffer);
+            if (written<=0) {
+                throw new IOException(String.format("Failure to write to channel; channel accepts no bytes, remaining is %d!",buffer.remaining()));
+            }
+            res+=written;
+        }
+        return res;
+    }
+
+    /**
+     * Reads all content of a channel into a buffer.
+     * @param source Source channel.
+     * @param size Expected number of bytes, used as initial capacity.
+     *             This may be negative in case the size is unknown.
+     * @return Read-only buffer holding the content.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    public static ByteBuffer read(ReadableByteChannel source,
+                                  long size) throws IOException {
+        ByteBuffer buffer=ByteBuffer.allocate(size<0||size>Integer.MAX_VALUE-8?BUFFER_SIZE:(int)size);
+        ByteBuffer probe=ByteBuffer.allocate(1);
+        while (true) {
+            if (!buffer.hasRemaining()) {
+                probe.clear();
+                int read;
+                do {
+                    read=source.read(probe);
+                } while (read==0);
+                if (read<0) {
+                    break;
+                }
+                long capacity=Math.min((long)buffer.capacity()*2+1,Integer.MAX_VALUE-8);
+                if (capacity<=buffer.capacity()) {
+                    throw new IOException("Failure to read channel; content exceeds the capacity of a buffer!");
+                }
+                buffer=ByteBuffer.allocate((int)capacity).put(buffer.flip()).put(probe.flip());
+            }
+            if (source.read(buffer)<0) {
+                break;
+            }
+        }
+        return buffer.flip().asReadOnlyBuffer();
+    }
+
+    /**
+     * Reads a region of a file into a buffer.
+     * Regions of at least {@link #MAP_THRESHOLD} bytes are mapped into memory,
+     * and smaller regions are read into a heap buffer sized to the region.
+     * @param channel Channel to file.
+     *                Its position is not changed.
+     * @param position Position of region.
+     * @param size Size of region.
+     * @return Read-only buffer holding the region.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    public static ByteBuffer readRegion(FileChannel channel,
+                                        long position,
+                                        long size) throws IOException {
+        ByteBuffer res;
+        if (size>=MAP_THRESHOLD) {
+            res=channel.map(FileChannel.MapMode.READ_ONLY,position,size);
+        } else {
+            ByteBuffer buffer=ByteBuffer.allocate((int)size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer,position+buffer.position())<0) {
+                    throw new EOFException(String.format("Failure to read region; end of file before end of region, position is %d, size is %d!",position,size));
+                }
+            }
+            res=buffer.flip().asReadOnlyBuffer();
+        }
+        return res;
+    }
+
+    /**
+     * Opens a file as the target of a copy.
+     * An existing file is truncated.
+     * @param target Target file.
+     * @return Opened channel.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    public static FileChannel openTarget(Path target) throws IOException {
+        return FileChannel.open(target,StandardOpenOption.CREATE,StandardOpenOption.WRITE,StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Creates a channel reading a region of a file.
+     * <p>
+     *     Reads are positional, and the file is shared; closing the channel does not close the file.
+     *     Transfers of the region to other channels use {@link FileChannel#transferTo(long,long,WritableByteChannel)}.
+     *     The channel is a read-only, bounded view of the file, and positions are relative to the region.
+     * </p>
+     * @param file File.
+     * @param position Position of region.
+     * @param count Length of region.
+     * @return Channel reading the region.
+     */
+    public static SeekableByteChannel newRegionChannel(FileChannel file,
+                                                       long position,
+                                                       long count) {
+        return newRegionChannel(file,position,count,null);
+    }
+
+    /**
+     * Creates a channel reading a region of a file, notifying when closed.
+     * @param file File.
+     * @param position Position of region.
+     * @param count Length of region.
+     * @param onClose Action run once, when the channel is closed.
+     *                This may be {@code null}.
+     * @return Channel reading the region.
+     */
+    public static SeekableByteChannel newRegionChannel(FileChannel file,
+                                                       long position,
+                                                       long count,
+                                                       Runnable onClose) {
+        return new RegionChannel(file,position,position+count,onClose);
+    }
+
+    /**
+     * Creates a channel reading the remaining content of a buffer.
+     * The channel is a read-only view, and the buffer itself is not modified.
+     * @param buffer Buffer.
+     * @return Channel reading the buffer.
+     */
+    public static SeekableByteChannel newBufferChannel(ByteBuffer buffer) {
+        return new BufferChannel(buffer.slice());
+    }
+
+    /**
+     * Channel able to transfer its remaining content to a target channel by itself, e.g. without copying.
+     */
+    interface TransferableChannel extends ReadableByteChannel {
+        /**
+         * Transfers the remaining content to a target channel.
+         * @param target Target channel.
+         * @return Number of bytes transferred.
+         * @throws IOException Thrown in case of I/O error.
+         */
+        long transferTo(WritableByteChannel target) throws IOException;
+    }
+
+    /**
+     * Channel reading a region of a shared file.
+     */
+    private static final class RegionChannel implements SeekableByteChannel, TransferableChannel {
+        /**
+         * Shared file.
+         */
+        private final FileChannel file;
+
+        /**
+         * Start of region.
+         */
+        private final long start;
+
+        /**
+         * End of region.
+         */
+        private final long end;
+
+        /**
+         * Current position within the file.
+         */
+        private long position;
+
+        /**
+         * Action run once, when this channel is closed.
+         * This may be {@code null}.
+         */
+        private final Runnable onClose;
+
+        /**
+         * Indicates, if this channel is open.
+         */
+        private boolean open=true;
+
+        /**
+         * Constructor.
+         * @param file Shared file.
+         * @param position Start of region.
+         * @param end End of region.
+         * @param onClose Action run once, when this channel is closed.
+         *                This may be {@code null}.
+         */
+        private RegionChannel(FileChannel file,
+                              long position,
+                              long end,
+                              Runnable onClose) {
+            this.file=file;
+            this.start=position;
+            this.position=position;
+            this.end=end;
+            this.onClose=onClose;
+        }
+
+        @Override
+        public synchronized int read(ByteBuffer dst) throws IOException {
+            ensureOpen();
+            int res;
+            long remaining=end-position;
+            if (remaining<=0) {
+                res=-1;
+            } else {
+                if (dst.remaining()>remaining) {
+                    ByteBuffer slice=dst.slice().limit((int)remaining);
+                    res=file.read(slice,position);
+                    if (res>0) {
+                        dst.position(dst.position()+res);
+                    }
+                } else {
+                    res=file.read(dst,position);
+                }
+                if (res<0) {
+                    throw new IOException(String.format("Failure to read region of file; unexpected end of file at position %d!",position));
+                }
+                position+=res;
+            }
+            return res;
+        }
+
+        @Override
+        public synchronized long transferTo(WritableByteChannel target) throws IOException {
+            ensureOpen();
+            long res=transfer(file,position,end-position,target);
+            position=end;
+            return res;
+        }
+
+        @Override
+        public synchronized long position() throws IOException {
+            ensureOpen();
+            return position-start;
+        }
+
+        @Override
+        public synchronized SeekableByteChannel position(long newPosition) throws IOException {
+            ensureOpen();
+            if (newPosition<0) {
+                throw new IllegalArgumentException(String.format("Failure to set position of channel; position is %d!",newPosition));
+            }
+            position=start+Math.min(newPosition,end-start);
+            return this;
+        }
+
+        @Override
+        public synchronized long size() throws IOException {
+            ensureOpen();
+            return end-start;
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            throw new NonWritableChannelException();
+        }
+
+        @Override
+        public SeekableByteChannel truncate(long size) {
+            throw new NonWritableChannelException();
+        }
+
+        /**
+         * Ensures that this channel is open.
+         * @throws ClosedChannelException Thrown in case this channel is closed.
+         */
+        private void ensureOpen() throws ClosedChannelException {
+            if (!open) {
+                throw new ClosedChannelException();
+            }
+        }
+
+        @Override
+        public synchronized boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            boolean closed;
+            synchronized (this) {
+                closed=open;
+                open=false;
+            }
+            if (closed && onClose!=null) {
+                onClose.run();
+            }
+        }
+    }
+
+    /**
+     * Channel reading a buffer.
+     */
+    private static final class BufferChannel implements SeekableByteChannel {
+        /**
+         * Buffer, positioned at the current position of this channel.
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * Indicates, if this channel is open.
+         */
+        private boolean open=true;
+
+        /**
+         * Constructor.
+         * @param buffer Buffer, owned by this channel.
+         */
+        private BufferChannel(ByteBuffer buffer) {
+            this.buffer=buffer;
+        }
+
+        @Override
+        public synchronized int read(ByteBuffer dst) throws IOException {
+            ensureOpen();
+            int res=-1;
+            if (buffer.hasRemaining()) {
+                res=Math.min(dst.remaining(),buffer.remaining());
+                dst.put(dst.position(),buffer,buffer.position(),res);
+                dst.position(dst.position()+res);
+                buffer.position(buffer.position()+res);
+            }
+            return res;
+        }
+
+        @Override
+        public synchronized long position() throws IOException {
+            ensureOpen();
+            return buffer.position();
+        }
+
+        @Override
+        public synchronized SeekableByteChannel position(long newPosition) throws IOException {
+            ensureOpen();
+            if (newPosition<0) {
+                throw new IllegalArgumentException(String.format("Failure to set position of channel; position is %d!",newPosition));
+            }
+            buffer.position((int)Math.min(newPosition,buffer.limit()));
+            return this;
+        }
+
+        @Override
+        public synchronized long size() throws IOException {
+            ensureOpen();
+            return buffer.limit();
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            throw new NonWritableChannelException();
+        }
+
+        @Override
+        public SeekableByteChannel truncate(long size) {
+            throw new NonWritableChannelException();
+        }
+
+        /**
+         * Ensures that this channel is open.
+         * @throws ClosedChannelException Thrown in case this channel is closed.
+         */
+        private void ensureOpen() throws ClosedChannelException {
+            if (!open) {
+                throw new ClosedChannelException();
+            }
+        }
+
+        @Override
+        public synchronized boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public synchronized void close() {
+            open=false;
+        }
+    }
+}
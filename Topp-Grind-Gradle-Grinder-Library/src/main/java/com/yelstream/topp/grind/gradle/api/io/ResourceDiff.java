@@ -0,0 +1,235 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Difference of the resources of two loaders, e.g. of a configuration before and after a bump of dependencies.
+ * <p>
+ *     The names of the resources of each loader are listed once and sorted,
+ *     and the two sorted lists are merged in a single pass.
+ *     Resources present in both are compared by fingerprint,
+ *     which for entries of archives read directly is taken from the central directory without decompressing
+ *     any content.
+ *     Only if asked, the contents of resources with equal fingerprints are compared byte for byte.
+ * </p>
+ * <p>
+ *     Where a resource occurs more than once in a loader, the first occurrence in chain order is compared.
+ *     Differences are yielded lazily, in the order of resource names.
+ * </p>
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Getter
+@AllArgsConstructor(access=AccessLevel.PRIVATE)
+@lombok.Builder(builderClassName="Builder",toBuilder=true)
+public class ResourceDiff {
+    /**
+     * Default value for the comparison of contents.
+     */
+    public static final boolean DEFAULT_COMPARE_CONTENTS=false;
+
+    /**
+     * Default value for the inclusion of unchanged resources.
+     */
+    public static final boolean DEFAULT_INCLUDE_UNCHANGED=false;
+
+    /**
+     * Loader of the old resources.
+     */
+    @NonNull  //Lombok!
+    private final ResourceLoader oldResourceLoader;
+
+    /**
+     * Loader of the new resources.
+     */
+    @NonNull  //Lombok!
+    private final ResourceLoader newResourceLoader;
+
+    /**
+     * Prefix of the names of the resources to compare.
+     * If not set, names are not restricted by prefix.
+     */
+    private final String prefix;
+
+    /**
+     * Glob pattern of the names of the resources to compare, as accepted by {@link ResourceNames#toGlobPattern(String)}.
+     * If not set, names are not restricted by pattern.
+     */
+    private final String glob;
+
+    /**
+     * Indicates, if the contents of resources with equal fingerprints should be compared byte for byte.
+     */
+    @lombok.Builder.Default
+    private final boolean compareContents=DEFAULT_COMPARE_CONTENTS;
+
+    /**
+     * Indicates, if unchanged resources should be reported.
+     */
+    @lombok.Builder.Default
+    private final boolean includeUnchanged=DEFAULT_INCLUDE_UNCHANGED;
+
+    /**
+     * Computes the differences.
+     * <p>
+     *     The resources of the two loaders are listed up front, in parallel.
+     *     Fingerprints are taken as the differences are consumed.
+     * </p>
+     * @return Stream of differences, in the order of resource names.
+     */
+    public Stream<ResourceDifference> stream() {
+        List<Snapshot> snapshots=FanOut.map(List.of(oldResourceLoader,newResourceLoader),this::snapshot,FanOut.VIRTUAL_THREADS);
+        Iterator<ResourceDifference> iterator=new MergeIterator(snapshots.get(0),snapshots.get(1));
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,Spliterator.ORDERED|Spliterator.NONNULL),false);
+    }
+
+    /**
+     * Takes a snapshot of the resources of a loader.
+     * @param resourceLoader Resource loader.
+     * @return Snapshot.
+     */
+    private Snapshot snapshot(ResourceLoader resourceLoader) {
+        Map<String,ResourceLocation> locations=new HashMap<>();
+        try (Stream<ResourceLocation> stream=resourceLoader.listResourceLocations(prefix,glob)) {
+            stream.forEach(location->locations.putIfAbsent(location.getResourceName(),location));
+        }
+        String[] names=locations.keySet().toArray(String[]::new);
+        Arrays.sort(names);
+        return new Snapshot(names,locations);
+    }
+
+    /**
+     * Compares a resource present in both loaders.
+     * @param name Resource name.
+     * @param oldLocation Location of the resource in the old loader.
+     * @param newLocation Location of the resource in the new loader.
+     * @return Difference.
+     */
+    private ResourceDifference compare(String name,
+                                       ResourceLocation oldLocation,
+                                       ResourceLocation newLocation) {
+        ResourceFingerprint oldFingerprint=oldLocation.getFingerprint();
+        ResourceFingerprint newFingerprint=newLocation.getFingerprint();
+        boolean changed=!oldFingerprint.equals(newFingerprint);
+        if (!changed && compareContents) {
+            ByteBuffer oldContents=oldLocation.getByteBuffer();
+            ByteBuffer newContents=newLocation.getByteBuffer();
+            changed=!oldContents.equals(newContents);
+        }
+        ResourceDifference.Kind kind=changed?ResourceDifference.Kind.CHANGED:ResourceDifference.Kind.UNCHANGED;
+        return new ResourceDifference(kind,name,oldLocation,newLocation,oldFingerprint,newFingerprint);
+    }
+
+    /**
+     * Sorted snapshot of the resources of a loader.
+     */
+    @AllArgsConstructor
+    private static final class Snapshot {
+        /**
+         * Sorted resource names.
+         */
+        private final String[] names;
+
+        /**
+         * Locations of the first occurrence of each resource, keyed by resource name.
+         */
+        private final Map<String,ResourceLocation> locations;
+    }
+
+    /**
+     * Iterator merging two sorted snapshots into differences.
+     */
+    private final class MergeIterator implements Iterator<ResourceDifference> {
+        /**
+         * Snapshot of old resources.
+         */
+        private final Snapshot oldSnapshot;
+
+        /**
+         * Snapshot of new resources.
+         */
+        private final Snapshot newSnapshot;
+
+        /**
+         * Position within the old names.
+         */
+        private int oldIndex;
+
+        /**
+         * Position within the new names.
+         */
+        private int newIndex;
+
+        /**
+         * Next difference.
+         * This is {@code null} in case not yet found or in case of no more differences.
+         */
+        private ResourceDifference next;
+
+        /**
+         * Constructor.
+         * @param oldSnapshot Snapshot of old resources.
+         * @param newSnapshot Snapshot of new resources.
+         */
+        private MergeIterator(Snapshot oldSnapshot,
+                              Snapshot newSnapshot) {
+            this.oldSnapshot=oldSnapshot;
+            this.newSnapshot=newSnapshot;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next==null && (oldIndex<oldSnapshot.names.length || newIndex<newSnapshot.names.length)) {
+                String oldName=oldIndex<oldSnapshot.names.length?oldSnapshot.names[oldIndex]:null;
+                String newName=newIndex<newSnapshot.names.length?newSnapshot.names[newIndex]:null;
+                int order=oldName==null?1:(newName==null?-1:oldName.compareTo(newName));
+                if (order<0) {
+                    ResourceLocation oldLocation=oldSnapshot.locations.get(oldName);
+                    next=new ResourceDifference(ResourceDifference.Kind.REMOVED,oldName,oldLocation,null,oldLocation.getFingerprint(),null);
+                    oldIndex++;
+                } else {
+                    if (order>0) {
+                        ResourceLocation newLocation=newSnapshot.locations.get(newName);
+                        next=new ResourceDifference(ResourceDifference.Kind.ADDED,newName,null,newLocation,null,newLocation.getFingerprint());
+                        newIndex++;
+                    } else {
+                        ResourceDifference difference=compare(oldName,oldSnapshot.locations.get(oldName),newSnapshot.locations.get(newName));
+                        if (includeUnchanged || difference.getKind()!=ResourceDifference.Kind.UNCHANGED) {
+                            next=difference;
+                        }
+                        oldIndex++;
+                        newIndex++;
+                    }
+                }
+            }
+            return next!=null;
+        }
+
+        @Override
+        public ResourceDifference next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ResourceDifference res=next;
+            next=null;
+            return res;
+        }
+    }
+}
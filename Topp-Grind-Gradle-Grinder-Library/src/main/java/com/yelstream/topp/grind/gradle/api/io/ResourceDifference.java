@@ -0,0 +1,80 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Difference of a resource between two loaders.
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Getter
+@AllArgsConstructor(access=AccessLevel.PACKAGE)
+public class ResourceDifference {
+    /**
+     * Kind of difference.
+     */
+    public enum Kind {
+        /**
+         * Resource exists in the new loader only.
+         */
+        ADDED,
+
+        /**
+         * Resource exists in the old loader only.
+         */
+        REMOVED,
+
+        /**
+         * Resource exists in both loaders, with different contents.
+         */
+        CHANGED,
+
+        /**
+         * Resource exists in both loaders, with the same contents.
+         */
+        UNCHANGED
+    }
+
+    /**
+     * Kind of difference.
+     */
+    private final Kind kind;
+
+    /**
+     * Resource name.
+     */
+    private final String resourceName;
+
+    /**
+     * Location of the resource in the old loader.
+     * This is {@code null} in case the resource was added.
+     */
+    private final ResourceLocation oldLocation;
+
+    /**
+     * Location of the resource in the new loader.
+     * This is {@code null} in case the resource was removed.
+     */
+    private final ResourceLocation newLocation;
+
+    /**
+     * Fingerprint of the resource in the old loader.
+     * This is {@code null} in case the resource was added.
+     */
+    private final ResourceFingerprint oldFingerprint;
+
+    /**
+     * Fingerprint of the resource in the new loader.
+     * This is {@code null} in case the resource was removed.
+     */
+    private final ResourceFingerprint newFingerprint;
+
+    @Override
+    public String toString() {
+        return String.format("%s %s (%s -> %s)",kind,resourceName,oldFingerprint,newFingerprint);
+    }
+}
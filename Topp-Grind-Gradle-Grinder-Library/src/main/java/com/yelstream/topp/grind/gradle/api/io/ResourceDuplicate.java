@@ -0,0 +1,63 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Resource occurring more than once in a loader.
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Getter
+@AllArgsConstructor(access=AccessLevel.PACKAGE)
+public class ResourceDuplicate {
+    /**
+     * Resource name.
+     */
+    private final String resourceName;
+
+    /**
+     * Locations of all occurrences, in chain order.
+     */
+    private final List<ResourceLocation> locations;
+
+    /**
+     * Fingerprints of all occurrences.
+     * These are aligned with the locations.
+     */
+    private final List<ResourceFingerprint> fingerprints;
+
+    /**
+     * Gets the location of the occurrence which wins by chain order, i.e. the occurrence actually loaded.
+     * @return Location of winning occurrence.
+     */
+    public ResourceLocation getWinner() {
+        return locations.get(0);
+    }
+
+    /**
+     * Gets the locations of the occurrences shadowed by the winning occurrence.
+     * @return Locations of shadowed occurrences.
+     */
+    public List<ResourceLocation> getShadowed() {
+        return locations.subList(1,locations.size());
+    }
+
+    /**
+     * Indicates, if all occurrences have identical contents, as determined by fingerprint.
+     * @return Indicates, if identical.
+     */
+    public boolean isIdentical() {
+        return fingerprints.stream().distinct().count()==1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d occurrences%s, winner is %s",resourceName,locations.size(),isIdentical()?", identical":"",getWinner().getResourceURL());
+    }
+}
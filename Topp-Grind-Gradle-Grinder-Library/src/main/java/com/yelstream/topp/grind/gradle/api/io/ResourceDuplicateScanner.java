@@ -0,0 +1,223 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Scanner of resources occurring more than once in a loader, e.g. resources shadowed on a classpath.
+ * <p>
+ *     Every source of resources of the loader is enumerated, in parallel per source.
+ *     Resource names are inserted into membership filters as each source completes;
+ *     names which may already be present are candidates for duplicates.
+ *     A second pass over the sources collects the occurrences of the candidates,
+ *     and drops candidates which turn out to be false positives.
+ * </p>
+ * <p>
+ *     Apart from the compact membership filters, memory is proportional to the number of duplicates and not to
+ *     the total number of resources.
+ *     Occurrences are compared by fingerprint, which for entries of archives read directly is taken from the central
+ *     directory without reading any content.
+ * </p>
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Getter
+@AllArgsConstructor(access=AccessLevel.PRIVATE)
+@lombok.Builder(builderClassName="Builder",toBuilder=true)
+public class ResourceDuplicateScanner {
+    /**
+     * Default number of sources enumerated in parallel.
+     */
+    public static final int DEFAULT_PARALLELISM=FanOut.DEFAULT_PARALLELISM;
+
+    /**
+     * Default value for the probability of false positives of the membership filters.
+     */
+    public static final double DEFAULT_FALSE_POSITIVE_PROBABILITY=BloomFilter.DEFAULT_FALSE_POSITIVE_PROBABILITY;
+
+    /**
+     * Number of names held by the first membership filter.
+     * Each subsequent filter holds twice the number of names of its predecessor.
+     */
+    private static final int INITIAL_FILTER_CAPACITY=64*1024;
+
+    /**
+     * Loader to scan, e.g. a {@link ConfigurationResourceLoader}.
+     */
+    @NonNull  //Lombok!
+    private final ResourceLoader resourceLoader;
+
+    /**
+     * Number of sources enumerated in parallel.
+     */
+    @lombok.Builder.Default
+    private final int parallelism=DEFAULT_PARALLELISM;
+
+    /**
+     * Executor enumerating sources in parallel.
+     * If not set, each source is enumerated in a virtual thread.
+     */
+    private final Executor executor;
+
+    /**
+     * Probability of false positives of the membership filters.
+     */
+    @lombok.Builder.Default
+    private final double falsePositiveProbability=DEFAULT_FALSE_POSITIVE_PROBABILITY;
+
+    /**
+     * Scans for duplicates.
+     * @return Duplicates, in the order of resource names.
+     */
+    public List<ResourceDuplicate> scan() {
+        List<ResourceLoader> sources=ResourceLoaders.getLeafResourceLoaders(resourceLoader);
+        Executor effectiveExecutor=executor!=null?executor:FanOut.VIRTUAL_THREADS;
+
+        Set<String> candidates=new HashSet<>();
+        Filters filters=new Filters(falsePositiveProbability);
+        FanOut.map(sources,source->{
+            Set<String> names=new HashSet<>(ResourceNames.listResourceNames(source));
+            synchronized (filters) {  //Order of sources does not matter to the candidates!
+                for (String name: names) {
+                    long hash=BloomFilter.hash(name);
+                    if (filters.mightContain(hash)) {
+                        candidates.add(name);
+                    } else {
+                        filters.add(hash);
+                    }
+                }
+            }
+            return null;
+        },effectiveExecutor,parallelism);
+
+        Map<String,List<Occurrence>> occurrences=new TreeMap<>();
+        if (!candidates.isEmpty()) {
+            for (List<Occurrence> sourceOccurrences: FanOut.map(sources,source->getOccurrences(source,candidates),effectiveExecutor,parallelism)) {
+                for (Occurrence occurrence: sourceOccurrences) {
+                    occurrences.computeIfAbsent(occurrence.location.getResourceName(),name->new ArrayList<>(2)).add(occurrence);
+                }
+            }
+        }
+
+        List<ResourceDuplicate> res=new ArrayList<>();
+        occurrences.forEach((name,nameOccurrences)->{
+            if (nameOccurrences.size()>1) {
+                List<ResourceLocation> locations=nameOccurrences.stream().map(o->o.location).toList();
+                List<ResourceFingerprint> fingerprints=nameOccurrences.stream().map(o->o.fingerprint).toList();
+                res.add(new ResourceDuplicate(name,locations,fingerprints));
+            }
+        });
+        return res;
+    }
+
+    /**
+     * Gets the occurrences of candidate names in a source.
+     * @param source Source of resources.
+     * @param candidates Candidate names.
+     * @return Occurrences in source.
+     */
+    private static List<Occurrence> getOccurrences(ResourceLoader source,
+                                                   Set<String> candidates) {
+        List<Occurrence> res=new ArrayList<>();
+        Set<String> found=new HashSet<>();
+        for (String name: ResourceNames.listResourceNames(source)) {
+            if (candidates.contains(name) && found.add(name)) {
+                ResourceLocation location=source.getResourceLocation(name);
+                if (location!=null) {
+                    res.add(new Occurrence(location,location.getFingerprint()));
+                }
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Growing sequence of membership filters.
+     * A new filter is added when the current filter is full, keeping the probability of false positives bounded.
+     */
+    private static final class Filters {
+        /**
+         * Probability of false positives of each filter.
+         */
+        private final double falsePositiveProbability;
+
+        /**
+         * Filters.
+         */
+        private final List<BloomFilter> filters=new ArrayList<>();
+
+        /**
+         * Capacity of the current filter.
+         */
+        private int capacity;
+
+        /**
+         * Number of names added to the current filter.
+         */
+        private int count;
+
+        /**
+         * Constructor.
+         * @param falsePositiveProbability Probability of false positives of each filter.
+         */
+        private Filters(double falsePositiveProbability) {
+            this.falsePositiveProbability=falsePositiveProbability;
+        }
+
+        /**
+         * Indicates, if a name may have been added.
+         * @param hash Hash of name.
+         * @return Indicates, if the name may have been added.
+         */
+        private boolean mightContain(long hash) {
+            for (BloomFilter filter: filters) {
+                if (filter.mightContain(hash)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Adds a name.
+         * @param hash Hash of name.
+         */
+        private void add(long hash) {
+            if (filters.isEmpty() || count>=capacity) {
+                capacity=filters.isEmpty()?INITIAL_FILTER_CAPACITY:(int)Math.min(Integer.MAX_VALUE/2,2L*capacity);
+                count=0;
+                filters.add(new BloomFilter(capacity,falsePositiveProbability));
+            }
+            filters.get(filters.size()-1).add(hash);
+            count++;
+        }
+    }
+
+    /**
+     * Occurrence of a resource.
+     */
+    @AllArgsConstructor
+    private static final class Occurrence {
+        /**
+         * Location of occurrence.
+         */
+        private final ResourceLocation location;
+
+        /**
+         * Fingerprint of occurrence.
+         */
+        private final ResourceFingerprint fingerprint;
+    }
+}
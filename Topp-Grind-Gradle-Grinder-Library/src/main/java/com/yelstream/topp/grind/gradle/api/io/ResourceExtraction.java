@@ -0,0 +1,54 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Outcome of an extraction of resources to a directory.
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Getter
+@AllArgsConstructor(access=AccessLevel.PACKAGE)
+public class ResourceExtraction {
+    /**
+     * Number of resources written to the target directory.
+     */
+    private final int extractedCount;
+
+    /**
+     * Number of resources skipped since the target file was up to date.
+     */
+    private final int skippedCount;
+
+    /**
+     * Number of stale files deleted from the target directory.
+     */
+    private final int deletedCount;
+
+    /**
+     * Number of bytes written to the target directory.
+     */
+    private final long extractedBytes;
+
+    /**
+     * Number of bytes of resources skipped since the target file was up to date.
+     */
+    private final long skippedBytes;
+
+    /**
+     * Indicates, if the target directory was up to date, i.e. nothing was written or deleted.
+     * @return Indicates, if up to date.
+     */
+    public boolean isUpToDate() {
+        return extractedCount==0 && deletedCount==0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("extracted %d (%d bytes), skipped %d (%d bytes), deleted %d",extractedCount,extractedBytes,skippedCount,skippedBytes,deletedCount);
+    }
+}
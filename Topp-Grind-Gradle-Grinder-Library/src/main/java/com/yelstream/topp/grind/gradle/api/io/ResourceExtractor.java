@@ -0,0 +1,482 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Extractor of resources to a directory.
+ * <p>
+ *     Resources selected by a prefix and a glob pattern of names are written to a target directory,
+ *     in parallel over a number of workers.
+ *     Where a resource occurs more than once, the first occurrence in chain order is extracted.
+ * </p>
+ * <p>
+ *     Extraction is incremental.
+ *     A manifest of the extracted resources records the fingerprint of each resource
+ *     together with the size and time of last modification of its target file.
+ *     A resource is skipped when its fingerprint and the target file both match the manifest;
+ *     for resources of archives this is decided without reading any content.
+ *     Files extracted previously of resources which no longer exist are deleted.
+ *     Files in the target directory not written by the extractor are left untouched.
+ *     A resource whose target would be the manifest file itself is not extracted.
+ * </p>
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Getter
+@AllArgsConstructor(access=AccessLevel.PRIVATE)
+@lombok.Builder(builderClassName="Builder",toBuilder=true)
+public class ResourceExtractor {
+    /**
+     * Default name of the manifest file within the target directory.
+     */
+    public static final String DEFAULT_MANIFEST_FILE_NAME=".resource-extraction";
+
+    /**
+     * Default number of parallel workers.
+     */
+    public static final int DEFAULT_PARALLELISM=Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Default value for the deletion of stale files.
+     */
+    public static final boolean DEFAULT_DELETE_STALE=true;
+
+    /**
+     * Header of the manifest file.
+     */
+    private static final String MANIFEST_HEADER="#resource-extraction 2";
+
+    /**
+     * Separator of the fields of an entry of the manifest file.
+     */
+    private static final char MANIFEST_SEPARATOR='\t';
+
+    /**
+     * Escape character of resource names in the manifest file.
+     */
+    private static final char MANIFEST_ESCAPE='\\';
+
+    /**
+     * Loader of the resources to extract,
+     * e.g. a {@link ConfigurationResourceLoader} or a {@link FileCollectionResourceLoader}.
+     */
+    @NonNull  //Lombok!
+    private final ResourceLoader resourceLoader;
+
+    /**
+     * Target directory.
+     */
+    @NonNull  //Lombok!
+    private final Path targetDirectory;
+
+    /**
+     * Prefix of the names of the resources to extract.
+     * If not set, names are not restricted by prefix.
+     */
+    private final String prefix;
+
+    /**
+     * Glob pattern of the names of the resources to extract, as accepted by {@link ResourceNames#toGlobPattern(String)}.
+     * If not set, names are not restricted by pattern.
+     */
+    private final String glob;
+
+    /**
+     * Number of parallel workers.
+     */
+    @lombok.Builder.Default
+    private final int parallelism=DEFAULT_PARALLELISM;
+
+    /**
+     * Executor running the workers.
+     * If not set, each worker runs in a virtual thread.
+     */
+    private final Executor executor;
+
+    /**
+     * Indicates, if files extracted previously of resources which no longer exist should be deleted.
+     */
+    @lombok.Builder.Default
+    private final boolean deleteStale=DEFAULT_DELETE_STALE;
+
+    /**
+     * Manifest file.
+     * If not set, this is the file {@link #DEFAULT_MANIFEST_FILE_NAME} within the target directory.
+     */
+    private final Path manifestFile;
+
+    /**
+     * Gets the manifest file to use.
+     * @return Manifest file.
+     */
+    public Path getEffectiveManifestFile() {
+        return manifestFile!=null?manifestFile:targetDirectory.resolve(DEFAULT_MANIFEST_FILE_NAME);
+    }
+
+    /**
+     * Extracts the resources to the target directory.
+     * @return Outcome of extraction.
+     * @throws UncheckedIOException Thrown in case of I/O error.
+     */
+    public ResourceExtraction extract() {
+        Path directory=targetDirectory.toAbsolutePath().normalize();
+        Path manifest=getEffectiveManifestFile().toAbsolutePath().normalize();
+        Map<String,ResourceLocation> locations=new LinkedHashMap<>();
+        try (var stream=resourceLoader.listResourceLocations(prefix,glob)) {
+            stream.filter(location->!directory.resolve(location.getResourceName()).normalize().equals(manifest))  //Never overwrite the manifest!
+                  .forEach(location->locations.putIfAbsent(location.getResourceName(),location));
+        }
+        Map<String,ManifestEntry> previousEntries=readManifest(manifest);
+
+        List<List<ResourceLocation>> batches=createBatches(new ArrayList<>(locations.values()),Math.max(1,parallelism));
+        Executor effectiveExecutor=batches.size()<=1?null:(executor!=null?executor:FanOut.VIRTUAL_THREADS);
+        List<List<Outcome>> batchOutcomes=FanOut.map(batches,batch->extractBatch(directory,batch,previousEntries),effectiveExecutor);
+
+        Map<String,ManifestEntry> entries=new TreeMap<>();
+        int extractedCount=0;
+        int skippedCount=0;
+        long extractedBytes=0;
+        long skippedBytes=0;
+        for (List<Outcome> outcomes: batchOutcomes) {
+            for (Outcome outcome: outcomes) {
+                entries.put(outcome.name,outcome.entry);
+                if (outcome.extracted) {
+                    extractedCount++;
+                    extractedBytes+=outcome.entry.fingerprint.getSize();
+                } else {
+                    skippedCount++;
+                    skippedBytes+=outcome.entry.fingerprint.getSize();
+                }
+            }
+        }
+
+        int deletedCount=0;
+        for (Map.Entry<String,ManifestEntry> previousEntry: previousEntries.entrySet()) {
+            String name=previousEntry.getKey();
+            if (!locations.containsKey(name)) {
+                if (deleteStale) {
+                    if (deleteTarget(directory,name)) {
+                        deletedCount++;
+                    }
+                } else {
+                    entries.put(name,previousEntry.getValue());
+                }
+            }
+        }
+
+        if (extractedCount>0 || deletedCount>0 || !entries.keySet().equals(previousEntries.keySet())) {
+            writeManifest(manifest,entries);
+        }
+        return new ResourceExtraction(extractedCount,skippedCount,deletedCount,extractedBytes,skippedBytes);
+    }
+
+    /**
+     * Distributes locations over batches, one for each worker.
+     * Locations are distributed round-robin, spreading resources of the same source over the workers.
+     * @param locations Locations.
+     * @param count Maximum number of batches.
+     * @return Batches.
+     */
+    private static List<List<ResourceLocation>> createBatches(List<ResourceLocation> locations,
+                                                              int count) {
+        int batchCount=Math.min(count,locations.size());
+        List<List<ResourceLocation>> res=new ArrayList<>(batchCount);
+        for (int i=0; i<batchCount; i++) {
+            res.add(new ArrayList<>(locations.size()/batchCount+1));
+        }
+        for (int i=0; i<locations.size(); i++) {
+            res.get(i%batchCount).add(locations.get(i));
+        }
+        return res;
+    }
+
+    /**
+     * Extracts a batch of resources.
+     * @param directory Target directory.
+     * @param locations Locations of the resources.
+     * @param previousEntries Entries of the manifest of the previous extraction.
+     * @return Outcomes of extraction.
+     */
+    private static List<Outcome> extractBatch(Path directory,
+                                              List<ResourceLocation> locations,
+                                              Map<String,ManifestEntry> previousEntries) {
+        List<Outcome> res=new ArrayList<>(locations.size());
+        for (ResourceLocation location: locations) {
+            res.add(extractResource(directory,location,previousEntries.get(location.getResourceName())));
+        }
+        return res;
+    }
+
+    /**
+     * Extracts a resource, unless the target file is up to date.
+     * @param directory Target directory.
+     * @param location Location of the resource.
+     * @param previousEntry Entry of the manifest of the previous extraction.
+     *                      This may be {@code null}.
+     * @return Outcome of extraction.
+     */
+    private static Outcome extractResource(Path directory,
+                                           ResourceLocation location,
+                                           ManifestEntry previousEntry) {
+        String name=location.getResourceName();
+        Path target=resolveTarget(directory,name);
+        try {
+            ResourceFingerprint fingerprint=location.getFingerprint();
+            if (fingerprint==null) {
+                throw new NoSuchFileException(name);
+            }
+            if (previousEntry!=null && previousEntry.fingerprint.equals(fingerprint)) {
+                BasicFileAttributes attributes=readAttributes(target);
+                if (attributes!=null && attributes.isRegularFile() && attributes.size()==fingerprint.getSize() && attributes.lastModifiedTime().toMillis()==previousEntry.lastModified) {
+                    return new Outcome(name,previousEntry,false);
+                }
+            }
+            Files.createDirectories(target.getParent());
+            if (location.copyTo(target)<0) {
+                throw new NoSuchFileException(name);
+            }
+            long lastModified=Files.getLastModifiedTime(target).toMillis();
+            return new Outcome(name,new ManifestEntry(fingerprint,lastModified),true);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(String.format("Failure to extract resource; name is %s, target is %s!",name,target),ex);
+        }
+    }
+
+    /**
+     * Resolves the target file of a resource.
+     * @param directory Target directory.
+     * @param name Resource name.
+     * @return Target file.
+     * @throws IllegalArgumentException Thrown in case the name escapes the target directory.
+     */
+    private static Path resolveTarget(Path directory,
+                                      String name) {
+        Path res=directory.resolve(name).normalize();
+        if (!res.startsWith(directory) || res.equals(directory)) {
+            throw new IllegalArgumentException(String.format("Failure to resolve target of resource; name escapes target directory, name is %s!",name));
+        }
+        return res;
+    }
+
+    /**
+     * Reads the attributes of a file.
+     * @param file File.
+     * @return Attributes of file.
+     *         This is {@code null} in case the file does not exist.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private static BasicFileAttributes readAttributes(Path file) throws IOException {
+        try {
+            return Files.readAttributes(file,BasicFileAttributes.class);
+        } catch (NoSuchFileException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Deletes the target file of a resource, together with parent directories left empty.
+     * @param directory Target directory.
+     * @param name Resource name.
+     * @return Indicates, if the file existed and was deleted.
+     */
+    private static boolean deleteTarget(Path directory,
+                                        String name) {
+        Path target=resolveTarget(directory,name);
+        try {
+            boolean res=Files.deleteIfExists(target);
+            Path parent=target.getParent();
+            while (parent!=null && !parent.equals(directory) && parent.startsWith(directory)) {
+                try {
+                    if (!Files.deleteIfExists(parent)) {
+                        break;
+                    }
+                } catch (DirectoryNotEmptyException ex) {
+                    break;
+                }
+                parent=parent.getParent();
+            }
+            return res;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(String.format("Failure to delete stale file; name is %s, target is %s!",name,target),ex);
+        }
+    }
+
+    /**
+     * Reads the manifest of the previous extraction.
+     * A manifest which does not exist or which cannot be parsed is empty, and all resources are then extracted.
+     * @param manifest Manifest file.
+     * @return Entries of manifest, keyed by resource name.
+     */
+    private static Map<String,ManifestEntry> readManifest(Path manifest) {
+        Map<String,ManifestEntry> res=new HashMap<>();
+        if (Files.isRegularFile(manifest)) {
+            try (BufferedReader reader=Files.newBufferedReader(manifest,StandardCharsets.UTF_8)) {
+                if (MANIFEST_HEADER.equals(reader.readLine())) {
+                    String line;
+                    while ((line=reader.readLine())!=null) {
+                        String[] fields=line.split(String.valueOf(MANIFEST_SEPARATOR),4);
+                        if (fields.length!=4) {
+                            return new HashMap<>();
+                        }
+                        ResourceFingerprint fingerprint=ResourceFingerprint.of(Long.parseLong(fields[0]),Long.parseLong(fields[1],16));
+                        res.put(unescapeName(fields[3]),new ManifestEntry(fingerprint,Long.parseLong(fields[2])));
+                    }
+                }
+            } catch (IOException|IllegalArgumentException ex) {
+                res=new HashMap<>();
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Writes the manifest of an extraction.
+     * The manifest is written to a temporary file which then replaces the manifest file.
+     * @param manifest Manifest file.
+     * @param entries Entries of manifest, keyed by resource name.
+     */
+    private static void writeManifest(Path manifest,
+                                      Map<String,ManifestEntry> entries) {
+        try {
+            Path directory=manifest.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path tempFile=Files.createTempFile(directory,manifest.getFileName().toString(),".tmp");
+            try {
+                try (BufferedWriter writer=Files.newBufferedWriter(tempFile,StandardCharsets.UTF_8)) {
+                    writer.write(MANIFEST_HEADER);
+                    writer.newLine();
+                    for (Map.Entry<String,ManifestEntry> entry: entries.entrySet()) {
+                        ManifestEntry manifestEntry=entry.getValue();
+                        writer.write(Long.toString(manifestEntry.fingerprint.getSize()));
+                        writer.write(MANIFEST_SEPARATOR);
+                        writer.write(Long.toHexString(manifestEntry.fingerprint.getCrc()));
+                        writer.write(MANIFEST_SEPARATOR);
+                        writer.write(Long.toString(manifestEntry.lastModified));
+                        writer.write(MANIFEST_SEPARATOR);
+                        writer.write(escapeName(entry.getKey()));
+                        writer.newLine();
+                    }
+                }
+                try {
+                    Files.move(tempFile,manifest,StandardCopyOption.ATOMIC_MOVE,StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException ex) {
+                    Files.move(tempFile,manifest,StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(String.format("Failure to write extraction manifest; file is %s!",manifest),ex);
+        }
+    }
+
+    /**
+     * Escapes a resource name to be written as a field of the manifest file.
+     * Separators, line breaks and escape characters are escaped.
+     * @param name Resource name.
+     * @return Escaped name.
+     */
+    private static String escapeName(String name) {
+        StringBuilder res=new StringBuilder(name.length()+8);
+        for (int i=0; i<name.length(); i++) {
+            char c=name.charAt(i);
+            switch (c) {
+                case MANIFEST_ESCAPE -> res.append(MANIFEST_ESCAPE).append(MANIFEST_ESCAPE);
+                case MANIFEST_SEPARATOR -> res.append(MANIFEST_ESCAPE).append('t');
+                case '\n' -> res.append(MANIFEST_ESCAPE).append('n');
+                case '\r' -> res.append(MANIFEST_ESCAPE).append('r');
+                default -> res.append(c);
+            }
+        }
+        return res.toString();
+    }
+
+    /**
+     * Unescapes a resource name read from a field of the manifest file.
+     * @param escapedName Escaped name.
+     * @return Resource name.
+     * @throws IllegalArgumentException Thrown in case the name is not escaped properly.
+     */
+    private static String unescapeName(String escapedName) {
+        StringBuilder res=new StringBuilder(escapedName.length());
+        for (int i=0; i<escapedName.length(); i++) {
+            char c=escapedName.charAt(i);
+            if (c==MANIFEST_ESCAPE) {
+                if (++i==escapedName.length()) {
+                    throw new IllegalArgumentException(String.format("Failure to read extraction manifest; name is not escaped properly, name is %s!",escapedName));
+                }
+                c=switch (escapedName.charAt(i)) {
+                    case MANIFEST_ESCAPE -> MANIFEST_ESCAPE;
+                    case 't' -> MANIFEST_SEPARATOR;
+                    case 'n' -> '\n';
+                    case 'r' -> '\r';
+                    default -> throw new IllegalArgumentException(String.format("Failure to read extraction manifest; name is not escaped properly, name is %s!",escapedName));
+                };
+            }
+            res.append(c);
+        }
+        return res.toString();
+    }
+
+    /**
+     * Entry of the manifest of an extraction.
+     */
+    @AllArgsConstructor
+    private static final class ManifestEntry {
+        /**
+         * Fingerprint of the extracted resource.
+         */
+        private final ResourceFingerprint fingerprint;
+
+        /**
+         * Time of last modification of the target file.
+         */
+        private final long lastModified;
+    }
+
+    /**
+     * Outcome of the extraction of a resource.
+     */
+    @AllArgsConstructor
+    private static final class Outcome {
+        /**
+         * Resource name.
+         */
+        private final String name;
+
+        /**
+         * Entry of the manifest.
+         */
+        private final ManifestEntry entry;
+
+        /**
+         * Indicates, if the resource was written.
+         */
+        private final boolean extracted;
+    }
+}
@@ -0,0 +1,74 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+
+/**
+ * Fingerprint of the contents of a resource.
+ * <p>
+ *     The fingerprint is the size and the CRC-32 value of the contents,
+ *     i.e. the same as recorded for each entry in the central directory of a ZIP archive.
+ *     Fingerprints of archive entries are hence available without reading any content,
+ *     and are comparable to fingerprints of resources of other origins.
+ * </p>
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor(access=AccessLevel.PRIVATE)
+public class ResourceFingerprint {
+    /**
+     * Size of contents.
+     */
+    private final long size;
+
+    /**
+     * CRC-32 value of contents.
+     */
+    private final long crc;
+
+    @Override
+    public String toString() {
+        return String.format("%d:%08x",size,crc);
+    }
+
+    /**
+     * Creates a fingerprint.
+     * @param size Size of contents.
+     * @param crc CRC-32 value of contents.
+     * @return Created fingerprint.
+     */
+    public static ResourceFingerprint of(long size,
+                                         long crc) {
+        return new ResourceFingerprint(size,crc);
+    }
+
+    /**
+     * Creates the fingerprint of contents by reading these.
+     * @param stream Stream to contents.
+     *               This is closed.
+     * @return Created fingerprint.
+     * @throws UncheckedIOException Thrown in case of I/O error.
+     */
+    public static ResourceFingerprint of(InputStream stream) {
+        CRC32 crc=new CRC32();
+        try (CheckedInputStream in=new CheckedInputStream(stream,crc)) {
+            long size=in.transferTo(OutputStream.nullOutputStream());
+            return new ResourceFingerprint(size,crc.getValue());
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failure to create fingerprint of contents!",ex);
+        }
+    }
+}
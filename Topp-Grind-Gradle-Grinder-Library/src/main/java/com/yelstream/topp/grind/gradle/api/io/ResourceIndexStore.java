@@ -0,0 +1,494 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.gradle.api.Project;
+import org.gradle.api.invocation.Gradle;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+/**
+ * Persistent store of archive indexes.
+ * <p>
+ *     The store holds the names, sizes and CRC-32 values of the entries of archives,
+ *     the service providers registered by archives and, once requested, the metadata of the classes of archives,
+ *     keyed by the absolute path, the size and the time of last modification of each archive file.
+ *     It is intended to live across builds, e.g. under the build directory of a project or under the Gradle user home.
+ * </p>
+ * <p>
+ *     On open, the store file is read in one go and only its directory is decoded.
+ *     The index of an archive is decoded from the content read on first request, provided the archive is unchanged.
+ *     Archives which are new or changed are scanned, and the store file is rewritten on save.
+ *     Each record carries a CRC-32 value; records which are corrupt are treated as stale, and their archives are scanned anew.
+ *     The store file is replaced atomically, so concurrent readers never see a partially written store.
+ *     The store file is not kept open nor mapped, hence it can be replaced on any platform, including Windows.
+ * </p>
+ * <p>
+ *     Note that only archives are held; directories are always enumerated anew,
+ *     since the time of last modification of a directory does not reflect changes deeper down.
+ * </p>
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public class ResourceIndexStore implements Closeable {
+    /**
+     * Default name of store file.
+     */
+    public static final String DEFAULT_FILE_NAME="resource-index.bin";
+
+    /**
+     * Magic number identifying a store file.
+     */
+    private static final int MAGIC=0x54475249;
+
+    /**
+     * Version of the format of store files.
+     */
+    private static final int VERSION=4;
+
+    /**
+     * Minimum length of an encoded entry of an archive.
+     */
+    private static final int MIN_ENTRY_LENGTH=Short.BYTES+Long.BYTES+Integer.BYTES;
+
+    /**
+     * Store file.
+     */
+    @Getter
+    private final Path file;
+
+    /**
+     * Content of store file as read on open or as last written on save.
+     */
+    private volatile StoredContent storedContent;
+
+    /**
+     * Indexes requested, keyed by absolute path of archive.
+     */
+    private final Map<String,ArchiveIndex> archiveIndexes=new ConcurrentHashMap<>();
+
+    /**
+     * Indexes of archives scanned and not yet saved, keyed by absolute path of archive.
+     */
+    private final Map<String,ArchiveIndex> scannedIndexes=new ConcurrentHashMap<>();
+
+    /**
+     * Content of a store file together with the directory of its records.
+     */
+    @AllArgsConstructor
+    private static final class StoredContent {
+        /**
+         * Content of store file.
+         * This is {@code null} in case no valid store file exists.
+         */
+        private final ByteBuffer content;
+
+        /**
+         * Records held by the store file, keyed by absolute path of archive.
+         */
+        private final Map<String,StoredRecord> records;
+    }
+
+    /**
+     * Record held by a store file.
+     */
+    @AllArgsConstructor
+    private static final class StoredRecord {
+        /**
+         * Size of archive file.
+         */
+        private final long size;
+
+        /**
+         * Time of last modification of archive file.
+         */
+        private final long lastModified;
+
+        /**
+         * Position of record in store file.
+         */
+        private final int offset;
+
+        /**
+         * Length of record in store file.
+         */
+        private final int length;
+
+        /**
+         * CRC-32 value of record.
+         */
+        private final int crc;
+
+        /**
+         * Indicates, if this record is valid for an archive file.
+         * @param archive Archive file.
+         * @return Indicates, if valid.
+         */
+        private boolean isValidFor(File archive) {
+            return size==archive.length() && lastModified==archive.lastModified();
+        }
+    }
+
+    /**
+     * Constructor.
+     * @param file Store file.
+     * @param storedContent Content of store file.
+     */
+    private ResourceIndexStore(Path file,
+                               StoredContent storedContent) {
+        this.file=file;
+        this.storedContent=storedContent;
+    }
+
+    /**
+     * Gets the index of an archive.
+     * The index is taken from the store if the archive is unchanged, otherwise the archive is scanned.
+     * @param archive Archive file.
+     * @return Index of archive.
+     */
+    public ArchiveIndex getArchiveIndex(File archive) {
+        String path=archive.getAbsolutePath();
+        ArchiveIndex index=archiveIndexes.get(path);
+        if (index==null || !index.isValidFor(archive)) {
+            StoredContent stored=storedContent;
+            StoredRecord record=stored.records.get(path);
+            index=null;
+            if (record!=null && !scannedIndexes.containsKey(path) && record.isValidFor(archive)) {
+                index=decodeRecord(stored.content,path,record);
+            }
+            if (index==null) {
+                index=ArchiveIndex.scan(archive);
+                scannedIndexes.put(path,index);
+            }
+            archiveIndexes.put(path,index);
+        }
+        return index;
+    }
+
+    /**
+     * Gets the metadata of the classes of an archive.
+     * The metadata is taken from the store if the archive is unchanged and its classes have been scanned before,
+     * otherwise the classes are scanned and the metadata is kept with the index of the archive.
+     * @param archive Archive file.
+     * @param scanner Scanner of the classes of the archive.
+     *                The metadata must cover all classes of the archive, with all annotations recorded.
+     * @return Metadata of classes.
+     */
+    public ClassIndex getClassIndex(File archive,
+                                    Supplier<ClassIndex> scanner) {
+        ArchiveIndex index=getArchiveIndex(archive);
+        ClassIndex res=index.getClassIndex();
+        if (res==null) {
+            res=scanner.get();
+            ArchiveIndex scanned=index.withClassIndex(res);
+            archiveIndexes.put(index.getPath(),scanned);
+            scannedIndexes.put(index.getPath(),scanned);
+        }
+        return res;
+    }
+
+    /**
+     * Indicates, if archives have been scanned since the store was opened or last saved.
+     * @return Indicates, if modified.
+     */
+    public boolean isModified() {
+        return !scannedIndexes.isEmpty();
+    }
+
+    /**
+     * Saves the store, if modified.
+     * Records of archives which no longer exist or have changed are dropped.
+     * The records written become the records of the store, so repeated saves retain the archives saved earlier.
+     * Archives scanned while saving are kept for the next save.
+     */
+    public synchronized void save() {
+        if (isModified()) {
+            Map<String,ArchiveIndex> scanned=new HashMap<>(scannedIndexes);
+            StoredContent stored=storedContent;
+            List<String> paths=new ArrayList<>();
+            List<byte[]> records=new ArrayList<>();
+            List<long[]> keys=new ArrayList<>();
+            stored.records.forEach((path,record)->{
+                if (!scanned.containsKey(path) && record.isValidFor(new File(path))) {
+                    byte[] bytes=new byte[record.length];
+                    stored.content.duplicate().position(record.offset).get(bytes);
+                    paths.add(path);
+                    records.add(bytes);
+                    keys.add(new long[]{record.size,record.lastModified});
+                }
+            });
+            scanned.forEach((path,index)->{
+                if (index.isValidFor(new File(path))) {
+                    paths.add(path);
+                    records.add(encodeRecord(index));
+                    keys.add(new long[]{index.getSize(),index.getLastModified()});
+                }
+            });
+            ByteBuffer content=writeStoreFile(paths,keys,records);
+            storedContent=new StoredContent(content,readDirectory(content));
+            scanned.forEach(scannedIndexes::remove);
+        }
+    }
+
+    @Override
+    public void close() {
+        save();
+    }
+
+    /**
+     * Writes the store file.
+     * The file is written to a temporary file which then replaces the store file.
+     * @param paths Absolute paths of archives.
+     * @param keys Size and time of last modification of archives.
+     * @param records Encoded records.
+     * @return Content written.
+     */
+    private ByteBuffer writeStoreFile(List<String> paths,
+                                      List<long[]> keys,
+                                      List<byte[]> records) {
+        try {
+            Path directory=file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path tempFile=Files.createTempFile(directory,file.getFileName().toString(),".tmp");
+            try {
+                List<byte[]> encodedPaths=paths.stream().map(p->p.getBytes(StandardCharsets.UTF_8)).toList();
+                int offset=3*Integer.BYTES;
+                for (byte[] encodedPath: encodedPaths) {
+                    offset+=Integer.BYTES+encodedPath.length+2*Long.BYTES+3*Integer.BYTES;
+                }
+                ByteArrayOutputStream bytes=new ByteArrayOutputStream(offset+records.stream().mapToInt(r->r.length).sum());
+                try (DataOutputStream out=new DataOutputStream(bytes)) {
+                    out.writeInt(MAGIC);
+                    out.writeInt(VERSION);
+                    out.writeInt(paths.size());
+                    for (int i=0; i<paths.size(); i++) {
+                        byte[] encodedPath=encodedPaths.get(i);
+                        out.writeInt(encodedPath.length);
+                        out.write(encodedPath);
+                        out.writeLong(keys.get(i)[0]);
+                        out.writeLong(keys.get(i)[1]);
+                        out.writeInt(offset);
+                        out.writeInt(records.get(i).length);
+                        out.writeInt(computeCrc(ByteBuffer.wrap(records.get(i))));
+                        offset+=records.get(i).length;
+                    }
+                    for (byte[] record: records) {
+                        out.write(record);
+                    }
+                }
+                try (OutputStream out=Files.newOutputStream(tempFile)) {
+                    bytes.writeTo(out);
+                }
+                moveStoreFile(tempFile,file);
+                return ByteBuffer.wrap(bytes.toByteArray());
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(String.format("Failure to save resource index store; file is %s!",file),ex);
+        }
+    }
+
+    /**
+     * Moves a written store file into place.
+     * @param source Written store file.
+     * @param target Store file.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private static void moveStoreFile(Path source,
+                                      Path target) throws IOException {
+        try {
+            Files.move(source,target,StandardCopyOption.ATOMIC_MOVE,StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(source,target,StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Computes the CRC-32 value of a record.
+     * @param record Record.
+     * @return CRC-32 value.
+     */
+    private static int computeCrc(ByteBuffer record) {
+        CRC32 crc=new CRC32();
+        crc.update(record);
+        return (int)crc.getValue();
+    }
+
+    /**
+     * Encodes the record of an archive index.
+     * @param index Archive index.
+     * @return Encoded record.
+     */
+    private static byte[] encodeRecord(ArchiveIndex index) {
+        ByteArrayOutputStream bytes=new ByteArrayOutputStream();
+        try (DataOutputStream out=new DataOutputStream(bytes)) {
+            int count=index.getEntryCount();
+            out.writeInt(count);
+            for (int i=0; i<count; i++) {
+                byte[] name=index.getName(i).getBytes(StandardCharsets.UTF_8);
+                out.writeShort(name.length);
+                out.write(name);
+                out.writeLong(index.getSize(i));
+                out.writeInt((int)index.getCrc(i));
+            }
+            index.getServiceIndex().encode(out);
+            ClassIndex classIndex=index.getClassIndex();
+            out.writeBoolean(classIndex!=null);
+            if (classIndex!=null) {
+                byte[] encodedClassIndex=classIndex.encode();
+                out.writeInt(encodedClassIndex.length);
+                out.write(encodedClassIndex);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(String.format("Failure to encode archive index; archive is %s!",index.getPath()),ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes the record of an archive index.
+     * @param content Content of store file.
+     * @param path Absolute path of archive.
+     * @param record Record held by the store file.
+     * @return Archive index.
+     *         This is {@code null} in case the record is corrupt.
+     */
+    private static ArchiveIndex decodeRecord(ByteBuffer content,
+                                             String path,
+                                             StoredRecord record) {
+        ArchiveIndex res=null;
+        try {
+            ByteBuffer buffer=content.duplicate().position(record.offset).limit(record.offset+record.length);
+            int count=computeCrc(buffer.duplicate())!=record.crc?-1:buffer.getInt();
+            if (count>=0 && count<=buffer.remaining()/MIN_ENTRY_LENGTH) {
+                String[] names=new String[count];
+                long[] sizes=new long[count];
+                long[] crcs=new long[count];
+                for (int i=0; i<count; i++) {
+                    byte[] name=new byte[Short.toUnsignedInt(buffer.getShort())];
+                    buffer.get(name);
+                    names[i]=new String(name,StandardCharsets.UTF_8);
+                    sizes[i]=buffer.getLong();
+                    crcs[i]=Integer.toUnsignedLong(buffer.getInt());
+                }
+                ServiceIndex serviceIndex=ServiceIndex.decode(buffer);
+                ClassIndex classIndex=null;
+                if (buffer.get()!=0) {
+                    int length=buffer.getInt();
+                    classIndex=ClassIndex.decode(buffer.slice(buffer.position(),length));
+                }
+                res=new ArchiveIndex(path,record.size,record.lastModified,names,sizes,crcs,serviceIndex,classIndex);
+            }
+        } catch (BufferUnderflowException|IndexOutOfBoundsException|NegativeArraySizeException|IllegalArgumentException ex) {
+            res=null;
+        }
+        return res;
+    }
+
+    /**
+     * Reads the directory of the records held by a store file.
+     * @param content Content of store file.
+     * @return Records held, keyed by absolute path of archive.
+     *         This is {@code null} in case the content is not a valid store.
+     */
+    private static Map<String,StoredRecord> readDirectory(ByteBuffer content) {
+        Map<String,StoredRecord> res=null;
+        try {
+            ByteBuffer buffer=content.duplicate();
+            if (buffer.getInt()==MAGIC && buffer.getInt()==VERSION) {
+                int count=buffer.getInt();
+                res=new HashMap<>();
+                for (int i=0; i<count; i++) {
+                    byte[] path=new byte[buffer.getInt()];
+                    buffer.get(path);
+                    StoredRecord record=new StoredRecord(buffer.getLong(),buffer.getLong(),buffer.getInt(),buffer.getInt(),buffer.getInt());
+                    if (record.offset<0 || record.length<0 || record.offset+record.length>content.limit()) {
+                        return null;
+                    }
+                    res.put(new String(path,StandardCharsets.UTF_8),record);
+                }
+            }
+        } catch (BufferUnderflowException|IndexOutOfBoundsException|NegativeArraySizeException ex) {
+            res=null;
+        }
+        return res;
+    }
+
+    /**
+     * Opens a store.
+     * An existing store file is read and closed again; a missing or invalid store file results in an empty store.
+     * @param file Store file.
+     * @return Opened store.
+     */
+    public static ResourceIndexStore open(Path file) {
+        ByteBuffer content=null;
+        Map<String,StoredRecord> storedRecords=null;
+        if (Files.isRegularFile(file)) {
+            try (FileChannel channel=FileChannel.open(file,StandardOpenOption.READ)) {
+                content=ResourceChannels.read(channel,channel.size());
+                storedRecords=readDirectory(content);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(String.format("Failure to open resource index store; file is %s!",file),ex);
+            }
+        }
+        if (storedRecords==null) {
+            content=null;
+            storedRecords=Map.of();
+        }
+        return new ResourceIndexStore(file,new StoredContent(content,storedRecords));
+    }
+
+    /**
+     * Opens the store located under the build directory of a project.
+     * @param project Project.
+     * @return Opened store.
+     */
+    public static ResourceIndexStore of(Project project) {
+        File buildDir=project.getLayout().getBuildDirectory().get().getAsFile();
+        return open(buildDir.toPath().resolve("tmp").resolve("resource-index").resolve(DEFAULT_FILE_NAME));
+    }
+
+    /**
+     * Opens the store located under the Gradle user home.
+     * @param gradle Gradle.
+     * @return Opened store.
+     */
+    public static ResourceIndexStore of(Gradle gradle) {
+        return open(getDefaultFile(gradle));
+    }
+
+    /**
+     * Gets the default location of the store file under the Gradle user home.
+     * @param gradle Gradle.
+     * @return Store file.
+     */
+    public static Path getDefaultFile(Gradle gradle) {
+        File gradleUserHomeDir=gradle.getGradleUserHomeDir();
+        return gradleUserHomeDir.toPath().resolve("caches").resolve("topp-grind").resolve(DEFAULT_FILE_NAME);
+    }
+}
@@ -2,8 +2,19 @@ package com.yelstream.topp.grind.gradle.api.io;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Loader of static resources.
@@ -27,6 +38,108 @@ public interface ResourceLoader extends AutoCloseable {
      */
     InputStream getResourceAsStream(String name);
 
+    /**
+     * Gets a channel to the contents of a named resource.
+     * <p>
+     *     Loaders reading files directly return channels reading the files, or regions of these, in place.
+     * </p>
+     * @param name Resource name.
+     * @return Channel to the contents of the resource.
+     *         This is {@code null} in case the resource does not exist.
+     */
+    default ReadableByteChannel getResourceAsChannel(String name) {
+        InputStream stream=getResourceAsStream(name);
+        return stream==null?null:Channels.newChannel(stream);
+    }
+
+    /**
+     * Gets the contents of a named resource as a read-only buffer.
+     * <p>
+     *     Loaders reading files directly map large plain files and uncompressed archive entries into memory,
+     *     and the buffer is then not copied to the heap.
+     *     Contents smaller than {@link ResourceChannels#MAP_THRESHOLD} are read into a heap buffer,
+     *     since mapping many small files, e.g. class files when scanning, costs more than copying them.
+     *     A mapped buffer stays valid after the loader has been closed.
+     * </p>
+     * @param name Resource name.
+     * @return Buffer holding the contents of the resource.
+     *         This is {@code null} in case the resource does not exist.
+     */
+    default ByteBuffer getResourceAsByteBuffer(String name) {
+        ByteBuffer res=null;
+        ReadableByteChannel channel=getResourceAsChannel(name);
+        if (channel!=null) {
+            try (channel) {
+                res=ResourceChannels.read(channel,-1);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(String.format("Failure to read resource; name is %s!",name),ex);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Transfers the contents of a named resource to a channel.
+     * <p>
+     *     Loaders reading files directly use {@link FileChannel#transferTo(long,long,WritableByteChannel)},
+     *     allowing the operating system to move the content without copying it through user space.
+     * </p>
+     * @param name Resource name.
+     * @param target Target channel.
+     *               This is not closed.
+     * @return Number of bytes transferred.
+     *         This is {@code -1} in case the resource does not exist.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    default long transferResource(String name,
+                                  WritableByteChannel target) throws IOException {
+        long res=-1;
+        ReadableByteChannel channel=getResourceAsChannel(name);
+        if (channel!=null) {
+            try (channel) {
+                res=ResourceChannels.transfer(channel,target);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Copies the contents of a named resource to a file.
+     * An existing file is replaced.
+     * @param name Resource name.
+     * @param target Target file.
+     * @return Number of bytes copied.
+     *         This is {@code -1} in case the resource does not exist, and the target file is then not touched.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    default long copyResource(String name,
+                              Path target) throws IOException {
+        long res=-1;
+        ReadableByteChannel channel=getResourceAsChannel(name);
+        if (channel!=null) {
+            try (channel; FileChannel targetChannel=ResourceChannels.openTarget(target)) {
+                res=ResourceChannels.transfer(channel,targetChannel);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Gets the fingerprint of the contents of a named resource.
+     * <p>
+     *     Loaders reading archives directly take the fingerprint from the central directory,
+     *     without decompressing any content.
+     *     Other loaders read the contents.
+     * </p>
+     * @param name Resource name.
+     * @return Fingerprint of the contents of the resource.
+     *         This is {@code null} in case the resource does not exist.
+     */
+    default ResourceFingerprint getResourceFingerprint(String name) {
+        InputStream stream=getResourceAsStream(name);
+        return stream==null?null:ResourceFingerprint.of(stream);
+    }
+
     /**
      * Gets descriptions of all occouring, named resources.
      * @param name Resource name.
@@ -34,6 +147,27 @@ public interface ResourceLoader extends AutoCloseable {
      */
     List<ResourceLocation> getResourceLocations(String name);
 
+    /**
+     * Gets descriptions of all occurring resources for each of a collection of names.
+     * <p>
+     *     Loaders covering several sources of resources visit each source at most once,
+     *     and each source answers all the requested names it contains.
+     * </p>
+     * @param names Resource names.
+     * @return Lists of resource location descriptors, keyed by resource name in the order of the names given.
+     *         Names of resources which do not exist are not present.
+     */
+    default Map<String,List<ResourceLocation>> getResourceLocations(Collection<String> names) {
+        Map<String,List<ResourceLocation>> res=new LinkedHashMap<>();
+        for (String name: names) {
+            List<ResourceLocation> resourceLocations=getResourceLocations(name);
+            if (resourceLocations!=null && !resourceLocations.isEmpty()) {
+                res.put(name,resourceLocations);
+            }
+        }
+        return res;
+    }
+
     /**
      * Get the description of a named resouirces.
      * @param name Resource name.
@@ -42,6 +176,57 @@ public interface ResourceLoader extends AutoCloseable {
      */
     ResourceLocation getResourceLocation(String name) throws IllegalStateException;
 
+    /**
+     * Gets descriptions of all occurring, named resources as a stream.
+     * <p>
+     *     The stream is lazy to the extent supported by the loader.
+     *     Consuming only the first locations, e.g. to take the first match or to check for uniqueness,
+     *     then avoids querying the remaining sources of resources.
+     *     The stream should be closed, e.g. by try-with-resources,
+     *     since loaders may count it as a lookup in progress until closed.
+     * </p>
+     * @param name Resource name.
+     * @return Stream of resource location descriptors.
+     */
+    default Stream<ResourceLocation> streamResourceLocations(String name) {
+        List<ResourceLocation> resourceLocations=getResourceLocations(name);
+        return resourceLocations==null?Stream.empty():resourceLocations.stream();
+    }
+
+    /**
+     * Lists the locations of all resources with names starting with a prefix and matching a glob pattern.
+     * <p>
+     *     Locations are yielded lazily, in chain order, and in the order of names within each source of resources.
+     *     Loaders holding a sorted index of names answer a prefix by a range scan.
+     *     Loaders not able to enumerate their resources yield no locations.
+     *     The stream should be closed, e.g. by try-with-resources,
+     *     since loaders may count it as a lookup in progress until closed.
+     * </p>
+     * @param prefix Prefix of names, e.g. {@code schema/}.
+     *               This may be {@code null}.
+     * @param glob Glob pattern of names as accepted by {@link ResourceNames#toGlobPattern(String)},
+     *             e.g. {@code META-INF/*.xsd}.
+     *             This may be {@code null}.
+     * @return Stream of resource location descriptors.
+     */
+    default Stream<ResourceLocation> listResourceLocations(String prefix,
+                                                           String glob) {
+        return ResourceNameIndex.of(ResourceNames.listResourceNames(this)).select(prefix,glob).stream().flatMap(this::streamResourceLocations);
+    }
+
+    /**
+     * Gets the names of all resources which may be loaded.
+     * <p>
+     *     This is the basis for indexing the content of a loader.
+     *     Loaders not able to enumerate their content do not support this.
+     * </p>
+     * @return Resource names.
+     * @throws UnsupportedOperationException Thrown in case the resources cannot be enumerated.
+     */
+    default Collection<String> getResourceNames() throws UnsupportedOperationException {
+        throw new UnsupportedOperationException(String.format("Failure to get resource names; loader %s cannot enumerate resources!",getClass().getName()));
+    }
+
     @Override
     void close() throws IOException;
 }
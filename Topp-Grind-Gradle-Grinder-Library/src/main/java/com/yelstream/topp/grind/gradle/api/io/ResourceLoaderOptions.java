@@ -0,0 +1,166 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Options for the creation of resource loaders.
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor(access=AccessLevel.PRIVATE)
+@lombok.Builder(builderClassName="Builder",toBuilder=true)
+public class ResourceLoaderOptions {
+    /**
+     * Default value for indexing.
+     */
+    public static final boolean DEFAULT_INDEXED=false;
+
+    /**
+     * Default value for direct access.
+     */
+    public static final boolean DEFAULT_DIRECT_ACCESS=false;
+
+    /**
+     * Default value for lazy opening.
+     */
+    public static final boolean DEFAULT_LAZY_OPENING=false;
+
+    /**
+     * Default value for the maximum number of concurrently open archives.
+     */
+    public static final int DEFAULT_MAX_OPEN_ARCHIVES=ResourceLoaderPool.UNBOUNDED;
+
+    /**
+     * Default value for membership filters.
+     */
+    public static final boolean DEFAULT_MEMBERSHIP_FILTERS=false;
+
+    /**
+     * Default value for the probability of false positives of membership filters.
+     */
+    public static final double DEFAULT_FALSE_POSITIVE_PROBABILITY=BloomFilter.DEFAULT_FALSE_POSITIVE_PROBABILITY;
+
+    /**
+     * Default value for the capacity of the cache of misses.
+     */
+    public static final int DEFAULT_MISS_CACHE_SIZE=0;
+
+    /**
+     * Default value for parallel queries.
+     */
+    public static final boolean DEFAULT_PARALLEL=false;
+
+    /**
+     * Default options.
+     */
+    public static final ResourceLoaderOptions DEFAULT=ResourceLoaderOptions.builder().build();
+
+    /**
+     * Indicates, if the loaders of a set of files should be indexed by resource name.
+     * If so, the content of each file is enumerated once and lookups are hash probes.
+     */
+    @lombok.Builder.Default
+    private final boolean indexed=DEFAULT_INDEXED;
+
+    /**
+     * Indicates, if files should be read directly instead of through a class-loader per file.
+     * If so, archives are read as ZIP files and directories are read through {@link java.nio.file}.
+     */
+    @lombok.Builder.Default
+    private final boolean directAccess=DEFAULT_DIRECT_ACCESS;
+
+    /**
+     * Glob pattern of the names of archives nested within archives, e.g. {@code BOOT-INF/lib/*.jar}.
+     * If set, nested archives matching the pattern are read in place,
+     * and their loaders follow the loader of the outer archive in the chain.
+     * This applies to files read directly.
+     */
+    private final String nestedArchives;
+
+    /**
+     * Persistent store of archive indexes.
+     * If set, the names of the resources of archives are taken from this store when indexing,
+     * and only archives which are new or changed are scanned.
+     */
+    private final ResourceIndexStore indexStore;
+
+    /**
+     * Indicates, if the loaders of files should be opened on first use instead of up front.
+     */
+    @lombok.Builder.Default
+    private final boolean lazyOpening=DEFAULT_LAZY_OPENING;
+
+    /**
+     * Maximum number of concurrently open archives, when opened lazily.
+     * The least recently used archives are closed when exceeded, and are reopened transparently.
+     * The value {@link ResourceLoaderPool#UNBOUNDED} indicates no limit.
+     */
+    @lombok.Builder.Default
+    private final int maxOpenArchives=DEFAULT_MAX_OPEN_ARCHIVES;
+
+    /**
+     * Indicates, if each loader of a chain should carry a membership filter of its resource names.
+     * If so, loaders known not to contain a resource are skipped without being asked.
+     * Loaders of directories are not filtered, since their contents may change.
+     * This applies to chains which are not indexed.
+     */
+    @lombok.Builder.Default
+    private final boolean membershipFilters=DEFAULT_MEMBERSHIP_FILTERS;
+
+    /**
+     * Probability of false positives of membership filters.
+     */
+    @lombok.Builder.Default
+    private final double falsePositiveProbability=DEFAULT_FALSE_POSITIVE_PROBABILITY;
+
+    /**
+     * Capacity of the cache of resources recently missed by a chain.
+     * The value {@code 0} indicates that misses are not cached.
+     * This applies to chains which are not indexed.
+     */
+    @lombok.Builder.Default
+    private final int missCacheSize=DEFAULT_MISS_CACHE_SIZE;
+
+    /**
+     * Indicates, if queries for all occurrences of resources, as well as closing,
+     * should be fanned out in parallel over the loaders of a chain.
+     * This applies to chains which are not indexed.
+     */
+    @lombok.Builder.Default
+    private final boolean parallel=DEFAULT_PARALLEL;
+
+    /**
+     * Executor used for parallel queries.
+     * If not set, each query to a loader runs in a virtual thread.
+     */
+    private final Executor executor;
+
+    /**
+     * Collector of metrics.
+     * If set, the loader created records metrics of lookups, of the probes of the loaders of its chain,
+     * and of the opening and closing of archives read directly.
+     */
+    private final ResourceMetrics metrics;
+
+    /**
+     * Gets the executor to use for parallel queries.
+     * @return Executor.
+     *         This is {@code null} in case queries are not parallel.
+     */
+    public Executor getEffectiveExecutor() {
+        Executor res=null;
+        if (parallel) {
+            res=executor!=null?executor:FanOut.VIRTUAL_THREADS;
+        }
+        return res;
+    }
+}
@@ -0,0 +1,157 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Pool of the open loaders of a set of lazy loaders.
+ * <p>
+ *     The pool caps the number of concurrently open loaders.
+ *     When the cap is exceeded, the least recently used loaders not in use are closed.
+ *     A closed loader is reopened transparently on its next use.
+ * </p>
+ * <p>
+ *     Loaders in use are never closed.
+ *     The cap may hence be exceeded temporarily, until loaders are released.
+ *     Leases are counted by the lazy loaders themselves; the pool is locked only when loaders are opened or evicted.
+ * </p>
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public class ResourceLoaderPool {
+    /**
+     * Value for the cap indicating that the number of open loaders is unbounded.
+     */
+    public static final int UNBOUNDED=0;
+
+    /**
+     * Maximum number of concurrently open loaders.
+     */
+    @Getter
+    private final int maxOpen;
+
+    /**
+     * Lazy loaders with an open loader.
+     */
+    private final Set<LazyResourceLoader> openLoaders=new HashSet<>();
+
+    /**
+     * Number of open loaders, readable without locking the pool.
+     */
+    private volatile int openLoaderCount;
+
+    /**
+     * Number of loaders opened.
+     */
+    @Getter
+    private long openCount;
+
+    /**
+     * Number of loaders closed due to eviction.
+     */
+    @Getter
+    private long evictionCount;
+
+    /**
+     * Constructor.
+     * @param maxOpen Maximum number of concurrently open loaders.
+     *                The value {@link #UNBOUNDED} indicates no limit.
+     */
+    public ResourceLoaderPool(int maxOpen) {
+        if (maxOpen<0) {
+            throw new IllegalArgumentException(String.format("Failure to create pool; maximum number of open loaders is %d!",maxOpen));
+        }
+        this.maxOpen=maxOpen;
+    }
+
+    /**
+     * Gets the number of currently open loaders.
+     * @return Number of open loaders.
+     */
+    public int getOpenLoaderCount() {
+        return openLoaderCount;
+    }
+
+    /**
+     * Registers the open loader of a lazy loader.
+     * The lazy loader must hold a lease, hence the open loader is not evicted at once.
+     * @param lazyLoader Lazy loader.
+     * @param resourceLoader Open loader.
+     * @return Evicted loaders which must be closed by the caller.
+     */
+    synchronized List<ResourceLoader> register(LazyResourceLoader lazyLoader,
+                                               ResourceLoader resourceLoader) {
+        synchronized (lazyLoader) {
+            lazyLoader.resourceLoader=resourceLoader;
+        }
+        openLoaders.add(lazyLoader);
+        openLoaderCount=openLoaders.size();
+        openCount++;
+        return evict();
+    }
+
+    /**
+     * Notifies that the lease of the open loader of a lazy loader has been released.
+     * Only in case the cap is exceeded, the pool is locked and loaders not in use are evicted.
+     * @return Evicted loaders which must be closed by the caller.
+     */
+    List<ResourceLoader> released() {
+        List<ResourceLoader> res=List.of();
+        if (maxOpen!=UNBOUNDED && openLoaderCount>maxOpen) {
+            synchronized (this) {
+                res=evict();
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Unregisters a lazy loader whose open loader has been detached due to the lazy loader being closed.
+     * @param lazyLoader Lazy loader.
+     */
+    synchronized void unregister(LazyResourceLoader lazyLoader) {
+        openLoaders.remove(lazyLoader);
+        openLoaderCount=openLoaders.size();
+    }
+
+    /**
+     * Evicts the least recently used loaders not in use, as long as the cap is exceeded.
+     * @return Evicted loaders which must be closed by the caller.
+     */
+    private List<ResourceLoader> evict() {
+        List<ResourceLoader> res=List.of();
+        if (maxOpen!=UNBOUNDED && openLoaders.size()>maxOpen) {
+            res=new ArrayList<>();
+            List<Map.Entry<LazyResourceLoader,Long>> candidates=new ArrayList<>();
+            for (LazyResourceLoader lazyLoader: openLoaders) {
+                candidates.add(Map.entry(lazyLoader,lazyLoader.useTime));  //Use times snapshot, since they change while sorting!
+            }
+            candidates.sort(Map.Entry.comparingByValue());
+            for (Map.Entry<LazyResourceLoader,Long> candidate: candidates) {
+                if (openLoaders.size()<=maxOpen) {
+                    break;
+                }
+                LazyResourceLoader lazyLoader=candidate.getKey();
+                synchronized (lazyLoader) {
+                    if (lazyLoader.leases==0) {
+                        if (lazyLoader.resourceLoader!=null) {
+                            res.add(lazyLoader.resourceLoader);
+                            lazyLoader.resourceLoader=null;
+                            evictionCount++;
+                        }
+                        openLoaders.remove(lazyLoader);
+                    }
+                }
+            }
+            openLoaderCount=openLoaders.size();
+        }
+        return res;
+    }
+}
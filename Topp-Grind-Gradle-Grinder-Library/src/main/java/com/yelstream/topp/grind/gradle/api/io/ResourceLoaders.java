@@ -1,13 +1,15 @@
 package com.yelstream.topp.grind.gradle.api.io;
 
-import com.yelstream.topp.util.net.URLs;
 import lombok.experimental.UtilityClass;
 import org.gradle.api.artifacts.Configuration;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -28,9 +30,22 @@ public class ResourceLoaders {
      */
     public static ResourceLoader createResourceLoader(ResourceOffset resourceOffset,
                                                       Configuration configuration) {
+        return createResourceLoader(resourceOffset,configuration,ResourceLoaderOptions.DEFAULT);
+    }
+
+    /**
+     * Creates a resource loader for a Gradle configuration.
+     * @param resourceOffset Resource offset.
+     * @param configuration Gradle configuration.
+     * @param options Options for the creation of the loader.
+     * @return Resource loader.
+     */
+    public static ResourceLoader createResourceLoader(ResourceOffset resourceOffset,
+                                                      Configuration configuration,
+                                                      ResourceLoaderOptions options) {
         Set<File> files=configuration.resolve();
         ResourceOffset newResourceOffset=resourceOffset.toBuilder().configuration(configuration).build();
-        return createResourceLoader(newResourceOffset,files);
+        return createResourceLoader(newResourceOffset,files,options);
     }
 
     /**
@@ -41,15 +56,221 @@ public class ResourceLoaders {
      */
     public static ResourceLoader createResourceLoader(ResourceOffset resourceOffset,
                                                       Set<File> files) {
+        return createResourceLoader(resourceOffset,files,ResourceLoaderOptions.DEFAULT);
+    }
+
+    /**
+     * Creates a resource loader for a set of files.
+     * <p>
+     *     Depending upon the options, the loader returned is either a plain chain of loaders, possibly filtered,
+     *     or a chain indexed by resource name, and the loaders of the files are opened either up front or lazily.
+     *     Given a collector of metrics, the loader returned is instrumented.
+     * </p>
+     * <p>
+     *     Nested archives are listed from the index store, when given.
+     *     Otherwise, archives opened lazily list their nested archives when opened, and read these within the same lease.
+     *     The loaders of the nested archives of an archive share the channel and the central directory of the archive.
+     * </p>
+     * @param resourceOffset Resource offset.
+     * @param files Files.
+     * @param options Options for the creation of the loader.
+     * @return Resource loader.
+     */
+    public static ResourceLoader createResourceLoader(ResourceOffset resourceOffset,
+                                                      Set<File> files,
+                                                      ResourceLoaderOptions options) {
         List<ResourceLoader> resourceLoaders=new ArrayList<>();
+        List<File> resourceFiles=new ArrayList<>();
         ResourceOffset newResourceOffset=resourceOffset.toBuilder().files(files).build();
+        ResourceLoaderPool pool=options.isLazyOpening()?new ResourceLoaderPool(options.getMaxOpenArchives()):null;
         for (var file: files) {
-            ResourceLoader resourceLoader=createResourceLoader(newResourceOffset,file);
+            boolean nested=options.getNestedArchives()!=null && options.isDirectAccess() && file.isFile();
+            ResourceLoader resourceLoader;
+            if (pool!=null) {
+                if (nested && options.getIndexStore()==null) {
+                    resourceLoader=new LazyResourceLoader(newResourceOffset,pool,()->createNestingResourceLoader(newResourceOffset,file,options));
+                    nested=false;  //Nested archives are listed when opened!
+                } else {
+                    File archive=file.isFile()?file:null;
+                    resourceLoader=new LazyResourceLoader(newResourceOffset,pool,archive,()->createResourceLoader(newResourceOffset,file,options));
+                }
+            } else {
+                resourceLoader=createResourceLoader(newResourceOffset,file,options);
+            }
             resourceLoaders.add(resourceLoader);
+            resourceFiles.add(file);
+            if (nested) {
+                ResourceOffset fileResourceOffset=newResourceOffset.forFile(file);
+                NestedArchiveResourceLoader.OuterArchive outerArchive=new NestedArchiveResourceLoader.OuterArchive(file);
+                outerArchive.acquire();  //Read the archive once, while listing and opening its nested archives!
+                try {
+                    for (String entryName: listNestedArchives(outerArchive,options.getNestedArchives(),options.getIndexStore())) {
+                        ResourceLoader nestedResourceLoader;
+                        if (pool!=null) {
+                            nestedResourceLoader=new LazyResourceLoader(fileResourceOffset,pool,()->new NestedArchiveResourceLoader(fileResourceOffset,outerArchive,entryName,options.getMetrics()));
+                        } else {
+                            nestedResourceLoader=new NestedArchiveResourceLoader(fileResourceOffset,outerArchive,entryName,options.getMetrics());
+                        }
+                        resourceLoaders.add(nestedResourceLoader);
+                        resourceFiles.add(null);
+                    }
+                } finally {
+                    release(outerArchive);
+                }
+            }
+        }
+        ResourceLoader res;
+        if (options.isIndexed()) {
+            List<Collection<String>> resourceNames=getResourceNames(resourceFiles,resourceLoaders,options.getIndexStore());
+            res=new IndexedResourceLoader(resourceLoaders,resourceNames);
+        } else {
+            List<BloomFilter> filters=null;
+            if (options.isMembershipFilters()) {
+                filters=createMembershipFilters(resourceFiles,resourceLoaders,options);
+            }
+            ResourceMissCache missCache=options.getMissCacheSize()>0?new ResourceMissCache(options.getMissCacheSize()):null;
+            res=new ChainedResourceLoader(resourceLoaders,filters,missCache,options.getEffectiveExecutor(),options.getMetrics());
+        }
+        if (options.getMetrics()!=null) {
+            res=new InstrumentedResourceLoader(res,options.getMetrics());
+        }
+        return res;
+    }
+
+    /**
+     * Lists the names of the entries of an archive which are nested archives.
+     * Given a store, the names are taken from the index of the archive, without opening the archive while unchanged.
+     * @param outerArchive Archive.
+     * @param glob Glob pattern of the names of nested archives.
+     * @param indexStore Persistent store of archive indexes.
+     *                   This may be {@code null}.
+     * @return Names of entries of nested archives, in the order of the central directory.
+     */
+    private static List<String> listNestedArchives(NestedArchiveResourceLoader.OuterArchive outerArchive,
+                                                   String glob,
+                                                   ResourceIndexStore indexStore) {
+        List<String> res;
+        if (indexStore!=null) {
+            var matcher=ResourceNames.toGlobPattern(glob).asMatchPredicate();
+            res=indexStore.getArchiveIndex(outerArchive.getArchive()).getNames().stream().filter(matcher).distinct().toList();
+        } else {
+            res=NestedArchiveResourceLoader.listNestedArchives(outerArchive,glob);
+        }
+        return res;
+    }
+
+    /**
+     * Releases an archive held while listing and opening its nested archives.
+     * @param outerArchive Archive.
+     * @throws UncheckedIOException Thrown in case of I/O error.
+     */
+    private static void release(NestedArchiveResourceLoader.OuterArchive outerArchive) {
+        try {
+            outerArchive.release();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(String.format("Failure to close archive; archive is %s!",outerArchive.getArchive()),ex);
+        }
+    }
+
+    /**
+     * Creates a resource loader reading an archive directly together with its nested archives.
+     * This is the actual loader of an archive opened lazily, and nested archives are hence listed only when opened.
+     * @param resourceOffset Resource offset.
+     * @param archive Archive file.
+     * @param options Options for the creation of the loader.
+     * @return Resource loader.
+     */
+    private static ResourceLoader createNestingResourceLoader(ResourceOffset resourceOffset,
+                                                              File archive,
+                                                              ResourceLoaderOptions options) {
+        List<ResourceLoader> resourceLoaders=new ArrayList<>();
+        resourceLoaders.add(createResourceLoader(resourceOffset,archive,options));
+        ResourceOffset fileResourceOffset=resourceOffset.forFile(archive);
+        NestedArchiveResourceLoader.OuterArchive outerArchive=new NestedArchiveResourceLoader.OuterArchive(archive);
+        outerArchive.acquire();  //Read the archive once, while listing and opening its nested archives!
+        try {
+            for (String entryName: NestedArchiveResourceLoader.listNestedArchives(outerArchive,options.getNestedArchives())) {
+                resourceLoaders.add(new NestedArchiveResourceLoader(fileResourceOffset,outerArchive,entryName,options.getMetrics()));
+            }
+        } finally {
+            release(outerArchive);
         }
         return new ChainedResourceLoader(resourceLoaders);
     }
 
+    /**
+     * Creates the membership filters of the loaders of a set of files.
+     * Directories are not filtered, since their contents may change while the filters would not.
+     * @param files Files.
+     *              This is aligned with the loaders, and is {@code null} for loaders of nested archives.
+     * @param resourceLoaders Resource loaders.
+     * @param options Options for the creation of the loader.
+     * @return Membership filters, aligned with the loaders.
+     *         The filter of a directory is {@code null}.
+     */
+    private static List<BloomFilter> createMembershipFilters(List<File> files,
+                                                             List<ResourceLoader> resourceLoaders,
+                                                             ResourceLoaderOptions options) {
+        List<BloomFilter> res=new ArrayList<>(resourceLoaders.size());
+        for (int i=0; i<resourceLoaders.size(); i++) {
+            File file=files.get(i);
+            if (file!=null && !file.isFile()) {
+                res.add(null);
+            } else {
+                Collection<String> names=getResourceNames(file,resourceLoaders.get(i),options.getIndexStore());
+                res.add(BloomFilter.of(names,options.getFalsePositiveProbability()));
+            }
+        }
+        if (options.getIndexStore()!=null) {
+            options.getIndexStore().save();
+        }
+        return res;
+    }
+
+    /**
+     * Gets the names of the resources of the loaders of a set of files.
+     * @param files Files.
+     *              This is aligned with the loaders, and is {@code null} for loaders of nested archives.
+     * @param resourceLoaders Resource loaders.
+     * @param indexStore Persistent store of archive indexes.
+     *                   This may be {@code null}.
+     * @return Names of the resources of each loader.
+     */
+    private static List<Collection<String>> getResourceNames(Collection<File> files,
+                                                             List<ResourceLoader> resourceLoaders,
+                                                             ResourceIndexStore indexStore) {
+        List<Collection<String>> res=new ArrayList<>(resourceLoaders.size());
+        int index=0;
+        for (var file: files) {
+            res.add(getResourceNames(file,resourceLoaders.get(index++),indexStore));
+        }
+        if (indexStore!=null) {
+            indexStore.save();
+        }
+        return res;
+    }
+
+    /**
+     * Gets the names of the resources of the loader of a file.
+     * @param file File.
+     *             This is {@code null} for the loader of a nested archive.
+     * @param resourceLoader Resource loader.
+     * @param indexStore Persistent store of archive indexes.
+     *                   This may be {@code null}.
+     * @return Names of the resources of the loader.
+     */
+    private static Collection<String> getResourceNames(File file,
+                                                       ResourceLoader resourceLoader,
+                                                       ResourceIndexStore indexStore) {
+        Collection<String> res;
+        if (indexStore!=null && file!=null && file.isFile()) {
+            res=indexStore.getArchiveIndex(file).getNames();
+        } else {
+            res=resourceLoader.getResourceNames();
+        }
+        return res;
+    }
+
     /**
      * Creates a resource loader for a file.
      * @param resourceOffset Resource offset.
@@ -58,9 +279,63 @@ public class ResourceLoaders {
      */
     public static ResourceLoader createResourceLoader(ResourceOffset resourceOffset,
                                                       File file) {
-        URL url=URLs.createURL(file);
-        ResourceOffset newResourceOffset=resourceOffset.toBuilder().file(file).build();
-        return createResourceLoader(newResourceOffset,url);
+        ResourceOffset newResourceOffset=resourceOffset.forFile(file);
+        return createResourceLoader(newResourceOffset,newResourceOffset.getUrl());
+    }
+
+    /**
+     * Creates a resource loader for a file.
+     * <p>
+     *     Depending upon the options, the file is either read through a class-loader or read directly.
+     * </p>
+     * @param resourceOffset Resource offset.
+     * @param file File.
+     * @param options Options for the creation of the loader.
+     * @return Resource loader.
+     */
+    public static ResourceLoader createResourceLoader(ResourceOffset resourceOffset,
+                                                      File file,
+                                                      ResourceLoaderOptions options) {
+        ResourceLoader res;
+        if (options.isDirectAccess()) {
+            res=createDirectResourceLoader(resourceOffset.forFile(file),file,options.getMetrics());
+        } else {
+            res=createResourceLoader(resourceOffset,file);
+        }
+        return res;
+    }
+
+    /**
+     * Creates a resource loader reading a file directly.
+     * Regular files are read as archives, everything else is read as a directory.
+     * @param resourceOffset Resource offset.
+     * @param file Archive file or directory.
+     * @return Resource loader.
+     */
+    public static ResourceLoader createDirectResourceLoader(ResourceOffset resourceOffset,
+                                                            File file) {
+        return createDirectResourceLoader(resourceOffset,file,null);
+    }
+
+    /**
+     * Creates a resource loader reading a file directly.
+     * Regular files are read as archives, everything else is read as a directory.
+     * @param resourceOffset Resource offset.
+     * @param file Archive file or directory.
+     * @param metrics Collector of metrics, counting the opening and closing of archives.
+     *                This may be {@code null}.
+     * @return Resource loader.
+     */
+    public static ResourceLoader createDirectResourceLoader(ResourceOffset resourceOffset,
+                                                            File file,
+                                                            ResourceMetrics metrics) {
+        ResourceLoader res;
+        if (file.isFile()) {
+            res=new ArchiveResourceLoader(resourceOffset,file,metrics);
+        } else {
+            res=new DirectoryResourceLoader(resourceOffset,file.toPath());
+        }
+        return res;
     }
 
     /**
@@ -71,8 +346,120 @@ public class ResourceLoaders {
      */
     public static ResourceLoader createResourceLoader(ResourceOffset resourceOffset,
                                                       URL url) {
-        ResourceOffset newResourceOffset=resourceOffset.toBuilder().url(url).build();
+        ResourceOffset newResourceOffset=resourceOffset.getUrl()==url?resourceOffset:resourceOffset.toBuilder().url(url).build();
         URLClassLoader classLoader=URLClassLoaders.createClassLoader(url);
         return new URLClassLoaderResourceLoader(newResourceOffset,classLoader);
     }
+
+    /**
+     * Creates the index of the service providers registered by the sources of a loader.
+     * <p>
+     *     The service descriptor files of all sources are read in one sweep, and the indexes of the sources are merged
+     *     in chain order.
+     *     Given a store, the indexes of archives are taken from the store while the archives are unchanged,
+     *     without opening the archives.
+     * </p>
+     * @param resourceLoader Resource loader.
+     * @param indexStore Persistent store of archive indexes.
+     *                   This may be {@code null}.
+     * @return Index of service providers.
+     */
+    public static ServiceIndex createServiceIndex(ResourceLoader resourceLoader,
+                                                  ResourceIndexStore indexStore) {
+        List<ServiceIndex> indexes=new ArrayList<>();
+        for (ResourceLoader leafResourceLoader: getLeafResourceLoaders(resourceLoader)) {
+            File archive=indexStore==null?null:getArchive(leafResourceLoader);
+            if (archive!=null) {
+                indexes.add(indexStore.getArchiveIndex(archive).getServiceIndex());
+            } else {
+                indexes.add(ServiceIndex.scan(leafResourceLoader));
+            }
+        }
+        if (indexStore!=null) {
+            indexStore.save();
+        }
+        return ServiceIndex.merge(indexes);
+    }
+
+    /**
+     * Gets the archive file read as a whole by a leaf loader.
+     * @param leafResourceLoader Leaf loader.
+     * @return Archive file.
+     *         This is {@code null} in case the loader does not read an archive file as a whole.
+     */
+    static File getArchive(ResourceLoader leafResourceLoader) {
+        File res=null;
+        if (leafResourceLoader instanceof ArchiveResourceLoader archiveResourceLoader) {
+            res=archiveResourceLoader.getArchive();
+        } else {
+            if (leafResourceLoader instanceof LazyResourceLoader lazyResourceLoader) {
+                res=lazyResourceLoader.getArchive();
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Describes a loader, e.g. for metrics and events.
+     * @param resourceLoader Loader.
+     * @return Description, e.g. the path of the file read.
+     */
+    static String describe(ResourceLoader resourceLoader) {
+        String res;
+        if (resourceLoader instanceof ArchiveResourceLoader archiveResourceLoader) {
+            res=archiveResourceLoader.getArchive().getPath();
+        } else {
+            if (resourceLoader instanceof NestedArchiveResourceLoader nestedArchiveResourceLoader) {
+                res=nestedArchiveResourceLoader.getArchive().getPath()+"!/"+nestedArchiveResourceLoader.getEntryName();
+            } else {
+                if (resourceLoader instanceof DirectoryResourceLoader directoryResourceLoader) {
+                    res=directoryResourceLoader.getDirectory().toString();
+                } else {
+                    if (resourceLoader instanceof LazyResourceLoader lazyResourceLoader && lazyResourceLoader.getArchive()!=null) {
+                        res=lazyResourceLoader.getArchive().getPath();
+                    } else {
+                        res=resourceLoader.getClass().getSimpleName()+"@"+Integer.toHexString(System.identityHashCode(resourceLoader));
+                    }
+                }
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Gets the leaf loaders of a loader, i.e. the loaders reading each source of resources.
+     * Proxies, chains and indexes are unwrapped, and the leaf loaders are listed in chain order.
+     * @param resourceLoader Resource loader.
+     * @return Leaf loaders.
+     */
+    public static List<ResourceLoader> getLeafResourceLoaders(ResourceLoader resourceLoader) {
+        List<ResourceLoader> res=new ArrayList<>();
+        addLeafResourceLoaders(resourceLoader,res);
+        return res;
+    }
+
+    /**
+     * Adds the leaf loaders of a loader.
+     * @param resourceLoader Resource loader.
+     * @param leafResourceLoaders Leaf loaders added to.
+     */
+    private static void addLeafResourceLoaders(ResourceLoader resourceLoader,
+                                               List<ResourceLoader> leafResourceLoaders) {
+        if (resourceLoader instanceof ProxyResourceLoader proxy) {
+            ResourceLoader proxiedResourceLoader=proxy.getResourceLoader();
+            if (proxiedResourceLoader!=null) {
+                addLeafResourceLoaders(proxiedResourceLoader,leafResourceLoaders);
+            }
+        } else {
+            if (resourceLoader instanceof ChainedResourceLoader chain) {
+                chain.getResourceLoaders().forEach(r->addLeafResourceLoaders(r,leafResourceLoaders));
+            } else {
+                if (resourceLoader instanceof IndexedResourceLoader index) {
+                    index.getResourceLoaders().forEach(r->addLeafResourceLoaders(r,leafResourceLoaders));
+                } else {
+                    leafResourceLoaders.add(resourceLoader);
+                }
+            }
+        }
+    }
 }
@@ -1,20 +1,30 @@
 package com.yelstream.topp.grind.gradle.api.io;
 
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
 
+import java.io.IOException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.function.Function;
 
 /**
  * Descriptor of a resource and its location.
+ * <p>
+ *     Locations are kept compact, since lookups and listings may return very many of them.
+ *     The resource offset is shared with the loader,
+ *     and the URL may be created on first request by a factory shared by all locations of the loader.
+ * </p>
  *
  * @author Morten Sabroe Mortenen
  * @version 1.0
  * @since 2022-04-23
  */
 @Getter
-@AllArgsConstructor
 public class ResourceLocation {
     /**
      * Resource offset.
@@ -36,9 +46,152 @@ public class ResourceLocation {
     private final String resourceName;
 
     /**
-     * Resource URL.
+     * Factory of the resource URL from the name of resource.
+     * This is {@code null} in case the URL is given up front.
      */
-    @Getter
-    @NonNull  //Lombok!
-    private final URL resourceURL;
+    @Getter(AccessLevel.NONE)
+    private final Function<String,URL> resourceURLFactory;
+
+    /**
+     * Resource URL, when created.
+     */
+    private volatile URL resourceURL;
+
+    /**
+     * Constructor.
+     * @param resourceOffset Resource offset.
+     * @param resourceLoader Resource loader capable of loading the resource.
+     * @param resourceName Name of resource.
+     * @param resourceURL Resource URL.
+     */
+    public ResourceLocation(ResourceOffset resourceOffset,
+                            @NonNull ResourceLoader resourceLoader,
+                            @NonNull String resourceName,
+                            @NonNull URL resourceURL) {
+        this.resourceOffset=resourceOffset;
+        this.resourceLoader=resourceLoader;
+        this.resourceName=resourceName;
+        this.resourceURLFactory=null;
+        this.resourceURL=resourceURL;
+    }
+
+    /**
+     * Constructor.
+     * @param resourceOffset Resource offset.
+     * @param resourceLoader Resource loader capable of loading the resource.
+     * @param resourceName Name of resource.
+     * @param resourceURLFactory Factory of the resource URL from the name of resource.
+     *                           This is applied on the first request of the URL only.
+     */
+    public ResourceLocation(ResourceOffset resourceOffset,
+                            @NonNull ResourceLoader resourceLoader,
+                            @NonNull String resourceName,
+                            @NonNull Function<String,URL> resourceURLFactory) {
+        this.resourceOffset=resourceOffset;
+        this.resourceLoader=resourceLoader;
+        this.resourceName=resourceName;
+        this.resourceURLFactory=resourceURLFactory;
+    }
+
+    /**
+     * Constructor.
+     * Creates a location of the same resource referring to another loader, sharing the URL or its creation.
+     * @param location Location.
+     * @param resourceLoader Resource loader capable of loading the resource.
+     */
+    public ResourceLocation(@NonNull ResourceLocation location,
+                            @NonNull ResourceLoader resourceLoader) {
+        this.resourceOffset=location.resourceOffset;
+        this.resourceLoader=resourceLoader;
+        this.resourceName=location.resourceName;
+        this.resourceURLFactory=location.resourceURLFactory;
+        this.resourceURL=location.resourceURL;
+    }
+
+    /**
+     * Constructor.
+     * Creates a location of the same resource referring to another offset, sharing the loader and the URL or its creation.
+     * @param resourceOffset Resource offset.
+     * @param location Location.
+     */
+    public ResourceLocation(ResourceOffset resourceOffset,
+                            @NonNull ResourceLocation location) {
+        this.resourceOffset=resourceOffset;
+        this.resourceLoader=location.resourceLoader;
+        this.resourceName=location.resourceName;
+        this.resourceURLFactory=location.resourceURLFactory;
+        this.resourceURL=location.resourceURL;
+    }
+
+    /**
+     * Gets the resource URL.
+     * The URL is created on the first request, unless given up front.
+     * @return Resource URL.
+     */
+    public URL getResourceURL() {
+        URL res=resourceURL;
+        if (res==null) {
+            res=resourceURLFactory.apply(resourceName);
+            resourceURL=res;
+        }
+        return res;
+    }
+
+    /**
+     * Gets the fingerprint of the contents of the resource.
+     * <p>
+     *     For entries of archives read directly, this is the size and CRC-32 value of the central directory,
+     *     and no content is read.
+     *     For files of directories, the contents are read once and the fingerprint is memoized by the loader
+     *     for as long as the file keeps its size and time of last modification.
+     * </p>
+     * @return Fingerprint of the contents of the resource.
+     *         This is {@code null} in case the resource no longer exists.
+     */
+    public ResourceFingerprint getFingerprint() {
+        return resourceLoader.getResourceFingerprint(resourceName);
+    }
+
+    /**
+     * Gets a channel to the contents of the resource.
+     * @return Channel to the contents of the resource.
+     *         This is {@code null} in case the resource no longer exists.
+     */
+    public ReadableByteChannel openChannel() {
+        return resourceLoader.getResourceAsChannel(resourceName);
+    }
+
+    /**
+     * Gets the contents of the resource as a read-only buffer.
+     * Where supported by the loader, large contents are mapped into memory.
+     * @return Buffer holding the contents of the resource.
+     *         This is {@code null} in case the resource no longer exists.
+     */
+    public ByteBuffer getByteBuffer() {
+        return resourceLoader.getResourceAsByteBuffer(resourceName);
+    }
+
+    /**
+     * Transfers the contents of the resource to a channel.
+     * @param target Target channel.
+     *               This is not closed.
+     * @return Number of bytes transferred.
+     *         This is {@code -1} in case the resource no longer exists.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    public long transferTo(WritableByteChannel target) throws IOException {
+        return resourceLoader.transferResource(resourceName,target);
+    }
+
+    /**
+     * Copies the contents of the resource to a file.
+     * An existing file is replaced.
+     * @param target Target file.
+     * @return Number of bytes copied.
+     *         This is {@code -1} in case the resource no longer exists.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    public long copyTo(Path target) throws IOException {
+        return resourceLoader.copyResource(resourceName,target);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Utilities addressing instances of {@link ResourceLocation}.
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@UtilityClass
+public class ResourceLocations {
+    /**
+     * Gets the single location of a named resource.
+     * The stream of locations is consumed no further than the second location.
+     * @param name Resource name.
+     * @param resourceLocations Stream of the locations of the resource.
+     * @return Location of resource.
+     *         This is {@code null} in case the resource does not exist.
+     * @throws IllegalStateException Thrown in case more than one occurrence of the named resource exist.
+     */
+    public static ResourceLocation getUniqueResourceLocation(String name,
+                                                             Stream<ResourceLocation> resourceLocations) throws IllegalStateException {
+        ResourceLocation res;
+        List<ResourceLocation> firstResourceLocations;
+        try (resourceLocations) {
+            firstResourceLocations=resourceLocations.limit(2).toList();
+        }
+        switch (firstResourceLocations.size()) {
+            case 0: {
+                res=null;
+                break;
+            }
+            case 1: {
+                res=firstResourceLocations.get(0);
+                break;
+            }
+            default: {
+                throw new IllegalStateException(String.format("Failure to get location of named resource; name is %s, locations include %s!",name,firstResourceLocations));
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Merges lists of resource locations keyed by name, in the order of the names given.
+     * @param names Resource names.
+     * @param partialResults Lists of resource location descriptors keyed by resource name, in chain order.
+     * @return Merged lists of resource location descriptors, keyed by resource name in the order of the names given.
+     *         Names of resources which do not exist are not present.
+     */
+    public static Map<String,List<ResourceLocation>> merge(Collection<String> names,
+                                                           List<Map<String,List<ResourceLocation>>> partialResults) {
+        Map<String,List<ResourceLocation>> res=new LinkedHashMap<>();
+        for (String name: names) {
+            List<ResourceLocation> resourceLocations=null;
+            for (Map<String,List<ResourceLocation>> partialResult: partialResults) {
+                List<ResourceLocation> partialResourceLocations=partialResult.get(name);
+                if (partialResourceLocations!=null && !partialResourceLocations.isEmpty()) {
+                    if (resourceLocations==null) {
+                        resourceLocations=new ArrayList<>(partialResourceLocations);
+                    } else {
+                        resourceLocations.addAll(partialResourceLocations);
+                    }
+                }
+            }
+            if (resourceLocations!=null) {
+                res.put(name,resourceLocations);
+            }
+        }
+        return res;
+    }
+}
@@ -0,0 +1,81 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import java.util.Iterator;
+
+/**
+ * Lookup of a named resource by a single loader of a chain.
+ * <p>
+ *     The resource is found by a loader when the result is not {@code null}.
+ *     The lookup may throw a checked exception, e.g. when transferring contents,
+ *     which is then thrown on by the lookup of the chain.
+ * </p>
+ *
+ * @param <T> Type of result.
+ * @param <E> Type of exception thrown.
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@FunctionalInterface
+interface ResourceLookup<T,E extends Exception> {
+    /**
+     * Looks up the resource by a loader.
+     * @param resourceLoader Resource loader.
+     * @return Result.
+     *         This is {@code null} in case the resource is not found by the loader.
+     * @throws E Thrown in case of failure.
+     */
+    T apply(ResourceLoader resourceLoader) throws E;
+
+    /**
+     * Looks up a named resource, asking loaders in order until found, and records the lookup as an event.
+     * @param operation Operation, as recorded by events.
+     * @param name Resource name.
+     * @param candidates Loaders which may contain the resource, in chain order.
+     * @param lookup Lookup by a single loader.
+     * @param <T> Type of result.
+     * @param <E> Type of exception thrown.
+     * @return Result of the first loader finding the resource.
+     *         This is {@code null} in case the resource is not found.
+     * @throws E Thrown in case of failure of a lookup.
+     */
+    static <T,E extends Exception> T findFirst(ResourceMetrics.Operation operation,
+                                               String name,
+                                               Iterator<ResourceLoader> candidates,
+                                               ResourceLookup<T,E> lookup) throws E {
+        ResourceLookupEvent event=new ResourceLookupEvent();
+        event.begin();
+        T res=null;
+        ResourceLoader source=null;
+        int probeCount=0;
+        while (res==null && candidates.hasNext()) {
+            source=candidates.next();
+            probeCount++;
+            res=lookup.apply(source);
+        }
+        event.commit(operation,name,res!=null?source:null,res!=null,probeCount);
+        return res;
+    }
+
+    /**
+     * Converts a number of bytes transferred or copied by a loader to a result of a lookup.
+     * @param count Number of bytes.
+     *              This is {@code -1} in case the resource does not exist.
+     * @return Result of lookup.
+     *         This is {@code null} in case the resource does not exist.
+     */
+    static Long ofCount(long count) {
+        return count<0?null:count;
+    }
+
+    /**
+     * Converts a result of a lookup to a number of bytes transferred or copied.
+     * @param result Result of lookup.
+     *               This may be {@code null}.
+     * @return Number of bytes.
+     *         This is {@code -1} in case the resource does not exist.
+     */
+    static long toCount(Long result) {
+        return result==null?-1:result;
+    }
+}
@@ -0,0 +1,85 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of a lookup of a resource by a chain of loaders.
+ * <p>
+ *     The event is disabled by default.
+ *     While disabled, an event is neither filled in nor committed,
+ *     and its allocation is usually eliminated by the JIT compiler.
+ * </p>
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Name("com.yelstream.topp.grind.ResourceLookup")
+@Label("Resource Lookup")
+@Category({"Topp Grind","Resources"})
+@Description("Lookup of a resource by a chain of resource loaders")
+@Enabled(false)
+@StackTrace(false)
+final class ResourceLookupEvent extends Event {
+    /**
+     * Operation.
+     */
+    @Label("Operation")
+    String operation;
+
+    /**
+     * Resource name.
+     */
+    @Label("Resource Name")
+    String name;
+
+    /**
+     * Loader finding the resource.
+     */
+    @Label("Loader")
+    @Description("Loader within the chain finding the resource, if any")
+    String loader;
+
+    /**
+     * Indicates, if the resource was found.
+     */
+    @Label("Found")
+    boolean found;
+
+    /**
+     * Number of loaders asked.
+     */
+    @Label("Probe Count")
+    int probeCount;
+
+    /**
+     * Ends the event and commits it, if enabled.
+     * @param operation Operation.
+     * @param name Resource name.
+     * @param resourceLoader Loader finding the resource.
+     *                       This may be {@code null}.
+     * @param found Indicates, if the resource was found.
+     * @param probeCount Number of loaders asked.
+     */
+    void commit(ResourceMetrics.Operation operation,
+                String name,
+                ResourceLoader resourceLoader,
+                boolean found,
+                int probeCount) {
+        end();
+        if (shouldCommit()) {
+            this.operation=operation.name();
+            this.name=name;
+            this.loader=resourceLoader==null?null:ResourceLoaders.describe(resourceLoader);
+            this.found=found;
+            this.probeCount=probeCount;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Match of a pattern within the contents of a resource.
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Getter
+@AllArgsConstructor(access=AccessLevel.PACKAGE)
+public class ResourceMatch {
+    /**
+     * Description of the source of the resource, e.g. the path of an archive.
+     */
+    private final String source;
+
+    /**
+     * Resource name, e.g. the name of an entry within an archive.
+     */
+    private final String resourceName;
+
+    /**
+     * Offset of the match in bytes, relative to the start of the contents.
+     */
+    private final int offset;
+
+    /**
+     * Length of the match in bytes.
+     */
+    private final int length;
+
+    /**
+     * Pattern matched, i.e. a literal or the source of a regular expression.
+     */
+    private final String pattern;
+
+    @Override
+    public String toString() {
+        return String.format("%s!/%s@%d: %s",source,resourceName,offset,pattern);
+    }
+}
@@ -0,0 +1,221 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import com.yelstream.topp.format.util.PropertiesFormatter;
+import org.gradle.api.logging.LogLevel;
+import org.gradle.api.logging.Logger;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collector of metrics of resource loaders.
+ * <p>
+ *     Lookups are counted and timed per operation by an {@link InstrumentedResourceLoader}.
+ *     Chains count the probes of each of their loaders, and archive loaders count their opening and closing.
+ *     A single collector may be shared by any number of loaders.
+ * </p>
+ * <p>
+ *     Recording is thread-safe and, once a loader has been probed for the first time, does not allocate.
+ * </p>
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public class ResourceMetrics {
+    /**
+     * Operation of a resource loader.
+     */
+    public enum Operation {
+        /**
+         * Lookup of the URL of a resource.
+         */
+        GET_RESOURCE,
+
+        /**
+         * Opening of the stream of a resource.
+         */
+        GET_RESOURCE_AS_STREAM,
+
+        /**
+         * Opening of the channel of a resource.
+         */
+        GET_RESOURCE_AS_CHANNEL,
+
+        /**
+         * Reading of the contents of a resource into a buffer.
+         */
+        GET_RESOURCE_AS_BYTE_BUFFER,
+
+        /**
+         * Transfer of the contents of a resource to a channel.
+         */
+        TRANSFER_RESOURCE,
+
+        /**
+         * Copying of the contents of a resource to a file.
+         */
+        COPY_RESOURCE,
+
+        /**
+         * Lookup of the fingerprint of a resource.
+         */
+        GET_RESOURCE_FINGERPRINT,
+
+        /**
+         * Lookup of all locations of a resource.
+         */
+        GET_RESOURCE_LOCATIONS,
+
+        /**
+         * Lookup of the unique location of a resource.
+         */
+        GET_RESOURCE_LOCATION,
+
+        /**
+         * Streaming of all locations of a resource.
+         */
+        STREAM_RESOURCE_LOCATIONS,
+
+        /**
+         * Listing of the locations of resources by prefix and glob pattern.
+         */
+        LIST_RESOURCE_LOCATIONS
+    }
+
+    /**
+     * Numbers of lookups which found a resource, per operation.
+     */
+    private final Map<Operation,LongAdder> hitCounts=createCounters();
+
+    /**
+     * Numbers of lookups which did not find a resource, per operation.
+     */
+    private final Map<Operation,LongAdder> missCounts=createCounters();
+
+    /**
+     * Latencies of lookups, per operation.
+     */
+    private final Map<Operation,LatencyHistogram> latencies=new EnumMap<>(Operation.class);
+
+    /**
+     * Numbers of probes, per loader within a chain.
+     */
+    private final Map<ResourceLoader,LongAdder> probeCounts=new ConcurrentHashMap<>();
+
+    /**
+     * Number of archives opened.
+     */
+    private final LongAdder openedArchiveCount=new LongAdder();
+
+    /**
+     * Number of archives closed.
+     */
+    private final LongAdder closedArchiveCount=new LongAdder();
+
+    /**
+     * Number of bytes of resource contents read.
+     */
+    private final LongAdder byteCount=new LongAdder();
+
+    /**
+     * Constructor.
+     */
+    public ResourceMetrics() {
+        for (Operation operation: Operation.values()) {
+            latencies.put(operation,new LatencyHistogram());
+        }
+    }
+
+    /**
+     * Creates counters per operation.
+     * @return Counters.
+     */
+    private static Map<Operation,LongAdder> createCounters() {
+        Map<Operation,LongAdder> res=new EnumMap<>(Operation.class);
+        for (Operation operation: Operation.values()) {
+            res.put(operation,new LongAdder());
+        }
+        return res;
+    }
+
+    /**
+     * Records a lookup.
+     * @param operation Operation.
+     * @param nanos Duration of lookup in nanoseconds.
+     * @param found Indicates, if the resource was found.
+     */
+    public void recordLookup(Operation operation,
+                             long nanos,
+                             boolean found) {
+        (found?hitCounts:missCounts).get(operation).increment();
+        latencies.get(operation).record(nanos);
+    }
+
+    /**
+     * Records a probe of a loader within a chain.
+     * @param resourceLoader Loader probed.
+     */
+    public void recordProbe(ResourceLoader resourceLoader) {
+        probeCounts.computeIfAbsent(resourceLoader,r->new LongAdder()).increment();
+    }
+
+    /**
+     * Records the opening of an archive.
+     */
+    public void recordArchiveOpened() {
+        openedArchiveCount.increment();
+    }
+
+    /**
+     * Records the closing of an archive.
+     */
+    public void recordArchiveClosed() {
+        closedArchiveCount.increment();
+    }
+
+    /**
+     * Records the reading of resource contents.
+     * @param count Number of bytes read.
+     */
+    public void recordBytesRead(long count) {
+        if (count>0) {
+            byteCount.add(count);
+        }
+    }
+
+    /**
+     * Takes a snapshot of the metrics.
+     * @return Snapshot.
+     */
+    public ResourceMetricsSnapshot snapshot() {
+        Map<Operation,Long> hits=new EnumMap<>(Operation.class);
+        Map<Operation,Long> misses=new EnumMap<>(Operation.class);
+        Map<Operation,LatencyHistogram> operationLatencies=new EnumMap<>(Operation.class);
+        for (Operation operation: Operation.values()) {
+            hits.put(operation,hitCounts.get(operation).sum());
+            misses.put(operation,missCounts.get(operation).sum());
+            operationLatencies.put(operation,latencies.get(operation).copy());
+        }
+        Map<String,Long> probes=new LinkedHashMap<>();
+        probeCounts.forEach((resourceLoader,count)->probes.merge(ResourceLoaders.describe(resourceLoader),count.sum(),Long::sum));
+        return new ResourceMetricsSnapshot(hits,misses,operationLatencies,probes,openedArchiveCount.sum(),closedArchiveCount.sum(),byteCount.sum());
+    }
+
+    /**
+     * Logs a summary of the metrics.
+     * @param logger Logger.
+     * @param level Level.
+     */
+    public void logSummary(Logger logger,
+                           LogLevel level) {
+        if (logger.isEnabled(level)) {
+            PropertiesFormatter formatter=PropertiesFormatter.builder().sortByKey(false).build();
+            String formattedMetrics=formatter.format(snapshot().toProperties());
+            logger.log(level,String.format("Resource loader metrics are:%n%s",formattedMetrics));
+        }
+    }
+}
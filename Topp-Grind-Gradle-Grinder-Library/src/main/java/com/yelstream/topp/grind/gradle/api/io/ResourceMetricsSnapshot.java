@@ -0,0 +1,130 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Metrics of resource loaders.
+ * This is a snapshot taken at one point in time.
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Getter
+@AllArgsConstructor(access=AccessLevel.PACKAGE)
+public class ResourceMetricsSnapshot {
+    /**
+     * Numbers of lookups which found a resource, per operation.
+     */
+    private final Map<ResourceMetrics.Operation,Long> hitCounts;
+
+    /**
+     * Numbers of lookups which did not find a resource, per operation.
+     */
+    private final Map<ResourceMetrics.Operation,Long> missCounts;
+
+    /**
+     * Latencies of lookups, per operation.
+     */
+    private final Map<ResourceMetrics.Operation,LatencyHistogram> latencies;
+
+    /**
+     * Numbers of probes, per description of loader within a chain.
+     */
+    private final Map<String,Long> probeCounts;
+
+    /**
+     * Number of archives opened.
+     */
+    private final long openedArchiveCount;
+
+    /**
+     * Number of archives closed.
+     */
+    private final long closedArchiveCount;
+
+    /**
+     * Number of bytes of resource contents read.
+     */
+    private final long byteCount;
+
+    /**
+     * Gets the total number of lookups.
+     * @return Number of lookups.
+     */
+    public long getLookupCount() {
+        return getHitCount()+getMissCount();
+    }
+
+    /**
+     * Gets the total number of lookups which found a resource.
+     * @return Number of hits.
+     */
+    public long getHitCount() {
+        return hitCounts.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Gets the total number of lookups which did not find a resource.
+     * @return Number of misses.
+     */
+    public long getMissCount() {
+        return missCounts.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Gets the ratio of lookups which found a resource.
+     * @return Ratio of hits.
+     *         This is {@code 0} in case of no lookups.
+     */
+    public double getHitRate() {
+        long lookupCount=getLookupCount();
+        return lookupCount==0?0:(double)getHitCount()/lookupCount;
+    }
+
+    /**
+     * Gets the total number of probes of loaders within chains.
+     * @return Number of probes.
+     */
+    public long getProbeCount() {
+        return probeCounts.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Converts the metrics to properties, e.g. to be formatted for logging.
+     * Operations without lookups and loaders without probes are left out.
+     * @return Properties, in order of presentation.
+     */
+    public Map<String,Object> toProperties() {
+        Map<String,Object> res=new LinkedHashMap<>();
+        res.put("lookups",getLookupCount());
+        res.put("hits",getHitCount());
+        res.put("misses",getMissCount());
+        res.put("hitRate",String.format("%.3f",getHitRate()));
+        res.put("probes",getProbeCount());
+        res.put("archivesOpened",openedArchiveCount);
+        res.put("archivesClosed",closedArchiveCount);
+        res.put("bytesRead",byteCount);
+        latencies.forEach((operation,histogram)->{
+            if (histogram.getCount()>0) {
+                res.put("latency."+operation,String.format("hits %d, misses %d, %s",hitCounts.get(operation),missCounts.get(operation),histogram));
+            }
+        });
+        probeCounts.entrySet().stream()
+                   .filter(entry->entry.getValue()>0)
+                   .sorted(Map.Entry.<String,Long>comparingByValue().reversed())
+                   .forEach(entry->res.put("probes."+entry.getKey(),entry.getValue()));
+        return res;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("lookups %d, hits %d, misses %d, probes %d, archives opened %d, closed %d, bytes read %d",
+                             getLookupCount(),getHitCount(),getMissCount(),getProbeCount(),openedArchiveCount,closedArchiveCount,byteCount);
+    }
+}
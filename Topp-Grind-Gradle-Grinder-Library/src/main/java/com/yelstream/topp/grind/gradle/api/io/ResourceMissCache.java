@@ -0,0 +1,134 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import lombok.Getter;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded cache of the names of recently missed resources.
+ * <p>
+ *     Names not recently used are dropped when the capacity is exceeded,
+ *     as approximated by the CLOCK algorithm:
+ *     each name carries a flag set when hit, and a hand sweeping the names clears set flags
+ *     and drops names not hit since last swept.
+ * </p>
+ * <p>
+ *     Lookups take no lock, and write only when a name is hit for the first time since last swept.
+ *     Eviction is done by one thread at a time, while other threads proceed.
+ *     Instances are thread-safe.
+ * </p>
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public class ResourceMissCache {
+    /**
+     * Maximum number of names held.
+     */
+    @Getter
+    private final int capacity;
+
+    /**
+     * Names held, each with a flag indicating, if the name has been hit since last swept.
+     */
+    private final Map<String,Boolean> names=new ConcurrentHashMap<>();
+
+    /**
+     * Lock of eviction.
+     */
+    private final ReentrantLock evictionLock=new ReentrantLock();
+
+    /**
+     * Hand sweeping the names.
+     * This is guarded by the lock of eviction.
+     */
+    private Iterator<Map.Entry<String,Boolean>> hand;
+
+    /**
+     * Constructor.
+     * @param capacity Maximum number of names held.
+     */
+    public ResourceMissCache(int capacity) {
+        if (capacity<=0) {
+            throw new IllegalArgumentException(String.format("Failure to create cache of misses; capacity is %d!",capacity));
+        }
+        this.capacity=capacity;
+    }
+
+    /**
+     * Indicates, if a name is held as missed.
+     * @param name Resource name.
+     * @return Indicates, if missed.
+     */
+    public boolean contains(String name) {
+        Boolean hit=names.get(name);
+        if (Boolean.FALSE.equals(hit)) {
+            names.replace(name,Boolean.FALSE,Boolean.TRUE);
+        }
+        return hit!=null;
+    }
+
+    /**
+     * Adds a name as missed.
+     * @param name Resource name.
+     */
+    public void add(String name) {
+        if (names.putIfAbsent(name,Boolean.FALSE)==null) {
+            evict();
+        }
+    }
+
+    /**
+     * Drops names not hit since last swept, as long as the capacity is exceeded.
+     * In case another thread is evicting, that thread drops the names.
+     */
+    private void evict() {
+        while (names.size()>capacity && evictionLock.tryLock()) {
+            try {
+                while (names.size()>capacity) {
+                    if (hand==null || !hand.hasNext()) {
+                        hand=names.entrySet().iterator();
+                        if (!hand.hasNext()) {
+                            break;  //Cleared concurrently!
+                        }
+                    }
+                    Map.Entry<String,Boolean> entry=hand.next();
+                    if (entry.getValue()) {
+                        names.replace(entry.getKey(),Boolean.TRUE,Boolean.FALSE);
+                    } else {
+                        names.remove(entry.getKey(),Boolean.FALSE);
+                    }
+                }
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Removes a name held as missed, e.g. when the resource has been added.
+     * @param name Resource name.
+     */
+    public void remove(String name) {
+        names.remove(name);
+    }
+
+    /**
+     * Removes all names held as missed, e.g. when resources have been added to the sources of a chain.
+     */
+    public void clear() {
+        names.clear();
+    }
+
+    /**
+     * Gets the number of names held.
+     * @return Number of names.
+     */
+    public int size() {
+        return names.size();
+    }
+}
@@ -0,0 +1,111 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Sorted index of resource names.
+ * <p>
+ *     Names sharing a prefix are adjacent in the index.
+ *     A query for a prefix is hence a range scan located by binary search, not a walk over all names.
+ * </p>
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public class ResourceNameIndex {
+    /**
+     * Sorted, distinct names.
+     */
+    private final String[] names;
+
+    /**
+     * Constructor.
+     * @param names Sorted, distinct names.
+     */
+    private ResourceNameIndex(String[] names) {
+        this.names=names;
+    }
+
+    /**
+     * Gets the number of names.
+     * @return Number of names.
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Gets all names.
+     * @return Names, sorted.
+     */
+    public List<String> getNames() {
+        return Collections.unmodifiableList(Arrays.asList(names));
+    }
+
+    /**
+     * Selects the names starting with a prefix.
+     * @param prefix Prefix.
+     *               If {@code null} or empty, all names are selected.
+     * @return Selected names, sorted.
+     */
+    public List<String> select(String prefix) {
+        List<String> res;
+        if (prefix==null || prefix.isEmpty()) {
+            res=getNames();
+        } else {
+            int from=lowerBound(prefix);
+            int to=from;
+            while (to<names.length && names[to].startsWith(prefix)) {
+                to++;
+            }
+            res=Collections.unmodifiableList(Arrays.asList(names).subList(from,to));
+        }
+        return res;
+    }
+
+    /**
+     * Selects the names starting with a prefix and matching a glob pattern.
+     * @param prefix Prefix.
+     *               This may be {@code null}.
+     * @param glob Glob pattern as accepted by {@link ResourceNames#toGlobPattern(String)}.
+     *             This may be {@code null}.
+     * @return Selected names, sorted.
+     */
+    public List<String> select(String prefix,
+                               String glob) {
+        List<String> res;
+        if (glob==null) {
+            res=select(prefix);
+        } else {
+            String globPrefix=ResourceNames.getGlobPrefix(glob);
+            String rangePrefix=prefix==null||globPrefix.startsWith(prefix)?globPrefix:prefix;
+            Predicate<String> matcher=ResourceNames.toGlobPattern(glob).asMatchPredicate();
+            res=select(rangePrefix).stream().filter(name->(prefix==null||name.startsWith(prefix)) && matcher.test(name)).toList();
+        }
+        return res;
+    }
+
+    /**
+     * Gets the index of the first name not less than a key.
+     * @param key Key.
+     * @return Index of name.
+     */
+    private int lowerBound(String key) {
+        int index=Arrays.binarySearch(names,key);
+        return index>=0?index:-index-1;
+    }
+
+    /**
+     * Creates an index of a collection of names.
+     * @param names Names.
+     * @return Created index.
+     */
+    public static ResourceNameIndex of(Collection<String> names) {
+        return new ResourceNameIndex(names.stream().sorted().distinct().toArray(String[]::new));
+    }
+}
@@ -0,0 +1,218 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import lombok.experimental.UtilityClass;
+import org.gradle.api.logging.Logging;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Utilities addressing the names of resources.
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@UtilityClass
+public class ResourceNames {
+    /**
+     * Separator of the elements of a resource name.
+     */
+    public static final char SEPARATOR='/';
+
+    /**
+     * Lists the names of all resources of a loader, e.g. to list or scan the resources.
+     * Loaders not able to enumerate their resources yield no names, and are logged as skipped,
+     * so a single such loader does not fail a listing or a scan.
+     * @param resourceLoader Resource loader.
+     * @return Resource names.
+     */
+    public static Collection<String> listResourceNames(ResourceLoader resourceLoader) {
+        Collection<String> res;
+        try {
+            res=resourceLoader.getResourceNames();
+        } catch (UnsupportedOperationException ex) {
+            Logging.getLogger(ResourceNames.class).info("Resources of loader skipped; loader cannot enumerate resources, loader is {}!",resourceLoader,ex);
+            res=List.of();
+        }
+        return res;
+    }
+
+    /**
+     * Lists the names of all resources contained in a file.
+     * @param file Archive file or directory.
+     * @return Resource names.
+     *         This is empty in case the file does not exist.
+     */
+    public static List<String> listResourceNames(File file) {
+        return listResourceNames(file.toPath());
+    }
+
+    /**
+     * Lists the names of all resources contained in a path.
+     * Directory entries are not listed, only the resources themselves.
+     * @param path Archive file or directory.
+     * @return Resource names.
+     *         This is empty in case the path does not exist.
+     */
+    public static List<String> listResourceNames(Path path) {
+        List<String> res;
+        if (Files.isDirectory(path)) {
+            res=listDirectoryResourceNames(path);
+        } else {
+            if (Files.isRegularFile(path)) {
+                res=listArchiveResourceNames(path);
+            } else {
+                res=List.of();
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Lists the names of all resources contained in a directory.
+     * @param directory Directory.
+     * @return Resource names.
+     */
+    private static List<String> listDirectoryResourceNames(Path directory) {
+        try (Stream<Path> paths=Files.walk(directory)) {
+            return paths.filter(Files::isRegularFile).map(p->toResourceName(directory,p)).toList();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(String.format("Failure to list resource names of directory; directory is %s!",directory),ex);
+        }
+    }
+
+    /**
+     * Lists the names of all resources contained in an archive.
+     * @param archive Archive file.
+     * @return Resource names.
+     */
+    private static List<String> listArchiveResourceNames(Path archive) {
+        try (ZipFile zipFile=new ZipFile(archive.toFile())) {
+            return listResourceNames(zipFile);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(String.format("Failure to list resource names of archive; archive is %s!",archive),ex);
+        }
+    }
+
+    /**
+     * Lists the names of all resources contained in an open archive.
+     * @param zipFile Archive.
+     * @return Resource names.
+     */
+    public static List<String> listResourceNames(ZipFile zipFile) {
+        List<String> res=new ArrayList<>(zipFile.size());
+        Enumeration<? extends ZipEntry> entries=zipFile.entries();
+        while (entries.hasMoreElements()) {
+            ZipEntry entry=entries.nextElement();
+            if (!entry.isDirectory()) {
+                res.add(entry.getName());
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Converts a glob pattern to a regular expression matching resource names.
+     * <p>
+     *     The glob pattern supports these constructs:
+     * </p>
+     * <ul>
+     *     <li>{@code **} matches any sequence of characters, including separators.</li>
+     *     <li>{@code **}{@code /} matches zero or more complete directory levels.</li>
+     *     <li>{@code *} matches any sequence of characters within a single directory level.</li>
+     *     <li>{@code ?} matches a single character other than a separator.</li>
+     *     <li>{@code {a,b}} matches any of the alternatives given.</li>
+     * </ul>
+     * <p>
+     *     Any other character matches itself.
+     * </p>
+     * @param glob Glob pattern, e.g. {@code META-INF/*.xsd}.
+     * @return Regular expression.
+     */
+    public static Pattern toGlobPattern(String glob) {
+        StringBuilder sb=new StringBuilder();
+        boolean inGroup=false;
+        int i=0;
+        while (i<glob.length()) {
+            char c=glob.charAt(i);
+            if (c=='*') {
+                if (i+1<glob.length() && glob.charAt(i+1)=='*') {
+                    if (i+2<glob.length() && glob.charAt(i+2)==SEPARATOR) {
+                        sb.append("(?:.*/)?");
+                        i+=3;
+                    } else {
+                        sb.append(".*");
+                        i+=2;
+                    }
+                } else {
+                    sb.append("[^/]*");
+                    i++;
+                }
+            } else {
+                if (c=='?') {
+                    sb.append("[^/]");
+                } else {
+                    if (c=='{' && !inGroup) {
+                        sb.append("(?:");
+                        inGroup=true;
+                    } else {
+                        if (c=='}' && inGroup) {
+                            sb.append(')');
+                            inGroup=false;
+                        } else {
+                            if (c==',' && inGroup) {
+                                sb.append('|');
+                            } else {
+                                sb.append(Pattern.quote(String.valueOf(c)));
+                            }
+                        }
+                    }
+                }
+                i++;
+            }
+        }
+        if (inGroup) {
+            throw new IllegalArgumentException(String.format("Failure to convert glob pattern; unterminated group, pattern is '%s'!",glob));
+        }
+        return Pattern.compile(sb.toString());
+    }
+
+    /**
+     * Gets the literal prefix of a glob pattern.
+     * This is the part of the pattern before the first special character.
+     * @param glob Glob pattern.
+     * @return Literal prefix.
+     */
+    public static String getGlobPrefix(String glob) {
+        int index=0;
+        while (index<glob.length() && "*?{".indexOf(glob.charAt(index))<0) {
+            index++;
+        }
+        return glob.substring(0,index);
+    }
+
+    /**
+     * Creates the name of a resource located in a directory.
+     * @param directory Directory.
+     * @param path Path of resource within the directory.
+     * @return Resource name.
+     */
+    public static String toResourceName(Path directory,
+                                        Path path) {
+        String name=directory.relativize(path).toString();
+        String separator=path.getFileSystem().getSeparator();
+        return separator.equals(String.valueOf(SEPARATOR))?name:name.replace(separator,String.valueOf(SEPARATOR));
+    }
+}
@@ -1,5 +1,7 @@
 package com.yelstream.topp.grind.gradle.api.io;
 
+import com.yelstream.topp.util.net.URLs;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -11,9 +13,16 @@ import org.gradle.api.tasks.SourceSetContainer;
 import java.io.File;
 import java.net.URL;
 import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Offset serving as a root for locating other resources.
+ * <p>
+ *     Offsets are shared by loaders and by all locations returned by these, and should not be created per resource.
+ *     The set of files is referenced and not copied.
+ *     The offsets of the individual files of an offset are interned by {@link #forFile(File)}.
+ * </p>
  *
  * @author Morten Sabroe Mortenen
  * @version 1.0
@@ -59,4 +68,20 @@ public class ResourceOffset {
      * URL defining a location from which resource may be loaded.
      */
     private final URL url;
+
+    /**
+     * Interned offsets of the individual files of this offset, keyed by file.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<File,ResourceOffset> fileOffsets=new ConcurrentHashMap<>();
+
+    /**
+     * Gets the offset of an individual file of this offset.
+     * The offset of a file is created once and then shared.
+     * @param file File.
+     * @return Offset of the file, having the file and its URL set.
+     */
+    public ResourceOffset forFile(File file) {
+        return fileOffsets.computeIfAbsent(file,f->toBuilder().file(f).url(URLs.createURL(f)).build());
+    }
 }
@@ -0,0 +1,350 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Singular;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Search of the contents of the resources of a loader, e.g. of the classpath of a configuration.
+ * <p>
+ *     Literals are matched together by an {@link AhoCorasickMatcher} directly on the bytes of each resource,
+ *     with literals encoded as UTF-8.
+ *     Regular expressions are matched on the same bytes read as ISO-8859-1;
+ *     offsets are byte offsets for both, and non-ASCII characters of expressions must be given as their UTF-8 bytes.
+ * </p>
+ * <p>
+ *     Every source of resources of the loader is searched, in parallel per source.
+ *     Resources shadowed on a classpath are searched too, as these are still present in the dependencies.
+ *     Resources are read as heap buffers, mapped only for large files and large entries stored without compression.
+ * </p>
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Getter
+@AllArgsConstructor(access=AccessLevel.PRIVATE)
+@lombok.Builder(builderClassName="Builder",toBuilder=true)
+public class ResourceSearch {
+    /**
+     * Default number of sources searched in parallel.
+     */
+    public static final int DEFAULT_PARALLELISM=FanOut.DEFAULT_PARALLELISM;
+
+    /**
+     * Loader to search, e.g. a {@link ConfigurationResourceLoader}.
+     */
+    @NonNull  //Lombok!
+    private final ResourceLoader resourceLoader;
+
+    /**
+     * Literals to search for.
+     * These are matched as their UTF-8 encoding.
+     */
+    @Singular
+    private final List<String> literals;
+
+    /**
+     * Regular expressions to search for.
+     * These are matched on bytes read as ISO-8859-1,
+     * hence non-ASCII characters must be given as the characters of their UTF-8 bytes, e.g. {@code \xC3\xA6} for U+00E6.
+     */
+    @Singular
+    private final List<Pattern> regexes;
+
+    /**
+     * Indicates, if literals should be matched ignoring the case of ASCII letters.
+     */
+    @lombok.Builder.Default
+    private final boolean ignoreCase=false;
+
+    /**
+     * Glob pattern of the names of the resources to search, e.g. {@code META-INF/**}.
+     * If not set, all resources are searched.
+     */
+    private final String glob;
+
+    /**
+     * Glob pattern of the names of the resources to skip, e.g. {@code **}{@code /*.class}.
+     * If not set, no resources are skipped.
+     */
+    private final String excludeGlob;
+
+    /**
+     * Number of sources searched in parallel.
+     */
+    @lombok.Builder.Default
+    private final int parallelism=DEFAULT_PARALLELISM;
+
+    /**
+     * Executor searching sources in parallel.
+     * If not set, each source is searched in a virtual thread.
+     */
+    private final Executor executor;
+
+    /**
+     * Searches for matches, passing on matches as these are found.
+     * <p>
+     *     The consumer is never invoked concurrently.
+     *     Matches of a resource are passed on in order of their end, with matches of regular expressions
+     *     before matches of literals ending at the same offset, while matches of different sources interleave.
+     * </p>
+     * @param consumer Consumer of matches.
+     * @return Number of matches.
+     * @throws IllegalStateException Thrown in case of no literals and no regular expressions.
+     */
+    public long search(Consumer<ResourceMatch> consumer) {
+        Object lock=new Object();
+        Consumer<ResourceMatch> serializedConsumer=match->{
+            synchronized (lock) {
+                consumer.accept(match);
+            }
+        };
+        Searcher searcher=createSearcher();
+        List<Long> counts=searchSources(source->searchSource(source,searcher,serializedConsumer));
+        return counts.stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Searches for matches.
+     * @return Matches, in chain order of sources and in order of their end within each resource.
+     * @throws IllegalStateException Thrown in case of no literals and no regular expressions.
+     */
+    public List<ResourceMatch> search() {
+        Searcher searcher=createSearcher();
+        List<List<ResourceMatch>> sourceMatches=searchSources(source->{
+            List<ResourceMatch> matches=new ArrayList<>();
+            searchSource(source,searcher,matches::add);
+            return matches;
+        });
+        return sourceMatches.stream().flatMap(List::stream).toList();
+    }
+
+    /**
+     * Creates the searcher of the patterns.
+     * @return Searcher.
+     * @throws IllegalStateException Thrown in case of no literals and no regular expressions.
+     */
+    private Searcher createSearcher() {
+        if (literals.isEmpty() && regexes.isEmpty()) {
+            throw new IllegalStateException("Failure to search resources; no literals and no regular expressions are present!");
+        }
+        AhoCorasickMatcher matcher=null;
+        if (!literals.isEmpty()) {
+            List<byte[]> patterns=literals.stream().map(literal->literal.getBytes(StandardCharsets.UTF_8)).toList();
+            matcher=AhoCorasickMatcher.of(patterns,ignoreCase);
+        }
+        return new Searcher(matcher,
+                            glob==null?null:ResourceNames.getGlobPrefix(glob),
+                            glob==null?null:ResourceNames.toGlobPattern(glob),
+                            excludeGlob==null?null:ResourceNames.toGlobPattern(excludeGlob));
+    }
+
+    /**
+     * Applies a function to each source of resources, with a bounded number of sources searched in parallel.
+     * @param function Function applied to a source.
+     * @param <T> Type of result.
+     * @return Results, in chain order of sources.
+     */
+    private <T> List<T> searchSources(Function<ResourceLoader,T> function) {
+        List<ResourceLoader> sources=ResourceLoaders.getLeafResourceLoaders(resourceLoader);
+        Executor effectiveExecutor=executor!=null?executor:FanOut.VIRTUAL_THREADS;
+        return FanOut.map(sources,function,effectiveExecutor,parallelism);
+    }
+
+    /**
+     * Searches a source for matches.
+     * @param source Source of resources.
+     * @param searcher Searcher of the patterns.
+     * @param consumer Consumer of matches.
+     * @return Number of matches.
+     */
+    private long searchSource(ResourceLoader source,
+                              Searcher searcher,
+                              Consumer<ResourceMatch> consumer) {
+        String description=ResourceLoaders.describe(source);
+        long res=0;
+        for (String name: ResourceNames.listResourceNames(source)) {
+            if (searcher.accepts(name)) {
+                ByteBuffer contents=source.getResourceAsByteBuffer(name);
+                if (contents!=null) {
+                    res+=searchContents(description,name,contents,searcher,consumer);
+                }
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Searches the contents of a resource for matches.
+     * <p>
+     *     Matches of literals are found in order of their end.
+     *     Matches of each regular expression are found in order too, since these do not overlap,
+     *     and are passed on between matches of literals by their end.
+     * </p>
+     * @param description Description of the source of the resource.
+     * @param name Resource name.
+     * @param contents Contents of resource.
+     * @param searcher Searcher of the patterns.
+     * @param consumer Consumer of matches.
+     * @return Number of matches.
+     */
+    private long searchContents(String description,
+                                String name,
+                                ByteBuffer contents,
+                                Searcher searcher,
+                                Consumer<ResourceMatch> consumer) {
+        long[] count=new long[1];
+        Consumer<ResourceMatch> countingConsumer=match->{
+            consumer.accept(match);
+            count[0]++;
+        };
+        List<Matcher> regexMatchers=new ArrayList<>(regexes.size());
+        if (!regexes.isEmpty()) {
+            CharSequence text=new Latin1Sequence(contents,contents.position(),contents.limit());
+            for (Pattern regex: regexes) {
+                Matcher regexMatcher=regex.matcher(text);
+                if (regexMatcher.find()) {
+                    regexMatchers.add(regexMatcher);
+                }
+            }
+        }
+        AhoCorasickMatcher matcher=searcher.matcher;
+        if (matcher!=null) {
+            matcher.search(contents,(pattern,offset)->{
+                int length=matcher.getPatternLength(pattern);
+                passRegexMatches(description,name,regexMatchers,offset+length,countingConsumer);
+                countingConsumer.accept(new ResourceMatch(description,name,offset,length,literals.get(pattern)));
+            });
+        }
+        passRegexMatches(description,name,regexMatchers,Integer.MAX_VALUE,countingConsumer);
+        return count[0];
+    }
+
+    /**
+     * Passes on the matches of regular expressions ending no later than an offset, in order of their end.
+     * Matches ending at the same offset are passed on in the order of the regular expressions.
+     * @param description Description of the source of the resource.
+     * @param name Resource name.
+     * @param regexMatchers Matchers of regular expressions, each positioned at a match not passed on yet.
+     *                      Matchers without further matches are removed.
+     * @param end Offset of the end of the matches to pass on.
+     * @param consumer Consumer of matches.
+     */
+    private static void passRegexMatches(String description,
+                                         String name,
+                                         List<Matcher> regexMatchers,
+                                         int end,
+                                         Consumer<ResourceMatch> consumer) {
+        Matcher first;
+        do {
+            first=null;
+            for (Matcher regexMatcher: regexMatchers) {
+                if (regexMatcher.end()<=end && (first==null || regexMatcher.end()<first.end())) {
+                    first=regexMatcher;
+                }
+            }
+            if (first!=null) {
+                int offset=first.start();
+                consumer.accept(new ResourceMatch(description,name,offset,first.end()-offset,first.pattern().pattern()));
+                if (!first.find()) {
+                    regexMatchers.remove(first);
+                }
+            }
+        } while (first!=null);
+    }
+
+    /**
+     * Compiled patterns and name filters.
+     */
+    @AllArgsConstructor
+    private static final class Searcher {
+        /**
+         * Matcher of literals.
+         * This is {@code null} in case of no literals.
+         */
+        private final AhoCorasickMatcher matcher;
+
+        /**
+         * Literal prefix of the names of the resources to search.
+         */
+        private final String prefix;
+
+        /**
+         * Names of the resources to search.
+         */
+        private final Pattern includePattern;
+
+        /**
+         * Names of the resources to skip.
+         */
+        private final Pattern excludePattern;
+
+        /**
+         * Indicates, if a resource should be searched.
+         * @param name Resource name.
+         * @return Indicates, if resource should be searched.
+         */
+        private boolean accepts(String name) {
+            return (prefix==null || name.startsWith(prefix)) &&
+                   (includePattern==null || includePattern.matcher(name).matches()) &&
+                   (excludePattern==null || !excludePattern.matcher(name).matches());
+        }
+    }
+
+    /**
+     * Characters of a buffer read as ISO-8859-1, without copying.
+     */
+    @AllArgsConstructor
+    private static final class Latin1Sequence implements CharSequence {
+        /**
+         * Buffer.
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * Start of the characters within the buffer.
+         */
+        private final int start;
+
+        /**
+         * End of the characters within the buffer.
+         */
+        private final int end;
+
+        @Override
+        public int length() {
+            return end-start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char)(buffer.get(start+index)&0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int start,
+                                        int end) {
+            return new Latin1Sequence(buffer,this.start+start,this.start+end);
+        }
+
+        @Override
+        public String toString() {
+            byte[] bytes=new byte[end-start];
+            buffer.get(start,bytes);
+            return new String(bytes,StandardCharsets.ISO_8859_1);
+        }
+    }
+}
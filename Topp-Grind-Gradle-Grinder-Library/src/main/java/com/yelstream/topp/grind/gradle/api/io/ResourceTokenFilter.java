@@ -0,0 +1,459 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.function.Function;
+
+/**
+ * Filter of the contents of resources, replacing tokens like {@code ${name}} by their values.
+ * <p>
+ *     Contents are filtered as a stream with bounded memory:
+ *     bytes are read in chunks, decoded by a single decoder, filtered, encoded by a single encoder and written to a channel.
+ *     Tokens spanning the boundaries of chunks are replaced as any other token.
+ *     Memory is bounded by the size of buffers and the maximum length of a token.
+ * </p>
+ * <p>
+ *     Tokens without a value are left as is.
+ *     Text starting like a token but exceeding the maximum length of a token is left as is too.
+ *     A token starting within the name of another token starts anew, leaving the text before it as is.
+ * </p>
+ * <p>
+ *     Instances are immutable and safe for concurrent use; each filtering has a pipeline of buffers and coders of its own.
+ * </p>
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Getter
+@AllArgsConstructor(access=AccessLevel.PRIVATE)
+@lombok.Builder(builderClassName="Builder",toBuilder=true)
+public class ResourceTokenFilter {
+    /**
+     * Default start of tokens.
+     */
+    public static final String DEFAULT_TOKEN_START="${";
+
+    /**
+     * Default end of tokens.
+     */
+    public static final String DEFAULT_TOKEN_END="}";
+
+    /**
+     * Default maximum number of characters of the name of a token.
+     */
+    public static final int DEFAULT_MAX_TOKEN_LENGTH=1024;
+
+    /**
+     * Default size of buffers.
+     */
+    public static final int DEFAULT_BUFFER_SIZE=ResourceChannels.BUFFER_SIZE;
+
+    /**
+     * Resolver of the values of tokens by name.
+     * This returns {@code null} for tokens without a value.
+     */
+    @NonNull  //Lombok!
+    private final Function<String,String> resolver;
+
+    /**
+     * Character set of contents.
+     */
+    @lombok.Builder.Default
+    private final Charset charset=StandardCharsets.UTF_8;
+
+    /**
+     * Start of tokens.
+     */
+    @lombok.Builder.Default
+    private final String tokenStart=DEFAULT_TOKEN_START;
+
+    /**
+     * End of tokens.
+     */
+    @lombok.Builder.Default
+    private final String tokenEnd=DEFAULT_TOKEN_END;
+
+    /**
+     * Maximum number of characters of the name of a token.
+     */
+    @lombok.Builder.Default
+    private final int maxTokenLength=DEFAULT_MAX_TOKEN_LENGTH;
+
+    /**
+     * Size of buffers, in bytes for buffers of bytes and in characters for buffers of characters.
+     */
+    @lombok.Builder.Default
+    private final int bufferSize=DEFAULT_BUFFER_SIZE;
+
+    /**
+     * Filters the contents of a channel.
+     * @param source Source channel.
+     * @param target Target channel.
+     * @return Number of bytes written.
+     * @throws IOException Thrown in case of I/O error or in case contents cannot be decoded or encoded.
+     */
+    public long filter(ReadableByteChannel source,
+                       WritableByteChannel target) throws IOException {
+        if (tokenStart.isEmpty() || tokenEnd.isEmpty()) {
+            throw new IllegalStateException(String.format("Failure to filter contents; start and end of tokens must not be empty, start is '%s', end is '%s'!",tokenStart,tokenEnd));
+        }
+        return new Pipeline(target).run(source);
+    }
+
+    /**
+     * Filters the contents of a resource.
+     * @param resourceLoader Loader of resource.
+     * @param name Resource name.
+     * @param target Target channel.
+     * @return Number of bytes written.
+     *         This is {@code -1} in case the resource does not exist.
+     * @throws IOException Thrown in case of I/O error or in case contents cannot be decoded or encoded.
+     */
+    public long filterResource(ResourceLoader resourceLoader,
+                               String name,
+                               WritableByteChannel target) throws IOException {
+        long res=-1;
+        ReadableByteChannel channel=resourceLoader.getResourceAsChannel(name);
+        if (channel!=null) {
+            try (channel) {
+                res=filter(channel,target);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Filters the contents of a resource into a file.
+     * An existing file is truncated.
+     * @param resourceLoader Loader of resource.
+     * @param name Resource name.
+     * @param target Target file.
+     * @return Number of bytes written.
+     *         This is {@code -1} in case the resource does not exist, in which case no file is written.
+     * @throws IOException Thrown in case of I/O error or in case contents cannot be decoded or encoded.
+     */
+    public long copyResource(ResourceLoader resourceLoader,
+                             String name,
+                             Path target) throws IOException {
+        long res=-1;
+        ReadableByteChannel channel=resourceLoader.getResourceAsChannel(name);
+        if (channel!=null) {
+            try (channel; FileChannel targetChannel=ResourceChannels.openTarget(target)) {
+                res=filter(channel,targetChannel);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * State of matching of tokens.
+     */
+    private enum State {
+        /**
+         * Within text outside tokens.
+         */
+        TEXT,
+
+        /**
+         * Within the start of a token.
+         */
+        START,
+
+        /**
+         * Within the name or the end of a token.
+         */
+        NAME
+    }
+
+    /**
+     * Pipeline of buffers and coders of a single filtering.
+     */
+    private final class Pipeline {
+        /**
+         * Target channel.
+         */
+        private final WritableByteChannel target;
+
+        /**
+         * Decoder of contents.
+         */
+        private final CharsetDecoder decoder=charset.newDecoder();
+
+        /**
+         * Encoder of contents.
+         */
+        private final CharsetEncoder encoder=charset.newEncoder();
+
+        /**
+         * Bytes read.
+         */
+        private final ByteBuffer input=ByteBuffer.allocate(bufferSize);
+
+        /**
+         * Characters decoded.
+         */
+        private final CharBuffer decoded=CharBuffer.allocate(bufferSize);
+
+        /**
+         * Characters filtered.
+         */
+        private final CharBuffer filtered=CharBuffer.allocate(bufferSize);
+
+        /**
+         * Bytes encoded.
+         */
+        private final ByteBuffer output=ByteBuffer.allocate(bufferSize);
+
+        /**
+         * Characters of a token being matched, from the start of the token.
+         */
+        private final StringBuilder pending=new StringBuilder();
+
+        /**
+         * State of matching.
+         */
+        private State state=State.TEXT;
+
+        /**
+         * Number of bytes written.
+         */
+        private long count;
+
+        /**
+         * Constructor.
+         * @param target Target channel.
+         */
+        private Pipeline(WritableByteChannel target) {
+            this.target=target;
+        }
+
+        /**
+         * Filters the contents of a channel.
+         * @param source Source channel.
+         * @return Number of bytes written.
+         * @throws IOException Thrown in case of I/O error or in case contents cannot be decoded or encoded.
+         */
+        private long run(ReadableByteChannel source) throws IOException {
+            boolean endOfInput=false;
+            while (true) {
+                if (!endOfInput && input.hasRemaining()) {
+                    endOfInput=source.read(input)<0;
+                }
+                input.flip();
+                CoderResult result=decoder.decode(input,decoded,endOfInput);
+                input.compact();
+                if (result.isError()) {
+                    result.throwException();
+                }
+                process();
+                if (endOfInput && result.isUnderflow()) {
+                    break;
+                }
+            }
+            while (decoder.flush(decoded).isOverflow()) {
+                process();
+            }
+            process();
+
+            emit(pending);
+            pending.setLength(0);
+            encode(true);
+            while (encoder.flush(output).isOverflow()) {
+                write();
+            }
+            write();
+            return count;
+        }
+
+        /**
+         * Filters the characters decoded.
+         * @throws IOException Thrown in case of I/O error or in case contents cannot be encoded.
+         */
+        private void process() throws IOException {
+            decoded.flip();
+            scan(decoded.array(),decoded.position(),decoded.limit());
+            decoded.clear();
+        }
+
+        /**
+         * Filters characters.
+         * @param chars Characters.
+         * @param offset Offset of characters.
+         * @param end End of characters.
+         * @throws IOException Thrown in case of I/O error or in case contents cannot be encoded.
+         */
+        private void scan(char[] chars,
+                          int offset,
+                          int end) throws IOException {
+            int i=offset;
+            char first=tokenStart.charAt(0);
+            while (i<end) {
+                if (state==State.TEXT) {
+                    int start=i;
+                    while (i<end && chars[i]!=first) {
+                        i++;
+                    }
+                    emit(chars,start,i-start);
+                    if (i<end) {
+                        pending.append(first);
+                        state=tokenStart.length()==1?State.NAME:State.START;
+                        i++;
+                    }
+                } else {
+                    char c=chars[i];
+                    if (state==State.START) {
+                        if (c==tokenStart.charAt(pending.length())) {
+                            pending.append(c);
+                            if (pending.length()==tokenStart.length()) {
+                                state=State.NAME;
+                            }
+                            i++;
+                        } else {
+                            reject();  //Character is processed again!
+                        }
+                    } else {
+                        pending.append(c);
+                        i++;
+                        if (pending.length()>tokenStart.length()+maxTokenLength+tokenEnd.length()) {
+                            reject();
+                        } else {
+                            if (endsWith(tokenEnd)) {
+                                String tokenName=pending.substring(tokenStart.length(),pending.length()-tokenEnd.length());
+                                String value=resolver.apply(tokenName);
+                                emit(value!=null?value:pending);
+                                pending.setLength(0);
+                                state=State.TEXT;
+                            } else {
+                                if (endsWith(tokenStart)) {
+                                    int start=pending.length()-tokenStart.length();
+                                    emit(pending.subSequence(0,start));
+                                    pending.delete(0,start);  //Token starts anew!
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Rejects the characters of the token being matched as a token.
+         * The first character is emitted, and the remaining characters are filtered again,
+         * since these may hold the start of a token, e.g. {@code <<@} within {@code <<<@}.
+         * @throws IOException Thrown in case of I/O error or in case contents cannot be encoded.
+         */
+        private void reject() throws IOException {
+            char[] rest=new char[pending.length()-1];
+            pending.getChars(1,pending.length(),rest,0);
+            emit(pending.subSequence(0,1));
+            pending.setLength(0);
+            state=State.TEXT;
+            scan(rest,0,rest.length);
+        }
+
+        /**
+         * Indicates, if the characters of the token being matched end with a suffix following the start of the token.
+         * @param suffix Suffix, e.g. the end of tokens.
+         * @return Indicates, if the token ends with the suffix.
+         */
+        private boolean endsWith(String suffix) {
+            int offset=pending.length()-suffix.length();
+            if (offset<tokenStart.length()) {
+                return false;
+            }
+            for (int j=0; j<suffix.length(); j++) {
+                if (pending.charAt(offset+j)!=suffix.charAt(j)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Emits characters as filtered.
+         * @param chars Characters.
+         * @throws IOException Thrown in case of I/O error or in case contents cannot be encoded.
+         */
+        private void emit(CharSequence chars) throws IOException {
+            int length=chars.length();
+            int i=0;
+            while (i<length) {
+                if (!filtered.hasRemaining()) {
+                    encode(false);
+                }
+                int end=i+Math.min(filtered.remaining(),length-i);
+                filtered.append(chars,i,end);
+                i=end;
+            }
+        }
+
+        /**
+         * Emits characters as filtered.
+         * @param chars Characters.
+         * @param offset Offset of characters.
+         * @param length Number of characters.
+         * @throws IOException Thrown in case of I/O error or in case contents cannot be encoded.
+         */
+        private void emit(char[] chars,
+                          int offset,
+                          int length) throws IOException {
+            int i=0;
+            while (i<length) {
+                if (!filtered.hasRemaining()) {
+                    encode(false);
+                }
+                int n=Math.min(filtered.remaining(),length-i);
+                filtered.put(chars,offset+i,n);
+                i+=n;
+            }
+        }
+
+        /**
+         * Encodes the characters filtered and writes the bytes encoded.
+         * @param endOfInput Indicates, if no more characters follow.
+         * @throws IOException Thrown in case of I/O error or in case contents cannot be encoded.
+         */
+        private void encode(boolean endOfInput) throws IOException {
+            filtered.flip();
+            while (true) {
+                CoderResult result=encoder.encode(filtered,output,endOfInput);
+                if (result.isError()) {
+                    result.throwException();
+                }
+                write();
+                if (result.isUnderflow()) {
+                    break;
+                }
+            }
+            filtered.compact();
+        }
+
+        /**
+         * Writes the bytes encoded.
+         * @throws IOException Thrown in case of I/O error.
+         */
+        private void write() throws IOException {
+            output.flip();
+            while (output.hasRemaining()) {
+                count+=target.write(output);
+            }
+            output.clear();
+        }
+    }
+}
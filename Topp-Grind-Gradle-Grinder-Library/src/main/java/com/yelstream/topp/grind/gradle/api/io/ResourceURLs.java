@@ -0,0 +1,119 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import lombok.experimental.UtilityClass;
+
+import java.io.File;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLStreamHandler;
+import java.nio.file.Path;
+
+/**
+ * Utilities addressing the URLs of resources.
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@UtilityClass
+public class ResourceURLs {
+    /**
+     * Creates the prefix of the URIs of the entries of an archive.
+     * This is on the form {@code jar:file:/path/to/archive.jar!/}.
+     * @param archive Archive file.
+     * @return URI prefix.
+     */
+    public static String createArchiveURIPrefix(File archive) {
+        return "jar:"+archive.toURI()+"!/";
+    }
+
+    /**
+     * Creates the URL of an entry in an archive.
+     * @param archiveURIPrefix Prefix of the URIs of the entries of the archive.
+     * @param name Name of entry.
+     * @return URL of entry.
+     */
+    public static URL createArchiveEntryURL(String archiveURIPrefix,
+                                            String name) {
+        try {
+            return URI.create(archiveURIPrefix+encodePath(name)).toURL();
+        } catch (MalformedURLException ex) {
+            throw new IllegalArgumentException(String.format("Failure to create URL of archive entry; archive is %s, name is %s!",archiveURIPrefix,name),ex);
+        }
+    }
+
+    /**
+     * Creates the prefix of the URIs of the entries of an archive nested within another archive.
+     * This is on the form {@code jar:file:/path/to/archive.jar!/path/to/nested.jar!/}.
+     * @param archive Outer archive file.
+     * @param entryName Name of the entry of the nested archive within the outer archive.
+     * @return URI prefix.
+     */
+    public static String createNestedArchiveURIPrefix(File archive,
+                                                      String entryName) {
+        return createArchiveURIPrefix(archive)+encodePath(entryName)+"!/";
+    }
+
+    /**
+     * Creates the URL of an entry in an archive, opened by a specific handler.
+     * This is used for archives which the standard {@code jar:} handler cannot open, e.g. nested archives.
+     * @param archiveURIPrefix Prefix of the URIs of the entries of the archive.
+     * @param name Name of entry.
+     * @param handler Handler opening the URL.
+     * @return URL of entry.
+     */
+    public static URL createArchiveEntryURL(String archiveURIPrefix,
+                                            String name,
+                                            URLStreamHandler handler) {
+        try {
+            return URL.of(URI.create(archiveURIPrefix+encodePath(name)),handler);
+        } catch (MalformedURLException ex) {
+            throw new IllegalArgumentException(String.format("Failure to create URL of archive entry; archive is %s, name is %s!",archiveURIPrefix,name),ex);
+        }
+    }
+
+    /**
+     * Gets the name of an entry from the URL of the entry in an archive.
+     * @param archiveURIPrefix Prefix of the URIs of the entries of the archive.
+     * @param url URL of entry.
+     * @return Name of entry.
+     *         This is {@code null} in case the URL is not of an entry in the archive.
+     */
+    public static String getArchiveEntryName(String archiveURIPrefix,
+                                             URL url) {
+        String res=null;
+        String uri=url.toString();
+        if (uri.startsWith(archiveURIPrefix)) {
+            res=URI.create("/"+uri.substring(archiveURIPrefix.length())).getPath().substring(1);
+        }
+        return res;
+    }
+
+    /**
+     * Encodes a resource name as the raw path of a URI.
+     * @param name Resource name.
+     * @return Raw path.
+     */
+    private static String encodePath(String name) {
+        try {
+            return new URI(null,null,name,null).getRawPath();
+        } catch (URISyntaxException ex) {
+            throw new IllegalArgumentException(String.format("Failure to encode resource name; name is %s!",name),ex);
+        }
+    }
+
+    /**
+     * Creates the URL of a file.
+     * @param path Path of file.
+     * @return URL of file.
+     */
+    public static URL createFileURL(Path path) {
+        try {
+            return path.toUri().toURL();
+        } catch (MalformedURLException ex) {
+            throw new IllegalArgumentException(String.format("Failure to create URL of file; path is %s!",path),ex);
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Compact index of the service providers registered by service descriptor files.
+ * <p>
+ *     Three kinds of descriptor files are read:
+ * </p>
+ * <ul>
+ *     <li>{@code META-INF/services/<type>}, as read by {@link java.util.ServiceLoader}, one provider per line.</li>
+ *     <li>{@code META-INF/spring.factories}, a properties file mapping types to comma-separated providers.</li>
+ *     <li>{@code META-INF/spring/<type>.imports}, one provider per line.</li>
+ * </ul>
+ * <p>
+ *     Providers of each type are held in the order registered, without repetitions.
+ *     Instances are immutable and thread-safe.
+ * </p>
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public class ServiceIndex {
+    /**
+     * Empty index.
+     */
+    public static final ServiceIndex EMPTY=of(Map.of());
+
+    /**
+     * Prefix of the names of service descriptor files read by {@link java.util.ServiceLoader}.
+     */
+    public static final String SERVICES_PREFIX="META-INF/services/";
+
+    /**
+     * Name of the Spring factories descriptor file.
+     */
+    public static final String SPRING_FACTORIES="META-INF/spring.factories";
+
+    /**
+     * Prefix of the names of Spring imports descriptor files.
+     */
+    public static final String SPRING_IMPORTS_PREFIX="META-INF/spring/";
+
+    /**
+     * Suffix of the names of Spring imports descriptor files.
+     */
+    public static final String SPRING_IMPORTS_SUFFIX=".imports";
+
+    /**
+     * Names of service types, sorted.
+     */
+    private final String[] types;
+
+    /**
+     * Start of the providers of each type in the names of providers, plus the end of the last type.
+     */
+    private final int[] starts;
+
+    /**
+     * Names of providers.
+     */
+    private final String[] providers;
+
+    /**
+     * Constructor.
+     * @param types Names of service types, sorted.
+     * @param starts Start of the providers of each type, plus the end of the last type.
+     * @param providers Names of providers.
+     */
+    private ServiceIndex(String[] types,
+                         int[] starts,
+                         String[] providers) {
+        this.types=types;
+        this.starts=starts;
+        this.providers=providers;
+    }
+
+    /**
+     * Indicates, if no providers are registered.
+     * @return Indicates, if empty.
+     */
+    public boolean isEmpty() {
+        return types.length==0;
+    }
+
+    /**
+     * Gets the names of the service types having providers registered.
+     * @return Names of service types, sorted.
+     */
+    public List<String> getServiceTypes() {
+        return Collections.unmodifiableList(Arrays.asList(types));
+    }
+
+    /**
+     * Gets the providers registered for a service type.
+     * @param type Name of service type.
+     * @return Names of providers, in the order registered.
+     *         This is empty in case no providers are registered.
+     */
+    public List<String> getProviders(String type) {
+        List<String> res=List.of();
+        int index=Arrays.binarySearch(types,type);
+        if (index>=0) {
+            res=Collections.unmodifiableList(Arrays.asList(providers).subList(starts[index],starts[index+1]));
+        }
+        return res;
+    }
+
+    /**
+     * Indicates, if a resource is a service descriptor file.
+     * @param name Resource name.
+     * @return Indicates, if a service descriptor file.
+     */
+    public static boolean isServiceDescriptorName(String name) {
+        boolean res;
+        if (name.startsWith(SERVICES_PREFIX)) {
+            res=name.length()>SERVICES_PREFIX.length() && name.indexOf('/',SERVICES_PREFIX.length())<0;
+        } else {
+            if (name.startsWith(SPRING_IMPORTS_PREFIX)) {
+                res=name.endsWith(SPRING_IMPORTS_SUFFIX) && name.indexOf('/',SPRING_IMPORTS_PREFIX.length())<0;
+            } else {
+                res=name.equals(SPRING_FACTORIES);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Creates the index of the service descriptor files of a source of resources.
+     * @param source Source of resources.
+     * @return Index of source.
+     */
+    public static ServiceIndex scan(ResourceLoader source) {
+        return read(ResourceNames.listResourceNames(source),source::getResourceAsStream);
+    }
+
+    /**
+     * Creates the index of the service descriptor files among a set of resources.
+     * @param names Names of resources.
+     *              Names of resources which are not service descriptor files are ignored.
+     * @param opener Opener of the stream of a named resource.
+     * @return Index of service descriptor files.
+     */
+    static ServiceIndex read(Collection<String> names,
+                             Function<String,InputStream> opener) {
+        Map<String,Set<String>> registrations=new TreeMap<>();
+        for (String name: names) {
+            if (isServiceDescriptorName(name)) {
+                try (InputStream stream=opener.apply(name)) {
+                    if (stream!=null) {
+                        readDescriptor(name,stream,registrations);
+                    }
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(String.format("Failure to read service descriptor; name is %s!",name),ex);
+                }
+            }
+        }
+        return of(registrations);
+    }
+
+    /**
+     * Reads a service descriptor file.
+     * @param name Name of descriptor file.
+     * @param stream Contents of descriptor file.
+     * @param registrations Providers added to, keyed by service type.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private static void readDescriptor(String name,
+                                       InputStream stream,
+                                       Map<String,Set<String>> registrations) throws IOException {
+        if (name.equals(SPRING_FACTORIES)) {
+            Properties properties=new Properties();
+            properties.load(stream);
+            for (String type: properties.stringPropertyNames()) {
+                Set<String> typeProviders=registrations.computeIfAbsent(type.trim(),t->new LinkedHashSet<>());
+                for (String provider: properties.getProperty(type).split(",")) {
+                    if (!provider.isBlank()) {
+                        typeProviders.add(provider.trim());
+                    }
+                }
+            }
+        } else {
+            String type;
+            if (name.startsWith(SERVICES_PREFIX)) {
+                type=name.substring(SERVICES_PREFIX.length());
+            } else {
+                type=name.substring(SPRING_IMPORTS_PREFIX.length(),name.length()-SPRING_IMPORTS_SUFFIX.length());
+            }
+            Set<String> typeProviders=registrations.computeIfAbsent(type,t->new LinkedHashSet<>());
+            BufferedReader reader=new BufferedReader(new InputStreamReader(stream,StandardCharsets.UTF_8));
+            String line;
+            while ((line=reader.readLine())!=null) {
+                int comment=line.indexOf('#');
+                String provider=(comment<0?line:line.substring(0,comment)).trim();
+                if (!provider.isEmpty()) {
+                    typeProviders.add(provider);
+                }
+            }
+        }
+    }
+
+    /**
+     * Merges indexes.
+     * @param indexes Indexes, in chain order.
+     *                Providers of a type are held in chain order, and a provider registered more than once is held once.
+     * @return Merged index.
+     */
+    public static ServiceIndex merge(List<ServiceIndex> indexes) {
+        Map<String,Set<String>> registrations=new TreeMap<>();
+        for (ServiceIndex index: indexes) {
+            for (int i=0; i<index.types.length; i++) {
+                registrations.computeIfAbsent(index.types[i],t->new LinkedHashSet<>()).addAll(Arrays.asList(index.providers).subList(index.starts[i],index.starts[i+1]));
+            }
+        }
+        return of(registrations);
+    }
+
+    /**
+     * Creates an index.
+     * @param registrations Providers, keyed by service type.
+     *                      Types without providers are left out.
+     * @return Created index.
+     */
+    private static ServiceIndex of(Map<String,? extends Collection<String>> registrations) {
+        List<String> types=new ArrayList<>(registrations.size());
+        List<String> providers=new ArrayList<>();
+        List<Integer> starts=new ArrayList<>(registrations.size()+1);
+        new TreeMap<>(registrations).forEach((type,typeProviders)->{
+            if (!typeProviders.isEmpty()) {
+                types.add(type);
+                starts.add(providers.size());
+                providers.addAll(typeProviders);
+            }
+        });
+        starts.add(providers.size());
+        return new ServiceIndex(types.toArray(String[]::new),starts.stream().mapToInt(Integer::intValue).toArray(),providers.toArray(String[]::new));
+    }
+
+    /**
+     * Encodes this index.
+     * @param out Output.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    void encode(DataOutputStream out) throws IOException {
+        out.writeInt(types.length);
+        for (int i=0; i<types.length; i++) {
+            writeString(out,types[i]);
+            out.writeInt(starts[i+1]-starts[i]);
+            for (int j=starts[i]; j<starts[i+1]; j++) {
+                writeString(out,providers[j]);
+            }
+        }
+    }
+
+    /**
+     * Writes a string.
+     * @param out Output.
+     * @param value String.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private static void writeString(DataOutputStream out,
+                                    String value) throws IOException {
+        byte[] bytes=value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Decodes an index.
+     * @param buffer Encoded index, as written by {@link #encode(DataOutputStream)}.
+     * @return Decoded index.
+     * @throws IllegalArgumentException Thrown in case of an invalid number of service types.
+     */
+    static ServiceIndex decode(ByteBuffer buffer) {
+        int count=buffer.getInt();
+        if (count<0 || count>buffer.remaining()/(Short.BYTES+Integer.BYTES)) {
+            throw new IllegalArgumentException(String.format("Failure to decode service index; number of service types is %d!",count));
+        }
+        String[] types=new String[count];
+        int[] starts=new int[count+1];
+        List<String> providers=new ArrayList<>();
+        for (int i=0; i<count; i++) {
+            types[i]=readString(buffer);
+            starts[i]=providers.size();
+            int providerCount=buffer.getInt();
+            for (int j=0; j<providerCount; j++) {
+                providers.add(readString(buffer));
+            }
+        }
+        starts[count]=providers.size();
+        return new ServiceIndex(types,starts,providers.toArray(String[]::new));
+    }
+
+    /**
+     * Reads a string.
+     * @param buffer Buffer.
+     * @return String.
+     */
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes=new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return new String(bytes,StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,596 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.file.RegularFile;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.invocation.Gradle;
+import org.gradle.api.logging.LogLevel;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Build service handing out resource loaders shared across tasks and projects.
+ * <p>
+ *     Loaders are keyed by the resolved set of files and the options of creation.
+ *     The executor, the collectors of metrics and the index store of shared loaders are owned by the service,
+ *     and options setting these are refused;
+ *     shared loaders query in parallel by virtual threads, and never hold objects of the build of a caller.
+ *     Each acquired loader is a lease of a shared loader, and closing the lease releases it;
+ *     the shared loader is reference-counted.
+ * </p>
+ * <p>
+ *     Shared loaders are created without any Gradle model objects in their resource offset.
+ *     Each lease rebinds the locations returned to the resource offset it was acquired with,
+ *     hence retained loaders do not keep configurations of past builds reachable.
+ * </p>
+ * <p>
+ *     Loaders over archives only are retained in the daemon across builds,
+ *     for as long as the archives keep their sizes and times of last modification,
+ *     and up to a maximum number of unused loaders.
+ *     Loaders over sets including directories are closed when released by the last user,
+ *     since their content is not stamped.
+ *     When the build finishes, loaders which are not retained are closed, including loaders still leased.
+ * </p>
+ * <p>
+ *     If metrics are collected, each shared loader has its own collector, available through its leases,
+ *     and the loaders acquired during a build have a summary of their metrics logged when the build finishes.
+ *     If an index store file is set, the store is opened once per build, used when creating loaders,
+ *     and saved when the build finishes.
+ * </p>
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public abstract class SharedResourceLoaderService implements BuildService<SharedResourceLoaderService.Parameters>, AutoCloseable {
+    /**
+     * Name of the service when registered.
+     */
+    public static final String NAME="toppGrindSharedResourceLoaders";
+
+    /**
+     * Default value for the retention of loaders across builds.
+     */
+    public static final boolean DEFAULT_RETAIN_ACROSS_BUILDS=true;
+
+    /**
+     * Default value for the maximum number of unused loaders retained across builds.
+     */
+    public static final int DEFAULT_MAX_RETAINED=16;
+
+    /**
+     * Default value for the collection of metrics.
+     */
+    public static final boolean DEFAULT_COLLECT_METRICS=false;
+
+    /**
+     * Parameters of the service.
+     */
+    public interface Parameters extends BuildServiceParameters {
+        /**
+         * Gets the indication, if unused loaders over unchanged archives should be retained across builds.
+         * @return Indication, if retained.
+         */
+        Property<Boolean> getRetainAcrossBuilds();
+
+        /**
+         * Gets the maximum number of unused loaders retained across builds.
+         * @return Maximum number of retained loaders.
+         */
+        Property<Integer> getMaxRetained();
+
+        /**
+         * Gets the indication, if metrics of shared loaders should be collected.
+         * @return Indication, if collected.
+         */
+        Property<Boolean> getCollectMetrics();
+
+        /**
+         * Gets the file of the persistent store of archive indexes used when creating loaders.
+         * If not set, no store is used.
+         * @return Index store file.
+         */
+        RegularFileProperty getIndexStoreFile();
+    }
+
+    /**
+     * Shared loaders of the daemon, keyed by files and options, in order of least recent use.
+     * Guarded by itself.
+     */
+    private static final LinkedHashMap<Key,Entry> ENTRIES=new LinkedHashMap<>(16,0.75f,true);
+
+    /**
+     * Collectors of metrics of the loaders acquired during the build.
+     */
+    private final Set<ResourceMetrics> metrics=ConcurrentHashMap.newKeySet();
+
+    /**
+     * Store of archive indexes of the build, when opened.
+     * Guarded by this service.
+     */
+    private ResourceIndexStore indexStore;
+
+    /**
+     * Acquires a shared loader of a Gradle configuration.
+     * The configuration is resolved.
+     * @param configuration Gradle configuration.
+     * @param options Options for the creation of the loader.
+     * @return Lease of shared loader.
+     *         This must be closed after use.
+     */
+    public ResourceLoader acquire(Configuration configuration,
+                                  ResourceLoaderOptions options) {
+        ResourceOffset resourceOffset=ResourceOffset.builder().configuration(configuration).build();
+        return acquire(resourceOffset,configuration.getFiles(),options);
+    }
+
+    /**
+     * Acquires a shared loader of a set of files.
+     * <p>
+     *     A loader already shared for the same files and options is reused.
+     *     Locations returned by the lease refer to the resource offset given here.
+     * </p>
+     * @param resourceOffset Resource offset.
+     * @param files Files.
+     * @param options Options for the creation of the loader.
+     *                These must not set an executor, a collector of metrics nor an index store.
+     * @return Lease of shared loader.
+     *         This must be closed after use.
+     * @throws IllegalArgumentException Thrown in case the options set objects owned by the service.
+     */
+    public ResourceLoader acquire(ResourceOffset resourceOffset,
+                                  Collection<File> files,
+                                  ResourceLoaderOptions options) {
+        if (options.getExecutor()!=null || options.getMetrics()!=null || options.getIndexStore()!=null) {
+            throw new IllegalArgumentException("Failure to acquire shared resource loader; executor, metrics and index store of shared loaders are owned by the service!");
+        }
+        Key key=new Key(files.stream().map(File::getAbsolutePath).toList(),options);
+        long[] stamps=createStamps(files);
+        Entry entry;
+        List<Entry> staleEntries=new ArrayList<>();
+        synchronized (ENTRIES) {
+            entry=ENTRIES.get(key);
+            if (entry!=null && !Arrays.equals(entry.stamps,stamps)) {
+                ENTRIES.remove(key);
+                entry.stale=true;
+                if (entry.leases==0) {
+                    staleEntries.add(entry);
+                }
+                entry=null;
+            }
+            if (entry==null) {
+                entry=new Entry(key,stamps,isRetainable(files),isCollectMetrics()?new ResourceMetrics():null);
+                ENTRIES.put(key,entry);
+            }
+            entry.leases++;
+        }
+        closeAll(staleEntries);
+        if (entry.metrics!=null) {
+            metrics.add(entry.metrics);
+        }
+        try {
+            Set<File> fileSet=files instanceof Set<File> set?set:new LinkedHashSet<>(files);
+            Entry createdEntry=entry;
+            ResourceLoader resourceLoader=entry.getResourceLoader(()->{
+                ResourceLoaderOptions creationOptions=options.toBuilder().metrics(createdEntry.metrics).indexStore(getIndexStore()).build();
+                return ResourceLoaders.createResourceLoader(ResourceOffset.builder().build(),fileSet,creationOptions);
+            });
+            return new Lease(entry,resourceLoader,resourceOffset);
+        } catch (RuntimeException ex) {
+            release(entry);
+            throw ex;
+        }
+    }
+
+    /**
+     * Releases a lease of a shared loader.
+     * @param entry Shared loader.
+     */
+    private void release(Entry entry) {
+        boolean close=false;
+        synchronized (ENTRIES) {
+            entry.leases--;
+            if (entry.leases==0 && (entry.stale || !entry.retainable || !isRetainAcrossBuilds())) {
+                ENTRIES.remove(entry.key,entry);
+                close=true;
+            }
+        }
+        if (close) {
+            closeAll(List.of(entry));
+        }
+    }
+
+    /**
+     * Gets the store of archive indexes of the build, opening it if required.
+     * @return Index store.
+     *         This is {@code null} in case no index store file is set.
+     */
+    private synchronized ResourceIndexStore getIndexStore() {
+        if (indexStore==null) {
+            Path indexStoreFile=getIndexStoreFile();
+            if (indexStoreFile!=null) {
+                indexStore=ResourceIndexStore.open(indexStoreFile);
+            }
+        }
+        return indexStore;
+    }
+
+    /**
+     * Gets the collector of metrics of the shared loader of a lease.
+     * @param resourceLoader Lease of shared loader.
+     * @return Collector of metrics.
+     *         This is {@code null} in case metrics are not collected or the loader is not a lease of this service.
+     */
+    public ResourceMetrics getMetrics(ResourceLoader resourceLoader) {
+        return resourceLoader instanceof Lease lease?lease.entry.metrics:null;
+    }
+
+    /**
+     * Gets the number of shared loaders currently held by the daemon.
+     * @return Number of shared loaders.
+     */
+    public static int getSharedCount() {
+        synchronized (ENTRIES) {
+            return ENTRIES.size();
+        }
+    }
+
+    /**
+     * Closes the loaders not retained across builds, saves the index store and logs a summary of the metrics collected.
+     * This is invoked by Gradle when the build finishes.
+     */
+    @Override
+    public void close() {
+        Logger logger=Logging.getLogger(SharedResourceLoaderService.class);
+        metrics.forEach(m->m.logSummary(logger,LogLevel.LIFECYCLE));
+        metrics.clear();
+        synchronized (this) {
+            if (indexStore!=null) {
+                indexStore.close();
+                indexStore=null;
+            }
+        }
+        int maxRetained=isRetainAcrossBuilds()?getMaxRetained():0;
+        List<Entry> closedEntries=new ArrayList<>();
+        synchronized (ENTRIES) {
+            int retainedCount=0;
+            List<Entry> entries=new ArrayList<>(ENTRIES.values());
+            for (int i=entries.size()-1; i>=0; i--) {  //Most recently used first!
+                Entry entry=entries.get(i);
+                if (entry.leases==0 && entry.retainable && retainedCount<maxRetained) {
+                    retainedCount++;
+                } else {
+                    closedEntries.add(entry);
+                }
+            }
+            Iterator<Entry> iterator=ENTRIES.values().iterator();
+            while (iterator.hasNext()) {
+                Entry entry=iterator.next();
+                if (closedEntries.contains(entry)) {
+                    entry.stale=true;
+                    iterator.remove();
+                }
+            }
+        }
+        closeAll(closedEntries);
+    }
+
+    /**
+     * Indicates, if unused loaders should be retained across builds.
+     * @return Indicates, if retained.
+     */
+    boolean isRetainAcrossBuilds() {
+        return getParameters().getRetainAcrossBuilds().getOrElse(DEFAULT_RETAIN_ACROSS_BUILDS);
+    }
+
+    /**
+     * Gets the maximum number of unused loaders retained across builds.
+     * @return Maximum number of retained loaders.
+     */
+    int getMaxRetained() {
+        return getParameters().getMaxRetained().getOrElse(DEFAULT_MAX_RETAINED);
+    }
+
+    /**
+     * Indicates, if metrics of shared loaders should be collected.
+     * @return Indicates, if collected.
+     */
+    boolean isCollectMetrics() {
+        return getParameters().getCollectMetrics().getOrElse(DEFAULT_COLLECT_METRICS);
+    }
+
+    /**
+     * Gets the file of the persistent store of archive indexes.
+     * @return Index store file.
+     *         This is {@code null} in case not set.
+     */
+    Path getIndexStoreFile() {
+        RegularFile indexStoreFile=getParameters().getIndexStoreFile().getOrNull();
+        return indexStoreFile==null?null:indexStoreFile.getAsFile().toPath();
+    }
+
+    /**
+     * Creates the stamps of a set of files.
+     * Each file is stamped by its size and time of last modification.
+     * @param files Files.
+     * @return Stamps.
+     */
+    private static long[] createStamps(Collection<File> files) {
+        long[] res=new long[2*files.size()];
+        int i=0;
+        for (File file: files) {
+            res[i++]=file.length();
+            res[i++]=file.lastModified();
+        }
+        return res;
+    }
+
+    /**
+     * Indicates, if a loader of a set of files may be retained across builds.
+     * This is the case if no file is a directory.
+     * @param files Files.
+     * @return Indicates, if retainable.
+     */
+    private static boolean isRetainable(Collection<File> files) {
+        return files.stream().noneMatch(File::isDirectory);
+    }
+
+    /**
+     * Closes the loaders of shared entries.
+     * @param entries Shared entries.
+     */
+    private static void closeAll(List<Entry> entries) {
+        UncheckedIOException failure=null;
+        for (Entry entry: entries) {
+            try {
+                entry.close();
+            } catch (IOException ex) {
+                if (failure==null) {
+                    failure=new UncheckedIOException("Failure to close shared resource loader!",ex);
+                } else {
+                    failure.addSuppressed(ex);
+                }
+            }
+        }
+        if (failure!=null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Registers the service, unless already registered.
+     * @param gradle Gradle build.
+     * @return Provider of the service.
+     */
+    public static Provider<SharedResourceLoaderService> register(Gradle gradle) {
+        return gradle.getSharedServices().registerIfAbsent(NAME,SharedResourceLoaderService.class,spec->{
+            spec.getParameters().getRetainAcrossBuilds().convention(DEFAULT_RETAIN_ACROSS_BUILDS);
+            spec.getParameters().getMaxRetained().convention(DEFAULT_MAX_RETAINED);
+            spec.getParameters().getCollectMetrics().convention(DEFAULT_COLLECT_METRICS);
+            spec.getParameters().getIndexStoreFile().fileValue(ResourceIndexStore.getDefaultFile(gradle).toFile());
+        });
+    }
+
+    /**
+     * Key of a shared loader.
+     */
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static final class Key {
+        /**
+         * Absolute paths of files, in order.
+         */
+        private final List<String> paths;
+
+        /**
+         * Options for the creation of the loader.
+         * These are value-typed, since the executor, the collector of metrics and the index store are not set.
+         */
+        private final ResourceLoaderOptions options;
+    }
+
+    /**
+     * Shared loader.
+     */
+    private static final class Entry {
+        /**
+         * Key of loader.
+         */
+        private final Key key;
+
+        /**
+         * Stamps of the files when the loader was created.
+         */
+        private final long[] stamps;
+
+        /**
+         * Indicates, if the loader may be retained across builds.
+         */
+        private final boolean retainable;
+
+        /**
+         * Collector of metrics of the loader.
+         * This is {@code null} in case metrics are not collected.
+         */
+        private final ResourceMetrics metrics;
+
+        /**
+         * Number of leases.
+         * Guarded by the shared entries.
+         */
+        private int leases;
+
+        /**
+         * Indicates, if the entry has been dropped and is to be closed when no longer leased.
+         * Guarded by the shared entries.
+         */
+        private boolean stale;
+
+        /**
+         * Shared loader, when created.
+         * Guarded by this entry.
+         */
+        private ResourceLoader resourceLoader;
+
+        /**
+         * Constructor.
+         * @param key Key of loader.
+         * @param stamps Stamps of the files.
+         * @param retainable Indicates, if the loader may be retained across builds.
+         * @param metrics Collector of metrics of the loader.
+         *                This may be {@code null}.
+         */
+        private Entry(Key key,
+                      long[] stamps,
+                      boolean retainable,
+                      ResourceMetrics metrics) {
+            this.key=key;
+            this.stamps=stamps;
+            this.retainable=retainable;
+            this.metrics=metrics;
+        }
+
+        /**
+         * Gets the shared loader, creating it if required.
+         * @param factory Factory of loader.
+         * @return Shared loader.
+         */
+        private synchronized ResourceLoader getResourceLoader(Supplier<ResourceLoader> factory) {
+            if (resourceLoader==null) {
+                resourceLoader=factory.get();
+            }
+            return resourceLoader;
+        }
+
+        /**
+         * Closes the shared loader.
+         * @throws IOException Thrown in case of I/O error.
+         */
+        private synchronized void close() throws IOException {
+            if (resourceLoader!=null) {
+                resourceLoader.close();
+                resourceLoader=null;
+            }
+        }
+    }
+
+    /**
+     * Lease of a shared loader.
+     * Locations are rebound to the resource offset of the lease.
+     * Closing the lease releases the shared loader without closing it.
+     */
+    private final class Lease extends ProxyResourceLoader {
+        /**
+         * Shared entry.
+         */
+        private final Entry entry;
+
+        /**
+         * Resource offset of the lease.
+         */
+        private final ResourceOffset resourceOffset;
+
+        /**
+         * Indicates, if the lease has been released.
+         */
+        private final AtomicBoolean released=new AtomicBoolean();
+
+        /**
+         * Constructor.
+         * @param entry Shared entry.
+         * @param resourceLoader Shared loader.
+         * @param resourceOffset Resource offset of the lease.
+         */
+        private Lease(Entry entry,
+                      ResourceLoader resourceLoader,
+                      ResourceOffset resourceOffset) {
+            super(resourceLoader);
+            this.entry=entry;
+            this.resourceOffset=resourceOffset;
+        }
+
+        /**
+         * Rebinds a location of the shared loader to the resource offset of the lease.
+         * Locations of individual files are bound to the offset of the same file within the offset of the lease.
+         * @param location Location of the shared loader.
+         * @return Rebound location.
+         */
+        private ResourceLocation rebind(ResourceLocation location) {
+            ResourceLocation res=location;
+            if (location!=null && resourceOffset!=null) {
+                File file=location.getResourceOffset()==null?null:location.getResourceOffset().getFile();
+                res=new ResourceLocation(file==null?resourceOffset:resourceOffset.forFile(file),location);
+            }
+            return res;
+        }
+
+        /**
+         * Rebinds locations of the shared loader to the resource offset of the lease.
+         * @param locations Locations of the shared loader.
+         * @return Rebound locations.
+         */
+        private List<ResourceLocation> rebind(List<ResourceLocation> locations) {
+            return locations==null?null:locations.stream().map(this::rebind).toList();
+        }
+
+        @Override
+        public List<ResourceLocation> getResourceLocations(String name) {
+            return rebind(super.getResourceLocations(name));
+        }
+
+        @Override
+        public Map<String,List<ResourceLocation>> getResourceLocations(Collection<String> names) {
+            Map<String,List<ResourceLocation>> res=new LinkedHashMap<>();
+            super.getResourceLocations(names).forEach((name,locations)->res.put(name,rebind(locations)));
+            return res;
+        }
+
+        @Override
+        public ResourceLocation getResourceLocation(String name) throws IllegalStateException {
+            return rebind(super.getResourceLocation(name));
+        }
+
+        @Override
+        public Stream<ResourceLocation> streamResourceLocations(String name) {
+            return super.streamResourceLocations(name).map(this::rebind);
+        }
+
+        @Override
+        public Stream<ResourceLocation> listResourceLocations(String prefix,
+                                                              String glob) {
+            return super.listResourceLocations(prefix,glob).map(this::rebind);
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false,true)) {
+                setResourceLoader(null);
+                release(entry);
+            }
+        }
+    }
+}
@@ -4,10 +4,25 @@ import lombok.AllArgsConstructor;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLClassLoader;
-import java.util.ArrayList;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.ZipEntry;
 
 /**
  * Loader of resources defined by a URL-based class-loader.
@@ -28,6 +43,12 @@ public class URLClassLoaderResourceLoader implements ResourceLoader {
      */
     private final URLClassLoader classLoader;
 
+    /**
+     * Archives read for the fingerprints of their entries, keyed by URL of archive file.
+     * These are closed with this loader.
+     */
+    private final Map<URL,JarFile> jarFiles=new HashMap<>();
+
     @Override
     public URL getResource(String name) {
         return classLoader.getResource(name);
@@ -40,27 +61,142 @@ public class URLClassLoaderResourceLoader implements ResourceLoader {
 
     @Override
     public List<ResourceLocation> getResourceLocations(String name) {
-        List<ResourceLocation> res=null;
-        ResourceLocation location=getResourceLocation(name);
-        if (location!=null) {
-            res=new ArrayList<>();
-            res.add(location);
-        }
-        return res;
+        List<ResourceLocation> res=streamResourceLocations(name).toList();
+        return res.isEmpty()?null:res;
     }
 
     @Override
     public ResourceLocation getResourceLocation(String name) {
-        ResourceLocation res=null;
+        return ResourceLocations.getUniqueResourceLocation(name,streamResourceLocations(name));
+    }
+
+    /**
+     * Gets descriptions of all occurring, named resources as a stream.
+     * <p>
+     *     This includes every occurrence within the URLs of the class-loader itself, not just the first one.
+     *     Occurrences of the parent class-loader are not included,
+     *     except for a resource found by the parent only, which is then included as the single occurrence,
+     *     as with {@link #getResource(String)}.
+     * </p>
+     * @param name Resource name.
+     * @return Stream of resource location descriptors.
+     */
+    @Override
+    public Stream<ResourceLocation> streamResourceLocations(String name) {
+        Enumeration<URL> urls;
+        try {
+            urls=classLoader.findResources(name);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(String.format("Failure to get locations of named resource; name is %s!",name),ex);
+        }
+        Stream<URL> res;
+        if (urls.hasMoreElements()) {
+            Spliterator<URL> spliterator=Spliterators.spliteratorUnknownSize(urls.asIterator(),Spliterator.ORDERED|Spliterator.NONNULL);
+            res=StreamSupport.stream(spliterator,false);
+        } else {
+            res=Stream.ofNullable(classLoader.getResource(name));
+        }
+        return res.map(url->new ResourceLocation(resourceoffset,this,name,url));
+    }
+
+    /**
+     * Gets the fingerprint of the contents of a named resource.
+     * <p>
+     *     Fingerprints of entries of local archives are taken from the central directory of the archive,
+     *     without decompressing any content.
+     *     Other resources are read.
+     * </p>
+     * @param name Resource name.
+     * @return Fingerprint of the contents of the resource.
+     *         This is {@code null} in case the resource does not exist.
+     */
+    @Override
+    public ResourceFingerprint getResourceFingerprint(String name) {
+        ResourceFingerprint res=null;
         URL url=getResource(name);
         if (url!=null) {
-            res=new ResourceLocation(resourceoffset,this,name,url);
+            if ("jar".equals(url.getProtocol())) {
+                res=getEntryFingerprint(url);
+            }
+            if (res==null) {
+                InputStream stream=getResourceAsStream(name);
+                res=stream==null?null:ResourceFingerprint.of(stream);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Gets the fingerprint of an entry of a local archive from the central directory of the archive.
+     * @param url URL of entry.
+     * @return Fingerprint of entry.
+     *         This is {@code null} in case the archive is not local, or the entry does not record its size and CRC.
+     */
+    private ResourceFingerprint getEntryFingerprint(URL url) {
+        ResourceFingerprint res=null;
+        try {
+            JarURLConnection connection=(JarURLConnection)url.openConnection();  //Not connected; the archive is read by this loader!
+            URL jarFileURL=connection.getJarFileURL();
+            if ("file".equals(jarFileURL.getProtocol())) {
+                ZipEntry entry=getJarFile(jarFileURL).getEntry(connection.getEntryName());
+                if (entry!=null && entry.getSize()>=0 && entry.getCrc()>=0) {
+                    res=ResourceFingerprint.of(entry.getSize(),entry.getCrc());
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(String.format("Failure to create fingerprint of resource; URL is %s!",url),ex);
+        }
+        return res;
+    }
+
+    /**
+     * Gets a local archive, opening it if required.
+     * @param url URL of archive file.
+     * @return Archive.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private synchronized JarFile getJarFile(URL url) throws IOException {
+        JarFile res=jarFiles.get(url);
+        if (res==null) {
+            try {
+                res=new JarFile(Path.of(url.toURI()).toFile());
+            } catch (URISyntaxException ex) {
+                throw new IllegalStateException(String.format("Failure to open archive; cannot convert URL %s to a path!",url),ex);
+            }
+            jarFiles.put(url,res);
+        }
+        return res;
+    }
+
+    @Override
+    public Collection<String> getResourceNames() {
+        Set<String> res=new LinkedHashSet<>();
+        for (URL url: classLoader.getURLs()) {
+            if (!"file".equals(url.getProtocol())) {
+                throw new UnsupportedOperationException(String.format("Failure to get resource names; cannot enumerate resources of URL %s!",url));
+            }
+            try {
+                res.addAll(ResourceNames.listResourceNames(Path.of(url.toURI())));
+            } catch (URISyntaxException ex) {
+                throw new IllegalStateException(String.format("Failure to get resource names; cannot convert URL %s to a path!",url),ex);
+            }
         }
         return res;
     }
 
     @Override
     public void close() throws IOException {
-        classLoader.close();
+        try {
+            classLoader.close();
+        } finally {
+            List<JarFile> closedFiles;
+            synchronized (this) {
+                closedFiles=List.copyOf(jarFiles.values());
+                jarFiles.clear();
+            }
+            for (JarFile jarFile: closedFiles) {
+                jarFile.close();
+            }
+        }
     }
 }
@@ -0,0 +1,465 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipException;
+
+/**
+ * Central directory of a ZIP archive.
+ * <p>
+ *     The central directory is read directly from a channel, without reading the content of any entry.
+ *     Beyond what {@link java.util.zip.ZipFile} exposes, this gives access to the compression method and the
+ *     location of the data of each entry,
+ *     allowing uncompressed (stored) entries to be read in place, e.g. memory-mapped or transferred without copying.
+ * </p>
+ * <p>
+ *     Archives in the ZIP64 format are supported, as are archives prefixed by other data,
+ *     e.g. launcher scripts or self-extracting stubs, whether or not their offsets account for the prefix.
+ *     Offsets are always positions within the archive file as a whole.
+ *     Entries are addressed by their index within the directory.
+ * </p>
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+public class ZipCentralDirectory {
+    /**
+     * Compression method of entries stored without compression.
+     */
+    public static final int METHOD_STORED=0;
+
+    /**
+     * Compression method of entries compressed by deflation.
+     */
+    public static final int METHOD_DEFLATED=8;
+
+    /**
+     * Signature of the end of central directory record.
+     */
+    private static final int END_SIGNATURE=0x06054b50;
+
+    /**
+     * Signature of the ZIP64 end of central directory locator.
+     */
+    private static final int ZIP64_LOCATOR_SIGNATURE=0x07064b50;
+
+    /**
+     * Signature of the ZIP64 end of central directory record.
+     */
+    private static final int ZIP64_END_SIGNATURE=0x06064b50;
+
+    /**
+     * Signature of a central directory file header.
+     */
+    private static final int CENTRAL_SIGNATURE=0x02014b50;
+
+    /**
+     * Signature of a local file header.
+     */
+    private static final int LOCAL_SIGNATURE=0x04034b50;
+
+    /**
+     * Length of the fixed part of the end of central directory record.
+     */
+    private static final int END_LENGTH=22;
+
+    /**
+     * Length of the ZIP64 end of central directory locator.
+     */
+    private static final int ZIP64_LOCATOR_LENGTH=20;
+
+    /**
+     * Length of the fixed part of the ZIP64 end of central directory record.
+     */
+    private static final int ZIP64_END_LENGTH=56;
+
+    /**
+     * Length of the fixed part of a central directory file header.
+     */
+    private static final int CENTRAL_LENGTH=46;
+
+    /**
+     * Length of the fixed part of a local file header.
+     */
+    private static final int LOCAL_LENGTH=30;
+
+    /**
+     * Identifier of the ZIP64 extended information extra field.
+     */
+    private static final int ZIP64_EXTRA_ID=0x0001;
+
+    /**
+     * Marker of a 32-bit value superseded by a value in the ZIP64 extended information.
+     */
+    private static final long ZIP64_MAGIC_32=0xFFFFFFFFL;
+
+    /**
+     * Marker of a 16-bit value superseded by a value in the ZIP64 format.
+     */
+    private static final int ZIP64_MAGIC_16=0xFFFF;
+
+    /**
+     * Size of the archive.
+     */
+    @Getter
+    private final long archiveSize;
+
+    /**
+     * Position of the start of the archive within the archive file.
+     * This is the length of data prepended to the archive and not accounted for by its offsets, usually {@code 0}.
+     */
+    @Getter
+    private final long archiveStart;
+
+    /**
+     * Names of entries.
+     */
+    private final String[] names;
+
+    /**
+     * Compression methods of entries.
+     */
+    private final short[] methods;
+
+    /**
+     * CRC-32 values of entries.
+     */
+    private final int[] crcs;
+
+    /**
+     * Compressed sizes of entries.
+     */
+    private final long[] compressedSizes;
+
+    /**
+     * Uncompressed sizes of entries.
+     */
+    private final long[] sizes;
+
+    /**
+     * Offsets of the local file headers of entries.
+     */
+    private final long[] localHeaderOffsets;
+
+    /**
+     * Index of entries by name.
+     * The first entry of a name takes precedence.
+     */
+    private final Map<String,Integer> nameIndex;
+
+    /**
+     * Constructor.
+     * @param archiveSize Size of the archive.
+     * @param archiveStart Position of the start of the archive within the archive file.
+     * @param entryCount Number of entries.
+     */
+    private ZipCentralDirectory(long archiveSize,
+                                long archiveStart,
+                                int entryCount) {
+        this.archiveSize=archiveSize;
+        this.archiveStart=archiveStart;
+        this.names=new String[entryCount];
+        this.methods=new short[entryCount];
+        this.crcs=new int[entryCount];
+        this.compressedSizes=new long[entryCount];
+        this.sizes=new long[entryCount];
+        this.localHeaderOffsets=new long[entryCount];
+        this.nameIndex=new HashMap<>(entryCount*4/3+1);
+    }
+
+    /**
+     * Gets the number of entries.
+     * @return Number of entries.
+     */
+    public int getEntryCount() {
+        return names.length;
+    }
+
+    /**
+     * Gets the index of a named entry.
+     * @param name Entry name.
+     * @return Index of entry.
+     *         This is {@code -1} in case no such entry exists.
+     */
+    public int indexOf(String name) {
+        Integer index=nameIndex.get(name);
+        return index==null?-1:index;
+    }
+
+    /**
+     * Gets the name of an entry.
+     * @param index Index of entry.
+     * @return Entry name.
+     */
+    public String getName(int index) {
+        return names[index];
+    }
+
+    /**
+     * Indicates, if an entry is a directory.
+     * @param index Index of entry.
+     * @return Indicates, if a directory.
+     */
+    public boolean isDirectory(int index) {
+        return names[index].endsWith("/");
+    }
+
+    /**
+     * Gets the compression method of an entry.
+     * @param index Index of entry.
+     * @return Compression method, e.g. {@link #METHOD_STORED} or {@link #METHOD_DEFLATED}.
+     */
+    public int getMethod(int index) {
+        return Short.toUnsignedInt(methods[index]);
+    }
+
+    /**
+     * Gets the CRC-32 value of an entry.
+     * @param index Index of entry.
+     * @return CRC-32 value.
+     */
+    public long getCrc(int index) {
+        return Integer.toUnsignedLong(crcs[index]);
+    }
+
+    /**
+     * Gets the compressed size of an entry.
+     * @param index Index of entry.
+     * @return Compressed size.
+     */
+    public long getCompressedSize(int index) {
+        return compressedSizes[index];
+    }
+
+    /**
+     * Gets the uncompressed size of an entry.
+     * @param index Index of entry.
+     * @return Uncompressed size.
+     */
+    public long getSize(int index) {
+        return sizes[index];
+    }
+
+    /**
+     * Gets the offset of the local file header of an entry.
+     * @param index Index of entry.
+     * @return Offset of local file header, within the archive file as a whole.
+     */
+    public long getLocalHeaderOffset(int index) {
+        return localHeaderOffsets[index];
+    }
+
+    /**
+     * Gets the offset of the data of an entry.
+     * This requires the local file header of the entry to be read.
+     * @param channel Channel of the archive.
+     * @param index Index of entry.
+     * @return Offset of data.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    public long getDataOffset(SeekableByteChannel channel,
+                              int index) throws IOException {
+        long offset=localHeaderOffsets[index];
+        ByteBuffer header=read(channel,offset,LOCAL_LENGTH);
+        if (header.getInt(0)!=LOCAL_SIGNATURE) {
+            throw new ZipException(String.format("Failure to read local file header; invalid signature, entry is %s!",names[index]));
+        }
+        int nameLength=Short.toUnsignedInt(header.getShort(26));
+        int extraLength=Short.toUnsignedInt(header.getShort(28));
+        long res=offset+LOCAL_LENGTH+nameLength+extraLength;
+        if (res+compressedSizes[index]>archiveSize) {
+            throw new ZipException(String.format("Failure to locate entry data; data exceeds archive, entry is %s!",names[index]));
+        }
+        return res;
+    }
+
+    /**
+     * Reads the central directory of an archive.
+     * @param channel Channel of the archive.
+     * @return Central directory.
+     * @throws IOException Thrown in case of I/O error or in case the archive is not valid.
+     */
+    public static ZipCentralDirectory read(SeekableByteChannel channel) throws IOException {
+        long archiveSize=channel.size();
+        long endOffset=findEnd(channel,archiveSize);
+        ByteBuffer end=read(channel,endOffset,END_LENGTH);
+        long entryCount=Short.toUnsignedInt(end.getShort(10));
+        long directorySize=Integer.toUnsignedLong(end.getInt(12));
+        long directoryOffset=Integer.toUnsignedLong(end.getInt(16));
+        long directoryEnd=endOffset;
+        if (entryCount==ZIP64_MAGIC_16 || directorySize==ZIP64_MAGIC_32 || directoryOffset==ZIP64_MAGIC_32) {
+            long locatorOffset=endOffset-ZIP64_LOCATOR_LENGTH;
+            if (locatorOffset>=0) {
+                ByteBuffer locator=read(channel,locatorOffset,ZIP64_LOCATOR_LENGTH);
+                if (locator.getInt(0)==ZIP64_LOCATOR_SIGNATURE) {
+                    long zip64EndOffset=locator.getLong(8);
+                    ByteBuffer zip64End=readZip64End(channel,zip64EndOffset,locatorOffset);
+                    if (zip64End==null) {
+                        zip64EndOffset=locatorOffset-ZIP64_END_LENGTH;  //Data is prepended, and offsets do not account for it!
+                        zip64End=readZip64End(channel,zip64EndOffset,locatorOffset);
+                        if (zip64End==null) {
+                            throw new ZipException("Failure to read ZIP64 end of central directory record; invalid signature!");
+                        }
+                    }
+                    entryCount=zip64End.getLong(32);
+                    directorySize=zip64End.getLong(40);
+                    directoryOffset=zip64End.getLong(48);
+                    directoryEnd=zip64EndOffset;
+                }
+            }
+        }
+        long archiveStart=directoryEnd-directorySize-directoryOffset;
+        if (entryCount>Integer.MAX_VALUE || directorySize>Integer.MAX_VALUE || directoryOffset<0 || archiveStart<0) {
+            throw new ZipException(String.format("Failure to read central directory; invalid dimensions, entries are %d, size is %d, offset is %d!",entryCount,directorySize,directoryOffset));
+        }
+        ByteBuffer directory=read(channel,archiveStart+directoryOffset,(int)directorySize);
+        return parse(directory,(int)entryCount,archiveSize,archiveStart);
+    }
+
+    /**
+     * Reads the ZIP64 end of central directory record, if present at a position.
+     * @param channel Channel of the archive.
+     * @param offset Position of the record.
+     * @param locatorOffset Position of the ZIP64 end of central directory locator, following the record.
+     * @return Record.
+     *         This is {@code null} in case no record is present at the position.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private static ByteBuffer readZip64End(SeekableByteChannel channel,
+                                           long offset,
+                                           long locatorOffset) throws IOException {
+        ByteBuffer res=null;
+        if (offset>=0 && offset+ZIP64_END_LENGTH<=locatorOffset) {
+            res=read(channel,offset,ZIP64_END_LENGTH);
+            if (res.getInt(0)!=ZIP64_END_SIGNATURE) {
+                res=null;
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Parses the entries of a central directory.
+     * @param directory Central directory.
+     * @param entryCount Number of entries.
+     * @param archiveSize Size of the archive.
+     * @param archiveStart Position of the start of the archive within the archive file.
+     * @return Central directory.
+     * @throws ZipException Thrown in case the central directory is not valid.
+     */
+    private static ZipCentralDirectory parse(ByteBuffer directory,
+                                             int entryCount,
+                                             long archiveSize,
+                                             long archiveStart) throws ZipException {
+        ZipCentralDirectory res=new ZipCentralDirectory(archiveSize,archiveStart,entryCount);
+        int position=0;
+        for (int i=0; i<entryCount; i++) {
+            if (position+CENTRAL_LENGTH>directory.limit() || directory.getInt(position)!=CENTRAL_SIGNATURE) {
+                throw new ZipException(String.format("Failure to read central directory; invalid file header at index %d!",i));
+            }
+            int nameLength=Short.toUnsignedInt(directory.getShort(position+28));
+            int extraLength=Short.toUnsignedInt(directory.getShort(position+30));
+            int commentLength=Short.toUnsignedInt(directory.getShort(position+32));
+            int next=position+CENTRAL_LENGTH+nameLength+extraLength+commentLength;
+            if (next>directory.limit()) {
+                throw new ZipException(String.format("Failure to read central directory; truncated file header at index %d!",i));
+            }
+            byte[] name=new byte[nameLength];
+            directory.get(position+CENTRAL_LENGTH,name);
+            res.names[i]=new String(name,StandardCharsets.UTF_8);
+            res.methods[i]=directory.getShort(position+10);
+            res.crcs[i]=directory.getInt(position+16);
+            long compressedSize=Integer.toUnsignedLong(directory.getInt(position+20));
+            long size=Integer.toUnsignedLong(directory.getInt(position+24));
+            long localHeaderOffset=Integer.toUnsignedLong(directory.getInt(position+42));
+            if (size==ZIP64_MAGIC_32 || compressedSize==ZIP64_MAGIC_32 || localHeaderOffset==ZIP64_MAGIC_32) {
+                int extra=position+CENTRAL_LENGTH+nameLength;
+                int extraEnd=extra+extraLength;
+                while (extra+4<=extraEnd) {
+                    int id=Short.toUnsignedInt(directory.getShort(extra));
+                    int length=Short.toUnsignedInt(directory.getShort(extra+2));
+                    if (id==ZIP64_EXTRA_ID) {
+                        int field=extra+4;
+                        int fieldEnd=Math.min(field+length,extraEnd);
+                        if (size==ZIP64_MAGIC_32 && field+8<=fieldEnd) {
+                            size=directory.getLong(field);
+                            field+=8;
+                        }
+                        if (compressedSize==ZIP64_MAGIC_32 && field+8<=fieldEnd) {
+                            compressedSize=directory.getLong(field);
+                            field+=8;
+                        }
+                        if (localHeaderOffset==ZIP64_MAGIC_32 && field+8<=fieldEnd) {
+                            localHeaderOffset=directory.getLong(field);
+                        }
+                        break;
+                    }
+                    extra+=4+length;
+                }
+            }
+            res.compressedSizes[i]=compressedSize;
+            res.sizes[i]=size;
+            res.localHeaderOffsets[i]=archiveStart+localHeaderOffset;
+            res.nameIndex.putIfAbsent(res.names[i],i);
+            position=next;
+        }
+        return res;
+    }
+
+    /**
+     * Finds the end of central directory record.
+     * @param channel Channel of the archive.
+     * @param archiveSize Size of the archive.
+     * @return Offset of the record.
+     * @throws IOException Thrown in case of I/O error or in case the record is not found.
+     */
+    private static long findEnd(SeekableByteChannel channel,
+                                long archiveSize) throws IOException {
+        int tailLength=(int)Math.min(archiveSize,END_LENGTH+ZIP64_MAGIC_16);
+        if (tailLength<END_LENGTH) {
+            throw new ZipException("Failure to read archive; archive is too short!");
+        }
+        long tailOffset=archiveSize-tailLength;
+        ByteBuffer tail=read(channel,tailOffset,tailLength);
+        for (int position=tailLength-END_LENGTH; position>=0; position--) {
+            if (tail.getInt(position)==END_SIGNATURE) {
+                int commentLength=Short.toUnsignedInt(tail.getShort(position+20));
+                if (position+END_LENGTH+commentLength==tailLength) {
+                    return tailOffset+position;
+                }
+            }
+        }
+        throw new ZipException("Failure to read archive; end of central directory record not found!");
+    }
+
+    /**
+     * Reads a region of a channel.
+     * @param channel Channel.
+     * @param offset Offset of region.
+     * @param length Length of region.
+     * @return Read region, in little-endian byte order.
+     * @throws IOException Thrown in case of I/O error or in case the region exceeds the channel.
+     */
+    private static ByteBuffer read(SeekableByteChannel channel,
+                                   long offset,
+                                   int length) throws IOException {
+        ByteBuffer res=ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        synchronized (channel) {
+            channel.position(offset);
+            while (res.hasRemaining()) {
+                if (channel.read(res)<0) {
+                    throw new ZipException(String.format("Failure to read archive; unexpected end of archive at offset %d!",offset+res.position()));
+                }
+            }
+        }
+        return res.flip();
+    }
+}
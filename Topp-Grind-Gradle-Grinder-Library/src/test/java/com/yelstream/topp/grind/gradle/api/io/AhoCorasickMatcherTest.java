@@ -0,0 +1,114 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test of {@link AhoCorasickMatcher}.
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+class AhoCorasickMatcherTest {
+    /**
+     * Compiles patterns.
+     * @param ignoreCase Indicates, if ASCII letters should be matched ignoring case.
+     * @param patterns Patterns.
+     * @return Compiled matcher.
+     */
+    private static AhoCorasickMatcher compile(boolean ignoreCase,
+                                              String... patterns) {
+        return AhoCorasickMatcher.of(Arrays.stream(patterns).map(pattern->pattern.getBytes(StandardCharsets.UTF_8)).toList(),ignoreCase);
+    }
+
+    /**
+     * Searches a text.
+     * @param matcher Matcher.
+     * @param text Text.
+     * @return Matches, as the index of the pattern and the offset of the match separated by {@code @}, in order found.
+     */
+    private static List<String> search(AhoCorasickMatcher matcher,
+                                       String text) {
+        List<String> res=new ArrayList<>();
+        matcher.search(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)),(pattern,offset)->res.add(pattern+"@"+offset));
+        return res;
+    }
+
+    /**
+     * Tests overlapping patterns, including patterns being suffixes of other patterns.
+     */
+    @Test
+    void overlapping() {
+        AhoCorasickMatcher matcher=compile(false,"he","she","his","hers");
+        Assertions.assertEquals(4,matcher.getPatternCount());
+        Assertions.assertEquals(List.of("1@1","0@2","3@2"),search(matcher,"ushers"));
+        Assertions.assertEquals(List.of("2@1","1@3","0@4"),search(matcher,"ahishe"));
+
+        matcher=compile(false,"aaa","aa");
+        Assertions.assertEquals(List.of("1@0","0@0","1@1","0@1","1@2"),search(matcher,"aaaa"));
+    }
+
+    /**
+     * Tests duplicate patterns, which are all matched.
+     */
+    @Test
+    void duplicate() {
+        AhoCorasickMatcher matcher=compile(false,"ab","b","ab");
+        Assertions.assertEquals(List.of("0@0","2@0","1@1","0@2","2@2","1@3"),search(matcher,"abab"));
+    }
+
+    /**
+     * Tests matching ignoring the case of ASCII letters, and of ASCII letters only.
+     */
+    @Test
+    void caseFolding() {
+        AhoCorasickMatcher matcher=compile(true,"JaR","[x]");
+        Assertions.assertEquals(List.of("0@0","0@4","0@8","1@12"),search(matcher,"jar JAR Jar [X] {x}"));
+        Assertions.assertEquals(List.of(),search(matcher,"j\u00C1r"));
+
+        matcher=compile(false,"JaR");
+        Assertions.assertEquals(List.of("0@8"),search(matcher,"jar JAR JaR"));
+    }
+
+    /**
+     * Tests that patterns ending within a longer, partially matched pattern are found through failure links.
+     */
+    @Test
+    void failureLinkOutputs() {
+        AhoCorasickMatcher matcher=compile(false,"abcd","bc","c","bcx");
+        Assertions.assertEquals(List.of("1@1","2@2","3@1"),search(matcher,"abcx"));
+        Assertions.assertEquals(List.of("1@1","2@2","0@0"),search(matcher,"abcd"));
+        Assertions.assertTrue(matcher.containsAny(ByteBuffer.wrap("xxabcyy".getBytes(StandardCharsets.UTF_8))));
+        Assertions.assertFalse(matcher.containsAny(ByteBuffer.wrap("xxabdyy".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    /**
+     * Tests that offsets are relative to the position of the buffer, and that the buffer is not modified.
+     */
+    @Test
+    void position() {
+        AhoCorasickMatcher matcher=compile(false,"ab");
+        ByteBuffer buffer=ByteBuffer.wrap("abxabxab".getBytes(StandardCharsets.UTF_8),2,4);
+        List<String> matches=new ArrayList<>();
+        matcher.search(buffer,(pattern,offset)->matches.add(pattern+"@"+offset));
+        Assertions.assertEquals(List.of("0@1"),matches);
+        Assertions.assertEquals(2,buffer.position());
+        Assertions.assertEquals(6,buffer.limit());
+    }
+
+    /**
+     * Tests that no patterns and empty patterns are rejected.
+     */
+    @Test
+    void invalid() {
+        Assertions.assertThrows(IllegalArgumentException.class,()->compile(false));
+        Assertions.assertThrows(IllegalArgumentException.class,()->compile(false,"a",""));
+    }
+}
@@ -0,0 +1,83 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test of {@link BloomFilter}.
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+class BloomFilterTest {
+    /**
+     * Creates resource names.
+     * @param prefix Prefix of names.
+     * @param count Number of names.
+     * @return Resource names.
+     */
+    private static List<String> createNames(String prefix,
+                                            int count) {
+        List<String> res=new ArrayList<>(count);
+        for (int i=0; i<count; i++) {
+            res.add(String.format("%s/package%d/Class%d.class",prefix,i%97,i));
+        }
+        return res;
+    }
+
+    /**
+     * Tests that names added are always reported as contained.
+     */
+    @Test
+    void noFalseNegatives() {
+        List<String> names=createNames("com/acme",20000);
+        BloomFilter filter=BloomFilter.of(names,BloomFilter.DEFAULT_FALSE_POSITIVE_PROBABILITY);
+        for (String name: names) {
+            Assertions.assertTrue(filter.mightContain(name));
+            Assertions.assertTrue(filter.mightContain(BloomFilter.hash(name)));
+        }
+    }
+
+    /**
+     * Tests that the rate of false positives is close to the probability requested.
+     */
+    @Test
+    void falsePositiveRate() {
+        for (double probability: new double[]{0.1,0.01,0.001}) {
+            BloomFilter filter=BloomFilter.of(createNames("com/acme",20000),probability);
+            int falsePositives=0;
+            List<String> others=createNames("org/other",100000);
+            for (String name: others) {
+                if (filter.mightContain(name)) {
+                    falsePositives++;
+                }
+            }
+            double rate=(double)falsePositives/others.size();
+            Assertions.assertTrue(rate<=probability*1.5,String.format("Rate of false positives is %s, probability is %s!",rate,probability));
+        }
+    }
+
+    /**
+     * Tests a filter of no names.
+     */
+    @Test
+    void empty() {
+        BloomFilter filter=BloomFilter.of(List.of(),BloomFilter.DEFAULT_FALSE_POSITIVE_PROBABILITY);
+        Assertions.assertFalse(filter.mightContain("a.txt"));
+        filter.add("a.txt");
+        Assertions.assertTrue(filter.mightContain("a.txt"));
+    }
+
+    /**
+     * Tests that invalid probabilities are rejected.
+     */
+    @Test
+    void invalidProbability() {
+        Assertions.assertThrows(IllegalArgumentException.class,()->new BloomFilter(10,0));
+        Assertions.assertThrows(IllegalArgumentException.class,()->new BloomFilter(10,1));
+    }
+}
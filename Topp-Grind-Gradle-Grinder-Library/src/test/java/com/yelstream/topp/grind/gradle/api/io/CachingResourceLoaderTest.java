@@ -0,0 +1,158 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Test of {@link CachingResourceLoader}.
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+class CachingResourceLoaderTest {
+    /**
+     * Temporary directory.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Verifies that a resource is served correctly, repeatedly.
+     * @param loader Loader.
+     * @param name Resource name.
+     * @param content Expected content.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private void verify(ResourceLoader loader,
+                        String name,
+                        String content) throws IOException {
+        for (int i=0; i<2; i++) {
+            try (InputStream stream=loader.getResourceAsStream(name)) {
+                Assertions.assertEquals(content,new String(stream.readAllBytes(),StandardCharsets.UTF_8));
+            }
+            try (ReadableByteChannel channel=loader.getResourceAsChannel(name)) {
+                Assertions.assertEquals(content,StandardCharsets.UTF_8.decode(ResourceChannels.read(channel,-1)).toString());
+            }
+            Assertions.assertEquals(content,StandardCharsets.UTF_8.decode(loader.getResourceAsByteBuffer(name)).toString());
+            Path target=directory.resolve("copy.txt");
+            Assertions.assertEquals(content.length(),loader.copyResource(name,target));
+            Assertions.assertEquals(content,Files.readString(target));
+        }
+    }
+
+    /**
+     * Tests that files are cached or passed through by their size.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void files() throws IOException {
+        Path root=directory.resolve("root");
+        Files.createDirectories(root);
+        Files.writeString(root.resolve("small.txt"),"S".repeat(100));
+        Files.writeString(root.resolve("large.txt"),"L".repeat((int)ResourceChannels.MAP_THRESHOLD));
+        try (CachingResourceLoader loader=new CachingResourceLoader(new DirectoryResourceLoader(ResourceOffset.builder().build(),root),4096,500,false)) {
+            verify(loader,"small.txt","S".repeat(100));
+            verify(loader,"large.txt","L".repeat((int)ResourceChannels.MAP_THRESHOLD));
+            Assertions.assertTrue(loader.getResourceAsByteBuffer("large.txt").isDirect());
+            Assertions.assertNull(loader.getResourceAsStream("missing.txt"));
+
+            ResourceCacheStatistics statistics=loader.getStatistics();
+            Assertions.assertEquals(1,statistics.getEntryCount());
+            Assertions.assertEquals(100,statistics.getByteCount());
+            Assertions.assertEquals(1,statistics.getLoadCount()-statistics.getOversizedCount());
+            Assertions.assertEquals(1,statistics.getOversizedCount());
+        }
+    }
+
+    /**
+     * Tests that compressed archive entries of unknown size are cached or passed through by their size.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void compressedEntries() throws IOException {
+        Map<String,String> entries=Map.of("small.txt","S".repeat(100),"limit.txt","M".repeat(500),"large.txt","L".repeat(100000));
+        Path archive=TestArchives.createArchive(directory.resolve("archive.jar"),entries,false);
+        try (CachingResourceLoader loader=new CachingResourceLoader(new ArchiveResourceLoader(ResourceOffset.builder().build(),archive.toFile()),4096,500,true)) {
+            for (Map.Entry<String,String> entry: entries.entrySet()) {
+                verify(loader,entry.getKey(),entry.getValue());
+            }
+            ByteBuffer cached=loader.getResourceAsByteBuffer("limit.txt");
+            Assertions.assertTrue(cached.isDirect());
+            Assertions.assertTrue(cached.isReadOnly());
+
+            ResourceCacheStatistics statistics=loader.getStatistics();
+            Assertions.assertEquals(2,statistics.getEntryCount());
+            Assertions.assertEquals(600,statistics.getByteCount());
+            Assertions.assertEquals(1,statistics.getOversizedCount());
+            Assertions.assertEquals(3,statistics.getLoadCount());
+            Assertions.assertEquals(7,statistics.getPassThroughCount());
+            Assertions.assertEquals(3,statistics.getMissCount());
+        }
+    }
+
+    /**
+     * Tests that the least recently used resources are evicted.
+     * @throws IOException Thrown in case of I/O error.
+     * @throws InterruptedException Thrown in case of interruption.
+     */
+    @Test
+    void eviction() throws IOException, InterruptedException {
+        Path root=directory.resolve("root");
+        Files.createDirectories(root);
+        for (String name: new String[]{"a.txt","b.txt","c.txt","d.txt"}) {
+            Files.writeString(root.resolve(name),name.substring(0,1).repeat(100));
+        }
+        try (CachingResourceLoader loader=new CachingResourceLoader(new DirectoryResourceLoader(ResourceOffset.builder().build(),root),300,100,false)) {
+            for (String name: new String[]{"a.txt","b.txt","c.txt","a.txt","d.txt"}) {
+                Assertions.assertNotNull(loader.getResourceAsByteBuffer(name));
+                Thread.sleep(1);
+            }
+            ResourceCacheStatistics statistics=loader.getStatistics();
+            Assertions.assertEquals(1,statistics.getEvictionCount());
+            Assertions.assertEquals(3,statistics.getEntryCount());
+            Assertions.assertEquals(300,statistics.getByteCount());
+
+            loader.getResourceAsByteBuffer("a.txt");
+            loader.getResourceAsByteBuffer("c.txt");
+            Assertions.assertEquals(4,loader.getStatistics().getLoadCount());
+            loader.getResourceAsByteBuffer("b.txt");
+            Assertions.assertEquals(5,loader.getStatistics().getLoadCount());
+        }
+    }
+
+    /**
+     * Tests that evictions by sampling keep the cache bounded and keep resources used frequently.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void sampledEviction() throws IOException {
+        Path root=directory.resolve("root");
+        Files.createDirectories(root);
+        Files.writeString(root.resolve("hot.txt"),"H".repeat(100));
+        for (int i=0; i<1000; i++) {
+            Files.writeString(root.resolve(i+".txt"),"C".repeat(100));
+        }
+        try (CachingResourceLoader loader=new CachingResourceLoader(new DirectoryResourceLoader(ResourceOffset.builder().build(),root),10000,100,false)) {
+            for (int i=0; i<1000; i++) {
+                Assertions.assertNotNull(loader.getResourceAsByteBuffer("hot.txt"));
+                Assertions.assertNotNull(loader.getResourceAsByteBuffer(i+".txt"));
+            }
+            ResourceCacheStatistics statistics=loader.getStatistics();
+            Assertions.assertEquals(1001,statistics.getLoadCount());
+            Assertions.assertEquals(100,statistics.getEntryCount());
+            Assertions.assertEquals(10000,statistics.getByteCount());
+            Assertions.assertEquals(901,statistics.getEvictionCount());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Test of {@link ChainedResourceLoader} and {@link IndexedResourceLoader}, looking up resources in chain order.
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+class ChainedResourceLoaderTest {
+    /**
+     * Temporary directory.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Creates the loaders of a chain, where both loaders contain a shared resource.
+     * @return Created loaders.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private List<ResourceLoader> createLoaders() throws IOException {
+        ResourceOffset resourceOffset=ResourceOffset.builder().build();
+        Path first=TestArchives.createArchive(directory.resolve("first.jar"),Map.of("shared.txt","1"),true);
+        Path second=TestArchives.createArchive(directory.resolve("second.jar"),Map.of("shared.txt","2","second.txt","22"),false);
+        return List.of(new ArchiveResourceLoader(resourceOffset,first.toFile()),new ArchiveResourceLoader(resourceOffset,second.toFile()));
+    }
+
+    /**
+     * Tests that transfers and copies are served by the first loader containing the resource.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void transferAndCopy() throws IOException {
+        List<Function<List<ResourceLoader>,ResourceLoader>> factories=List.of(ChainedResourceLoader::new,IndexedResourceLoader::new);
+        for (Function<List<ResourceLoader>,ResourceLoader> factory: factories) {
+            try (ResourceLoader loader=factory.apply(createLoaders())) {
+                ByteArrayOutputStream out=new ByteArrayOutputStream();
+                try (WritableByteChannel target=Channels.newChannel(out)) {
+                    Assertions.assertEquals(1,loader.transferResource("shared.txt",target));
+                    Assertions.assertEquals(2,loader.transferResource("second.txt",target));
+                    Assertions.assertEquals(-1,loader.transferResource("missing.txt",target));
+                }
+                Assertions.assertEquals("122",out.toString());
+
+                Path copy=directory.resolve("copy.txt");
+                Assertions.assertEquals(1,loader.copyResource("shared.txt",copy));
+                Assertions.assertEquals("1",Files.readString(copy));
+                Assertions.assertEquals(-1,loader.copyResource("missing.txt",copy));
+                Assertions.assertThrows(IOException.class,()->loader.copyResource("second.txt",directory.resolve("missing").resolve("copy.txt")));
+            }
+        }
+    }
+}
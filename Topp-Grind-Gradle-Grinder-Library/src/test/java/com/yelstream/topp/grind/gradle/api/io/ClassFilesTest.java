@@ -0,0 +1,203 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Test of {@link ClassFiles}, reading class files compiled from the classes declared here.
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+class ClassFilesTest {
+    /**
+     * Annotation used as the value of other annotations.
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Nested {
+        /**
+         * Gets a class value.
+         * @return Class value.
+         */
+        Class<?> type();
+
+        /**
+         * Gets an enumeration value.
+         * @return Enumeration value.
+         */
+        ElementType kind();
+
+        /**
+         * Gets an array value.
+         * @return Array value.
+         */
+        long[] numbers();
+    }
+
+    /**
+     * Annotation visible at runtime, holding nested annotation values.
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Visible {
+        /**
+         * Gets a nested annotation value.
+         * @return Nested annotation value.
+         */
+        Nested value();
+
+        /**
+         * Gets an array of nested annotation values.
+         * @return Array of nested annotation values.
+         */
+        Nested[] more() default {};
+
+        /**
+         * Gets a double value.
+         * @return Double value.
+         */
+        double ratio() default 0.5;
+    }
+
+    /**
+     * Annotation visible at runtime, following an annotation holding nested annotation values.
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Trailing {
+    }
+
+    /**
+     * Annotation not visible at runtime.
+     */
+    @Retention(RetentionPolicy.CLASS)
+    @interface Invisible {
+    }
+
+    /**
+     * Annotation not kept in class files.
+     */
+    @Retention(RetentionPolicy.SOURCE)
+    @interface Discarded {
+    }
+
+    /**
+     * Class with long and double constants, which take two slots of the constant pool each,
+     * and with annotations visible at runtime and not.
+     */
+    @Visible(value=@Nested(type=String.class,kind=ElementType.TYPE,numbers={1234567890123L,-1L}),
+             more={@Nested(type=int[].class,kind=ElementType.FIELD,numbers={}),@Nested(type=Void.class,kind=ElementType.METHOD,numbers={42L})},
+             ratio=2.718281828)
+    @Trailing
+    @Invisible
+    @Discarded
+    abstract static class Sample extends AbstractList<String> implements Serializable, Runnable {
+        /**
+         * Long constant.
+         */
+        static final long LONG_VALUE=9876543210123L;
+
+        /**
+         * Double constant.
+         */
+        static final double DOUBLE_VALUE=3.14159265358979;
+
+        /**
+         * Computes a value from the constants.
+         * @param factor Factor.
+         * @return Value.
+         */
+        double compute(long factor) {
+            return factor*LONG_VALUE+DOUBLE_VALUE*1.41421356;
+        }
+    }
+
+    /**
+     * Reads a class file of a class declared here.
+     * @param type Class.
+     * @return Contents of class file.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private static byte[] readClassFile(Class<?> type) throws IOException {
+        try (InputStream stream=type.getResourceAsStream(type.getName().substring(type.getName().lastIndexOf('.')+1)+ClassFiles.CLASS_FILE_SUFFIX)) {
+            Assertions.assertNotNull(stream);
+            return stream.readAllBytes();
+        }
+    }
+
+    /**
+     * Tests reading a class with long and double constants and with nested annotation values.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void read() throws IOException {
+        ClassFileInfo info=ClassFiles.read(ByteBuffer.wrap(readClassFile(Sample.class)));
+        Assertions.assertEquals(Sample.class.getName(),info.getClassName());
+        Assertions.assertEquals(AbstractList.class.getName(),info.getSuperclassName());
+        Assertions.assertEquals(List.of(Serializable.class.getName(),Runnable.class.getName()),info.getInterfaceNames());
+        Assertions.assertEquals(Set.of(Visible.class.getName(),Trailing.class.getName(),Invisible.class.getName()),Set.copyOf(info.getAnnotationNames()));
+        Assertions.assertEquals(3,info.getAnnotationNames().size());
+        Assertions.assertTrue(info.isAbstract());
+        Assertions.assertFalse(info.isInterface());
+    }
+
+    /**
+     * Tests reading an annotation type.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void readAnnotationType() throws IOException {
+        ClassFileInfo info=ClassFiles.read(ByteBuffer.wrap(readClassFile(Visible.class)));
+        Assertions.assertEquals(Visible.class.getName(),info.getClassName());
+        Assertions.assertTrue(info.isInterface());
+        Assertions.assertTrue(info.isAbstract());
+        Assertions.assertEquals(List.of("java.lang.annotation.Annotation"),info.getInterfaceNames());
+        Assertions.assertEquals(List.of(Retention.class.getName()),info.getAnnotationNames());
+    }
+
+    /**
+     * Tests reading selected annotations only.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void readSelected() throws IOException {
+        ByteBuffer classFile=ByteBuffer.wrap(readClassFile(Sample.class));
+        ClassFileInfo info=ClassFiles.read(classFile,List.of(Invisible.class.getName()),true);
+        Assertions.assertEquals(List.of(Invisible.class.getName()),info.getAnnotationNames());
+        Assertions.assertEquals(List.of(Trailing.class.getName()),ClassFiles.read(classFile,List.of(Trailing.class.getName()),true).getAnnotationNames());
+        Assertions.assertEquals(List.of(),ClassFiles.read(classFile,List.of(Nested.class.getName()),false).getAnnotationNames());
+        Assertions.assertNull(ClassFiles.read(classFile,List.of(Nested.class.getName()),true));
+        Assertions.assertNull(ClassFiles.read(classFile,List.of(Discarded.class.getName()),true));
+        Assertions.assertEquals(0,classFile.position());
+    }
+
+    /**
+     * Tests that truncated and corrupt class files are rejected.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void truncated() throws IOException {
+        byte[] classFile=readClassFile(Sample.class);
+        for (int length=0; length<classFile.length; length++) {
+            ByteBuffer buffer=ByteBuffer.wrap(classFile,0,length);
+            Assertions.assertThrows(IllegalArgumentException.class,()->ClassFiles.read(buffer),"Length is "+length+"!");
+        }
+
+        byte[] corrupt=classFile.clone();
+        corrupt[0]=0;
+        Assertions.assertThrows(IllegalArgumentException.class,()->ClassFiles.read(ByteBuffer.wrap(corrupt)));
+        corrupt[0]=classFile[0];
+        corrupt[10]=(byte)99;  //Tag of the first entry of the constant pool!
+        Assertions.assertThrows(IllegalArgumentException.class,()->ClassFiles.read(ByteBuffer.wrap(corrupt)));
+    }
+}
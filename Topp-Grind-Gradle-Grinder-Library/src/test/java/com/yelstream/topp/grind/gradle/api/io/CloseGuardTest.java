@@ -0,0 +1,322 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Test of {@link CloseGuard}, racing reads of loaders against the closing of the loaders.
+ * <p>
+ *     Reads either complete with the expected contents or are refused;
+ *     streams and channels handed out before closing stay readable until closed,
+ *     and every archive opened is closed once the last reader is done.
+ * </p>
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+class CloseGuardTest {
+    /**
+     * Number of rounds of each race.
+     */
+    private static final int ROUNDS=25;
+
+    /**
+     * Number of reading threads of each round.
+     */
+    private static final int READERS=8;
+
+    /**
+     * Maximum number of reads of each reading thread.
+     */
+    private static final int MAX_READS=10000;
+
+    /**
+     * Temporary directory.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Contents of entries, keyed by name, of both archives.
+     */
+    private final Map<String,String> contents=new LinkedHashMap<>();
+
+    /**
+     * Creates an archive.
+     * @param prefix Prefix of the names of entries.
+     * @param stored Indicates, if entries are stored without compression.
+     * @return Archive file.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private Path createArchive(String prefix,
+                               boolean stored) throws IOException {
+        Map<String,String> entries=new LinkedHashMap<>();
+        for (int i=0; i<10; i++) {
+            entries.put(prefix+i+".txt",(prefix+i).repeat(2000+i*500));
+        }
+        contents.putAll(entries);
+        return TestArchives.createArchive(directory.resolve(prefix.replace('/','-')+"archive.jar"),entries,stored);
+    }
+
+    /**
+     * Reads a resource by one of the ways of reading.
+     * @param loader Loader.
+     * @param name Resource name.
+     * @param way Way of reading.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private void read(ResourceLoader loader,
+                      String name,
+                      int way) throws IOException {
+        switch (way) {
+            case 0 -> {
+                try (InputStream stream=loader.getResourceAsStream(name)) {
+                    Thread.yield();
+                    Assertions.assertEquals(contents.get(name),new String(stream.readAllBytes(),StandardCharsets.UTF_8));
+                }
+            }
+            case 1 -> {
+                try (ReadableByteChannel channel=loader.getResourceAsChannel(name)) {
+                    Thread.yield();
+                    Assertions.assertEquals(contents.get(name),StandardCharsets.UTF_8.decode(ResourceChannels.read(channel,-1)).toString());
+                }
+            }
+            default -> {
+                try (Stream<ResourceLocation> locations=loader.listResourceLocations("",null)) {
+                    Assertions.assertEquals(contents.size(),locations.count());
+                }
+                try (Stream<ResourceLocation> locations=loader.streamResourceLocations(name)) {
+                    Assertions.assertEquals(1,locations.count());
+                }
+            }
+        }
+    }
+
+    /**
+     * Races reads of a loader against the closing of the loader.
+     * @param loader Loader.
+     * @throws InterruptedException Thrown in case of interruption.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private void race(ResourceLoader loader) throws InterruptedException, IOException {
+        List<String> names=new ArrayList<>(contents.keySet());
+        Queue<Throwable> failures=new ConcurrentLinkedQueue<>();
+        AtomicInteger readCount=new AtomicInteger();
+        List<Thread> readers=new ArrayList<>();
+        for (int i=0; i<READERS; i++) {
+            readers.add(Thread.ofPlatform().start(()->{
+                ThreadLocalRandom random=ThreadLocalRandom.current();
+                for (int j=0; j<MAX_READS; j++) {
+                    try {
+                        read(loader,names.get(random.nextInt(names.size())),random.nextInt(3));
+                        readCount.incrementAndGet();
+                    } catch (IllegalStateException ex) {
+                        break;  //Refused!
+                    } catch (Throwable ex) {
+                        failures.add(ex);
+                        break;
+                    }
+                }
+            }));
+        }
+        int closeAfter=ThreadLocalRandom.current().nextInt(READERS*4);
+        while (readCount.get()<closeAfter) {
+            Thread.onSpinWait();
+        }
+        loader.close();
+        for (Thread reader: readers) {
+            reader.join();
+        }
+        if (!failures.isEmpty()) {
+            AssertionError error=new AssertionError("Failure to read while closing; failure count is "+failures.size()+"!");
+            failures.forEach(error::addSuppressed);
+            throw error;
+        }
+    }
+
+    /**
+     * Creates loaders of both archives, read directly.
+     * @param metrics Collector of metrics.
+     * @return Created loaders.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private List<ResourceLoader> createArchiveLoaders(ResourceMetrics metrics) throws IOException {
+        ResourceOffset resourceOffset=ResourceOffset.builder().build();
+        return List.of(new ArchiveResourceLoader(resourceOffset,createArchive("s/",true).toFile(),metrics),
+                       new ArchiveResourceLoader(resourceOffset,createArchive("d/",false).toFile(),metrics));
+    }
+
+    /**
+     * Verifies that all archives opened have been closed.
+     * @param metrics Collector of metrics.
+     */
+    private static void verifyClosed(ResourceMetrics metrics) {
+        ResourceMetricsSnapshot snapshot=metrics.snapshot();
+        Assertions.assertTrue(snapshot.getOpenedArchiveCount()>0);
+        Assertions.assertEquals(snapshot.getOpenedArchiveCount(),snapshot.getClosedArchiveCount());
+    }
+
+    /**
+     * Tests archive loaders.
+     * @throws InterruptedException Thrown in case of interruption.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void archive() throws InterruptedException, IOException {
+        ResourceOffset resourceOffset=ResourceOffset.builder().build();
+        for (int round=0; round<ROUNDS; round++) {
+            ResourceMetrics metrics=new ResourceMetrics();
+            race(new ArchiveResourceLoader(resourceOffset,createArchive("s/",true).toFile(),metrics));
+            contents.clear();
+            race(new ArchiveResourceLoader(resourceOffset,createArchive("d/",false).toFile(),metrics));
+            contents.clear();
+            verifyClosed(metrics);
+        }
+    }
+
+    /**
+     * Tests chained loaders.
+     * @throws InterruptedException Thrown in case of interruption.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void chained() throws InterruptedException, IOException {
+        for (int round=0; round<ROUNDS; round++) {
+            ResourceMetrics metrics=new ResourceMetrics();
+            race(new ChainedResourceLoader(createArchiveLoaders(metrics)));
+            verifyClosed(metrics);
+            contents.clear();
+        }
+    }
+
+    /**
+     * Tests indexed loaders.
+     * @throws InterruptedException Thrown in case of interruption.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void indexed() throws InterruptedException, IOException {
+        for (int round=0; round<ROUNDS; round++) {
+            ResourceMetrics metrics=new ResourceMetrics();
+            race(new IndexedResourceLoader(createArchiveLoaders(metrics)));
+            verifyClosed(metrics);
+            contents.clear();
+        }
+    }
+
+    /**
+     * Tests lazy loaders in a chain, sharing a pool allowing a single open archive.
+     * @throws InterruptedException Thrown in case of interruption.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void lazy() throws InterruptedException, IOException {
+        for (int round=0; round<ROUNDS; round++) {
+            ResourceMetrics metrics=new ResourceMetrics();
+            ResourceLoaderPool pool=new ResourceLoaderPool(1);
+            ResourceOffset resourceOffset=ResourceOffset.builder().build();
+            List<ResourceLoader> loaders=new ArrayList<>();
+            for (Path archive: List.of(createArchive("s/",true),createArchive("d/",false))) {
+                loaders.add(new LazyResourceLoader(resourceOffset,pool,archive.toFile(),()->new ArchiveResourceLoader(resourceOffset,archive.toFile(),metrics)));
+            }
+            race(new ChainedResourceLoader(loaders));
+            verifyClosed(metrics);
+            Assertions.assertEquals(0,pool.getOpenLoaderCount());
+            contents.clear();
+        }
+    }
+
+    /**
+     * Tests that streams of locations of chained and indexed loaders are lazy,
+     * and hold off closing of the loaders until closed.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void lazyLocationStreams() throws IOException {
+        List<Function<List<ResourceLoader>,ResourceLoader>> factories=List.of(ChainedResourceLoader::new,IndexedResourceLoader::new);
+        for (Function<List<ResourceLoader>,ResourceLoader> factory: factories) {
+            ResourceMetrics metrics=new ResourceMetrics();
+            ResourceOffset resourceOffset=ResourceOffset.builder().build();
+            AtomicInteger queryCount=new AtomicInteger();
+            List<ResourceLoader> loaders=new ArrayList<>();
+            for (String archiveName: List.of("first.jar","second.jar")) {
+                Path archive=TestArchives.createArchive(directory.resolve(archiveName),Map.of("a.txt","A"),true);
+                loaders.add(new ProxyResourceLoader(new ArchiveResourceLoader(resourceOffset,archive.toFile(),metrics)) {
+                    @Override
+                    public Stream<ResourceLocation> streamResourceLocations(String name) {
+                        queryCount.incrementAndGet();
+                        return super.streamResourceLocations(name);
+                    }
+
+                    @Override
+                    public Stream<ResourceLocation> listResourceLocations(String prefix,
+                                                                         String glob) {
+                        queryCount.incrementAndGet();
+                        return super.listResourceLocations(prefix,glob);
+                    }
+                });
+            }
+            ResourceLoader loader=factory.apply(loaders);
+            try (Stream<ResourceLocation> locations=loader.streamResourceLocations("a.txt")) {
+                Assertions.assertTrue(locations.findFirst().isPresent());
+                Assertions.assertEquals(1,queryCount.get());
+            }
+            queryCount.set(0);
+            try (Stream<ResourceLocation> locations=loader.listResourceLocations("",null)) {
+                Assertions.assertEquals(0,queryCount.get());
+                Assertions.assertTrue(locations.findFirst().isPresent());
+                Assertions.assertEquals(1,queryCount.get());
+                loader.close();
+                Assertions.assertEquals(0,metrics.snapshot().getClosedArchiveCount());
+            }
+            verifyClosed(metrics);
+            Assertions.assertThrows(IllegalStateException.class,()->loader.streamResourceLocations("a.txt"));
+        }
+    }
+
+    /**
+     * Tests that an operation exiting last after closing keeps its result, when closing the resource fails.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void failingCloseAtLastExit() throws IOException {
+        AtomicInteger closeCount=new AtomicInteger();
+        CloseGuard guard=new CloseGuard(()->{
+            closeCount.incrementAndGet();
+            throw new IOException("Failure to close!");
+        });
+        String result=guard.apply(()->{
+            try {
+                guard.close();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return "R";
+        });
+        Assertions.assertEquals("R",result);
+        Assertions.assertEquals(1,closeCount.get());
+        Assertions.assertTrue(guard.isClosed());
+        Assertions.assertThrows(IllegalStateException.class,()->guard.apply(()->"S"));
+        guard.close();
+        Assertions.assertEquals(1,closeCount.get());
+    }
+}
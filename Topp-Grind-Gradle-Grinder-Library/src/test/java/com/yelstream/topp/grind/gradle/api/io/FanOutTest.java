@@ -0,0 +1,57 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Test of {@link FanOut}.
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+class FanOutTest {
+    /**
+     * Tests that a bounded fan-out keeps the order of elements and never exceeds its parallelism.
+     */
+    @Test
+    void bounded() {
+        List<Integer> elements=IntStream.range(0,200).boxed().toList();
+        AtomicInteger running=new AtomicInteger();
+        AtomicInteger maxRunning=new AtomicInteger();
+        List<Integer> results=FanOut.map(elements,element->{
+            maxRunning.accumulateAndGet(running.incrementAndGet(),Math::max);
+            try {
+                Thread.sleep(element%7==0?5:0);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            return element*2;
+        },FanOut.VIRTUAL_THREADS,3);
+        Assertions.assertEquals(elements.stream().map(e->e*2).toList(),results);
+        Assertions.assertTrue(maxRunning.get()<=3);
+    }
+
+    /**
+     * Tests that the failure of an application is thrown, and that no further elements are taken.
+     */
+    @Test
+    void boundedFailure() {
+        List<Integer> elements=IntStream.range(0,1000).boxed().toList();
+        AtomicInteger appliedCount=new AtomicInteger();
+        IllegalStateException failure=Assertions.assertThrows(IllegalStateException.class,()->FanOut.map(elements,element->{
+            appliedCount.incrementAndGet();
+            if (element==10) {
+                throw new IllegalStateException("Failure!");
+            }
+            return element;
+        },FanOut.VIRTUAL_THREADS,2));
+        Assertions.assertEquals("Failure!",failure.getMessage());
+        Assertions.assertTrue(appliedCount.get()<elements.size());
+    }
+}
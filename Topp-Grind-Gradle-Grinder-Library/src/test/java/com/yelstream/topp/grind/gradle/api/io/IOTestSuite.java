@@ -0,0 +1,16 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import org.junit.platform.suite.api.SelectPackages;
+import org.junit.platform.suite.api.Suite;
+
+/**
+ * Test suite of loaders of resources.
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@Suite
+@SelectPackages("com.yelstream.topp.grind.gradle.api.io")
+public class IOTestSuite {
+}
@@ -0,0 +1,115 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Test of {@link InstrumentedResourceLoader} and {@link LatencyHistogram}.
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+class InstrumentedResourceLoaderTest {
+    /**
+     * Temporary directory.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Tests that lookups are counted as hits and misses per operation, and that bytes read are counted.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void hitsAndMisses() throws IOException {
+        Path root=directory.resolve("root");
+        Files.createDirectories(root);
+        Files.writeString(root.resolve("a.txt"),"A".repeat(100));
+        ResourceMetrics metrics=new ResourceMetrics();
+        try (ResourceLoader loader=new InstrumentedResourceLoader(new DirectoryResourceLoader(ResourceOffset.builder().build(),root),metrics)) {
+            Assertions.assertNotNull(loader.getResource("a.txt"));
+            Assertions.assertNull(loader.getResource("missing.txt"));
+            Assertions.assertNull(loader.getResource("missing.txt"));
+            try (InputStream stream=loader.getResourceAsStream("a.txt")) {
+                Assertions.assertEquals(100,stream.readAllBytes().length);
+            }
+            try (Stream<ResourceLocation> locations=loader.streamResourceLocations("a.txt")) {
+                Assertions.assertEquals(1,locations.count());
+            }
+            try (Stream<ResourceLocation> locations=loader.streamResourceLocations("missing.txt")) {
+                Assertions.assertEquals(0,locations.count());
+            }
+            try (Stream<ResourceLocation> locations=loader.listResourceLocations(null,"*.txt")) {
+                Assertions.assertEquals(1,locations.count());
+            }
+        }
+
+        ResourceMetricsSnapshot snapshot=metrics.snapshot();
+        Assertions.assertEquals(1,snapshot.getHitCounts().get(ResourceMetrics.Operation.GET_RESOURCE));
+        Assertions.assertEquals(2,snapshot.getMissCounts().get(ResourceMetrics.Operation.GET_RESOURCE));
+        Assertions.assertEquals(3,snapshot.getLatencies().get(ResourceMetrics.Operation.GET_RESOURCE).getCount());
+        Assertions.assertEquals(1,snapshot.getHitCounts().get(ResourceMetrics.Operation.GET_RESOURCE_AS_STREAM));
+        Assertions.assertEquals(1,snapshot.getHitCounts().get(ResourceMetrics.Operation.STREAM_RESOURCE_LOCATIONS));
+        Assertions.assertEquals(1,snapshot.getMissCounts().get(ResourceMetrics.Operation.STREAM_RESOURCE_LOCATIONS));
+        Assertions.assertEquals(1,snapshot.getHitCounts().get(ResourceMetrics.Operation.LIST_RESOURCE_LOCATIONS));
+        Assertions.assertEquals(7,snapshot.getLookupCount());
+        Assertions.assertEquals(4,snapshot.getHitCount());
+        Assertions.assertEquals(100,snapshot.getByteCount());
+    }
+
+    /**
+     * Tests that channels of stored archive entries stay seekable and transfer without copying when instrumented.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void channelCapabilities() throws IOException {
+        String content="S".repeat(10000);
+        Path archive=TestArchives.createArchive(directory.resolve("archive.jar"),Map.of("s.txt",content),true);
+        ResourceMetrics metrics=new ResourceMetrics();
+        Path target=directory.resolve("target.txt");
+        try (ResourceLoader loader=new InstrumentedResourceLoader(new ArchiveResourceLoader(ResourceOffset.builder().build(),archive.toFile()),metrics);
+             ReadableByteChannel channel=loader.getResourceAsChannel("s.txt");
+             FileChannel targetChannel=ResourceChannels.openTarget(target)) {
+            SeekableByteChannel seekableChannel=Assertions.assertInstanceOf(SeekableByteChannel.class,channel);
+            Assertions.assertEquals(content.length(),seekableChannel.size());
+            seekableChannel.position(1000);
+            Assertions.assertEquals(content.length()-1000,ResourceChannels.transfer(channel,targetChannel));
+        }
+        Assertions.assertEquals(content.length()-1000,Files.size(target));
+        Assertions.assertEquals(content.length()-1000,metrics.snapshot().getByteCount());
+    }
+
+    /**
+     * Tests percentiles of latencies.
+     */
+    @Test
+    void percentiles() {
+        LatencyHistogram histogram=new LatencyHistogram();
+        Assertions.assertEquals(0,histogram.getPercentile(50));
+        for (long value=1; value<=10000; value++) {
+            histogram.record(value);
+        }
+        Assertions.assertEquals(10000,histogram.getCount());
+        Assertions.assertEquals(10000,histogram.getMax());
+        Assertions.assertEquals(5000.5,histogram.getMean(),0.001);
+        for (double percentile: new double[]{50,90,99}) {
+            long expected=(long)(percentile*100);
+            long actual=histogram.getPercentile(percentile);
+            Assertions.assertTrue(actual>=expected && actual<=expected+expected/16,"Percentile "+percentile+" is "+actual+"!");
+        }
+        Assertions.assertEquals(10000,histogram.getPercentile(100));
+        Assertions.assertEquals(1,histogram.getPercentile(0));
+    }
+}
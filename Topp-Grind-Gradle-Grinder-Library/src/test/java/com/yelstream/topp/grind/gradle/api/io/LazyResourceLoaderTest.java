@@ -0,0 +1,188 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test of {@link LazyResourceLoader}.
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+class LazyResourceLoaderTest {
+    /**
+     * Temporary directory.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Creates a lazy loader of an archive.
+     * @param pool Pool of open loaders.
+     * @param name Name of archive file.
+     * @return Created loader.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private LazyResourceLoader createLoader(ResourceLoaderPool pool,
+                                            String name) throws IOException {
+        Path archive=TestArchives.createArchive(directory.resolve(name),Map.of("a.txt","A".repeat(10000)),false);
+        ResourceOffset resourceOffset=ResourceOffset.builder().build();
+        return new LazyResourceLoader(resourceOffset,pool,archive.toFile(),()->new ArchiveResourceLoader(resourceOffset,archive.toFile()));
+    }
+
+    /**
+     * Tests that closing defers the closing of the actual loader until the last lease is released.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void closeWhileLeased() throws IOException {
+        ResourceLoaderPool pool=new ResourceLoaderPool(1);
+        LazyResourceLoader loader=createLoader(pool,"a.jar");
+        InputStream stream=loader.getResourceAsStream("a.txt");
+        Assertions.assertNotNull(stream);
+        loader.close();
+        Assertions.assertTrue(loader.isOpen());
+        Assertions.assertThrows(IllegalStateException.class,()->loader.getResource("a.txt"));
+        Assertions.assertEquals("A".repeat(10000),new String(stream.readAllBytes(),StandardCharsets.UTF_8));
+        stream.close();
+        Assertions.assertFalse(loader.isOpen());
+        Assertions.assertEquals(0,pool.getOpenLoaderCount());
+    }
+
+    /**
+     * Tests that closing an idle loader closes the actual loader at once.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void closeIdle() throws IOException {
+        ResourceLoaderPool pool=new ResourceLoaderPool(ResourceLoaderPool.UNBOUNDED);
+        LazyResourceLoader loader=createLoader(pool,"a.jar");
+        Assertions.assertFalse(loader.isOpen());
+        Assertions.assertNotNull(loader.getResource("a.txt"));
+        Assertions.assertTrue(loader.isOpen());
+        loader.close();
+        Assertions.assertFalse(loader.isOpen());
+        Assertions.assertEquals(0,pool.getOpenLoaderCount());
+    }
+
+    /**
+     * Tests that loaders in use are not evicted.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void noEvictionWhileLeased() throws IOException {
+        ResourceLoaderPool pool=new ResourceLoaderPool(1);
+        LazyResourceLoader first=createLoader(pool,"a.jar");
+        LazyResourceLoader second=createLoader(pool,"b.jar");
+        try (InputStream stream=first.getResourceAsStream("a.txt")) {
+            Assertions.assertNotNull(second.getResource("a.txt"));
+            Assertions.assertTrue(first.isOpen());
+            Assertions.assertFalse(second.isOpen());
+            Assertions.assertEquals(10000,stream.readAllBytes().length);
+        }
+        Assertions.assertNotNull(second.getResource("a.txt"));
+        Assertions.assertFalse(first.isOpen());
+        Assertions.assertTrue(second.isOpen());
+        first.close();
+        second.close();
+    }
+
+    /**
+     * Creates a lazy loader of an archive, where closing the actual loader fails.
+     * @param pool Pool of open loaders.
+     * @param name Name of archive file.
+     * @param closeCount Counter of attempts to close the actual loader.
+     * @return Created loader.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private LazyResourceLoader createFailingLoader(ResourceLoaderPool pool,
+                                                   String name,
+                                                   AtomicInteger closeCount) throws IOException {
+        Path archive=TestArchives.createArchive(directory.resolve(name),Map.of("a.txt","A"),false);
+        ResourceOffset resourceOffset=ResourceOffset.builder().build();
+        return new LazyResourceLoader(resourceOffset,pool,archive.toFile(),()->new ArchiveResourceLoader(resourceOffset,archive.toFile()) {
+            @Override
+            public void close() throws IOException {
+                super.close();
+                closeCount.incrementAndGet();
+                throw new IOException("Failure to close!");
+            }
+        });
+    }
+
+    /**
+     * Tests that a lookup succeeds and the lease is released when closing an evicted loader fails.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void failingEviction() throws IOException {
+        ResourceLoaderPool pool=new ResourceLoaderPool(1);
+        AtomicInteger closeCount=new AtomicInteger();
+        LazyResourceLoader first=createFailingLoader(pool,"a.jar",closeCount);
+        LazyResourceLoader second=createLoader(pool,"b.jar");
+        Assertions.assertNotNull(first.getResource("a.txt"));
+        Assertions.assertNotNull(second.getResource("a.txt"));
+        Assertions.assertEquals(1,closeCount.get());
+        Assertions.assertFalse(first.isOpen());
+        second.close();
+        Assertions.assertFalse(second.isOpen());
+        Assertions.assertEquals(0,pool.getOpenLoaderCount());
+        first.close();
+    }
+
+    /**
+     * Tests that lookups and streams of loaders in use succeed, when closing loaders evicted at release fails.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void failingEvictionWhileLeased() throws IOException {
+        ResourceLoaderPool pool=new ResourceLoaderPool(1);
+        AtomicInteger closeCount=new AtomicInteger();
+        LazyResourceLoader first=createFailingLoader(pool,"a.jar",closeCount);
+        LazyResourceLoader second=createFailingLoader(pool,"b.jar",closeCount);
+        LazyResourceLoader third=createFailingLoader(pool,"c.jar",closeCount);
+        try (InputStream firstStream=first.getResourceAsStream("a.txt");
+             InputStream secondStream=second.getResourceAsStream("a.txt")) {
+            Assertions.assertNotNull(third.getResource("a.txt"));
+            Assertions.assertEquals(1,closeCount.get());
+            Assertions.assertFalse(third.isOpen());
+            Assertions.assertEquals("A",new String(firstStream.readAllBytes(),StandardCharsets.UTF_8));
+            Assertions.assertEquals("A",new String(secondStream.readAllBytes(),StandardCharsets.UTF_8));
+        }
+        Assertions.assertEquals(2,closeCount.get());
+        Assertions.assertEquals(1,pool.getOpenLoaderCount());
+        Assertions.assertThrows(IOException.class,first::close);
+        second.close();
+        third.close();
+        Assertions.assertEquals(3,closeCount.get());
+        Assertions.assertEquals(0,pool.getOpenLoaderCount());
+    }
+
+    /**
+     * Tests that a lookup holding the last lease of a closed loader succeeds when closing the actual loader fails.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void failingCloseAtLastLease() throws IOException {
+        ResourceLoaderPool pool=new ResourceLoaderPool(ResourceLoaderPool.UNBOUNDED);
+        AtomicInteger closeCount=new AtomicInteger();
+        LazyResourceLoader loader=createFailingLoader(pool,"a.jar",closeCount);
+        InputStream stream=loader.getResourceAsStream("a.txt");
+        Assertions.assertNotNull(stream);
+        loader.close();
+        Assertions.assertEquals("A",new String(stream.readAllBytes(),StandardCharsets.UTF_8));
+        stream.close();
+        Assertions.assertEquals(1,closeCount.get());
+        Assertions.assertFalse(loader.isOpen());
+        Assertions.assertEquals(0,pool.getOpenLoaderCount());
+    }
+}
@@ -0,0 +1,131 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test of {@link ResourceChannels}.
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+class ResourceChannelsTest {
+    /**
+     * Temporary directory.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Tests that small regions are read into heap buffers and large regions are mapped.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void readRegion() throws IOException {
+        Path file=directory.resolve("a.bin");
+        Files.writeString(file,"0123456789"+"X".repeat((int)ResourceChannels.MAP_THRESHOLD));
+        try (FileChannel channel=FileChannel.open(file)) {
+            channel.position(3);
+            ByteBuffer small=ResourceChannels.readRegion(channel,2,5);
+            Assertions.assertFalse(small.isDirect());
+            Assertions.assertTrue(small.isReadOnly());
+            Assertions.assertEquals("23456",StandardCharsets.UTF_8.decode(small).toString());
+            Assertions.assertEquals(3,channel.position());
+
+            ByteBuffer large=ResourceChannels.readRegion(channel,10,ResourceChannels.MAP_THRESHOLD);
+            Assertions.assertTrue(large.isDirect());
+            Assertions.assertEquals(ResourceChannels.MAP_THRESHOLD,large.remaining());
+
+            Assertions.assertThrows(EOFException.class,()->ResourceChannels.readRegion(channel,channel.size()-2,5));
+        }
+    }
+
+    /**
+     * Tests that loaders reading files directly return small contents as heap buffers, e.g. when scanning class files.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void smallContentsNotMapped() throws IOException {
+        Path root=directory.resolve("root");
+        Files.createDirectories(root);
+        Files.writeString(root.resolve("A.class"),"A");
+        Path archive=TestArchives.createArchive(directory.resolve("a.jar"),Map.of("A.class","A"),true);
+        ResourceOffset resourceOffset=ResourceOffset.builder().build();
+        try (ResourceLoader loader=ChainedResourceLoader.of(new DirectoryResourceLoader(resourceOffset,root),new ArchiveResourceLoader(resourceOffset,archive.toFile()))) {
+            List<ResourceLocation> locations=loader.getResourceLocations("A.class");
+            Assertions.assertEquals(2,locations.size());
+            for (ResourceLocation location: locations) {
+                ByteBuffer contents=location.getByteBuffer();
+                Assertions.assertFalse(contents.isDirect());
+                Assertions.assertEquals("A",StandardCharsets.UTF_8.decode(contents).toString());
+            }
+        }
+    }
+
+    /**
+     * Creates a target channel accepting no bytes for a number of writes, e.g. like a full, non-blocking channel.
+     * @param out Stream receiving accepted bytes.
+     * @param refusals Number of writes accepting no bytes.
+     * @return Created channel.
+     */
+    private static WritableByteChannel createRefusingTarget(ByteArrayOutputStream out,
+                                                            int refusals) {
+        WritableByteChannel channel=Channels.newChannel(out);
+        AtomicInteger writeCount=new AtomicInteger();
+        return new WritableByteChannel() {
+            @Override
+            public int write(ByteBuffer src) throws IOException {
+                return writeCount.incrementAndGet()<=refusals?0:channel.write(src);
+            }
+
+            @Override
+            public boolean isOpen() {
+                return channel.isOpen();
+            }
+
+            @Override
+            public void close() throws IOException {
+                channel.close();
+            }
+        };
+    }
+
+    /**
+     * Tests that a region is copied through a buffer when a transfer makes no progress,
+     * and that a target accepting no bytes fails rather than spins.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void transferWithoutProgress() throws IOException {
+        Path file=directory.resolve("a.txt");
+        Files.writeString(file,"0123456789");
+        try (FileChannel channel=FileChannel.open(file)) {
+            ByteArrayOutputStream out=new ByteArrayOutputStream();
+            Assertions.assertEquals(5,ResourceChannels.transfer(channel,2,5,createRefusingTarget(out,1)));
+            Assertions.assertEquals("23456",out.toString());
+
+            WritableByteChannel refusing=createRefusingTarget(new ByteArrayOutputStream(),Integer.MAX_VALUE);
+            Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10),()->
+                Assertions.assertThrows(IOException.class,()->ResourceChannels.transfer(channel,2,5,refusing)));
+            Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10),()->
+                Assertions.assertThrows(IOException.class,()->ResourceChannels.transfer(channel,8,5,createRefusingTarget(new ByteArrayOutputStream(),0))));
+        }
+    }
+}
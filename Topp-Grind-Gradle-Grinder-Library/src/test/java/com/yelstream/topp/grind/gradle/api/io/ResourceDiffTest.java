@@ -0,0 +1,140 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Test of {@link ResourceDiff}.
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+class ResourceDiffTest {
+    /**
+     * Temporary directory.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Creates a loader of an archive.
+     * @param name Name of archive file.
+     * @param entries Contents of entries, keyed by name.
+     * @return Created loader.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private ArchiveResourceLoader createLoader(String name,
+                                               Map<String,String> entries) throws IOException {
+        Path archive=TestArchives.createArchive(directory.resolve(name),entries,true);
+        return new ArchiveResourceLoader(ResourceOffset.builder().build(),archive.toFile());
+    }
+
+    /**
+     * Computes differences as text.
+     * @param diff Difference.
+     * @return Kinds and names of the differences, in order.
+     */
+    private static List<String> describe(ResourceDiff diff) {
+        try (Stream<ResourceDifference> differences=diff.stream()) {
+            return differences.map(d->d.getKind()+" "+d.getResourceName()).toList();
+        }
+    }
+
+    /**
+     * Tests that resources are reported as added, removed, changed and, if asked, unchanged, in the order of names.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void kinds() throws IOException {
+        try (ArchiveResourceLoader oldLoader=createLoader("old.jar",Map.of("b-removed.txt","R","c-changed.txt","old","d-same.txt","S","e-resized.txt","E"));
+             ArchiveResourceLoader newLoader=createLoader("new.jar",Map.of("a-added.txt","A","c-changed.txt","new","d-same.txt","S","e-resized.txt","EE"))) {
+            ResourceDiff diff=ResourceDiff.builder().oldResourceLoader(oldLoader).newResourceLoader(newLoader).build();
+            Assertions.assertEquals(List.of("ADDED a-added.txt","REMOVED b-removed.txt","CHANGED c-changed.txt","CHANGED e-resized.txt"),describe(diff));
+
+            ResourceDiff unchangedDiff=diff.toBuilder().includeUnchanged(true).build();
+            Assertions.assertEquals(List.of("ADDED a-added.txt","REMOVED b-removed.txt","CHANGED c-changed.txt","UNCHANGED d-same.txt","CHANGED e-resized.txt"),describe(unchangedDiff));
+
+            try (Stream<ResourceDifference> differences=diff.stream()) {
+                ResourceDifference changed=differences.filter(d->d.getResourceName().equals("e-resized.txt")).findFirst().orElseThrow();
+                Assertions.assertEquals(1,changed.getOldFingerprint().getSize());
+                Assertions.assertEquals(2,changed.getNewFingerprint().getSize());
+                Assertions.assertSame(oldLoader,changed.getOldLocation().getResourceLoader());
+                Assertions.assertSame(newLoader,changed.getNewLocation().getResourceLoader());
+            }
+
+            ResourceDiff globDiff=unchangedDiff.toBuilder().glob("{a,d}-*.txt").build();
+            Assertions.assertEquals(List.of("ADDED a-added.txt","UNCHANGED d-same.txt"),describe(globDiff));
+        }
+    }
+
+    /**
+     * Tests that contents with equal fingerprints are compared byte for byte only if asked.
+     * The new archive has the contents of an entry overwritten in place,
+     * leaving the size and the CRC-32 value recorded in the archive as they were.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void compareContents() throws IOException {
+        Path newArchive=TestArchives.createArchive(directory.resolve("new.jar"),Map.of("a.txt","XXXXXXXX","b.txt","same"),true);
+        byte[] bytes=Files.readAllBytes(newArchive);
+        byte[] original="XXXXXXXX".getBytes(StandardCharsets.US_ASCII);
+        int index=indexOf(bytes,original);
+        Assertions.assertTrue(index>=0);
+        System.arraycopy("YYYYYYYY".getBytes(StandardCharsets.US_ASCII),0,bytes,index,original.length);
+        Files.write(newArchive,bytes);
+
+        try (ArchiveResourceLoader oldLoader=createLoader("old.jar",Map.of("a.txt","XXXXXXXX","b.txt","same"));
+             ArchiveResourceLoader newLoader=new ArchiveResourceLoader(ResourceOffset.builder().build(),newArchive.toFile())) {
+            Assertions.assertEquals(oldLoader.getResourceFingerprint("a.txt"),newLoader.getResourceFingerprint("a.txt"));
+            ResourceDiff diff=ResourceDiff.builder().oldResourceLoader(oldLoader).newResourceLoader(newLoader).build();
+            Assertions.assertEquals(List.of(),describe(diff));
+            ResourceDiff contentsDiff=diff.toBuilder().compareContents(true).build();
+            Assertions.assertEquals(List.of("CHANGED a.txt"),describe(contentsDiff));
+        }
+    }
+
+    /**
+     * Tests that the first occurrence in chain order of a resource occurring more than once is compared.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void duplicates() throws IOException {
+        try (ChainedResourceLoader oldLoader=ChainedResourceLoader.of(createLoader("old1.jar",Map.of("a.txt","1")),createLoader("old2.jar",Map.of("a.txt","2","b.txt","B")));
+             ArchiveResourceLoader newLoader=createLoader("new.jar",Map.of("a.txt","1","b.txt","B"));
+             ChainedResourceLoader reversedLoader=ChainedResourceLoader.of(createLoader("new2.jar",Map.of("a.txt","2","b.txt","B")),createLoader("new1.jar",Map.of("a.txt","1")))) {
+            ResourceDiff diff=ResourceDiff.builder().oldResourceLoader(oldLoader).newResourceLoader(newLoader).includeUnchanged(true).build();
+            Assertions.assertEquals(List.of("UNCHANGED a.txt","UNCHANGED b.txt"),describe(diff));
+            ResourceDiff reversedDiff=diff.toBuilder().newResourceLoader(reversedLoader).build();
+            Assertions.assertEquals(List.of("CHANGED a.txt","UNCHANGED b.txt"),describe(reversedDiff));
+        }
+    }
+
+    /**
+     * Finds the first occurrence of a sequence of bytes.
+     * @param bytes Bytes searched.
+     * @param sequence Sequence of bytes.
+     * @return Index of first occurrence.
+     *         This is {@code -1} in case of no occurrence.
+     */
+    private static int indexOf(byte[] bytes,
+                               byte[] sequence) {
+        int res=-1;
+        for (int i=0; res<0 && i+sequence.length<=bytes.length; i++) {
+            if (Arrays.equals(bytes,i,i+sequence.length,sequence,0,sequence.length)) {
+                res=i;
+            }
+        }
+        return res;
+    }
+}
@@ -0,0 +1,100 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test of {@link ResourceDuplicateScanner}.
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+class ResourceDuplicateScannerTest {
+    /**
+     * Number of resources unique to each archive.
+     */
+    private static final int UNIQUE_COUNT=500;
+
+    /**
+     * Temporary directory.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Creates an archive holding resources unique to it and the resources shared with the other archive.
+     * @param name Name of archive file.
+     * @param differingContent Content of the shared resource which differs between the archives.
+     * @return Archive file.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private File createArchive(String name,
+                               String differingContent) throws IOException {
+        Map<String,String> entries=new LinkedHashMap<>();
+        for (int i=0; i<UNIQUE_COUNT; i++) {
+            entries.put(name+"/unique-"+i+".txt",name);
+        }
+        entries.put("identical.txt","Identical");
+        entries.put("differing.txt",differingContent);
+        return TestArchives.createArchive(directory.resolve(name),entries,false).toFile();
+    }
+
+    /**
+     * Scans two archives with a given probability of false positives of the membership filters.
+     * @param falsePositiveProbability Probability of false positives.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private void scan(double falsePositiveProbability) throws IOException {
+        File first=createArchive("first.jar","A");
+        File second=createArchive("second.jar","B");
+        ResourceOffset resourceOffset=ResourceOffset.builder().build();
+        List<ResourceLoader> loaders=List.of(new ArchiveResourceLoader(resourceOffset.forFile(first),first),
+                                             new ArchiveResourceLoader(resourceOffset.forFile(second),second));
+        try (ResourceLoader loader=new ChainedResourceLoader(loaders)) {
+            List<ResourceDuplicate> duplicates=ResourceDuplicateScanner.builder()
+                                                                       .resourceLoader(loader)
+                                                                       .parallelism(2)
+                                                                       .falsePositiveProbability(falsePositiveProbability)
+                                                                       .build()
+                                                                       .scan();
+            Assertions.assertEquals(List.of("differing.txt","identical.txt"),duplicates.stream().map(ResourceDuplicate::getResourceName).toList());
+
+            ResourceDuplicate differing=duplicates.get(0);
+            Assertions.assertFalse(differing.isIdentical());
+            Assertions.assertEquals(first,differing.getWinner().getResourceOffset().getFile());
+            Assertions.assertEquals(List.of(second),differing.getShadowed().stream().map(l->l.getResourceOffset().getFile()).toList());
+
+            ResourceDuplicate identical=duplicates.get(1);
+            Assertions.assertTrue(identical.isIdentical());
+            Assertions.assertEquals(first,identical.getWinner().getResourceOffset().getFile());
+        }
+    }
+
+    /**
+     * Tests that resources shadowed across archives are reported, with identical and differing contents told apart.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void shadowed() throws IOException {
+        scan(ResourceDuplicateScanner.DEFAULT_FALSE_POSITIVE_PROBABILITY);
+    }
+
+    /**
+     * Tests that false positives of the membership filters are not reported.
+     * The filters are sized to be saturated, hence nearly every name unique to the second archive is a false positive.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void falsePositivesDropped() throws IOException {
+        scan(0.999999);
+    }
+}
@@ -0,0 +1,72 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Test of {@link ResourceExtractor}.
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+class ResourceExtractorTest {
+    /**
+     * Temporary directory.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Extracts the resources of an archive.
+     * @param archive Archive file.
+     * @param target Target directory.
+     * @return Outcome of extraction.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private static ResourceExtraction extract(Path archive,
+                                              Path target) throws IOException {
+        try (ResourceLoader loader=new ArchiveResourceLoader(ResourceOffset.builder().build(),archive.toFile())) {
+            return ResourceExtractor.builder().resourceLoader(loader).targetDirectory(target).parallelism(2).build().extract();
+        }
+    }
+
+    /**
+     * Tests that names not representable as plain lines of the manifest survive repeated extractions,
+     * and that a resource named like the manifest file does not overwrite the manifest.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void awkwardNames() throws IOException {
+        Map<String,String> entries=new LinkedHashMap<>();
+        entries.put("line\nbreak.txt","A");
+        entries.put("tab\tand\\backslash.txt","B");
+        entries.put(ResourceExtractor.DEFAULT_MANIFEST_FILE_NAME,"Not a manifest");
+        entries.put("plain.txt","C");
+        Path archive=TestArchives.createArchive(directory.resolve("first.jar"),entries,false);
+        Path target=directory.resolve("target");
+
+        ResourceExtraction extraction=extract(archive,target);
+        Assertions.assertEquals(3,extraction.getExtractedCount());
+        Assertions.assertEquals("A",Files.readString(target.resolve("line\nbreak.txt")));
+        Assertions.assertNotEquals("Not a manifest",Files.readString(target.resolve(ResourceExtractor.DEFAULT_MANIFEST_FILE_NAME)));
+
+        extraction=extract(archive,target);
+        Assertions.assertEquals(0,extraction.getExtractedCount());
+        Assertions.assertEquals(3,extraction.getSkippedCount());
+
+        entries.remove("line\nbreak.txt");
+        archive=TestArchives.createArchive(directory.resolve("second.jar"),entries,false);
+        extraction=extract(archive,target);
+        Assertions.assertEquals(1,extraction.getDeletedCount());
+        Assertions.assertEquals(2,extraction.getSkippedCount());
+        Assertions.assertFalse(Files.exists(target.resolve("line\nbreak.txt")));
+    }
+}
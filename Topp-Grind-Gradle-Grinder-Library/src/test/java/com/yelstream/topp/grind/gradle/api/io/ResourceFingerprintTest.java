@@ -0,0 +1,120 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+
+/**
+ * Test of {@link ResourceFingerprint}, as created by loaders of different origins.
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+class ResourceFingerprintTest {
+    /**
+     * Temporary directory.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Entries of archives.
+     */
+    private static final Map<String,String> ENTRIES=Map.of("a.txt","A".repeat(5000),"dir/b.txt","B","empty.txt","");
+
+    /**
+     * Creates the fingerprint of contents by reading these.
+     * @param contents Contents.
+     * @return Created fingerprint.
+     */
+    private static ResourceFingerprint fingerprint(String contents) {
+        return ResourceFingerprint.of(new ByteArrayInputStream(contents.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Verifies the fingerprints of a loader of the entries.
+     * @param loader Loader.
+     */
+    private static void verifyFingerprints(ResourceLoader loader) {
+        for (Map.Entry<String,String> entry: ENTRIES.entrySet()) {
+            Assertions.assertEquals(fingerprint(entry.getValue()),loader.getResourceFingerprint(entry.getKey()));
+        }
+        Assertions.assertNull(loader.getResourceFingerprint("missing.txt"));
+    }
+
+    /**
+     * Tests that fingerprints of archive entries taken from the central directory match the contents.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void archive() throws IOException {
+        for (boolean stored: new boolean[]{true,false}) {
+            Path archive=TestArchives.createArchive(directory.resolve(stored+".jar"),ENTRIES,stored);
+            try (ArchiveResourceLoader loader=new ArchiveResourceLoader(ResourceOffset.builder().build(),archive.toFile())) {
+                verifyFingerprints(loader);
+            }
+        }
+    }
+
+    /**
+     * Tests that fingerprints of resources of class-loaders match the contents, for archives and directories.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void urlClassLoader() throws IOException {
+        Path archive=TestArchives.createArchive(directory.resolve("a.jar"),ENTRIES,false);
+        Path resources=directory.resolve("resources");
+        for (Map.Entry<String,String> entry: ENTRIES.entrySet()) {
+            Path file=resources.resolve(entry.getKey());
+            Files.createDirectories(file.getParent());
+            Files.writeString(file,entry.getValue());
+        }
+        for (Path path: new Path[]{archive,resources}) {
+            URLClassLoader classLoader=new URLClassLoader(new URL[]{path.toUri().toURL()},null);
+            try (URLClassLoaderResourceLoader loader=new URLClassLoaderResourceLoader(ResourceOffset.builder().build(),classLoader)) {
+                verifyFingerprints(loader);
+                verifyFingerprints(loader);
+            }
+        }
+    }
+
+    /**
+     * Tests that fingerprints of files in directories are memoized, until the size or the modification time changes.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void directoryMemoization() throws IOException {
+        Path file=directory.resolve("a.txt");
+        Files.writeString(file,"AAAA");
+        FileTime time=FileTime.fromMillis(1_000_000_000_000L);
+        Files.setLastModifiedTime(file,time);
+        try (DirectoryResourceLoader loader=new DirectoryResourceLoader(ResourceOffset.builder().build(),directory)) {
+            Assertions.assertEquals(fingerprint("AAAA"),loader.getResourceFingerprint("a.txt"));
+
+            Files.writeString(file,"BBBB");
+            Files.setLastModifiedTime(file,time);
+            Assertions.assertEquals(fingerprint("AAAA"),loader.getResourceFingerprint("a.txt"));  //Memoized, since neither size nor time changed!
+
+            Files.setLastModifiedTime(file,FileTime.fromMillis(time.toMillis()+1000));
+            Assertions.assertEquals(fingerprint("BBBB"),loader.getResourceFingerprint("a.txt"));
+
+            Files.writeString(file,"CCCCC");
+            Files.setLastModifiedTime(file,FileTime.fromMillis(time.toMillis()+1000));
+            Assertions.assertEquals(fingerprint("CCCCC"),loader.getResourceFingerprint("a.txt"));
+
+            Files.delete(file);
+            Assertions.assertNull(loader.getResourceFingerprint("a.txt"));
+        }
+    }
+}
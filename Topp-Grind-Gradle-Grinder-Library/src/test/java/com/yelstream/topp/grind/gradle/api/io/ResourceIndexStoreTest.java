@@ -0,0 +1,227 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Test of {@link ResourceIndexStore}.
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+class ResourceIndexStoreTest {
+    /**
+     * Temporary directory.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Creates an archive with a few entries.
+     * @return Archive file.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private Path createArchive() throws IOException {
+        Map<String,String> entries=new LinkedHashMap<>();
+        entries.put("a.txt","A");
+        entries.put("b/c.txt","BC");
+        entries.put("META-INF/services/java.lang.Runnable","com.acme.Task");
+        return TestArchives.createArchive(directory.resolve("archive.jar"),entries,false);
+    }
+
+    /**
+     * Gets the offset of the first record of a store file.
+     * @param content Content of store file.
+     * @return Offset of record.
+     */
+    private static int getFirstRecordOffset(byte[] content) {
+        ByteBuffer buffer=ByteBuffer.wrap(content);
+        buffer.position(3*Integer.BYTES);
+        int pathLength=buffer.getInt();
+        buffer.position(buffer.position()+pathLength+2*Long.BYTES);
+        return buffer.getInt();
+    }
+
+    /**
+     * Tests that indexes are taken from the store once saved.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void reopen() throws IOException {
+        Path archive=createArchive();
+        Path storeFile=directory.resolve("store.bin");
+        try (ResourceIndexStore store=ResourceIndexStore.open(storeFile)) {
+            Assertions.assertEquals(3,store.getArchiveIndex(archive.toFile()).getEntryCount());
+            Assertions.assertTrue(store.isModified());
+        }
+        try (ResourceIndexStore store=ResourceIndexStore.open(storeFile)) {
+            ArchiveIndex index=store.getArchiveIndex(archive.toFile());
+            Assertions.assertFalse(store.isModified());
+            Assertions.assertEquals(List.of("a.txt","b/c.txt","META-INF/services/java.lang.Runnable"),index.getNames());
+            Assertions.assertEquals(List.of("com.acme.Task"),index.getServiceIndex().getProviders("java.lang.Runnable"));
+        }
+    }
+
+    /**
+     * Tests that corrupt records are treated as stale and rebuilt.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void corruptRecord() throws IOException {
+        Path archive=createArchive();
+        Path storeFile=directory.resolve("store.bin");
+        try (ResourceIndexStore store=ResourceIndexStore.open(storeFile)) {
+            store.getArchiveIndex(archive.toFile());
+        }
+
+        for (int value: new int[]{-1,Integer.MAX_VALUE,1000}) {
+            byte[] content=Files.readAllBytes(storeFile);
+            ByteBuffer.wrap(content).putInt(getFirstRecordOffset(content),value);
+            Files.write(storeFile,content);
+            try (ResourceIndexStore store=ResourceIndexStore.open(storeFile)) {
+                ArchiveIndex index=store.getArchiveIndex(archive.toFile());
+                Assertions.assertEquals(3,index.getEntryCount());
+                Assertions.assertTrue(store.isModified());
+            }
+        }
+
+        byte[] content=Files.readAllBytes(storeFile);
+        for (int i=content.length-8; i<content.length; i++) {
+            content[i]=(byte)0x7F;
+        }
+        Files.write(storeFile,content);
+        try (ResourceIndexStore store=ResourceIndexStore.open(storeFile)) {
+            ArchiveIndex index=store.getArchiveIndex(archive.toFile());
+            Assertions.assertEquals(List.of("com.acme.Task"),index.getServiceIndex().getProviders("java.lang.Runnable"));
+            Assertions.assertTrue(store.isModified());
+        }
+        try (ResourceIndexStore store=ResourceIndexStore.open(storeFile)) {
+            store.getArchiveIndex(archive.toFile());
+            Assertions.assertFalse(store.isModified());
+        }
+    }
+
+    /**
+     * Tests that a store can be saved repeatedly while open.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void saveWhileOpen() throws IOException {
+        Path archive=createArchive();
+        Path storeFile=directory.resolve("store.bin");
+        try (ResourceIndexStore store=ResourceIndexStore.open(storeFile)) {
+            store.getArchiveIndex(archive.toFile());
+        }
+        try (ResourceIndexStore store=ResourceIndexStore.open(storeFile)) {
+            Path other=TestArchives.createArchive(directory.resolve("other.jar"),Map.of("x.txt","X"),true);
+            store.getArchiveIndex(other.toFile());
+            store.save();
+            Assertions.assertFalse(store.isModified());
+            Assertions.assertEquals(3,store.getArchiveIndex(archive.toFile()).getEntryCount());
+        }
+        try (ResourceIndexStore store=ResourceIndexStore.open(storeFile)) {
+            store.getArchiveIndex(archive.toFile());
+            Assertions.assertFalse(store.isModified());
+        }
+    }
+
+    /**
+     * Tests that repeated saves of one open store retain the records saved earlier.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void repeatedSaves() throws IOException {
+        Path first=createArchive();
+        Path second=TestArchives.createArchive(directory.resolve("second.jar"),Map.of("x.txt","X"),true);
+        Path storeFile=directory.resolve("store.bin");
+        try (ResourceIndexStore store=ResourceIndexStore.open(storeFile)) {
+            store.getArchiveIndex(first.toFile());
+            store.save();
+            store.getArchiveIndex(second.toFile());
+            Assertions.assertTrue(store.isModified());
+            store.save();
+            Assertions.assertFalse(store.isModified());
+        }
+        try (ResourceIndexStore store=ResourceIndexStore.open(storeFile)) {
+            Assertions.assertEquals(3,store.getArchiveIndex(first.toFile()).getEntryCount());
+            Assertions.assertEquals(List.of("x.txt"),store.getArchiveIndex(second.toFile()).getNames());
+            Assertions.assertFalse(store.isModified());
+        }
+    }
+
+    /**
+     * Creates an archive holding class files of classes declared by tests.
+     * @param types Classes.
+     * @return Archive file.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private Path createClassArchive(Class<?>... types) throws IOException {
+        Map<String,byte[]> entries=new LinkedHashMap<>();
+        for (Class<?> type: types) {
+            String name=ClassFiles.toClassFileName(type.getName());
+            try (InputStream stream=type.getClassLoader().getResourceAsStream(name)) {
+                Assertions.assertNotNull(stream);
+                entries.put(name,stream.readAllBytes());
+            }
+        }
+        return TestArchives.createBinaryArchive(directory.resolve("classes.jar"),entries,false,null);
+    }
+
+    /**
+     * Scans the classes of an archive through a store.
+     * @param store Store.
+     * @param archive Archive file.
+     * @param annotationNames Binary names of the annotations to record.
+     *                        This may be {@code null}.
+     * @return Index of classes.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private static ClassIndex scanClasses(ResourceIndexStore store,
+                                          Path archive,
+                                          Set<String> annotationNames) throws IOException {
+        try (ResourceLoader loader=new ArchiveResourceLoader(ResourceOffset.builder().build(),archive.toFile())) {
+            return ClassScanner.builder()
+                               .resourceLoader(loader)
+                               .indexStore(store)
+                               .annotationNames(annotationNames)
+                               .annotatedOnly(annotationNames!=null)
+                               .build()
+                               .scan();
+        }
+    }
+
+    /**
+     * Tests that the classes of an archive are scanned once and kept with the index of the archive.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void classIndexes() throws IOException {
+        Path archive=createClassArchive(ClassFilesTest.Sample.class,ClassFilesTest.Visible.class,TestArchives.class);
+        Path storeFile=directory.resolve("store.bin");
+        Set<String> annotationNames=Set.of(ClassFilesTest.Visible.class.getName());
+        try (ResourceIndexStore store=ResourceIndexStore.open(storeFile)) {
+            ClassIndex index=scanClasses(store,archive,annotationNames);
+            Assertions.assertEquals(List.of(ClassFilesTest.Sample.class.getName()),index.getClassNames());
+            Assertions.assertEquals(List.of(ClassFilesTest.Visible.class.getName()),index.getClassFileInfo(ClassFilesTest.Sample.class.getName()).getAnnotationNames());
+            Assertions.assertTrue(store.isModified());
+        }
+        try (ResourceIndexStore store=ResourceIndexStore.open(storeFile)) {
+            Assertions.assertEquals(List.of(ClassFilesTest.Sample.class.getName()),scanClasses(store,archive,annotationNames).getClassNames());
+            Assertions.assertEquals(3,scanClasses(store,archive,null).size());
+            Assertions.assertEquals(3,store.getArchiveIndex(archive.toFile()).getEntryCount());
+            Assertions.assertFalse(store.isModified());
+        }
+    }
+}
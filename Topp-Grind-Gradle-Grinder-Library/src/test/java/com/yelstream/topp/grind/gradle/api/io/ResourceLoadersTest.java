@@ -0,0 +1,187 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Test of {@link ResourceLoaders}.
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+class ResourceLoadersTest {
+    /**
+     * Temporary directory.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Creates an archive, possibly holding a nested archive.
+     * @param nested Indicates, if the archive holds a nested archive.
+     * @return Outer archive file.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private File createNestingArchive(boolean nested) throws IOException {
+        Map<String,byte[]> entries=new LinkedHashMap<>();
+        entries.put("outer.txt","O".getBytes(StandardCharsets.UTF_8));
+        if (nested) {
+            Path inner=TestArchives.createArchive(directory.resolve("inner.jar"),Map.of("inner.txt","I"),true);
+            entries.put("lib/inner.jar",Files.readAllBytes(inner));
+        }
+        return TestArchives.createBinaryArchive(directory.resolve("outer.jar"),entries,true,null).toFile();
+    }
+
+    /**
+     * Creates options reading nested archives of archives opened lazily.
+     * @param metrics Collector of metrics.
+     * @param indexStore Persistent store of archive indexes.
+     *                   This may be {@code null}.
+     * @return Created options.
+     */
+    private static ResourceLoaderOptions createOptions(ResourceMetrics metrics,
+                                                       ResourceIndexStore indexStore) {
+        return ResourceLoaderOptions.builder().directAccess(true).nestedArchives("lib/*.jar").lazyOpening(true)
+                                    .indexed(false).membershipFilters(false).indexStore(indexStore).metrics(metrics).build();
+    }
+
+    /**
+     * Verifies that a loader finds the resources of both the outer and the nested archive.
+     * @param resourceLoader Loader.
+     * @param metrics Collector of metrics of the loader.
+     */
+    private static void verify(ResourceLoader resourceLoader,
+                               ResourceMetrics metrics) {
+        Assertions.assertEquals(0,metrics.snapshot().getOpenedArchiveCount());
+        Assertions.assertNotNull(resourceLoader.getResource("outer.txt"));
+        Assertions.assertNotNull(resourceLoader.getResource("inner.txt"));
+        Assertions.assertEquals(2,metrics.snapshot().getOpenedArchiveCount());
+    }
+
+    /**
+     * Tests that nested archives of archives opened lazily are listed only when the archives are opened.
+     * The nested archive is added after the creation of the loader, and is hence found only if listed when opened.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void nestedArchivesOpenedLazily() throws IOException {
+        File archive=createNestingArchive(false);
+        ResourceMetrics metrics=new ResourceMetrics();
+        try (ResourceLoader resourceLoader=ResourceLoaders.createResourceLoader(ResourceOffset.builder().build(),Set.of(archive),createOptions(metrics,null))) {
+            createNestingArchive(true);
+            verify(resourceLoader,metrics);
+        }
+        Assertions.assertEquals(2,metrics.snapshot().getClosedArchiveCount());
+    }
+
+    /**
+     * Tests that nested archives are listed from the index store, without opening unchanged archives.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void nestedArchivesFromIndexStore() throws IOException {
+        File archive=createNestingArchive(true);
+        Path storeFile=directory.resolve("store.bin");
+        try (ResourceIndexStore store=ResourceIndexStore.open(storeFile)) {
+            store.getArchiveIndex(archive);
+        }
+        try (ResourceIndexStore store=ResourceIndexStore.open(storeFile)) {
+            ResourceMetrics metrics=new ResourceMetrics();
+            try (ResourceLoader resourceLoader=ResourceLoaders.createResourceLoader(ResourceOffset.builder().build(),Set.of(archive),createOptions(metrics,store))) {
+                Assertions.assertFalse(store.isModified());
+                verify(resourceLoader,metrics);
+            }
+        }
+    }
+
+    /**
+     * Verifies that a loader reads a stored resource again after a read was interrupted.
+     * The interrupt closes the channel of the archive file, which must then be opened anew.
+     * @param resourceLoader Loader.
+     * @param name Name of stored resource.
+     * @param content Content of resource.
+     */
+    private static void verifyReadAfterInterrupt(ResourceLoader resourceLoader,
+                                                 String name,
+                                                 String content) {
+        Thread.currentThread().interrupt();
+        try {
+            Assertions.assertThrows(UncheckedIOException.class,()->resourceLoader.getResourceAsByteBuffer(name));
+        } finally {
+            Thread.interrupted();
+        }
+        Assertions.assertEquals(content,StandardCharsets.UTF_8.decode(resourceLoader.getResourceAsByteBuffer(name)).toString());
+    }
+
+    /**
+     * Tests that archives read in place are read again after a reading thread is interrupted.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void readAfterInterrupt() throws IOException {
+        File archive=createNestingArchive(true);
+        ResourceOffset resourceOffset=ResourceOffset.builder().build();
+        try (ResourceLoader resourceLoader=new ArchiveResourceLoader(resourceOffset,archive)) {
+            verifyReadAfterInterrupt(resourceLoader,"outer.txt","O");
+        }
+        try (ResourceLoader resourceLoader=new NestedArchiveResourceLoader(resourceOffset,archive,"lib/inner.jar")) {
+            verifyReadAfterInterrupt(resourceLoader,"inner.txt","I");
+        }
+    }
+
+    /**
+     * Tests that the loaders of the nested archives of an archive share the channel and the central directory of the archive,
+     * which are closed when released by the last loader.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void nestedArchivesShareOuterArchive() throws IOException {
+        Map<String,byte[]> entries=new LinkedHashMap<>();
+        entries.put("lib/first.jar",Files.readAllBytes(TestArchives.createArchive(directory.resolve("first.jar"),Map.of("first.txt","1"),true)));
+        entries.put("lib/second.jar",Files.readAllBytes(TestArchives.createArchive(directory.resolve("second.jar"),Map.of("second.txt","2"),false)));
+        File archive=TestArchives.createBinaryArchive(directory.resolve("outer.jar"),entries,true,null).toFile();
+        ResourceOffset resourceOffset=ResourceOffset.builder().build();
+
+        NestedArchiveResourceLoader.OuterArchive outerArchive=new NestedArchiveResourceLoader.OuterArchive(archive);
+        Assertions.assertEquals(List.of("lib/first.jar","lib/second.jar"),NestedArchiveResourceLoader.listNestedArchives(outerArchive,"lib/*.jar"));
+        Assertions.assertEquals(0,outerArchive.getHolderCount());
+        FileChannel channel;
+        try (ResourceLoader first=new NestedArchiveResourceLoader(resourceOffset,outerArchive,"lib/first.jar",null);
+             ResourceLoader second=new NestedArchiveResourceLoader(resourceOffset,outerArchive,"lib/second.jar",null)) {
+            Assertions.assertEquals(2,outerArchive.getHolderCount());
+            channel=outerArchive.getChannel();
+            ZipCentralDirectory centralDirectory=outerArchive.getDirectory();
+            Assertions.assertEquals("1",StandardCharsets.UTF_8.decode(first.getResourceAsByteBuffer("first.txt")).toString());
+            Assertions.assertEquals("2",StandardCharsets.UTF_8.decode(second.getResourceAsByteBuffer("second.txt")).toString());
+            Assertions.assertSame(channel,outerArchive.getChannel());
+            Assertions.assertSame(centralDirectory,outerArchive.getDirectory());
+
+            first.close();
+            Assertions.assertEquals(1,outerArchive.getHolderCount());
+            Assertions.assertTrue(channel.isOpen());
+            Assertions.assertEquals("2",StandardCharsets.UTF_8.decode(second.getResourceAsByteBuffer("second.txt")).toString());
+        }
+        Assertions.assertEquals(0,outerArchive.getHolderCount());
+        Assertions.assertFalse(channel.isOpen());
+
+        ResourceLoaderOptions options=ResourceLoaderOptions.builder().directAccess(true).nestedArchives("lib/*.jar").build();
+        try (ResourceLoader resourceLoader=ResourceLoaders.createResourceLoader(resourceOffset,Set.of(archive),options)) {
+            Assertions.assertNotNull(resourceLoader.getResource("first.txt"));
+            Assertions.assertNotNull(resourceLoader.getResource("second.txt"));
+        }
+    }
+}
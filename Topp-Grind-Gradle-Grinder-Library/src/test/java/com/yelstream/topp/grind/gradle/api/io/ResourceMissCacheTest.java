@@ -0,0 +1,133 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Test of {@link ResourceMissCache}.
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+class ResourceMissCacheTest {
+    /**
+     * Temporary directory.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Tests that names not hit since added are evicted before names hit.
+     */
+    @Test
+    void eviction() {
+        ResourceMissCache cache=new ResourceMissCache(3);
+        cache.add("a");
+        cache.add("b");
+        cache.add("c");
+        Assertions.assertTrue(cache.contains("a"));  //Keeps "a" through the next sweep!
+        cache.add("d");
+        Assertions.assertEquals(3,cache.size());
+        Assertions.assertTrue(cache.contains("a"));
+        Assertions.assertEquals(2,Stream.of("b","c","d").filter(cache::contains).count());
+    }
+
+    /**
+     * Tests that the capacity holds when names are added and looked up concurrently.
+     * @throws InterruptedException Thrown in case of interruption.
+     */
+    @Test
+    void concurrentEviction() throws InterruptedException {
+        ResourceMissCache cache=new ResourceMissCache(100);
+        List<Thread> threads=new ArrayList<>();
+        for (int i=0; i<8; i++) {
+            int thread=i;
+            threads.add(Thread.ofPlatform().start(()->{
+                for (int j=0; j<20000; j++) {
+                    String name="t"+thread+"/"+(j%500);
+                    if (!cache.contains(name)) {
+                        cache.add(name);
+                    }
+                }
+            }));
+        }
+        for (Thread thread: threads) {
+            thread.join();
+        }
+        Assertions.assertEquals(100,cache.size());
+        cache.add("last");
+        Assertions.assertEquals(100,cache.size());
+    }
+
+    /**
+     * Tests that names can be invalidated.
+     */
+    @Test
+    void invalidation() {
+        ResourceMissCache cache=new ResourceMissCache(10);
+        cache.add("a");
+        cache.add("b");
+        cache.remove("a");
+        Assertions.assertFalse(cache.contains("a"));
+        Assertions.assertTrue(cache.contains("b"));
+        cache.clear();
+        Assertions.assertEquals(0,cache.size());
+        Assertions.assertFalse(cache.contains("b"));
+    }
+
+    /**
+     * Tests that invalid capacities are rejected.
+     */
+    @Test
+    void invalidCapacity() {
+        Assertions.assertThrows(IllegalArgumentException.class,()->new ResourceMissCache(0));
+    }
+
+    /**
+     * Tests that a chain finds a resource added after having been missed, once misses are invalidated.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void chainInvalidation() throws IOException {
+        ResourceMissCache cache=new ResourceMissCache(10);
+        ResourceLoader directoryLoader=new DirectoryResourceLoader(ResourceOffset.builder().build(),directory);
+        try (ChainedResourceLoader loader=new ChainedResourceLoader(List.of(directoryLoader),null,cache,null)) {
+            Assertions.assertNull(loader.getResource("a.txt"));
+            Assertions.assertTrue(cache.contains("a.txt"));
+            Files.writeString(directory.resolve("a.txt"),"A");
+            Assertions.assertNull(loader.getResource("a.txt"));
+            loader.invalidateMisses();
+            Assertions.assertNotNull(loader.getResource("a.txt"));
+            Assertions.assertFalse(cache.contains("a.txt"));
+        }
+    }
+
+    /**
+     * Tests that a chain with membership filters finds resources added to a directory, which is not filtered.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void directoryNotFiltered() throws IOException {
+        Path root=directory.resolve("root");
+        Files.createDirectories(root);
+        Path archive=TestArchives.createArchive(directory.resolve("a.jar"),Map.of("b.txt","B"),false);
+        ResourceLoaderOptions options=ResourceLoaderOptions.builder().directAccess(true).indexed(false).membershipFilters(true).build();
+        try (ResourceLoader loader=ResourceLoaders.createResourceLoader(ResourceOffset.builder().build(),new LinkedHashSet<>(List.of(root.toFile(),archive.toFile())),options)) {
+            Assertions.assertNull(loader.getResource("a.txt"));
+            Assertions.assertNotNull(loader.getResource("b.txt"));
+            Files.writeString(root.resolve("a.txt"),"A");
+            Assertions.assertNotNull(loader.getResource("a.txt"));
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Test of {@link ResourceNames} and {@link ResourceNameIndex}.
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+class ResourceNamesTest {
+    /**
+     * Temporary directory.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Creates a matcher of a glob pattern.
+     * @param glob Glob pattern.
+     * @return Created matcher.
+     */
+    private static Predicate<String> matcher(String glob) {
+        return ResourceNames.toGlobPattern(glob).asMatchPredicate();
+    }
+
+    /**
+     * Tests that {@code *} and {@code ?} match within a single directory level only.
+     */
+    @Test
+    void globWithinLevel() {
+        Predicate<String> star=matcher("META-INF/*.xsd");
+        Assertions.assertTrue(star.test("META-INF/a.xsd"));
+        Assertions.assertTrue(star.test("META-INF/.xsd"));
+        Assertions.assertFalse(star.test("META-INF/sub/a.xsd"));
+        Assertions.assertFalse(star.test("META-INF/a.xsdx"));
+
+        Predicate<String> question=matcher("a?c.txt");
+        Assertions.assertTrue(question.test("abc.txt"));
+        Assertions.assertFalse(question.test("ac.txt"));
+        Assertions.assertFalse(question.test("abbc.txt"));
+        Assertions.assertFalse(question.test("a/c.txt"));
+    }
+
+    /**
+     * Tests that {@code **} and {@code **}{@code /} match across directory levels.
+     */
+    @Test
+    void globAcrossLevels() {
+        Predicate<String> levels=matcher("com/**/*.class");
+        Assertions.assertTrue(levels.test("com/A.class"));
+        Assertions.assertTrue(levels.test("com/a/A.class"));
+        Assertions.assertTrue(levels.test("com/a/b/A.class"));
+        Assertions.assertFalse(levels.test("org/A.class"));
+        Assertions.assertFalse(levels.test("comA.class"));
+
+        Predicate<String> any=matcher("com/**");
+        Assertions.assertTrue(any.test("com/"));
+        Assertions.assertTrue(any.test("com/a/b/A.class"));
+        Assertions.assertFalse(any.test("com"));
+    }
+
+    /**
+     * Tests that groups match any of their alternatives, and that other characters match themselves.
+     */
+    @Test
+    void globAlternativesAndLiterals() {
+        Predicate<String> group=matcher("schema/*.{xsd,dtd}");
+        Assertions.assertTrue(group.test("schema/a.xsd"));
+        Assertions.assertTrue(group.test("schema/a.dtd"));
+        Assertions.assertFalse(group.test("schema/a.xml"));
+        Assertions.assertFalse(group.test("schema/a.xsd,dtd"));
+
+        Predicate<String> literal=matcher("a+b(1)$.txt");
+        Assertions.assertTrue(literal.test("a+b(1)$.txt"));
+        Assertions.assertFalse(literal.test("aab(1)$.txt"));
+        Assertions.assertFalse(matcher("a.txt").test("abtxt"));
+
+        Assertions.assertThrows(IllegalArgumentException.class,()->ResourceNames.toGlobPattern("a{b,c"));
+    }
+
+    /**
+     * Tests the literal prefix of glob patterns.
+     */
+    @Test
+    void globPrefix() {
+        Assertions.assertEquals("META-INF/",ResourceNames.getGlobPrefix("META-INF/*.xsd"));
+        Assertions.assertEquals("com/",ResourceNames.getGlobPrefix("com/**/*.class"));
+        Assertions.assertEquals("a",ResourceNames.getGlobPrefix("a?c.txt"));
+        Assertions.assertEquals("schema/",ResourceNames.getGlobPrefix("schema/{a,b}.xsd"));
+        Assertions.assertEquals("",ResourceNames.getGlobPrefix("**/*.class"));
+        Assertions.assertEquals("plain.txt",ResourceNames.getGlobPrefix("plain.txt"));
+    }
+
+    /**
+     * Tests that a prefix selects the range of names starting with it, and nothing outside.
+     */
+    @Test
+    void selectRange() {
+        ResourceNameIndex index=ResourceNameIndex.of(List.of("b/2","a/1","c","b/1","b","b/1","ba","b/sub/3","a"));
+        Assertions.assertEquals(List.of("a","a/1","b","b/1","b/2","b/sub/3","ba","c"),index.select(null));
+        Assertions.assertEquals(List.of("b/1","b/2","b/sub/3"),index.select("b/"));
+        Assertions.assertEquals(List.of("b","b/1","b/2","b/sub/3","ba"),index.select("b"));
+        Assertions.assertEquals(List.of("c"),index.select("c"));
+        Assertions.assertEquals(List.of(),index.select("d"));
+        Assertions.assertEquals(List.of(),index.select("0"));
+        Assertions.assertEquals(List.of(),index.select("b/3"));
+    }
+
+    /**
+     * Tests that a glob pattern and a prefix select names matching both.
+     */
+    @Test
+    void selectGlob() {
+        ResourceNameIndex index=ResourceNameIndex.of(List.of("a/1.xsd","a/b/2.xsd","a/b/2.xml","ab/3.xsd","b/4.xsd"));
+        Assertions.assertEquals(List.of("a/1.xsd"),index.select(null,"a/*.xsd"));
+        Assertions.assertEquals(List.of("a/1.xsd","a/b/2.xsd"),index.select(null,"a/**/*.xsd"));
+        Assertions.assertEquals(List.of("a/1.xsd","a/b/2.xsd","ab/3.xsd","b/4.xsd"),index.select(null,"**/*.xsd"));
+        Assertions.assertEquals(List.of("a/b/2.xsd"),index.select("a/b/","**/*.xsd"));
+        Assertions.assertEquals(List.of("a/1.xsd","a/b/2.xsd"),index.select("a/","a*/**/*.xsd"));
+        Assertions.assertEquals(List.of(),index.select("b/","a/**"));
+    }
+
+    /**
+     * Tests that a chain holding a loader not able to enumerate its resources lists the resources of the other loaders.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void listSkipsLoaderNotEnumerable() throws IOException {
+        Path archive=TestArchives.createArchive(directory.resolve("a.jar"),Map.of("x/1.txt","1","x/2.txt","2","y/3.txt","3"),false);
+        URL remote=URI.create("http://localhost:1/remote.jar").toURL();
+        URLClassLoaderResourceLoader notEnumerable=new URLClassLoaderResourceLoader(ResourceOffset.builder().build(),new URLClassLoader(new URL[]{remote},null));
+        try (ChainedResourceLoader loader=ChainedResourceLoader.of(notEnumerable,new ArchiveResourceLoader(ResourceOffset.builder().build(),archive.toFile()));
+             Stream<ResourceLocation> locations=loader.listResourceLocations("x/",null)) {
+            Assertions.assertThrows(UnsupportedOperationException.class,notEnumerable::getResourceNames);
+            Assertions.assertEquals(List.of(),ResourceNames.listResourceNames(notEnumerable));
+            Assertions.assertEquals(List.of("x/1.txt","x/2.txt"),locations.map(ResourceLocation::getResourceName).toList());
+        }
+    }
+}
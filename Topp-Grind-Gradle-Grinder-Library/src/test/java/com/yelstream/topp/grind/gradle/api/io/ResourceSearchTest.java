@@ -0,0 +1,78 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Test of {@link ResourceSearch}.
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+class ResourceSearchTest {
+    /**
+     * Temporary directory.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Creates a search builder of a directory holding a single resource.
+     * @param content Content of resource.
+     * @return Search builder.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private ResourceSearch.Builder createSearch(String content) throws IOException {
+        Files.writeString(directory.resolve("resource.txt"),content);
+        return ResourceSearch.builder().resourceLoader(new DirectoryResourceLoader(ResourceOffset.builder().build(),directory));
+    }
+
+    /**
+     * Formats matches.
+     * @param matches Matches.
+     * @return Matches, as the pattern and the offset of the match separated by {@code @}.
+     */
+    private static List<String> format(List<ResourceMatch> matches) {
+        return matches.stream().map(match->match.getPattern()+"@"+match.getOffset()).toList();
+    }
+
+    /**
+     * Tests that matches of literals and regular expressions are merged in order of their end.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void order() throws IOException {
+        ResourceSearch search=createSearch("xx abc 12 abc").literal("abc").regex(Pattern.compile("b"))
+                                                               .regex(Pattern.compile("c 1"))
+                                                               .regex(Pattern.compile("\\d+"))
+                                                               .regex(Pattern.compile("c")).build();
+        List<String> expected=List.of("b@4","c@5","abc@3","c 1@5","\\d+@7","b@11","c@12","abc@10");
+        Assertions.assertEquals(expected,format(search.search()));
+
+        List<ResourceMatch> matches=new ArrayList<>();
+        Assertions.assertEquals(expected.size(),search.search(matches::add));
+        Assertions.assertEquals(expected,format(matches));
+    }
+
+    /**
+     * Tests that literals are matched as UTF-8 and regular expressions on bytes read as ISO-8859-1,
+     * both at byte offsets.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void encoding() throws IOException {
+        ResourceSearch search=createSearch("\u00C6ble \u00E6ble").literal("\u00E6ble").regex(Pattern.compile("\\xC3\\x86b")).build();
+        List<ResourceMatch> matches=search.search();
+        Assertions.assertEquals(List.of("\\xC3\\x86b@0","\u00E6ble@6"),format(matches));
+        Assertions.assertEquals(5,matches.get(1).getLength());
+    }
+}
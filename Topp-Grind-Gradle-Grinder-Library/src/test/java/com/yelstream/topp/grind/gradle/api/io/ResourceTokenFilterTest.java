@@ -0,0 +1,152 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Test of {@link ResourceTokenFilter}.
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+class ResourceTokenFilterTest {
+    /**
+     * Values of tokens, keyed by name.
+     */
+    private static final Map<String,String> VALUES=Map.of("a","1",
+                                                          "name","value",
+                                                          "x","\u00F8\u20AC",
+                                                          "\u00E6","\uD83D\uDE00");
+
+    /**
+     * Filters a text, reading either as much as buffers take or a single byte at a time.
+     * @param filter Filter.
+     * @param text Text.
+     * @param trickle Indicates, if a single byte should be read at a time.
+     * @return Filtered text.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private static String filter(ResourceTokenFilter filter,
+                                 String text,
+                                 boolean trickle) throws IOException {
+        ReadableByteChannel source=Channels.newChannel(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+        if (trickle) {
+            ReadableByteChannel channel=source;
+            source=new ReadableByteChannel() {
+                @Override
+                public int read(ByteBuffer target) throws IOException {
+                    ByteBuffer single=ByteBuffer.allocate(1);
+                    int res=channel.read(single);
+                    if (res>0) {
+                        target.put(single.flip());
+                    }
+                    return res;
+                }
+
+                @Override
+                public boolean isOpen() {
+                    return channel.isOpen();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    channel.close();
+                }
+            };
+        }
+        ByteArrayOutputStream target=new ByteArrayOutputStream();
+        long count=filter.filter(source,Channels.newChannel(target));
+        Assertions.assertEquals(target.size(),count);
+        return target.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Verifies that a text is filtered as expected, for small buffers of varying size and for the default buffer size.
+     * @param builder Builder of filter, given the resolver of values.
+     * @param text Text.
+     * @param expected Expected filtered text.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private static void verify(ResourceTokenFilter.Builder builder,
+                               String text,
+                               String expected) throws IOException {
+        builder.resolver(VALUES::get);
+        for (int bufferSize=4; bufferSize<=9; bufferSize++) {
+            ResourceTokenFilter filter=builder.bufferSize(bufferSize).build();
+            Assertions.assertEquals(expected,filter(filter,text,false),"Buffer size is "+bufferSize+"!");
+            Assertions.assertEquals(expected,filter(filter,text,true),"Buffer size is "+bufferSize+"!");
+        }
+        Assertions.assertEquals(expected,filter(builder.bufferSize(ResourceTokenFilter.DEFAULT_BUFFER_SIZE).build(),text,false));
+    }
+
+    /**
+     * Tests tokens split across the boundaries of buffers.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void boundaries() throws IOException {
+        verify(ResourceTokenFilter.builder(),"x${a}y${name}z${a}","x1yvaluez1");
+        verify(ResourceTokenFilter.builder(),"${name}${name}${name}","valuevaluevalue");
+        verify(ResourceTokenFilter.builder(),"no tokens at all","no tokens at all");
+        verify(ResourceTokenFilter.builder(),"","");
+    }
+
+    /**
+     * Tests characters of several bytes split across reads, within text, names and values.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void multibyte() throws IOException {
+        verify(ResourceTokenFilter.builder(),"\u00E6\u00F8${x}\u00E5\uD83D\uDE00${\u00E6}\u20AC","\u00E6\u00F8\u00F8\u20AC\u00E5\uD83D\uDE00\uD83D\uDE00\u20AC");
+        verify(ResourceTokenFilter.builder().tokenStart("\u20AC{").tokenEnd("\u00E6"),"$\u20AC\u20AC{a\u00E6\u20AC","$\u20AC1\u20AC");
+    }
+
+    /**
+     * Tests starts of tokens overlapping themselves.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void overlappingStarts() throws IOException {
+        ResourceTokenFilter.Builder builder=ResourceTokenFilter.builder().tokenStart("<<@").tokenEnd(">");
+        verify(builder,"<<<@a>","<1");
+        verify(builder,"<<<<@a>","<<1");
+        verify(builder,"<<x<<@a><@a>","<<x1<@a>");
+        verify(ResourceTokenFilter.builder(),"$${a}$","$1$");
+    }
+
+    /**
+     * Tests text starting like a token but exceeding the maximum length of a token.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void overLong() throws IOException {
+        ResourceTokenFilter.Builder builder=ResourceTokenFilter.builder().maxTokenLength(4);
+        verify(builder,"${name}","value");
+        verify(builder,"${names}","${names}");
+        verify(builder,"${abcdefgh}${a}","${abcdefgh}1");
+        verify(builder,"${abcd${a}","${abcd1");
+        verify(builder,"${${${${a}","${${${1");
+    }
+
+    /**
+     * Tests tokens without a value and tokens not completed.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void unresolved() throws IOException {
+        verify(ResourceTokenFilter.builder(),"${missing}${a}","${missing}1");
+        verify(ResourceTokenFilter.builder(),"${}","${}");
+        verify(ResourceTokenFilter.builder(),"x${a","x${a");
+        verify(ResourceTokenFilter.builder(),"x$","x$");
+    }
+}
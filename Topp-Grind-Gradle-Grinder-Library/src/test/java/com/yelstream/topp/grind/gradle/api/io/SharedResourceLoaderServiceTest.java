@@ -0,0 +1,233 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test of {@link SharedResourceLoaderService}.
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+class SharedResourceLoaderServiceTest {
+    /**
+     * Options of loaders reading archives directly.
+     */
+    private static final ResourceLoaderOptions OPTIONS=ResourceLoaderOptions.builder().directAccess(true).build();
+
+    /**
+     * Temporary directory.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Service with parameters set directly instead of through Gradle.
+     */
+    private static class TestService extends SharedResourceLoaderService {
+        /**
+         * Indicates, if unused loaders are retained across builds.
+         */
+        private final boolean retainAcrossBuilds;
+
+        /**
+         * Maximum number of unused loaders retained across builds.
+         */
+        private final int maxRetained;
+
+        /**
+         * Constructor.
+         * @param retainAcrossBuilds Indicates, if unused loaders are retained across builds.
+         * @param maxRetained Maximum number of unused loaders retained across builds.
+         */
+        private TestService(boolean retainAcrossBuilds,
+                            int maxRetained) {
+            this.retainAcrossBuilds=retainAcrossBuilds;
+            this.maxRetained=maxRetained;
+        }
+
+        @Override
+        public Parameters getParameters() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        boolean isRetainAcrossBuilds() {
+            return retainAcrossBuilds;
+        }
+
+        @Override
+        int getMaxRetained() {
+            return maxRetained;
+        }
+
+        @Override
+        boolean isCollectMetrics() {
+            return true;
+        }
+
+        @Override
+        Path getIndexStoreFile() {
+            return null;
+        }
+    }
+
+    /**
+     * Closes all shared loaders held by the daemon.
+     */
+    @AfterEach
+    void closeShared() {
+        new TestService(false,0).close();
+        Assertions.assertEquals(0,SharedResourceLoaderService.getSharedCount());
+    }
+
+    /**
+     * Creates an archive holding a single resource.
+     * @param name Name of archive file.
+     * @param content Content of resource {@code a.txt}.
+     * @return Archive file.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private File createArchive(String name,
+                               String content) throws IOException {
+        return TestArchives.createArchive(directory.resolve(name),Map.of("a.txt",content),false).toFile();
+    }
+
+    /**
+     * Reads the resource {@code a.txt} of a loader.
+     * @param loader Loader.
+     * @return Content of resource.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private static String read(ResourceLoader loader) throws IOException {
+        try (InputStream stream=loader.getResourceAsStream("a.txt")) {
+            return new String(stream.readAllBytes(),StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Tests that a shared loader is closed when the last lease is released, unless retained.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void closeOnLastRelease() throws IOException {
+        SharedResourceLoaderService service=new TestService(false,0);
+        List<File> files=List.of(createArchive("a.jar","A"));
+        ResourceLoader first=service.acquire(ResourceOffset.builder().build(),files,OPTIONS);
+        ResourceLoader second=service.acquire(ResourceOffset.builder().build(),files,OPTIONS);
+        ResourceMetrics metrics=service.getMetrics(first);
+        Assertions.assertSame(metrics,service.getMetrics(second));
+        Assertions.assertEquals(1,SharedResourceLoaderService.getSharedCount());
+        Assertions.assertEquals("A",read(first));
+
+        first.close();
+        Assertions.assertThrows(IllegalStateException.class,()->first.getResource("a.txt"));
+        Assertions.assertEquals("A",read(second));
+        Assertions.assertEquals(0,metrics.snapshot().getClosedArchiveCount());
+
+        second.close();
+        Assertions.assertEquals(0,SharedResourceLoaderService.getSharedCount());
+        Assertions.assertEquals(metrics.snapshot().getOpenedArchiveCount(),metrics.snapshot().getClosedArchiveCount());
+    }
+
+    /**
+     * Tests that a retained loader is rebuilt when its archives change.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void rebuildOnStampMismatch() throws IOException {
+        SharedResourceLoaderService service=new TestService(true,16);
+        File archive=createArchive("a.jar","A");
+        ResourceMetrics metrics;
+        try (ResourceLoader loader=service.acquire(ResourceOffset.builder().build(),List.of(archive),OPTIONS)) {
+            Assertions.assertEquals("A",read(loader));
+            metrics=service.getMetrics(loader);
+        }
+        Assertions.assertEquals(1,SharedResourceLoaderService.getSharedCount());
+        Assertions.assertEquals(0,metrics.snapshot().getClosedArchiveCount());
+
+        createArchive("a.jar","Changed");
+        Assertions.assertTrue(archive.setLastModified(archive.lastModified()+10000));
+        try (ResourceLoader loader=service.acquire(ResourceOffset.builder().build(),List.of(archive),OPTIONS)) {
+            Assertions.assertEquals("Changed",read(loader));
+            Assertions.assertNotSame(metrics,service.getMetrics(loader));
+        }
+        Assertions.assertEquals(1,SharedResourceLoaderService.getSharedCount());
+        Assertions.assertEquals(metrics.snapshot().getOpenedArchiveCount(),metrics.snapshot().getClosedArchiveCount());
+    }
+
+    /**
+     * Tests that closing the service retains only the most recently used, unused loaders up to the maximum.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void retentionCap() throws IOException {
+        SharedResourceLoaderService service=new TestService(true,2);
+        for (String name: List.of("a.jar","b.jar","c.jar")) {
+            service.acquire(ResourceOffset.builder().build(),List.of(createArchive(name,name)),OPTIONS).close();
+        }
+        ResourceLoader leased=service.acquire(ResourceOffset.builder().build(),List.of(createArchive("d.jar","d.jar")),OPTIONS);
+        Assertions.assertEquals(4,SharedResourceLoaderService.getSharedCount());
+
+        service.close();
+        Assertions.assertEquals(2,SharedResourceLoaderService.getSharedCount());
+        Assertions.assertThrows(IllegalStateException.class,()->read(leased));
+        leased.close();
+
+        SharedResourceLoaderService nextService=new TestService(true,2);
+        for (String name: List.of("b.jar","c.jar")) {
+            try (ResourceLoader loader=nextService.acquire(ResourceOffset.builder().build(),List.of(directory.resolve(name).toFile()),OPTIONS)) {
+                Assertions.assertEquals(name,read(loader));
+            }
+        }
+        Assertions.assertEquals(2,SharedResourceLoaderService.getSharedCount());
+    }
+
+    /**
+     * Tests that leases of one shared loader return locations bound to their own resource offsets.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void leaseRebinding() throws IOException {
+        SharedResourceLoaderService service=new TestService(false,0);
+        File archive=createArchive("a.jar","A");
+        ResourceOffset firstOffset=ResourceOffset.builder().build();
+        ResourceOffset secondOffset=ResourceOffset.builder().build();
+        try (ResourceLoader first=service.acquire(firstOffset,List.of(archive),OPTIONS);
+             ResourceLoader second=service.acquire(secondOffset,List.of(archive),OPTIONS)) {
+            Assertions.assertEquals(1,SharedResourceLoaderService.getSharedCount());
+            ResourceLocation firstLocation=first.getResourceLocation("a.txt");
+            ResourceLocation secondLocation=second.getResourceLocation("a.txt");
+            Assertions.assertSame(firstOffset.forFile(archive),firstLocation.getResourceOffset());
+            Assertions.assertSame(secondOffset.forFile(archive),secondLocation.getResourceOffset());
+            Assertions.assertEquals(archive,firstLocation.getResourceOffset().getFile());
+            try (var locations=second.listResourceLocations(null,"*.txt")) {
+                Assertions.assertEquals(List.of(secondOffset.forFile(archive)),locations.map(ResourceLocation::getResourceOffset).toList());
+            }
+        }
+    }
+
+    /**
+     * Tests that options setting objects owned by the service are refused.
+     */
+    @Test
+    void ownedOptionsRefused() {
+        SharedResourceLoaderService service=new TestService(false,0);
+        List<File> files=List.of();
+        ResourceOffset resourceOffset=ResourceOffset.builder().build();
+        Assertions.assertThrows(IllegalArgumentException.class,()->service.acquire(resourceOffset,files,OPTIONS.toBuilder().metrics(new ResourceMetrics()).build()));
+        Assertions.assertThrows(IllegalArgumentException.class,()->service.acquire(resourceOffset,files,OPTIONS.toBuilder().executor(Runnable::run).build()));
+        Assertions.assertEquals(0,SharedResourceLoaderService.getSharedCount());
+    }
+}
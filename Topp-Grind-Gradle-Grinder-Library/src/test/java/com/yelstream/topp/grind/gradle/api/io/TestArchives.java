@@ -0,0 +1,96 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import lombok.experimental.UtilityClass;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Utilities creating archives for tests.
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+@UtilityClass
+class TestArchives {
+    /**
+     * Creates an archive.
+     * @param file Archive file.
+     * @param entries Contents of entries, keyed by name, in order of entries.
+     * @param stored Indicates, if entries are stored without compression.
+     * @return Archive file.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    static Path createArchive(Path file,
+                              Map<String,String> entries,
+                              boolean stored) throws IOException {
+        return createArchive(file,entries,stored,null);
+    }
+
+    /**
+     * Creates an archive, optionally prefixed by data like a launcher script.
+     * @param file Archive file.
+     * @param entries Contents of entries, keyed by name, in order of entries.
+     * @param stored Indicates, if entries are stored without compression.
+     * @param prefix Data written before the archive.
+     *               This may be {@code null}.
+     * @return Archive file.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    static Path createArchive(Path file,
+                              Map<String,String> entries,
+                              boolean stored,
+                              byte[] prefix) throws IOException {
+        Map<String,byte[]> contents=new LinkedHashMap<>();
+        entries.forEach((name,content)->contents.put(name,content.getBytes(StandardCharsets.UTF_8)));
+        return createBinaryArchive(file,contents,stored,prefix);
+    }
+
+    /**
+     * Creates an archive of binary entries, optionally prefixed by data like a launcher script.
+     * @param file Archive file.
+     * @param entries Contents of entries, keyed by name, in order of entries.
+     * @param stored Indicates, if entries are stored without compression.
+     * @param prefix Data written before the archive.
+     *               This may be {@code null}.
+     * @return Archive file.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    static Path createBinaryArchive(Path file,
+                                    Map<String,byte[]> entries,
+                                    boolean stored,
+                                    byte[] prefix) throws IOException {
+        try (OutputStream out=Files.newOutputStream(file)) {
+            if (prefix!=null) {
+                out.write(prefix);
+            }
+            try (ZipOutputStream zip=new ZipOutputStream(out)) {
+                for (Map.Entry<String,byte[]> entry: entries.entrySet()) {
+                    byte[] content=entry.getValue();
+                    ZipEntry zipEntry=new ZipEntry(entry.getKey());
+                    if (stored) {
+                        CRC32 crc=new CRC32();
+                        crc.update(content);
+                        zipEntry.setMethod(ZipEntry.STORED);
+                        zipEntry.setSize(content.length);
+                        zipEntry.setCompressedSize(content.length);
+                        zipEntry.setCrc(crc.getValue());
+                    }
+                    zip.putNextEntry(zipEntry);
+                    zip.write(content);
+                    zip.closeEntry();
+                }
+            }
+        }
+        return file;
+    }
+}
@@ -0,0 +1,45 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Test of {@link URLClassLoaderResourceLoader}.
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+class URLClassLoaderResourceLoaderTest {
+    /**
+     * Temporary directory.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Tests that locations are restricted to the URLs of the class-loader itself.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void locationsExcludeParent() throws IOException {
+        Path parentArchive=TestArchives.createArchive(directory.resolve("parent.jar"),Map.of("shared.txt","P","parent.txt","P"),false);
+        Path childArchive=TestArchives.createArchive(directory.resolve("child.jar"),Map.of("shared.txt","C","child.txt","C"),false);
+        try (URLClassLoader parent=new URLClassLoader(new URL[]{parentArchive.toUri().toURL()},null);
+             URLClassLoaderResourceLoader loader=new URLClassLoaderResourceLoader(ResourceOffset.builder().build(),new URLClassLoader(new URL[]{childArchive.toUri().toURL()},parent))) {
+            Assertions.assertEquals(1,loader.getResourceLocations("shared.txt").size());
+            Assertions.assertTrue(loader.getResourceLocation("shared.txt").getResourceURL().toString().contains("child.jar"));
+            Assertions.assertEquals(1,loader.getResourceLocations("child.txt").size());
+            Assertions.assertTrue(loader.getResourceLocation("parent.txt").getResourceURL().toString().contains("parent.jar"));
+            Assertions.assertNull(loader.getResourceLocations("missing.txt"));
+            Assertions.assertNull(loader.getResourceLocation("missing.txt"));
+        }
+    }
+}
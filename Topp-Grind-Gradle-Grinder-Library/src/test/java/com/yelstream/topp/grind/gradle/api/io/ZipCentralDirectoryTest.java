@@ -0,0 +1,185 @@
+package com.yelstream.topp.grind.gradle.api.io;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipException;
+
+/**
+ * Test of {@link ZipCentralDirectory}.
+ *
+ * @author Morten Sabroe Mortenen
+ * @version 1.0
+ * @since 2026-10-16
+ */
+class ZipCentralDirectoryTest {
+    /**
+     * Data prepended to archives, like a launcher script.
+     */
+    private static final byte[] PREFIX="#!/bin/sh\nexec java -jar \"$0\" \"$@\"\n".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Temporary directory.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Creates the contents of entries.
+     * @param count Number of entries.
+     * @return Contents of entries, keyed by name.
+     */
+    private static Map<String,String> createEntries(int count) {
+        Map<String,String> res=new LinkedHashMap<>();
+        for (int i=0; i<count; i++) {
+            res.put(String.format("dir%d/entry%d.txt",i%10,i),"Content of entry "+i);
+        }
+        return res;
+    }
+
+    /**
+     * Reads the data of an entry as located by the central directory.
+     * @param channel Channel of the archive.
+     * @param centralDirectory Central directory.
+     * @param name Entry name.
+     * @return Data of entry.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private static String readStored(FileChannel channel,
+                                     ZipCentralDirectory centralDirectory,
+                                     String name) throws IOException {
+        int index=centralDirectory.indexOf(name);
+        Assertions.assertTrue(index>=0);
+        Assertions.assertEquals(ZipCentralDirectory.METHOD_STORED,centralDirectory.getMethod(index));
+        long position=centralDirectory.getDataOffset(channel,index);
+        ByteBuffer data=ByteBuffer.allocate((int)centralDirectory.getSize(index));
+        channel.read(data,position);
+        return new String(data.array(),StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Verifies an archive.
+     * @param archive Archive file.
+     * @param entries Contents of entries, keyed by name.
+     * @param stored Indicates, if entries are stored without compression.
+     * @param archiveStart Expected position of the start of the archive.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    private static void verify(Path archive,
+                               Map<String,String> entries,
+                               boolean stored,
+                               long archiveStart) throws IOException {
+        try (FileChannel channel=FileChannel.open(archive)) {
+            ZipCentralDirectory centralDirectory=ZipCentralDirectory.read(channel);
+            Assertions.assertEquals(entries.size(),centralDirectory.getEntryCount());
+            Assertions.assertEquals(archiveStart,centralDirectory.getArchiveStart());
+            int i=0;
+            for (Map.Entry<String,String> entry: entries.entrySet()) {
+                Assertions.assertEquals(entry.getKey(),centralDirectory.getName(i));
+                Assertions.assertEquals(entry.getValue().length(),centralDirectory.getSize(i));
+                if (stored) {
+                    if (i%1000==0 || i==entries.size()-1) {
+                        Assertions.assertEquals(entry.getValue(),readStored(channel,centralDirectory,entry.getKey()));
+                    }
+                } else {
+                    Assertions.assertEquals(ZipCentralDirectory.METHOD_DEFLATED,centralDirectory.getMethod(i));
+                    Assertions.assertTrue(centralDirectory.getDataOffset(channel,i)>centralDirectory.getLocalHeaderOffset(i));
+                }
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Tests an archive of stored entries.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void stored() throws IOException {
+        Map<String,String> entries=createEntries(100);
+        verify(TestArchives.createArchive(directory.resolve("stored.jar"),entries,true),entries,true,0);
+    }
+
+    /**
+     * Tests an archive of deflated entries.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void deflated() throws IOException {
+        Map<String,String> entries=createEntries(100);
+        verify(TestArchives.createArchive(directory.resolve("deflated.jar"),entries,false),entries,false,0);
+    }
+
+    /**
+     * Tests an archive in the ZIP64 format, due to the number of entries.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void zip64() throws IOException {
+        Map<String,String> entries=createEntries(70000);
+        verify(TestArchives.createArchive(directory.resolve("zip64.jar"),entries,true),entries,true,0);
+    }
+
+    /**
+     * Tests an archive prefixed by a launcher script.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void prefixed() throws IOException {
+        Map<String,String> entries=createEntries(100);
+        verify(TestArchives.createArchive(directory.resolve("prefixed.jar"),entries,true,PREFIX),entries,true,PREFIX.length);
+        verify(TestArchives.createArchive(directory.resolve("prefixed-deflated.jar"),entries,false,PREFIX),entries,false,PREFIX.length);
+    }
+
+    /**
+     * Tests an archive in the ZIP64 format prefixed by a launcher script.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void prefixedZip64() throws IOException {
+        Map<String,String> entries=createEntries(70000);
+        verify(TestArchives.createArchive(directory.resolve("prefixed-zip64.jar"),entries,true,PREFIX),entries,true,PREFIX.length);
+    }
+
+    /**
+     * Tests that stored entries of a prefixed archive are read in place by an archive loader.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void prefixedArchiveLoader() throws IOException {
+        Map<String,String> entries=createEntries(10);
+        Path archive=TestArchives.createArchive(directory.resolve("prefixed.jar"),entries,true,PREFIX);
+        try (ArchiveResourceLoader loader=new ArchiveResourceLoader(ResourceOffset.builder().build(),archive.toFile())) {
+            for (Map.Entry<String,String> entry: entries.entrySet()) {
+                ByteBuffer buffer=loader.getResourceAsByteBuffer(entry.getKey());
+                Assertions.assertEquals(entry.getValue(),StandardCharsets.UTF_8.decode(buffer).toString());
+                try (ReadableByteChannel channel=loader.getResourceAsChannel(entry.getKey())) {
+                    Assertions.assertEquals(entry.getValue(),StandardCharsets.UTF_8.decode(ResourceChannels.read(channel,-1)).toString());
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests that a file not being an archive is rejected.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Test
+    void invalid() throws IOException {
+        Path file=directory.resolve("invalid.jar");
+        Files.write(file,new byte[100]);
+        try (FileChannel channel=FileChannel.open(file)) {
+            Assertions.assertThrows(ZipException.class,()->ZipCentralDirectory.read(channel));
+        }
+    }
+}